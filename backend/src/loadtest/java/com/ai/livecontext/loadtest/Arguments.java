@@ -0,0 +1,48 @@
+package com.ai.livecontext.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Parses {@code --name value} pairs; a flag without a value is read as "true". */
+final class Arguments {
+
+  private final Map<String, String> values = new HashMap<>();
+
+  Arguments(String[] args) {
+    for (int i = 0; i < args.length; i++) {
+      if (!args[i].startsWith("--")) {
+        throw new IllegalArgumentException("Expected --name but got " + args[i]);
+      }
+      String name = args[i].substring(2);
+      if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+        values.put(name, args[++i]);
+      } else {
+        values.put(name, "true");
+      }
+    }
+  }
+
+  String string(String name, String defaultValue) {
+    return values.getOrDefault(name, defaultValue);
+  }
+
+  int integer(String name, int defaultValue) {
+    String value = values.get(name);
+    return value != null ? Integer.parseInt(value) : defaultValue;
+  }
+
+  double decimal(String name, double defaultValue) {
+    String value = values.get(name);
+    return value != null ? Double.parseDouble(value) : defaultValue;
+  }
+
+  boolean flag(String name) {
+    return Boolean.parseBoolean(values.get(name));
+  }
+
+  Duration millis(String name, long defaultMillis) {
+    String value = values.get(name);
+    return Duration.ofMillis(value != null ? Long.parseLong(value) : defaultMillis);
+  }
+}
@@ -0,0 +1,44 @@
+package com.ai.livecontext.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Keeps every sample so percentiles are exact; a load-test run records at most a few 100k. */
+public class LatencyRecorder {
+
+  private final List<Long> samples = new ArrayList<>();
+
+  public synchronized void record(Duration latency) {
+    samples.add(latency.toNanos());
+  }
+
+  public synchronized int count() {
+    return samples.size();
+  }
+
+  /** Nearest-rank percentile, {@code percentile} between 0 and 100. */
+  public synchronized Duration percentile(double percentile) {
+    if (samples.isEmpty()) {
+      return Duration.ZERO;
+    }
+    List<Long> sorted = new ArrayList<>(samples);
+    Collections.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+    return Duration.ofNanos(sorted.get(Math.max(rank, 1) - 1));
+  }
+
+  public synchronized Duration max() {
+    return samples.isEmpty() ? Duration.ZERO : Duration.ofNanos(Collections.max(samples));
+  }
+
+  public String summary() {
+    return String.format(
+        "p50=%dms p90=%dms p99=%dms max=%dms",
+        percentile(50).toMillis(),
+        percentile(90).toMillis(),
+        percentile(99).toMillis(),
+        max().toMillis());
+  }
+}
@@ -0,0 +1,177 @@
+package com.ai.livecontext.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Open-loop load generator for /api/chat and /api/chat/stream. Requests are started at a fixed
+ * rate whether or not earlier ones have finished, up to {@code --max-in-flight}; starts that would
+ * exceed it are counted as dropped rather than delayed, so a slow backend shows up as latency and
+ * drops instead of a lower request rate.
+ *
+ * <pre>
+ * ./gradlew loadTest --args="--endpoint stream --rps 20 --duration-ms 60000 --cache-busting"
+ * </pre>
+ */
+public final class LoadTest {
+
+  private static final List<String> QUESTIONS =
+      List.of(
+          "What is the stock price of AAPL?",
+          "What is the latest news about Tesla?",
+          "How is the weather in New York?",
+          "How are tech stocks doing today and what is driving them?",
+          "Summarize the market mood for NVDA and MSFT.");
+
+  private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE =
+      new ParameterizedTypeReference<>() {};
+
+  private final WebClient webClient;
+  private final boolean stream;
+  private final boolean cacheBusting;
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicBoolean recording = new AtomicBoolean();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final LatencyRecorder latency = new LatencyRecorder();
+  private final LatencyRecorder timeToFirstToken = new LatencyRecorder();
+
+  LoadTest(String target, boolean stream, boolean cacheBusting) {
+    this.webClient = WebClient.builder().baseUrl(target).build();
+    this.stream = stream;
+    this.cacheBusting = cacheBusting;
+  }
+
+  public static void main(String[] args) {
+    Arguments arguments = new Arguments(args);
+    String endpoint = arguments.string("endpoint", "chat");
+    if (!endpoint.equals("chat") && !endpoint.equals("stream")) {
+      throw new IllegalArgumentException("--endpoint must be chat or stream");
+    }
+    LoadTest loadTest =
+        new LoadTest(
+            arguments.string("target", "http://localhost:8080"),
+            endpoint.equals("stream"),
+            arguments.flag("cache-busting"));
+    Duration duration = arguments.millis("duration-ms", 30_000);
+    loadTest.run(
+        arguments.decimal("rps", 10),
+        arguments.millis("warmup-ms", 5_000),
+        duration,
+        arguments.integer("max-in-flight", 256));
+    System.out.println(loadTest.report(endpoint, duration));
+  }
+
+  void run(double rps, Duration warmup, Duration duration, int maxInFlight) {
+    Duration period = Duration.ofNanos((long) (1_000_000_000d / rps));
+    long total = (warmup.plus(duration).toNanos()) / period.toNanos();
+    long warmupRequests = warmup.toNanos() / period.toNanos();
+    Flux.interval(period)
+        .take(total)
+        .onBackpressureDrop(
+            tick -> {
+              if (recording.get()) {
+                dropped.incrementAndGet();
+              }
+            })
+        .flatMap(
+            tick -> {
+              if (tick >= warmupRequests) {
+                recording.set(true);
+              }
+              return send(tick >= warmupRequests);
+            },
+            maxInFlight)
+        .blockLast();
+  }
+
+  private Mono<Void> send(boolean record) {
+    long started = System.nanoTime();
+    String body = requestBody();
+    Mono<Void> call = stream ? streamCall(body, started, record) : chatCall(body);
+    return call.doOnSuccess(
+            ignored -> {
+              if (record) {
+                completed.incrementAndGet();
+                latency.record(Duration.ofNanos(System.nanoTime() - started));
+              }
+            })
+        .onErrorResume(
+            e -> {
+              if (record) {
+                errors.incrementAndGet();
+              }
+              return Mono.empty();
+            });
+  }
+
+  private Mono<Void> chatCall(String body) {
+    return webClient
+        .post()
+        .uri("/api/chat")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(body)
+        .retrieve()
+        .bodyToMono(String.class)
+        .then();
+  }
+
+  private Mono<Void> streamCall(String body, long started, boolean record) {
+    AtomicBoolean firstToken = new AtomicBoolean();
+    return webClient
+        .post()
+        .uri("/api/chat/stream")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .bodyValue(body)
+        .retrieve()
+        .bodyToFlux(SSE)
+        .doOnNext(
+            event -> {
+              if ("error".equals(event.event())) {
+                throw new IllegalStateException("Stream failed: " + event.data());
+              }
+              if ("token".equals(event.event())
+                  && record
+                  && firstToken.compareAndSet(false, true)) {
+                timeToFirstToken.record(Duration.ofNanos(System.nanoTime() - started));
+              }
+            })
+        .then();
+  }
+
+  /** A question from the fixed mix; cache busting makes each one unique so every request runs. */
+  private String requestBody() {
+    long n = sequence.getAndIncrement();
+    String question = QUESTIONS.get((int) (n % QUESTIONS.size()));
+    if (cacheBusting) {
+      question = question + " (request " + n + ")";
+    }
+    return "{\"question\":\"" + question.replace("\"", "\\\"") + "\"}";
+  }
+
+  String report(String endpoint, Duration duration) {
+    double seconds = duration.toMillis() / 1000d;
+    StringBuilder report = new StringBuilder();
+    report.append(String.format("endpoint=%s duration=%.0fs%n", endpoint, seconds));
+    report.append(
+        String.format(
+            "requests=%d errors=%d dropped=%d throughput=%.1f/s%n",
+            completed.get(), errors.get(), dropped.get(), completed.get() / seconds));
+    report.append("latency ").append(latency.summary()).append(System.lineSeparator());
+    if (stream) {
+      report.append("time_to_first_token ").append(timeToFirstToken.summary());
+      report.append(System.lineSeparator());
+    }
+    return report.toString();
+  }
+}
@@ -0,0 +1,149 @@
+package com.ai.livecontext.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * Answers POST /tools/{tool} for the market, news and weather MCP tools with responses shaped like
+ * the real servers'. One instance can stand in for every MCP server. Latency is the base latency
+ * plus a jitter derived from the request body, so identical calls always take the same time.
+ */
+public class StubMcpServer {
+
+  private final Duration latency;
+  private final Duration jitter;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private DisposableServer server;
+
+  public StubMcpServer(Duration latency, Duration jitter) {
+    this.latency = latency;
+    this.jitter = jitter;
+  }
+
+  public StubMcpServer start(int port) {
+    server =
+        HttpServer.create()
+            .port(port)
+            .route(routes -> routes.post("/tools/{tool}", this::callTool))
+            .bindNow();
+    return this;
+  }
+
+  public int port() {
+    return server.port();
+  }
+
+  public void stop() {
+    if (server != null) {
+      server.disposeNow();
+    }
+  }
+
+  private Publisher<Void> callTool(HttpServerRequest request, HttpServerResponse response) {
+    String tool = request.param("tool");
+    return request
+        .receive()
+        .aggregate()
+        .asString(StandardCharsets.UTF_8)
+        .defaultIfEmpty("{}")
+        .flatMap(
+            body -> {
+              JsonNode parameters = read(body).path("parameters");
+              ObjectNode result = result(tool, parameters);
+              if (result == null) {
+                return response.status(404).send().then();
+              }
+              return Mono.delay(delay(body))
+                  .then(
+                      response
+                          .header("Content-Type", "application/json")
+                          .sendString(Mono.just(result.toString()))
+                          .then());
+            });
+  }
+
+  Duration delay(String body) {
+    long jitterMillis = jitter.toMillis();
+    if (jitterMillis <= 0) {
+      return latency;
+    }
+    return latency.plusMillis(Math.floorMod(body.hashCode(), jitterMillis + 1));
+  }
+
+  private ObjectNode result(String tool, JsonNode parameters) {
+    String timestamp = Instant.now().toString();
+    switch (tool) {
+      case "get_quote" -> {
+        String symbol = parameters.path("symbol").asText("AAPL.US");
+        double price = 100 + Math.floorMod(symbol.hashCode(), 400) + 0.25;
+        ObjectNode quote = objectMapper.createObjectNode();
+        quote.put("symbol", symbol);
+        quote.put("provider", "stub");
+        quote.put("price", price);
+        quote.put("change", 1.5);
+        quote.put("changePct", 1.5 / price * 100);
+        quote.put("timestamp", timestamp);
+        quote.putObject("raw").put("code", symbol).put("close", price);
+        return quote;
+      }
+      case "search" -> {
+        String query = parameters.path("query").asText("markets");
+        ObjectNode news = objectMapper.createObjectNode();
+        news.put("query", query);
+        ArrayNode results = news.putArray("results");
+        for (int i = 1; i <= 5; i++) {
+          results
+              .addObject()
+              .put("id", "stub-" + i)
+              .put("title", "Stub headline " + i + " about " + query)
+              .put("link", "https://news.example/" + i)
+              .put("publishedAt", timestamp)
+              .put("source", "Stub Wire")
+              .put("summary", "Deterministic summary " + i + " for " + query + ".");
+        }
+        news.put("timestamp", timestamp);
+        return news;
+      }
+      case "get_forecast" -> {
+        ObjectNode forecast = objectMapper.createObjectNode();
+        forecast.put("latitude", parameters.path("latitude").asDouble(40.7128));
+        forecast.put("longitude", parameters.path("longitude").asDouble(-74.006));
+        ArrayNode hourly = forecast.putArray("hourly");
+        for (int hour = 0; hour < 24; hour++) {
+          hourly
+              .addObject()
+              .put("time", String.format("2026-01-01T%02d:00", hour))
+              .put("temperature", 15 + hour % 8)
+              .put("precipitation", hour % 6 == 0 ? 0.4 : 0.0);
+        }
+        forecast.put("timestamp", timestamp);
+        forecast.put("provider", "stub");
+        return forecast;
+      }
+      default -> {
+        return null;
+      }
+    }
+  }
+
+  private JsonNode read(String body) {
+    try {
+      return objectMapper.readTree(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,282 @@
+package com.ai.livecontext.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * Deterministic stand-in for Ollama's /api/chat, /api/embed and /api/tags. Each assistant turn
+ * follows a fixed tool-call script, so the backend runs its real agentic loop, and every response
+ * takes a configurable prompt-eval delay plus one token interval per generated token.
+ */
+public class StubOllamaServer {
+
+  private static final String[] WORDS = {
+    "markets", "opened", "higher", "as", "investors", "weighed", "fresh", "data", "on", "prices"
+  };
+  private static final int TOKENS_PER_TOOL_CALL = 12;
+  private static final int EMBEDDING_DIMENSIONS = 64;
+
+  private final Settings settings;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private DisposableServer server;
+
+  public StubOllamaServer(Settings settings) {
+    this.settings = settings;
+  }
+
+  public StubOllamaServer start(int port) {
+    server =
+        HttpServer.create()
+            .port(port)
+            .route(
+                routes ->
+                    routes
+                        .post("/api/chat", this::chat)
+                        .post("/api/embed", this::embed)
+                        .get("/api/tags", this::tags))
+            .bindNow();
+    return this;
+  }
+
+  public int port() {
+    return server.port();
+  }
+
+  public void stop() {
+    if (server != null) {
+      server.disposeNow();
+    }
+  }
+
+  private Publisher<Void> chat(HttpServerRequest request, HttpServerResponse response) {
+    return body(request)
+        .flatMap(
+            body -> {
+              JsonNode chatRequest = read(body);
+              Turn turn = plan(chatRequest, body.length());
+              if (chatRequest.path("stream").asBoolean(true)) {
+                return response
+                    .header("Content-Type", "application/x-ndjson")
+                    .send(stream(turn).map(StubOllamaServer::buffer), b -> true)
+                    .then();
+              }
+              return Mono.delay(settings.firstTokenDelay().plus(turn.generationTime()))
+                  .then(
+                      response
+                          .header("Content-Type", "application/json")
+                          .sendString(Mono.just(finalChunk(turn, true).toString()))
+                          .then());
+            });
+  }
+
+  /**
+   * Tools the model calls on this turn. The turn number is the count of assistant messages after
+   * the latest user message, so the answer only depends on the request.
+   */
+  private Turn plan(JsonNode chatRequest, int promptBytes) {
+    JsonNode messages = chatRequest.path("messages");
+    int turnIndex = 0;
+    for (JsonNode message : messages) {
+      String role = message.path("role").asText();
+      if ("user".equals(role)) {
+        turnIndex = 0;
+      } else if ("assistant".equals(role)) {
+        turnIndex++;
+      }
+    }
+    List<String> toolCalls =
+        turnIndex < settings.toolScript().size() ? settings.toolScript().get(turnIndex) : List.of();
+    int tokens =
+        toolCalls.isEmpty() ? settings.answerTokens() : toolCalls.size() * TOKENS_PER_TOOL_CALL;
+    return new Turn(
+        chatRequest.path("model").asText("stub"),
+        toolCalls,
+        tokens,
+        promptBytes / 4,
+        Duration.ofNanos((long) (tokens * 1_000_000_000d / settings.tokensPerSecond())));
+  }
+
+  private Flux<String> stream(Turn turn) {
+    Duration tokenInterval = Duration.ofNanos((long) (1_000_000_000d / settings.tokensPerSecond()));
+    Flux<String> content =
+        turn.toolCalls().isEmpty()
+            ? Flux.range(0, turn.tokens())
+                .delayElements(tokenInterval)
+                .map(i -> chunk(turn, (i == 0 ? "" : " ") + WORDS[i % WORDS.length]).toString())
+            : Mono.delay(turn.generationTime())
+                .map(ignored -> toolCallChunk(turn).toString())
+                .flux();
+    return Mono.delay(settings.firstTokenDelay())
+        .thenMany(content)
+        .concatWith(Mono.fromSupplier(() -> finalChunk(turn, false).toString()))
+        .map(line -> line + "\n");
+  }
+
+  private ObjectNode chunk(Turn turn, String content) {
+    ObjectNode chunk = envelope(turn);
+    chunk.putObject("message").put("role", "assistant").put("content", content);
+    chunk.put("done", false);
+    return chunk;
+  }
+
+  private ObjectNode toolCallChunk(Turn turn) {
+    ObjectNode chunk = envelope(turn);
+    ObjectNode message = chunk.putObject("message").put("role", "assistant").put("content", "");
+    message.set("tool_calls", toolCalls(turn));
+    chunk.put("done", false);
+    return chunk;
+  }
+
+  /** Last chunk of a turn with Ollama's timing fields; holds the message when not streaming. */
+  private ObjectNode finalChunk(Turn turn, boolean withMessage) {
+    ObjectNode chunk = envelope(turn);
+    ObjectNode message = chunk.putObject("message").put("role", "assistant");
+    if (withMessage && !turn.toolCalls().isEmpty()) {
+      message.put("content", "");
+      message.set("tool_calls", toolCalls(turn));
+    } else if (withMessage) {
+      message.put("content", answer(turn.tokens()));
+    } else {
+      message.put("content", "");
+    }
+    chunk.put("done", true);
+    chunk.put("done_reason", "stop");
+    chunk.put("prompt_eval_count", turn.promptTokens());
+    chunk.put("prompt_eval_duration", settings.firstTokenDelay().toNanos());
+    chunk.put("eval_count", turn.tokens());
+    chunk.put("eval_duration", turn.generationTime().toNanos());
+    return chunk;
+  }
+
+  private ObjectNode envelope(Turn turn) {
+    ObjectNode chunk = objectMapper.createObjectNode();
+    chunk.put("model", turn.model());
+    chunk.put("created_at", Instant.now().toString());
+    return chunk;
+  }
+
+  private ArrayNode toolCalls(Turn turn) {
+    ArrayNode calls = objectMapper.createArrayNode();
+    for (String tool : turn.toolCalls()) {
+      ObjectNode function = calls.addObject().putObject("function");
+      function.put("name", tool);
+      ObjectNode arguments = function.putObject("arguments");
+      switch (tool) {
+        case "get_quote" -> arguments.put("symbol", "AAPL.US");
+        case "search_news" -> arguments.put("query", "markets");
+        case "get_weather" -> arguments.put("latitude", 40.7128).put("longitude", -74.006);
+        default -> {}
+      }
+    }
+    return calls;
+  }
+
+  private static String answer(int tokens) {
+    StringBuilder answer = new StringBuilder();
+    for (int i = 0; i < tokens; i++) {
+      if (i > 0) {
+        answer.append(' ');
+      }
+      answer.append(WORDS[i % WORDS.length]);
+    }
+    return answer.toString();
+  }
+
+  /** Hashed bag-of-words vectors, so similar texts get similar embeddings. */
+  private Publisher<Void> embed(HttpServerRequest request, HttpServerResponse response) {
+    return body(request)
+        .flatMap(
+            body -> {
+              ObjectNode result = objectMapper.createObjectNode();
+              ArrayNode vector = result.putArray("embeddings").addArray();
+              float[] values = new float[EMBEDDING_DIMENSIONS];
+              String input = read(body).path("input").asText("").toLowerCase();
+              for (String token : input.split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty()) {
+                  values[Math.floorMod(token.hashCode(), values.length)] += 1;
+                }
+              }
+              for (float value : values) {
+                vector.add(value);
+              }
+              return response
+                  .header("Content-Type", "application/json")
+                  .sendString(Mono.just(result.toString()))
+                  .then();
+            });
+  }
+
+  private Publisher<Void> tags(HttpServerRequest request, HttpServerResponse response) {
+    ObjectNode result = objectMapper.createObjectNode();
+    result.putArray("models").addObject().put("name", "stub");
+    return response
+        .header("Content-Type", "application/json")
+        .sendString(Mono.just(result.toString()));
+  }
+
+  private static ByteBuf buffer(String line) {
+    return Unpooled.copiedBuffer(line, StandardCharsets.UTF_8);
+  }
+
+  private static Mono<String> body(HttpServerRequest request) {
+    return request.receive().aggregate().asString(StandardCharsets.UTF_8).defaultIfEmpty("{}");
+  }
+
+  private JsonNode read(String body) {
+    try {
+      return objectMapper.readTree(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param toolScript tools requested on each assistant turn, e.g. [[get_quote, search_news],
+   *     [get_weather]]; turns past the end of the script answer
+   */
+  public record Settings(
+      Duration firstTokenDelay,
+      double tokensPerSecond,
+      int answerTokens,
+      List<List<String>> toolScript) {
+
+    /** Parses a script such as "get_quote,search_news|get_weather"; blank means no tool calls. */
+    public static List<List<String>> parseScript(String script) {
+      List<List<String>> turns = new ArrayList<>();
+      if (script == null || script.isBlank()) {
+        return turns;
+      }
+      for (String turn : script.split("\\|")) {
+        turns.add(
+            Arrays.stream(turn.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList());
+      }
+      return turns;
+    }
+  }
+
+  private record Turn(
+      String model,
+      List<String> toolCalls,
+      int tokens,
+      int promptTokens,
+      Duration generationTime) {}
+}
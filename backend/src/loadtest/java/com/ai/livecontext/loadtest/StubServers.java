@@ -0,0 +1,52 @@
+package com.ai.livecontext.loadtest;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Starts the Ollama and MCP stand-ins and prints the backend properties that point at them.
+ *
+ * <pre>
+ * ./gradlew stubServers --args="--first-token-ms 150 --tokens-per-second 40 \
+ *     --tool-script get_quote,search_news --mcp-latency-ms 80"
+ * </pre>
+ */
+public final class StubServers {
+
+  private StubServers() {}
+
+  public static void main(String[] args) throws InterruptedException {
+    Arguments arguments = new Arguments(args);
+    StubOllamaServer ollama =
+        new StubOllamaServer(
+                new StubOllamaServer.Settings(
+                    arguments.millis("first-token-ms", 150),
+                    arguments.decimal("tokens-per-second", 40),
+                    arguments.integer("answer-tokens", 60),
+                    StubOllamaServer.Settings.parseScript(
+                        arguments.string("tool-script", "get_quote"))))
+            .start(arguments.integer("ollama-port", 11435));
+    StubMcpServer mcp =
+        new StubMcpServer(
+                arguments.millis("mcp-latency-ms", 80), arguments.millis("mcp-jitter-ms", 40))
+            .start(arguments.integer("mcp-port", 18090));
+
+    String mcpUrl = "http://localhost:" + mcp.port();
+    System.out.println("Stub servers running. Start the backend with:");
+    System.out.println("  --livecontext.ollama.base-url=http://localhost:" + ollama.port());
+    System.out.println("  --livecontext.ollama.mock-mode=false");
+    for (String server : new String[] {"market", "news", "weather", "system"}) {
+      System.out.println("  --livecontext.mcp." + server + ".url=" + mcpUrl);
+    }
+
+    CountDownLatch stopped = new CountDownLatch(1);
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  ollama.stop();
+                  mcp.stop();
+                  stopped.countDown();
+                }));
+    stopped.await();
+  }
+}
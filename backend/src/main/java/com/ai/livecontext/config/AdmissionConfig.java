@@ -0,0 +1,26 @@
+package com.ai.livecontext.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.admission")
+public class AdmissionConfig {
+
+  private boolean enabled = true;
+
+  /** Concurrent LLM requests allowed per configured Ollama node. */
+  private int maxConcurrencyPerNode = 4;
+
+  /** Requests that may wait for a slot before new ones are rejected. */
+  private int maxQueueSize = 100;
+
+  /** Batch requests are rejected once this many requests are already waiting. */
+  private int batchQueueLimit = 50;
+
+  private long maxQueueWaitMs = 30000;
+
+  private int retryAfterSeconds = 5;
+}
@@ -13,6 +13,9 @@ import org.springframework.context.annotation.Configuration;
 @EnableCaching
 public class CacheConfig {
 
+  /** Holds MCP tool responses, see {@code McpResponseCache}. */
+  public static final String MARKET_QUOTES = "marketQuotes";
+
   @Value("${livecontext.cache.quote-ttl-minutes:5}")
   private int quoteTtlMinutes;
 
@@ -21,7 +24,7 @@ public class CacheConfig {
 
   @Bean
   public CacheManager cacheManager() {
-    CaffeineCacheManager cacheManager = new CaffeineCacheManager("marketQuotes");
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager(MARKET_QUOTES);
     cacheManager.setCaffeine(
         Caffeine.newBuilder()
             .expireAfterWrite(Duration.ofMinutes(quoteTtlMinutes))
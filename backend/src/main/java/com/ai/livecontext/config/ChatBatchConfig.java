@@ -0,0 +1,17 @@
+package com.ai.livecontext.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.chat-batch")
+public class ChatBatchConfig {
+
+  /** Questions of one batch answered at the same time. */
+  private int concurrency = 8;
+
+  /** Larger batches are rejected with 400. */
+  private int maxQuestions = 500;
+}
@@ -0,0 +1,21 @@
+package com.ai.livecontext.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.chat-cache")
+public class ChatCacheConfig {
+
+  private boolean enabled = true;
+  private int maxSize = 500;
+  private int maxAgeMinutes = 60;
+  private int defaultFreshnessSeconds = 600;
+
+  /** Freshness window per data type (market, news, weather) an answer's evidence came from. */
+  private Map<String, Integer> freshnessSeconds = new HashMap<>();
+}
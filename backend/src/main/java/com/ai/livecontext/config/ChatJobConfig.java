@@ -0,0 +1,38 @@
+package com.ai.livecontext.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.chat-jobs")
+public class ChatJobConfig {
+
+  /** Jobs answered at the same time; each still needs an admission slot to call the LLM. */
+  private int workers = 4;
+
+  /** Queued jobs beyond this are rejected with 429 until workers catch up. */
+  private int maxPendingJobs = 500;
+
+  /** How long a finished job and its result can be fetched. */
+  private int resultTtlMinutes = 60;
+
+  /** Finished jobs kept; unfinished ones are bounded by {@code maxPendingJobs} instead. */
+  private int maxJobs = 10000;
+
+  /** Times a job retries when the admission limiter turns it away, before it fails. */
+  private int admissionRetries = 10;
+
+  private long admissionRetryDelayMs = 5000;
+
+  private long webhookTimeoutMs = 5000;
+
+  /**
+   * Hosts a job's callbackUrl may point at, matched exactly and case-insensitively. Jobs with a
+   * callbackUrl on any other host are rejected with 400; when empty, callbacks are refused.
+   */
+  private List<String> callbackAllowedHosts = new ArrayList<>();
+}
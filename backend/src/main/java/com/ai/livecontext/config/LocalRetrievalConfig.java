@@ -0,0 +1,25 @@
+package com.ai.livecontext.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.local-retrieval")
+public class LocalRetrievalConfig {
+
+  /** Answer tool calls from ingested timeline/news data before calling the MCP servers. */
+  private boolean enabled = true;
+
+  /** Age of the newest ingested quote for a symbol beyond which get_quote goes to MCP. */
+  private int marketMaxAgeSeconds = 360;
+
+  /** Only stored articles published within this window count as search_news hits. */
+  private int newsMaxAgeSeconds = 21600;
+
+  private int weatherMaxAgeSeconds = 1800;
+
+  /** Recent timeline events inspected when looking for a matching quote or forecast. */
+  private int maxEventsScanned = 50;
+}
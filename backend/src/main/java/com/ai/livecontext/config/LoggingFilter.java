@@ -11,6 +11,7 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -132,8 +133,27 @@ public class LoggingFilter implements WebFilter {
 
     @Override
     public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+      if (isStreaming()) {
+        // Joining a stream would hold every event until completion, so pass chunks through
+        return super.writeAndFlushWith(body)
+            .doOnTerminate(
+                () ->
+                    logger.info(
+                        "[http_response] HTTP stream completed | method={} path={} status={} duration_ms={}",
+                        request.getMethod().name(),
+                        request.getPath().value(),
+                        getStatusCode() != null ? getStatusCode().value() : 0,
+                        System.currentTimeMillis() - startTime));
+      }
       return writeWith(Flux.from(body).flatMap(Flux::from));
     }
+
+    private boolean isStreaming() {
+      MediaType contentType = getHeaders().getContentType();
+      return contentType != null
+          && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+              || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType));
+    }
   }
 
   private static String truncateBody(String body) {
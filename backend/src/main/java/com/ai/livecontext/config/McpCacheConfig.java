@@ -0,0 +1,27 @@
+package com.ai.livecontext.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.mcp-cache")
+public class McpCacheConfig {
+
+  private boolean enabled = true;
+
+  /** How long responses of each MCP server are fresh; servers not listed are not cached. */
+  private Map<String, Integer> ttlSeconds = new HashMap<>();
+
+  /** Per-tool overrides of the server TTL, keyed by MCP tool name; 0 never caches the tool. */
+  private Map<String, Integer> toolTtlSeconds = new HashMap<>();
+
+  /** How long past its TTL a response is still served while it is refreshed in the background. */
+  private int maxStaleSeconds = 300;
+
+  /** How long an error response is remembered and returned to identical calls; 0 disables. */
+  private int failureTtlSeconds = 5;
+}
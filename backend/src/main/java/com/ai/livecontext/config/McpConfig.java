@@ -1,5 +1,7 @@
 package com.ai.livecontext.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -14,9 +16,68 @@ public class McpConfig {
   private McpEndpoint weather = new McpEndpoint();
   private McpEndpoint system = new McpEndpoint();
 
+  /** Largest tool response accepted; bigger payloads fail instead of filling the heap. */
+  private int maxResponseBytes = 4 * 1024 * 1024;
+
   @Data
   public static class McpEndpoint {
     private String url;
     private int timeout = 10000;
+
+    /** Connections kept to the server; further calls wait for one to be released. */
+    private int maxConnections = 50;
+
+    /** Calls allowed to wait for a connection before new ones fail fast. */
+    private int pendingAcquireMaxCount = 500;
+
+    private int pendingAcquireTimeoutMs = 5000;
+
+    /** Below the server's keep-alive timeout so a connection is never reused as it closes. */
+    private int maxIdleTimeMs = 4000;
+
+    private int maxLifeTimeMs = 300000;
+    private int evictInBackgroundMs = 30000;
+
+    /** HTTP/2 over cleartext, falling back to HTTP/1.1 when the server doesn't upgrade. */
+    private boolean h2c = false;
+
+    /** Connections opened at startup and kept from idling out, so later calls skip TCP setup. */
+    private int prewarmConnections = 2;
+
+    /** Calls running against the server at once; further calls fail fast instead of waiting. */
+    private int maxConcurrentCalls = 20;
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+  }
+
+  @Data
+  public static class CircuitBreaker {
+    private boolean enabled = true;
+
+    /** Most recent calls the failure and slow-call rates are computed over. */
+    private int windowSize = 20;
+
+    /** Calls needed in the window before the rates can open the circuit. */
+    private int minimumCalls = 10;
+
+    /** Percent of failed calls in the window that opens the circuit. */
+    private int failureRateThreshold = 50;
+
+    private int slowCallDurationMs = 5000;
+
+    /** Percent of calls slower than {@code slowCallDurationMs} that opens the circuit. */
+    private int slowCallRateThreshold = 80;
+
+    /** How long an open circuit rejects calls before letting trial calls through. */
+    private int openMs = 30000;
+
+    /** Trial calls while half-open; all must succeed to close the circuit again. */
+    private int halfOpenCalls = 3;
+
+    /**
+     * Response statuses that don't count as failures. Empty by default because the MCP servers
+     * answer 400 for upstream outages too, not only for bad arguments.
+     */
+    private List<Integer> ignoredStatuses = new ArrayList<>();
   }
 }
@@ -0,0 +1,46 @@
+package com.ai.livecontext.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.news-index")
+public class NewsIndexConfig {
+
+  /** Embed ingested news with Ollama and answer search_news semantically from memory. */
+  private boolean enabled = false;
+
+  /** Ollama embedding model, e.g. nomic-embed-text; must be pulled on every node. */
+  private String embeddingModel = "nomic-embed-text";
+
+  /** Vector size of the hashed embeddings used in Ollama mock mode. */
+  private int mockDimensions = 256;
+
+  private int embeddingTimeoutMs = 10000;
+
+  /** Index contents are written here periodically and loaded on startup to skip re-embedding. */
+  private String snapshotPath = "data/news-index.bin";
+
+  private long snapshotIntervalMs = 60000;
+
+  /** HNSW links per node; layer 0 keeps twice as many. */
+  private int maxConnections = 16;
+
+  private int efConstruction = 100;
+
+  private int efSearch = 64;
+
+  /** Cosine similarity below which a match is not considered relevant. */
+  private double minScore = 0.5;
+
+  /** Articles older than this are skipped in results and dropped from snapshots. */
+  private int maxAgeDays = 30;
+
+  /** Percent of the index past max age at which it is rebuilt from live articles. */
+  private int compactExpiredPercent = 20;
+
+  /** Stored articles embedded on startup when they are missing from the snapshot. */
+  private int backfillLimit = 5000;
+}
@@ -0,0 +1,63 @@
+package com.ai.livecontext.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.ollama")
+public class OllamaConfig {
+
+  /** Single Ollama node used when no {@code nodes} are configured. */
+  private String baseUrl;
+
+  private List<Node> nodes = new ArrayList<>();
+
+  private Hedge hedge = new Hedge();
+
+  /**
+   * How long Ollama keeps the model and its prompt cache loaded after a request, e.g. "30m" or
+   * "-1" for as long as the server runs. Ollama's own default unloads after five idle minutes.
+   */
+  private String keepAlive = "30m";
+
+  /**
+   * Context window in tokens. Prompts longer than this are truncated from the front, which shifts
+   * the cached prefix and forces a full re-evaluation on every agentic iteration.
+   */
+  private int numCtx = 8192;
+
+  /** Sent as the first message of every request; keep it constant so it stays cached. */
+  private String systemPrompt = "";
+
+  /** Overrides keyed by model name. */
+  private Map<String, Model> models = new HashMap<>();
+
+  @Data
+  public static class Node {
+    private String url;
+    private int weight = 1;
+  }
+
+  @Data
+  public static class Model {
+    private String keepAlive;
+    private Integer numCtx;
+    private Double temperature;
+    private Integer numPredict;
+  }
+
+  @Data
+  public static class Hedge {
+    private boolean enabled = false;
+    /** Latency percentile after which a duplicate request is sent to another node. */
+    private double percentile = 0.95;
+    /** Lower bound for the hedge delay, also used until enough latencies are recorded. */
+    private long minDelayMs = 2000;
+  }
+}
@@ -0,0 +1,51 @@
+package com.ai.livecontext.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.router")
+public class RouterConfig {
+
+  /** Answer simple quote, news and weather lookups without the tool-calling loop. */
+  private boolean enabled = true;
+
+  /**
+   * Have Ollama phrase routed answers from the fetched data in a single turn. When false the
+   * answer is rendered from a template and Ollama is not called at all.
+   */
+  private boolean phraseWithLlm = false;
+
+  /** Longer questions are left to the LLM; they rarely ask for a single lookup. */
+  private int maxWords = 12;
+
+  /** Company names that resolve to a ticker, lower case. */
+  private Map<String, String> symbolAliases =
+      new LinkedHashMap<>(
+          Map.of(
+              "apple", "AAPL.US",
+              "tesla", "TSLA.US",
+              "google", "GOOGL.US",
+              "alphabet", "GOOGL.US",
+              "microsoft", "MSFT.US",
+              "amazon", "AMZN.US",
+              "nvidia", "NVDA.US"));
+
+  /** Places weather questions can be routed for, lower case; others go to the LLM. */
+  private Map<String, Location> locations =
+      new LinkedHashMap<>(Map.of("new york", new Location(40.7128, -74.0060)));
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Location {
+    private double latitude;
+    private double longitude;
+  }
+}
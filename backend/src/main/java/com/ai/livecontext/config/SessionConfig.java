@@ -0,0 +1,32 @@
+package com.ai.livecontext.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.sessions")
+public class SessionConfig {
+
+  private int maxSessions = 1000;
+
+  private int idleTimeoutMinutes = 60;
+
+  /** Estimated tokens of history sent to the LLM before older turns are compacted. */
+  private int maxHistoryTokens = 3000;
+
+  /** Most recent turns that are never compacted. */
+  private int keepRecentTurns = 2;
+
+  /** Tool results in older turns are truncated to this many characters first. */
+  private int maxToolResultChars = 1500;
+
+  private int maxEvidence = 50;
+
+  /** How long a tool result can be reused by follow-up questions in the same session. */
+  private int toolResultMaxAgeSeconds = 300;
+
+  /** Also store sessions in the chat_sessions table so they survive restarts. */
+  private boolean persistenceEnabled = false;
+}
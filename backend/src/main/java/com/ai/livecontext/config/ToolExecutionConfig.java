@@ -0,0 +1,40 @@
+package com.ai.livecontext.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "livecontext.tools")
+public class ToolExecutionConfig {
+
+  /** Tool calls of one assistant turn that run at the same time; the rest wait their turn. */
+  private int maxConcurrency = 4;
+
+  /** Timeout per tool name, overriding the handler's default. */
+  private Map<String, Integer> timeoutMs = new HashMap<>();
+
+  /** Longest tool result, in characters, added to the conversation; 0 disables the cap. */
+  private int maxResultChars = 8000;
+
+  /** How each tool's result is trimmed before the LLM sees it, by tool name. */
+  private Map<String, ResultPolicy> results = new HashMap<>();
+
+  @Data
+  public static class ResultPolicy {
+
+    /** Field paths to keep, dotted for nested fields such as results.title; empty keeps all. */
+    private List<String> fields = new ArrayList<>();
+
+    /** Arrays anywhere in the result are cut to their first this many elements. */
+    private Integer maxItems;
+
+    /** Overrides {@code maxResultChars} for this tool. */
+    private Integer maxChars;
+  }
+}
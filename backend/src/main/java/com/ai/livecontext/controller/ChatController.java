@@ -1,15 +1,38 @@
 package com.ai.livecontext.controller;
 
+import com.ai.livecontext.config.ChatBatchConfig;
+import com.ai.livecontext.config.ChatJobConfig;
+import com.ai.livecontext.domain.ChatBatchRequest;
+import com.ai.livecontext.domain.ChatBatchResult;
+import com.ai.livecontext.domain.ChatJob;
+import com.ai.livecontext.domain.ChatJobRequest;
 import com.ai.livecontext.domain.ChatRequest;
 import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.domain.ChatStreamEvent;
+import com.ai.livecontext.service.AdmissionRejectedException;
+import com.ai.livecontext.service.ChatJobService;
 import com.ai.livecontext.service.ChatService;
+import com.ai.livecontext.service.ConversationStore;
 import com.ai.livecontext.util.CorrelationIdHolder;
 import jakarta.validation.Valid;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Map;
 import java.util.UUID;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -17,13 +40,26 @@ import reactor.core.publisher.Mono;
 public class ChatController {
 
   private final ChatService chatService;
+  private final ChatJobService chatJobService;
+  private final ChatBatchConfig batchConfig;
+  private final ChatJobConfig jobConfig;
 
-  public ChatController(ChatService chatService) {
+  public ChatController(
+      ChatService chatService,
+      ChatJobService chatJobService,
+      ChatBatchConfig batchConfig,
+      ChatJobConfig jobConfig) {
     this.chatService = chatService;
+    this.chatJobService = chatJobService;
+    this.batchConfig = batchConfig;
+    this.jobConfig = jobConfig;
   }
 
   @PostMapping("/chat")
   public Mono<ChatResponse> chat(@Valid @RequestBody ChatRequest request) {
+    if (hasInvalidSessionId(request)) {
+      return Mono.error(invalidSessionId());
+    }
     if (request.getCorrelationId() == null || request.getCorrelationId().isBlank()) {
       request.setCorrelationId(UUID.randomUUID().toString());
     }
@@ -31,4 +67,120 @@ public class ChatController {
 
     return chatService.processChat(request).doFinally(signalType -> CorrelationIdHolder.clear());
   }
+
+  @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<ChatStreamEvent>> chatStream(
+      @Valid @RequestBody ChatRequest request) {
+    if (hasInvalidSessionId(request)) {
+      return Flux.error(invalidSessionId());
+    }
+    if (request.getCorrelationId() == null || request.getCorrelationId().isBlank()) {
+      request.setCorrelationId(UUID.randomUUID().toString());
+    }
+    CorrelationIdHolder.set(request.getCorrelationId());
+
+    return chatService
+        .processChatStream(request)
+        .map(event -> ServerSentEvent.builder(event).event(event.getType()).build())
+        .doFinally(signalType -> CorrelationIdHolder.clear());
+  }
+
+  /** Streams one NDJSON line per question, in the order the answers complete. */
+  @PostMapping(value = "/chat/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<ChatBatchResult> chatBatch(@Valid @RequestBody ChatBatchRequest request) {
+    if (request.getQuestions() == null || request.getQuestions().isEmpty()) {
+      return Flux.error(
+          new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one question is required"));
+    }
+    if (request.getQuestions().size() > batchConfig.getMaxQuestions()) {
+      return Flux.error(
+          new ResponseStatusException(
+              HttpStatus.BAD_REQUEST,
+              "A batch may contain at most " + batchConfig.getMaxQuestions() + " questions"));
+    }
+    if (request.getCorrelationId() == null || request.getCorrelationId().isBlank()) {
+      request.setCorrelationId(UUID.randomUUID().toString());
+    }
+    CorrelationIdHolder.set(request.getCorrelationId());
+
+    return chatService
+        .processBatch(request)
+        .doFinally(signalType -> CorrelationIdHolder.clear());
+  }
+
+  @PostMapping("/chat/jobs")
+  public Mono<ResponseEntity<ChatJob>> submitJob(@Valid @RequestBody ChatJobRequest request) {
+    String callbackUrl = request.getCallbackUrl();
+    if (callbackUrl != null && !callbackUrl.isBlank() && !isAllowedCallback(callbackUrl)) {
+      return Mono.error(
+          new ResponseStatusException(
+              HttpStatus.BAD_REQUEST, "callbackUrl must be an http(s) URL on an allowed host"));
+    }
+    return chatJobService
+        .submit(request)
+        .map(
+            job ->
+                ResponseEntity.accepted()
+                    .location(URI.create("/api/chat/jobs/" + job.getId()))
+                    .body(job));
+  }
+
+  @GetMapping("/chat/jobs/{jobId}")
+  public Mono<ResponseEntity<ChatJob>> getJob(@PathVariable String jobId) {
+    return chatJobService
+        .find(jobId)
+        .map(ResponseEntity::ok)
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  /** Sends the job's current state, then every status change until it has finished. */
+  @GetMapping(value = "/chat/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<ChatJob>> jobEvents(@PathVariable String jobId) {
+    return chatJobService
+        .updates(jobId)
+        .switchIfEmpty(
+            Flux.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job")))
+        .map(
+            job ->
+                ServerSentEvent.builder(job)
+                    .event(job.getStatus().name().toLowerCase())
+                    .build());
+  }
+
+  /** The server POSTs to the callback, so only configured hosts may receive it. */
+  private boolean isAllowedCallback(String callbackUrl) {
+    URI uri;
+    try {
+      uri = new URI(callbackUrl);
+    } catch (URISyntaxException e) {
+      return false;
+    }
+    String scheme = uri.getScheme();
+    String host = uri.getHost();
+    if (scheme == null
+        || host == null
+        || uri.getRawUserInfo() != null
+        || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+      return false;
+    }
+    return jobConfig.getCallbackAllowedHosts().stream().anyMatch(host::equalsIgnoreCase);
+  }
+
+  private static boolean hasInvalidSessionId(ChatRequest request) {
+    return request.getSessionId() != null && !ConversationStore.isValidId(request.getSessionId());
+  }
+
+  private static ResponseStatusException invalidSessionId() {
+    return new ResponseStatusException(
+        HttpStatus.BAD_REQUEST, "sessionId must be 1-64 letters, digits, '-' or '_'");
+  }
+
+  @ExceptionHandler(AdmissionRejectedException.class)
+  public ResponseEntity<Map<String, String>> handleAdmissionRejected(
+      AdmissionRejectedException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(Map.of("error", e.getMessage()));
+  }
 }
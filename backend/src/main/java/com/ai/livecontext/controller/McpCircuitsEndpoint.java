@@ -0,0 +1,24 @@
+package com.ai.livecontext.controller;
+
+import com.ai.livecontext.service.McpCircuitBreakers;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** Actuator endpoint at /actuator/mcpcircuits with each MCP server's circuit and bulkhead. */
+@Component
+@Endpoint(id = "mcpcircuits")
+public class McpCircuitsEndpoint {
+
+  private final McpCircuitBreakers circuitBreakers;
+
+  public McpCircuitsEndpoint(McpCircuitBreakers circuitBreakers) {
+    this.circuitBreakers = circuitBreakers;
+  }
+
+  @ReadOperation
+  public Map<String, McpCircuitBreakers.Snapshot> circuits() {
+    return circuitBreakers.snapshots();
+  }
+}
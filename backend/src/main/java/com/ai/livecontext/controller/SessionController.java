@@ -0,0 +1,61 @@
+package com.ai.livecontext.controller;
+
+import com.ai.livecontext.service.ConversationStore;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/sessions")
+public class SessionController {
+
+  private final ConversationStore conversationStore;
+
+  public SessionController(ConversationStore conversationStore) {
+    this.conversationStore = conversationStore;
+  }
+
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public Mono<Map<String, String>> createSession() {
+    return Mono.fromSupplier(() -> Map.of("sessionId", conversationStore.create().getId()));
+  }
+
+  @GetMapping("/{sessionId}")
+  public Mono<ResponseEntity<Map<String, Object>>> getSession(@PathVariable String sessionId) {
+    if (!ConversationStore.isValidId(sessionId)) {
+      return Mono.just(ResponseEntity.badRequest().build());
+    }
+    return conversationStore
+        .find(sessionId)
+        .map(
+            conversation -> {
+              Map<String, Object> body = new LinkedHashMap<>();
+              body.put("sessionId", conversation.getId());
+              body.put("summary", conversation.getSummary());
+              body.put("messages", conversation.getMessages());
+              body.put("evidence", conversation.getEvidence());
+              return ResponseEntity.ok(body);
+            })
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @DeleteMapping("/{sessionId}")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public Mono<Void> deleteSession(@PathVariable String sessionId) {
+    if (!ConversationStore.isValidId(sessionId)) {
+      return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sessionId"));
+    }
+    return conversationStore.delete(sessionId);
+  }
+}
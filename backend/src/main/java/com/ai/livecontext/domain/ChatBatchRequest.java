@@ -0,0 +1,25 @@
+package com.ai.livecontext.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatBatchRequest {
+
+  private List<String> questions;
+
+  private String correlationId;
+
+  /** Defaults to {@link ChatPriority#BATCH}. */
+  private ChatPriority priority;
+
+  public ChatPriority effectivePriority() {
+    return priority != null ? priority : ChatPriority.BATCH;
+  }
+}
@@ -0,0 +1,32 @@
+package com.ai.livecontext.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One line of a batch response; {@code index} is the question's position in the request. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatBatchResult {
+
+  private int index;
+
+  private String question;
+
+  private ChatResponse response;
+
+  private String error;
+
+  public static ChatBatchResult answered(int index, String question, ChatResponse response) {
+    return ChatBatchResult.builder().index(index).question(question).response(response).build();
+  }
+
+  public static ChatBatchResult failed(int index, String question, String error) {
+    return ChatBatchResult.builder().index(index).question(question).error(error).build();
+  }
+}
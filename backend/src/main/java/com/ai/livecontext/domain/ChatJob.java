@@ -0,0 +1,48 @@
+package com.ai.livecontext.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Snapshot of an asynchronous chat job; every state change produces a new snapshot. */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatJob {
+
+  private String id;
+
+  private Status status;
+
+  private String question;
+
+  private Instant submittedAt;
+
+  private Instant startedAt;
+
+  private Instant completedAt;
+
+  private ChatResponse result;
+
+  private String error;
+
+  @JsonIgnore private String callbackUrl;
+
+  @JsonIgnore
+  public boolean isFinished() {
+    return status == Status.SUCCEEDED || status == Status.FAILED;
+  }
+
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+  }
+}
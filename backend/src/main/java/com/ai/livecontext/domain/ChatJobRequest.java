@@ -0,0 +1,25 @@
+package com.ai.livecontext.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatJobRequest {
+
+  private String question;
+
+  /** Defaults to {@link ChatPriority#BATCH}, so jobs queue behind interactive chats. */
+  private ChatPriority priority;
+
+  /** Receives a POST with the finished job when set. */
+  private String callbackUrl;
+
+  public ChatPriority effectivePriority() {
+    return priority != null ? priority : ChatPriority.BATCH;
+  }
+}
@@ -0,0 +1,7 @@
+package com.ai.livecontext.domain;
+
+/** Admission class of a chat request; interactive requests are always served before batch. */
+public enum ChatPriority {
+  INTERACTIVE,
+  BATCH
+}
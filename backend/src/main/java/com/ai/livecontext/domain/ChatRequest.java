@@ -14,4 +14,14 @@ public class ChatRequest {
   private String question;
 
   private String correlationId;
+
+  /** Continues a server-side conversation; omit to ask a one-off question. */
+  private String sessionId;
+
+  /** Defaults to {@link ChatPriority#INTERACTIVE}; API and bulk clients should send BATCH. */
+  private ChatPriority priority;
+
+  public ChatPriority effectivePriority() {
+    return priority != null ? priority : ChatPriority.INTERACTIVE;
+  }
 }
@@ -1,5 +1,7 @@
 package com.ai.livecontext.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +20,12 @@ public class ChatResponse {
 
   private String correlationId;
 
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String sessionId;
+
+  /** Set when the answer is a mock or error fallback rather than a real LLM answer. */
+  @JsonIgnore private boolean fallback;
+
   @Data
   @Builder
   @NoArgsConstructor
@@ -27,5 +35,9 @@ public class ChatResponse {
     private String source;
     private String timestamp;
     private String summary;
+
+    /** Set when the tool's server was unavailable and the answer was given without its data. */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean degraded;
   }
 }
@@ -0,0 +1,27 @@
+package com.ai.livecontext.domain;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("chat_sessions")
+public class ChatSession {
+
+  @Id private String id;
+
+  private String summary;
+
+  private String messages; // Store as JSON string
+
+  private String evidence; // Store as JSON string
+
+  private Instant updatedAt;
+}
@@ -0,0 +1,58 @@
+package com.ai.livecontext.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatStreamEvent {
+
+  public static final String TOKEN = "token";
+  public static final String EVIDENCE = "evidence";
+  public static final String DONE = "done";
+  public static final String ERROR = "error";
+
+  private String type;
+
+  private String content;
+
+  private ChatResponse.Evidence evidence;
+
+  private String correlationId;
+
+  public static ChatStreamEvent token(String content, String correlationId) {
+    return ChatStreamEvent.builder()
+        .type(TOKEN)
+        .content(content)
+        .correlationId(correlationId)
+        .build();
+  }
+
+  public static ChatStreamEvent evidence(ChatResponse.Evidence evidence, String correlationId) {
+    return ChatStreamEvent.builder()
+        .type(EVIDENCE)
+        .evidence(evidence)
+        .correlationId(correlationId)
+        .build();
+  }
+
+  public static ChatStreamEvent done(ChatResponse response) {
+    return ChatStreamEvent.builder()
+        .type(DONE)
+        .content(response.getAnswer())
+        .correlationId(response.getCorrelationId())
+        .build();
+  }
+
+  public static ChatStreamEvent error(String message, String correlationId) {
+    return ChatStreamEvent.builder()
+        .type(ERROR)
+        .content(message)
+        .correlationId(correlationId)
+        .build();
+  }
+}
@@ -0,0 +1,27 @@
+package com.ai.livecontext.repository;
+
+import com.ai.livecontext.domain.ChatSession;
+import java.time.Instant;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ChatSessionRepository extends R2dbcRepository<ChatSession, String> {
+
+  @Modifying
+  @Query(
+      "INSERT INTO chat_sessions (id, summary, messages, evidence, updated_at)"
+          + " VALUES (:id, :summary, :messages, :evidence, :updatedAt)"
+          + " ON CONFLICT (id) DO UPDATE SET summary = EXCLUDED.summary,"
+          + " messages = EXCLUDED.messages, evidence = EXCLUDED.evidence,"
+          + " updated_at = EXCLUDED.updated_at")
+  Mono<Integer> upsert(
+      String id, String summary, String messages, String evidence, Instant updatedAt);
+
+  @Modifying
+  @Query("DELETE FROM chat_sessions WHERE updated_at < :cutoff")
+  Mono<Integer> deleteByUpdatedAtBefore(Instant cutoff);
+}
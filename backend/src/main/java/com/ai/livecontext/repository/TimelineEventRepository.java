@@ -14,6 +14,11 @@ public interface TimelineEventRepository extends R2dbcRepository<TimelineEvent,
 
   Flux<TimelineEvent> findAllByOrderByTimestampDesc();
 
+  @Query(
+      "SELECT * FROM timeline_events WHERE event_type = :eventType AND timestamp >= :since"
+          + " ORDER BY timestamp DESC LIMIT :limit")
+  Flux<TimelineEvent> findRecentByType(String eventType, Instant since, int limit);
+
   @Modifying
   @Query("DELETE FROM timeline_events WHERE timestamp < :cutoff")
   Mono<Integer> deleteByTimestampBefore(Instant cutoff);
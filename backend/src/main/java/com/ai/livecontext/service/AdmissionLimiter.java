@@ -0,0 +1,195 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.AdmissionConfig;
+import com.ai.livecontext.domain.ChatPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Bounds how many agentic loops run against Ollama at once. Requests beyond the concurrency limit
+ * wait in a bounded queue, interactive ahead of batch, and are rejected immediately once the queue
+ * is full so clients can back off instead of all timing out together.
+ */
+@Component
+public class AdmissionLimiter {
+
+  private static final Logger logger = LoggerFactory.getLogger(AdmissionLimiter.class);
+
+  private final AdmissionConfig config;
+  private final int maxConcurrency;
+  private final Map<ChatPriority, Deque<Ticket>> queues = new EnumMap<>(ChatPriority.class);
+  private final Map<ChatPriority, Timer> queueTimers = new EnumMap<>(ChatPriority.class);
+  private final MeterRegistry meterRegistry;
+  private int active;
+
+  public AdmissionLimiter(
+      AdmissionConfig config, OllamaNodePool ollamaNodePool, MeterRegistry meterRegistry) {
+    this.config = config;
+    this.maxConcurrency =
+        Math.max(1, config.getMaxConcurrencyPerNode() * ollamaNodePool.getNodeUrls().size());
+    this.meterRegistry = meterRegistry;
+    for (ChatPriority priority : ChatPriority.values()) {
+      queues.put(priority, new ArrayDeque<>());
+      queueTimers.put(
+          priority,
+          Timer.builder("livecontext.chat.admission.queue_time")
+              .description("Time chat requests waited for an LLM slot")
+              .tag("priority", priority.name().toLowerCase())
+              .publishPercentileHistogram()
+              .register(meterRegistry));
+    }
+    Gauge.builder("livecontext.chat.admission.active", this, AdmissionLimiter::getActive)
+        .description("Chat requests currently holding an LLM slot")
+        .register(meterRegistry);
+    Gauge.builder("livecontext.chat.admission.queued", this, AdmissionLimiter::getQueued)
+        .description("Chat requests waiting for an LLM slot")
+        .register(meterRegistry);
+
+    logger.info(
+        "[admission_ready] Admission limiter configured | enabled={} maxConcurrency={} maxQueueSize={}",
+        config.isEnabled(),
+        maxConcurrency,
+        config.getMaxQueueSize());
+  }
+
+  public <T> Mono<T> admit(ChatPriority priority, Supplier<Mono<T>> work) {
+    if (!config.isEnabled()) {
+      return Mono.defer(work);
+    }
+    return Mono.defer(
+        () -> {
+          Ticket ticket = enqueue(priority);
+          return awaitSlot(ticket).then(Mono.defer(work)).doFinally(signal -> close(ticket));
+        });
+  }
+
+  public <T> Flux<T> admitMany(ChatPriority priority, Supplier<Flux<T>> work) {
+    if (!config.isEnabled()) {
+      return Flux.defer(work);
+    }
+    return Flux.defer(
+        () -> {
+          Ticket ticket = enqueue(priority);
+          return awaitSlot(ticket).thenMany(Flux.defer(work)).doFinally(signal -> close(ticket));
+        });
+  }
+
+  synchronized int getActive() {
+    return active;
+  }
+
+  synchronized int getQueued() {
+    return queues.values().stream().mapToInt(Deque::size).sum();
+  }
+
+  private synchronized Ticket enqueue(ChatPriority priority) {
+    Ticket ticket = new Ticket(priority);
+    if (active < maxConcurrency && getQueued() == 0) {
+      active++;
+      ticket.granted = true;
+      queueTimers.get(priority).record(Duration.ZERO);
+      return ticket;
+    }
+
+    int limit =
+        priority == ChatPriority.BATCH ? config.getBatchQueueLimit() : config.getMaxQueueSize();
+    if (getQueued() >= limit) {
+      throw reject(priority, "queue_full", "LLM request queue is full");
+    }
+    queues.get(priority).addLast(ticket);
+    return ticket;
+  }
+
+  private Mono<Void> awaitSlot(Ticket ticket) {
+    if (ticket.granted) {
+      return Mono.empty();
+    }
+    return ticket.slot
+        .asMono()
+        .timeout(
+            Duration.ofMillis(config.getMaxQueueWaitMs()),
+            Mono.error(
+                () -> {
+                  close(ticket);
+                  return reject(
+                      ticket.priority, "queue_timeout", "Timed out waiting for LLM slot");
+                }));
+  }
+
+  private void close(Ticket ticket) {
+    Ticket next;
+    synchronized (this) {
+      if (ticket.closed) {
+        return;
+      }
+      ticket.closed = true;
+      if (!ticket.granted) {
+        // Cancelled or timed out while still queued
+        queues.get(ticket.priority).remove(ticket);
+        return;
+      }
+      next = pollNext();
+      if (next == null) {
+        active--;
+        return;
+      }
+      // The finished request's slot passes straight to the next waiter
+      next.granted = true;
+    }
+    queueTimers.get(next.priority).record(Duration.ofNanos(System.nanoTime() - next.enqueuedAt));
+    next.slot.tryEmitEmpty();
+  }
+
+  private Ticket pollNext() {
+    for (ChatPriority priority : ChatPriority.values()) {
+      Ticket next = queues.get(priority).pollFirst();
+      if (next != null) {
+        return next;
+      }
+    }
+    return null;
+  }
+
+  private AdmissionRejectedException reject(ChatPriority priority, String reason, String message) {
+    Counter.builder("livecontext.chat.admission.rejected")
+        .description("Chat requests rejected by the admission limiter")
+        .tag("priority", priority.name().toLowerCase())
+        .tag("reason", reason)
+        .register(meterRegistry)
+        .increment();
+    logger.warn(
+        "[admission_rejected] Rejecting chat request | priority={} reason={} active={} queued={}",
+        priority,
+        reason,
+        getActive(),
+        getQueued());
+    return new AdmissionRejectedException(
+        message, Duration.ofSeconds(config.getRetryAfterSeconds()));
+  }
+
+  private static final class Ticket {
+    private final ChatPriority priority;
+    private final long enqueuedAt = System.nanoTime();
+    private final Sinks.Empty<Void> slot = Sinks.empty();
+    private boolean granted;
+    private boolean closed;
+
+    Ticket(ChatPriority priority) {
+      this.priority = priority;
+    }
+  }
+}
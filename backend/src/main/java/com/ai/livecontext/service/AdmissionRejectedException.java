@@ -0,0 +1,18 @@
+package com.ai.livecontext.service;
+
+import java.time.Duration;
+
+/** Thrown when an LLM request cannot be admitted because the queue is full or too slow. */
+public class AdmissionRejectedException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public AdmissionRejectedException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
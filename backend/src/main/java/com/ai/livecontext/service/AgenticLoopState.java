@@ -0,0 +1,228 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.domain.ChatResponse;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-request state of the agentic tool-calling loop. Owned by a single chat subscription and
+ * advanced one Ollama turn at a time, so it is never shared between requests; only the memoized
+ * tool results may be shared with other loops of the same batch.
+ */
+class AgenticLoopState {
+
+  private static final String NO_ANSWER = "Unable to generate response";
+
+  private final ArrayNode messages;
+  private final List<SerializableString> encodedMessages = new ArrayList<>();
+  private final List<ChatResponse.Evidence> evidence = new ArrayList<>();
+  private final Map<String, Mono<JsonNode>> toolResults;
+  private final String correlationId;
+  private final Conversation conversation;
+  private final int turnStart;
+  private final long startNanos = System.nanoTime();
+
+  private int iteration;
+  private int turnCount;
+  private int deduplicatedToolCalls;
+  private int toolCallCount;
+  private boolean firstTokenSeen;
+  private boolean finished;
+  private String answer;
+
+  /**
+   * Starts the loop for a question.
+   *
+   * @param history session history to continue, or an empty array for a one-off question; the
+   *     system prompt and the question are added to it
+   * @param systemPrompt sent ahead of everything else when not blank
+   * @param conversation session the turn belongs to, or null for a one-off question
+   * @param sharedToolResults tool results shared with other loops, such as the rest of a batch, or
+   *     null to memoize tool calls for this request only
+   */
+  static AgenticLoopState start(
+      ArrayNode history,
+      String systemPrompt,
+      String question,
+      String correlationId,
+      Conversation conversation,
+      Map<String, Mono<JsonNode>> sharedToolResults) {
+    // Ahead of any session summary, so every request shares the same cached prompt prefix
+    if (systemPrompt != null && !systemPrompt.isBlank()) {
+      history.insertObject(0).put("role", "system").put("content", systemPrompt);
+    }
+    history.addObject().put("role", "user").put("content", question);
+    return new AgenticLoopState(history, correlationId, conversation, sharedToolResults);
+  }
+
+  private AgenticLoopState(
+      ArrayNode messages,
+      String correlationId,
+      Conversation conversation,
+      Map<String, Mono<JsonNode>> sharedToolResults) {
+    this.messages = messages;
+    this.correlationId = correlationId;
+    this.conversation = conversation;
+    this.toolResults = sharedToolResults != null ? sharedToolResults : new ConcurrentHashMap<>();
+    this.turnStart = Math.max(0, messages.size() - 1);
+    messages.forEach(this::encode);
+  }
+
+  ArrayNode getMessages() {
+    return messages;
+  }
+
+  /** Messages already serialized to JSON, so each turn only encodes what it appended. */
+  List<SerializableString> getEncodedMessages() {
+    return encodedMessages;
+  }
+
+  List<ChatResponse.Evidence> getEvidence() {
+    return evidence;
+  }
+
+  String getCorrelationId() {
+    return correlationId;
+  }
+
+  Conversation getConversation() {
+    return conversation;
+  }
+
+  /** Messages added by this turn, starting with the user's question. */
+  ArrayNode currentTurn() {
+    ArrayNode turn = messages.arrayNode();
+    for (int i = turnStart; i < messages.size(); i++) {
+      turn.add(messages.get(i));
+    }
+    return turn;
+  }
+
+  /**
+   * Result of an earlier call with the same tool and canonical arguments. When there is none, the
+   * result {@code execute} returns is memoized and returned instead; check and insert are one
+   * atomic step, so loops sharing the results never both execute the same call.
+   */
+  Mono<JsonNode> memoizeToolResult(String key, Function<String, Mono<JsonNode>> execute) {
+    return toolResults.computeIfAbsent(key, execute);
+  }
+
+  void forgetToolResult(String key) {
+    toolResults.remove(key);
+  }
+
+  void recordDeduplicatedToolCall() {
+    deduplicatedToolCalls++;
+  }
+
+  int getDeduplicatedToolCalls() {
+    return deduplicatedToolCalls;
+  }
+
+  int getIteration() {
+    return iteration;
+  }
+
+  int getTurnCount() {
+    return turnCount;
+  }
+
+  boolean isFinished() {
+    return finished;
+  }
+
+  long elapsedMillis() {
+    return elapsed().toMillis();
+  }
+
+  Duration elapsed() {
+    return Duration.ofNanos(System.nanoTime() - startNanos);
+  }
+
+  void recordToolCalls(int count) {
+    toolCallCount += count;
+  }
+
+  int getToolCallCount() {
+    return toolCallCount;
+  }
+
+  /** True only for the first streamed token of the request. */
+  boolean markFirstToken() {
+    if (firstTokenSeen) {
+      return false;
+    }
+    firstTokenSeen = true;
+    return true;
+  }
+
+  void addAssistantMessage(JsonNode message) {
+    messages.add(message);
+    encode(message);
+    turnCount++;
+  }
+
+  void addToolResults(List<ObjectNode> toolResults) {
+    for (ObjectNode toolResult : toolResults) {
+      messages.add(toolResult);
+      encode(toolResult);
+    }
+    iteration++;
+  }
+
+  /** Appends a tool call made before the loop started; it does not count as an Ollama turn. */
+  void seedToolCall(
+      JsonNode assistantMessage, ObjectNode toolMessage, ChatResponse.Evidence evidence) {
+    messages.add(assistantMessage);
+    encode(assistantMessage);
+    messages.add(toolMessage);
+    encode(toolMessage);
+    this.evidence.add(evidence);
+    toolCallCount++;
+  }
+
+  void addEvidence(List<ChatResponse.Evidence> items) {
+    evidence.addAll(items);
+  }
+
+  private void encode(JsonNode message) {
+    encodedMessages.add(new SerializedString(message.toString()));
+  }
+
+  void finish() {
+    finished = true;
+  }
+
+  void finish(String answer) {
+    this.answer = answer;
+    finished = true;
+  }
+
+  String lastAssistantAnswer() {
+    for (int i = messages.size() - 1; i >= 0; i--) {
+      JsonNode msg = messages.get(i);
+      if ("assistant".equals(msg.path("role").asText())) {
+        return msg.path("content").asText(NO_ANSWER);
+      }
+    }
+    return NO_ANSWER;
+  }
+
+  ChatResponse toResponse() {
+    return ChatResponse.builder()
+        .answer(answer != null ? answer : lastAssistantAnswer())
+        .evidence(evidence)
+        .correlationId(correlationId)
+        .build();
+  }
+}
@@ -0,0 +1,240 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.ChatJobConfig;
+import com.ai.livecontext.domain.ChatJob;
+import com.ai.livecontext.domain.ChatJobRequest;
+import com.ai.livecontext.domain.ChatPriority;
+import com.ai.livecontext.domain.ChatRequest;
+import com.ai.livecontext.util.CorrelationIdHolder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Answers chat questions in the background so clients don't hold a connection open for the whole
+ * agentic loop. Submitted jobs queue for a fixed number of workers; finished jobs stay fetchable
+ * for the result TTL and are optionally POSTed to a callback URL. Unfinished jobs are held apart
+ * from finished ones, so neither the size bound nor the TTL can drop a job the workers still run.
+ */
+@Service
+public class ChatJobService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChatJobService.class);
+
+  private final ChatJobConfig config;
+  private final ChatService chatService;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final WebClient webClient;
+  private final Map<String, JobEntry> unfinishedJobs = new ConcurrentHashMap<>();
+  private final Cache<String, JobEntry> finishedJobs;
+  private final Sinks.Many<Submission> queue = Sinks.many().unicast().onBackpressureBuffer();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final Disposable workers;
+
+  public ChatJobService(
+      ChatJobConfig config,
+      ChatService chatService,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.config = config;
+    this.chatService = chatService;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.webClient = WebClient.builder().build();
+    this.finishedJobs =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaxJobs())
+            .expireAfterWrite(Duration.ofMinutes(config.getResultTtlMinutes()))
+            .build();
+    Gauge.builder("livecontext.chat.jobs.pending", pending, AtomicInteger::get)
+        .description("Chat jobs waiting for a worker")
+        .register(meterRegistry);
+    this.workers =
+        queue.asFlux().flatMap(this::run, Math.max(1, config.getWorkers())).subscribe();
+  }
+
+  public Mono<ChatJob> submit(ChatJobRequest request) {
+    return Mono.fromSupplier(
+        () -> {
+          if (pending.incrementAndGet() > config.getMaxPendingJobs()) {
+            pending.decrementAndGet();
+            throw new AdmissionRejectedException(
+                "Chat job queue is full", Duration.ofMillis(config.getAdmissionRetryDelayMs()));
+          }
+          ChatJob job =
+              ChatJob.builder()
+                  .id(UUID.randomUUID().toString())
+                  .status(ChatJob.Status.QUEUED)
+                  .question(request.getQuestion())
+                  .submittedAt(Instant.now())
+                  .callbackUrl(request.getCallbackUrl())
+                  .build();
+          JobEntry entry = new JobEntry(job);
+          unfinishedJobs.put(job.getId(), entry);
+          synchronized (queue) {
+            queue.tryEmitNext(new Submission(entry, request.effectivePriority()));
+          }
+          logger.info(
+              "[chat_job_submitted] Queued chat job | jobId={} priority={} pending={}",
+              job.getId(),
+              request.effectivePriority(),
+              pending.get());
+          return job;
+        });
+  }
+
+  public Mono<ChatJob> find(String jobId) {
+    return Mono.fromSupplier(() -> entry(jobId)).map(entry -> entry.job);
+  }
+
+  /** The job's current state followed by every change, completing once it has finished. */
+  public Flux<ChatJob> updates(String jobId) {
+    return Mono.fromSupplier(() -> entry(jobId))
+        .flatMapMany(entry -> entry.updates.asFlux());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    workers.dispose();
+  }
+
+  private Mono<Void> run(Submission submission) {
+    return Mono.defer(
+        () -> {
+          pending.decrementAndGet();
+          JobEntry entry = submission.entry();
+          ChatJob running =
+              entry.job.toBuilder().status(ChatJob.Status.RUNNING).startedAt(Instant.now()).build();
+          CorrelationIdHolder.set(running.getId());
+          update(entry, running);
+          ChatRequest request =
+              ChatRequest.builder()
+                  .question(running.getQuestion())
+                  .correlationId(running.getId())
+                  .priority(submission.priority())
+                  .build();
+          return chatService
+              .processChat(request)
+              // Jobs have no client waiting on them, so a busy LLM only delays them
+              .retryWhen(
+                  Retry.fixedDelay(
+                          config.getAdmissionRetries(),
+                          Duration.ofMillis(config.getAdmissionRetryDelayMs()))
+                      .filter(AdmissionRejectedException.class::isInstance)
+                      .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+              .map(
+                  response ->
+                      running.toBuilder()
+                          .status(ChatJob.Status.SUCCEEDED)
+                          .result(response)
+                          .completedAt(Instant.now())
+                          .build())
+              .switchIfEmpty(
+                  Mono.fromSupplier(() -> failed(running, "No answer was produced")))
+              .onErrorResume(error -> Mono.just(failed(running, error.getMessage())))
+              .doOnNext(finished -> finish(entry, finished))
+              .flatMap(this::notifyCallback)
+              .doFinally(signalType -> CorrelationIdHolder.clear());
+        });
+  }
+
+  private JobEntry entry(String jobId) {
+    JobEntry entry = unfinishedJobs.get(jobId);
+    return entry != null ? entry : finishedJobs.getIfPresent(jobId);
+  }
+
+  private void finish(JobEntry entry, ChatJob finished) {
+    update(entry, finished);
+    Counter.builder("livecontext.chat.jobs.completed")
+        .description("Chat jobs finished by outcome")
+        .tag("status", finished.getStatus().name().toLowerCase())
+        .register(meterRegistry)
+        .increment();
+    logger.info(
+        "[chat_job_finished] Chat job finished | jobId={} status={} durationMs={}",
+        finished.getId(),
+        finished.getStatus(),
+        Duration.between(finished.getSubmittedAt(), finished.getCompletedAt()).toMillis());
+  }
+
+  private void update(JobEntry entry, ChatJob job) {
+    entry.job = job;
+    if (job.isFinished()) {
+      // Cached before it leaves the unfinished jobs so lookups never miss it; the TTL starts now
+      finishedJobs.put(job.getId(), entry);
+      unfinishedJobs.remove(job.getId());
+    }
+    entry.updates.tryEmitNext(job);
+    if (job.isFinished()) {
+      entry.updates.tryEmitComplete();
+    }
+  }
+
+  private Mono<Void> notifyCallback(ChatJob job) {
+    if (job.getCallbackUrl() == null || job.getCallbackUrl().isBlank()) {
+      return Mono.empty();
+    }
+    return Mono.fromCallable(() -> objectMapper.writeValueAsString(job))
+        .flatMap(
+            body ->
+                webClient
+                    .post()
+                    .uri(job.getCallbackUrl())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(body)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(Duration.ofMillis(config.getWebhookTimeoutMs())))
+        .then()
+        .onErrorResume(
+            error -> {
+              logger.warn(
+                  "[chat_job_callback_error] Failed to deliver job result | jobId={} url={} error={}",
+                  job.getId(),
+                  job.getCallbackUrl(),
+                  error.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  private static ChatJob failed(ChatJob running, String error) {
+    return running.toBuilder()
+        .status(ChatJob.Status.FAILED)
+        .error(error)
+        .completedAt(Instant.now())
+        .build();
+  }
+
+  private static final class JobEntry {
+    private final Sinks.Many<ChatJob> updates = Sinks.many().replay().latest();
+    private volatile ChatJob job;
+
+    JobEntry(ChatJob job) {
+      this.job = job;
+      updates.tryEmitNext(job);
+    }
+  }
+
+  private record Submission(JobEntry entry, ChatPriority priority) {}
+}
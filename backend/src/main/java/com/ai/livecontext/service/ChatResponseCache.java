@@ -0,0 +1,152 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.ChatCacheConfig;
+import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.tool.ToolHandler;
+import com.ai.livecontext.tool.ToolRegistry;
+import com.ai.livecontext.util.QuestionNormalizer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches final chat answers by normalized question. An entry is served while it is inside the
+ * freshness window of the data types its evidence came from, and past that window for as long as
+ * none of those data types has been re-ingested since the answer was produced.
+ */
+@Component
+public class ChatResponseCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChatResponseCache.class);
+
+  private final ChatCacheConfig config;
+  private final ToolRegistry toolRegistry;
+  private final DataVersionTracker dataVersionTracker;
+  private final Cache<String, CachedAnswer> cache;
+  private final Counter hits;
+  private final Counter revalidatedHits;
+  private final Counter staleMisses;
+  private final Counter misses;
+
+  public ChatResponseCache(
+      ChatCacheConfig config,
+      ToolRegistry toolRegistry,
+      DataVersionTracker dataVersionTracker,
+      MeterRegistry meterRegistry) {
+    this.config = config;
+    this.toolRegistry = toolRegistry;
+    this.dataVersionTracker = dataVersionTracker;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaxSize())
+            .expireAfterWrite(Duration.ofMinutes(config.getMaxAgeMinutes()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "chatResponses");
+    this.hits = lookupCounter(meterRegistry, "hit");
+    this.revalidatedHits = lookupCounter(meterRegistry, "revalidated");
+    this.staleMisses = lookupCounter(meterRegistry, "stale");
+    this.misses = lookupCounter(meterRegistry, "miss");
+  }
+
+  public Optional<ChatResponse> get(String question) {
+    if (!config.isEnabled()) {
+      return Optional.empty();
+    }
+
+    String key = QuestionNormalizer.normalize(question);
+    CachedAnswer entry = cache.getIfPresent(key);
+    if (entry == null) {
+      misses.increment();
+      return Optional.empty();
+    }
+
+    if (Instant.now().isBefore(entry.producedAt().plus(entry.freshness()))) {
+      hits.increment();
+    } else if (entry.dataVersions().equals(dataVersionTracker.snapshot(entry.dataTypes()))) {
+      revalidatedHits.increment();
+    } else {
+      cache.invalidate(key);
+      staleMisses.increment();
+      logger.debug(
+          "[chat_cache_stale] Cached answer outdated by newer data | key={} dataTypes={}",
+          key,
+          entry.dataTypes());
+      return Optional.empty();
+    }
+
+    logger.debug("[chat_cache_hit] Serving cached answer | key={}", key);
+    return Optional.of(entry.response());
+  }
+
+  public void put(String question, ChatResponse response) {
+    if (!config.isEnabled() || response.isFallback() || isDegraded(response)) {
+      return;
+    }
+
+    Set<String> dataTypes = dataTypesOf(response);
+    cache.put(
+        QuestionNormalizer.normalize(question),
+        new CachedAnswer(
+            response,
+            Instant.now(),
+            freshnessFor(dataTypes),
+            dataTypes,
+            dataVersionTracker.snapshot(dataTypes)));
+  }
+
+  /** Answers given without an unavailable tool's data are not worth repeating. */
+  private static boolean isDegraded(ChatResponse response) {
+    return response.getEvidence() != null
+        && response.getEvidence().stream().anyMatch(ChatResponse.Evidence::isDegraded);
+  }
+
+  private Set<String> dataTypesOf(ChatResponse response) {
+    Set<String> dataTypes = new TreeSet<>();
+    if (response.getEvidence() != null) {
+      for (ChatResponse.Evidence evidence : response.getEvidence()) {
+        ToolHandler handler = toolRegistry.getHandler(evidence.getType());
+        if (handler != null && handler.getServer() != null) {
+          dataTypes.add(handler.getServer());
+        }
+      }
+    }
+    return dataTypes;
+  }
+
+  private Duration freshnessFor(Set<String> dataTypes) {
+    int defaultSeconds = config.getDefaultFreshnessSeconds();
+    int seconds =
+        dataTypes.stream()
+            .mapToInt(
+                dataType -> config.getFreshnessSeconds().getOrDefault(dataType, defaultSeconds))
+            .min()
+            .orElse(defaultSeconds);
+    return Duration.ofSeconds(seconds);
+  }
+
+  private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("livecontext.chat.cache.lookups")
+        .description("Chat response cache lookups by outcome")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private record CachedAnswer(
+      ChatResponse response,
+      Instant producedAt,
+      Duration freshness,
+      Set<String> dataTypes,
+      Map<String, Long> dataVersions) {}
+}
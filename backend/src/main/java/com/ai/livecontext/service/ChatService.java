@@ -1,20 +1,176 @@
 package com.ai.livecontext.service;
 
+import com.ai.livecontext.config.ChatBatchConfig;
+import com.ai.livecontext.domain.ChatBatchRequest;
+import com.ai.livecontext.domain.ChatBatchResult;
+import com.ai.livecontext.domain.ChatPriority;
 import com.ai.livecontext.domain.ChatRequest;
 import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.domain.ChatStreamEvent;
+import com.ai.livecontext.util.CorrelationIdHolder;
+import com.ai.livecontext.util.QuestionNormalizer;
+import com.ai.livecontext.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
 public class ChatService {
 
   private final LlmService llmService;
+  private final ChatResponseCache chatResponseCache;
+  private final AdmissionLimiter admissionLimiter;
+  private final ConversationStore conversationStore;
+  private final IntentRouter intentRouter;
+  private final ChatBatchConfig batchConfig;
+  private final SingleFlight<String, ChatResponse> inFlightChats = new SingleFlight<>();
 
-  public ChatService(LlmService llmService) {
+  public ChatService(
+      LlmService llmService,
+      ChatResponseCache chatResponseCache,
+      AdmissionLimiter admissionLimiter,
+      ConversationStore conversationStore,
+      IntentRouter intentRouter,
+      ChatBatchConfig batchConfig,
+      MeterRegistry meterRegistry) {
     this.llmService = llmService;
+    this.chatResponseCache = chatResponseCache;
+    this.admissionLimiter = admissionLimiter;
+    this.conversationStore = conversationStore;
+    this.intentRouter = intentRouter;
+    this.batchConfig = batchConfig;
+    FunctionCounter.builder(
+            "livecontext.chat.coalesced", inFlightChats, SingleFlight::getJoinedCount)
+        .description("Chat requests that joined an identical in-flight request")
+        .register(meterRegistry);
+    Gauge.builder("livecontext.chat.in_flight", inFlightChats, SingleFlight::getInFlightCount)
+        .description("Distinct chat questions currently being answered")
+        .register(meterRegistry);
   }
 
   public Mono<ChatResponse> processChat(ChatRequest request) {
-    return llmService.chat(request.getQuestion());
+    if (request.getSessionId() != null) {
+      return answerInSession(request);
+    }
+
+    String question = request.getQuestion();
+    return Mono.defer(
+            () ->
+                chatResponseCache
+                    .get(question)
+                    .map(Mono::just)
+                    .orElseGet(() -> answerShared(question, request.effectivePriority())))
+        .map(response -> withCorrelationId(response, request.getCorrelationId()));
+  }
+
+  public Flux<ChatStreamEvent> processChatStream(ChatRequest request) {
+    if (request.getSessionId() == null) {
+      return admissionLimiter.admitMany(
+          request.effectivePriority(), () -> llmService.chatStream(request.getQuestion()));
+    }
+
+    return conversationStore
+        .open(request.getSessionId())
+        .flatMapMany(
+            conversation ->
+                admissionLimiter
+                    .admitMany(
+                        request.effectivePriority(),
+                        () -> llmService.chatStream(request.getQuestion(), conversation))
+                    .concatWith(conversationStore.save(conversation).then(Mono.empty())));
+  }
+
+  /**
+   * Answers every question of the batch, a bounded number at a time, emitting each result as soon
+   * as it is ready. Identical tool calls made while answering the batch are fetched only once. Each
+   * question runs under its own correlation ID, {@code <batch id>-<index>}.
+   */
+  public Flux<ChatBatchResult> processBatch(ChatBatchRequest request) {
+    List<String> questions = request.getQuestions();
+    return Flux.range(0, questions.size())
+        .flatMap(
+            index -> {
+              String question = questions.get(index);
+              ChatRequest chatRequest =
+                  ChatRequest.builder()
+                      .question(question)
+                      .correlationId(request.getCorrelationId() + "-" + index)
+                      .priority(request.effectivePriority())
+                      .build();
+              return Mono.defer(
+                      () -> {
+                        CorrelationIdHolder.set(chatRequest.getCorrelationId());
+                        return processChat(chatRequest);
+                      })
+                  .doFinally(signalType -> CorrelationIdHolder.clear())
+                  .map(response -> ChatBatchResult.answered(index, question, response))
+                  .onErrorResume(
+                      error ->
+                          Mono.just(ChatBatchResult.failed(index, question, error.getMessage())));
+            },
+            Math.max(1, batchConfig.getConcurrency()))
+        .contextWrite(context -> context.putAll(SharedToolResults.newContext()));
+  }
+
+  /**
+   * Follow-up questions depend on the session history, so they bypass the answer cache and
+   * request coalescing and always run their own loop.
+   */
+  private Mono<ChatResponse> answerInSession(ChatRequest request) {
+    return conversationStore
+        .open(request.getSessionId())
+        .flatMap(
+            conversation ->
+                admissionLimiter
+                    .admit(
+                        request.effectivePriority(),
+                        () -> llmService.chat(request.getQuestion(), conversation))
+                    .flatMap(
+                        response -> conversationStore.save(conversation).thenReturn(response)))
+        .map(response -> withCorrelationId(response, request.getCorrelationId()));
+  }
+
+  private Mono<ChatResponse> answerShared(String question, ChatPriority priority) {
+    // Identical questions asked while an answer is being produced attach to that same loop,
+    // so only the first of them takes an admission slot
+    return inFlightChats.execute(
+        QuestionNormalizer.normalize(question),
+        () ->
+            intentRouter
+                .route(question)
+                .flatMap(call -> answerRouted(question, call, priority))
+                .switchIfEmpty(
+                    Mono.defer(
+                        () -> admissionLimiter.admit(priority, () -> llmService.chat(question))))
+                .doOnNext(response -> chatResponseCache.put(question, response)));
+  }
+
+  /** Rendered answers need no LLM slot; otherwise Ollama phrases the already fetched result. */
+  private Mono<ChatResponse> answerRouted(
+      String question, IntentRouter.RoutedCall call, ChatPriority priority) {
+    if (call.answer() != null) {
+      return Mono.just(
+          ChatResponse.builder()
+              .answer(call.answer())
+              .evidence(List.of(call.evidence()))
+              .correlationId(CorrelationIdHolder.get())
+              .build());
+    }
+    return admissionLimiter.admit(priority, () -> llmService.chatWithToolResult(question, call));
+  }
+
+  /** Shared answers are copied so every caller sees its own correlation ID. */
+  private static ChatResponse withCorrelationId(ChatResponse shared, String correlationId) {
+    return ChatResponse.builder()
+        .answer(shared.getAnswer())
+        .evidence(shared.getEvidence())
+        .correlationId(correlationId)
+        .sessionId(shared.getSessionId())
+        .fallback(shared.isFallback())
+        .build();
   }
 }
@@ -0,0 +1,194 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.util.TokenEstimator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-side history of one chat session: the Ollama messages of earlier turns, the evidence they
+ * produced and the tool results follow-up questions may reuse. Turns that no longer fit the token
+ * budget are folded into a plain-text summary sent ahead of the remaining messages.
+ */
+public class Conversation {
+
+  private static final String SUMMARY_HEADER = "Summary of the earlier conversation:";
+  private static final int SUMMARY_QUESTION_CHARS = 200;
+  private static final int SUMMARY_ANSWER_CHARS = 300;
+
+  private final String id;
+  private final Duration toolResultMaxAge;
+  private final ArrayNode messages = JsonNodeFactory.instance.arrayNode();
+  private final List<ChatResponse.Evidence> evidence = new ArrayList<>();
+  private final Map<String, ToolResult> toolResults = new ConcurrentHashMap<>();
+  private final StringBuilder summary = new StringBuilder();
+
+  public Conversation(String id, Duration toolResultMaxAge) {
+    this.id = id;
+    this.toolResultMaxAge = toolResultMaxAge;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  /** Messages to seed the next turn with, starting with the summary of compacted turns. */
+  public synchronized ArrayNode history() {
+    ArrayNode history = JsonNodeFactory.instance.arrayNode();
+    if (!summary.isEmpty()) {
+      ObjectNode summaryMessage = history.addObject();
+      summaryMessage.put("role", "system");
+      summaryMessage.put("content", SUMMARY_HEADER + summary);
+    }
+    messages.forEach(message -> history.add(message.deepCopy()));
+    return history;
+  }
+
+  public synchronized ArrayNode getMessages() {
+    return messages.deepCopy();
+  }
+
+  public synchronized List<ChatResponse.Evidence> getEvidence() {
+    return new ArrayList<>(evidence);
+  }
+
+  public synchronized String getSummary() {
+    return summary.toString();
+  }
+
+  public synchronized void appendTurn(ArrayNode turnMessages, List<ChatResponse.Evidence> items) {
+    turnMessages.forEach(messages::add);
+    evidence.addAll(items);
+  }
+
+  /** Restores a persisted session; only used before the conversation is shared. */
+  synchronized void restore(
+      String summaryText, ArrayNode savedMessages, List<ChatResponse.Evidence> savedEvidence) {
+    summary.setLength(0);
+    if (summaryText != null) {
+      summary.append(summaryText);
+    }
+    messages.removeAll();
+    messages.addAll(savedMessages);
+    evidence.clear();
+    evidence.addAll(savedEvidence);
+  }
+
+  public Optional<JsonNode> reusableToolResult(String key) {
+    ToolResult cached = toolResults.get(key);
+    if (cached == null || isExpired(cached)) {
+      return Optional.empty();
+    }
+    return Optional.of(cached.result());
+  }
+
+  public void rememberToolResult(String key, JsonNode result) {
+    toolResults.put(key, new ToolResult(result, Instant.now()));
+  }
+
+  /**
+   * Shrinks the history to the token budget, leaving the most recent turns untouched. Large tool
+   * results in older turns are truncated first; if that is not enough the oldest turns are
+   * replaced by a one-line summary each.
+   *
+   * @return whether anything was compacted
+   */
+  public synchronized boolean compact(
+      int maxTokens, int keepRecentTurns, int maxToolResultChars, int maxEvidence) {
+    while (evidence.size() > maxEvidence) {
+      evidence.remove(0);
+    }
+    toolResults.values().removeIf(this::isExpired);
+
+    if (estimateTokens() <= maxTokens) {
+      return false;
+    }
+
+    List<List<ObjectNode>> turns = splitTurns();
+    int compactable = Math.max(0, turns.size() - keepRecentTurns);
+
+    for (int i = 0; i < compactable; i++) {
+      for (ObjectNode message : turns.get(i)) {
+        String content = message.path("content").asText("");
+        if ("tool".equals(message.path("role").asText()) && content.length() > maxToolResultChars) {
+          message.put("content", content.substring(0, maxToolResultChars) + "...[truncated]");
+        }
+      }
+    }
+
+    int dropped = 0;
+    while (dropped < compactable && estimateTokens(turns, dropped) > maxTokens) {
+      summarize(turns.get(dropped));
+      dropped++;
+    }
+
+    messages.removeAll();
+    for (List<ObjectNode> turn : turns.subList(dropped, turns.size())) {
+      turn.forEach(messages::add);
+    }
+    return true;
+  }
+
+  private List<List<ObjectNode>> splitTurns() {
+    List<List<ObjectNode>> turns = new ArrayList<>();
+    for (JsonNode message : messages) {
+      if (turns.isEmpty() || "user".equals(message.path("role").asText())) {
+        turns.add(new ArrayList<>());
+      }
+      turns.get(turns.size() - 1).add((ObjectNode) message);
+    }
+    return turns;
+  }
+
+  private void summarize(List<ObjectNode> turn) {
+    String question = "";
+    String answer = "";
+    for (ObjectNode message : turn) {
+      String role = message.path("role").asText();
+      String content = message.path("content").asText("");
+      if ("user".equals(role)) {
+        question = content;
+      } else if ("assistant".equals(role) && !content.isBlank()) {
+        answer = content;
+      }
+    }
+    summary
+        .append("\n- Q: ")
+        .append(truncate(question, SUMMARY_QUESTION_CHARS))
+        .append(" A: ")
+        .append(truncate(answer, SUMMARY_ANSWER_CHARS));
+  }
+
+  private int estimateTokens() {
+    return estimateTokens(splitTurns(), 0);
+  }
+
+  private int estimateTokens(List<List<ObjectNode>> turns, int fromTurn) {
+    int tokens = TokenEstimator.estimate(summary.toString());
+    for (List<ObjectNode> turn : turns.subList(fromTurn, turns.size())) {
+      for (ObjectNode message : turn) {
+        tokens += TokenEstimator.estimate(message.toString());
+      }
+    }
+    return tokens;
+  }
+
+  private boolean isExpired(ToolResult cached) {
+    return cached.fetchedAt().plus(toolResultMaxAge).isBefore(Instant.now());
+  }
+
+  private static String truncate(String text, int maxChars) {
+    return text.length() > maxChars ? text.substring(0, maxChars) + "..." : text;
+  }
+
+  private record ToolResult(JsonNode result, Instant fetchedAt) {}
+}
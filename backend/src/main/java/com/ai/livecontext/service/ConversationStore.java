@@ -0,0 +1,175 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.SessionConfig;
+import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.domain.ChatSession;
+import com.ai.livecontext.repository.ChatSessionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps active conversations in a bounded in-memory cache, optionally backed by the chat_sessions
+ * table so a session evicted from memory or lost on restart can be picked up again.
+ */
+@Component
+public class ConversationStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConversationStore.class);
+  private static final TypeReference<List<ChatResponse.Evidence>> EVIDENCE_LIST =
+      new TypeReference<>() {};
+  // Client-chosen IDs must fit chat_sessions.id VARCHAR(64); generated IDs are UUIDs
+  private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+  private final SessionConfig config;
+  private final ChatSessionRepository chatSessionRepository;
+  private final ObjectMapper objectMapper;
+  private final Cache<String, Conversation> conversations;
+
+  public ConversationStore(
+      SessionConfig config,
+      ChatSessionRepository chatSessionRepository,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.config = config;
+    this.chatSessionRepository = chatSessionRepository;
+    this.objectMapper = objectMapper;
+    this.conversations =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaxSessions())
+            .expireAfterAccess(Duration.ofMinutes(config.getIdleTimeoutMinutes()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, conversations, "chatSessions");
+  }
+
+  public static boolean isValidId(String sessionId) {
+    return sessionId != null && SESSION_ID.matcher(sessionId).matches();
+  }
+
+  public Conversation create() {
+    Conversation conversation = newConversation(UUID.randomUUID().toString());
+    conversations.put(conversation.getId(), conversation);
+    return conversation;
+  }
+
+  /** Returns the session, starting a fresh one under the same ID when it is unknown. */
+  public Mono<Conversation> open(String sessionId) {
+    return find(sessionId)
+        .switchIfEmpty(
+            Mono.fromSupplier(() -> conversations.get(sessionId, this::newConversation)));
+  }
+
+  public Mono<Conversation> find(String sessionId) {
+    return Mono.defer(
+        () -> {
+          Conversation cached = conversations.getIfPresent(sessionId);
+          if (cached != null) {
+            return Mono.just(cached);
+          }
+          if (!config.isPersistenceEnabled()) {
+            return Mono.empty();
+          }
+          return chatSessionRepository
+              .findById(sessionId)
+              .map(this::toConversation)
+              // Another request may have loaded the same session meanwhile; keep the first one
+              .map(loaded -> conversations.asMap().computeIfAbsent(sessionId, id -> loaded));
+        });
+  }
+
+  /** Compacts the conversation after a turn and writes it through to the database if enabled. */
+  public Mono<Void> save(Conversation conversation) {
+    Mono<Void> compaction = Mono.fromRunnable(() -> compact(conversation));
+    if (!config.isPersistenceEnabled()) {
+      return compaction;
+    }
+    return compaction
+        .then(Mono.fromCallable(() -> toEntity(conversation)))
+        .flatMap(
+            entity ->
+                chatSessionRepository.upsert(
+                    entity.getId(),
+                    entity.getSummary(),
+                    entity.getMessages(),
+                    entity.getEvidence(),
+                    entity.getUpdatedAt()))
+        .doOnError(
+            error ->
+                logger.error(
+                    "[session_persist_error] Failed to persist conversation | sessionId={} error={}",
+                    conversation.getId(),
+                    error.getMessage()))
+        // The in-memory copy is authoritative; a failed write must not fail the chat answer
+        .onErrorResume(error -> Mono.empty())
+        .then();
+  }
+
+  public Mono<Void> delete(String sessionId) {
+    conversations.invalidate(sessionId);
+    if (!config.isPersistenceEnabled()) {
+      return Mono.empty();
+    }
+    return chatSessionRepository.deleteById(sessionId);
+  }
+
+  private void compact(Conversation conversation) {
+    boolean compacted =
+        conversation.compact(
+            config.getMaxHistoryTokens(),
+            config.getKeepRecentTurns(),
+            config.getMaxToolResultChars(),
+            config.getMaxEvidence());
+    if (compacted) {
+      logger.debug(
+          "[session_compacted] Compacted conversation history | sessionId={}",
+          conversation.getId());
+    }
+  }
+
+  private Conversation newConversation(String sessionId) {
+    return new Conversation(sessionId, Duration.ofSeconds(config.getToolResultMaxAgeSeconds()));
+  }
+
+  private ChatSession toEntity(Conversation conversation) throws JsonProcessingException {
+    return ChatSession.builder()
+        .id(conversation.getId())
+        .summary(conversation.getSummary())
+        .messages(objectMapper.writeValueAsString(conversation.getMessages()))
+        .evidence(objectMapper.writeValueAsString(conversation.getEvidence()))
+        .updatedAt(Instant.now())
+        .build();
+  }
+
+  private Conversation toConversation(ChatSession entity) {
+    Conversation conversation = newConversation(entity.getId());
+    try {
+      conversation.restore(
+          entity.getSummary(),
+          (ArrayNode) objectMapper.readTree(entity.getMessages()),
+          entity.getEvidence() != null
+              ? objectMapper.readValue(entity.getEvidence(), EVIDENCE_LIST)
+              : List.of());
+    } catch (JsonProcessingException e) {
+      logger.warn(
+          "[session_restore_error] Stored conversation is unreadable, starting fresh | sessionId={} error={}",
+          entity.getId(),
+          e.getMessage());
+    }
+    return conversation;
+  }
+}
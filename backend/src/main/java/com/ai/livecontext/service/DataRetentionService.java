@@ -1,5 +1,6 @@
 package com.ai.livecontext.service;
 
+import com.ai.livecontext.repository.ChatSessionRepository;
 import com.ai.livecontext.repository.NewsItemRepository;
 import com.ai.livecontext.repository.TimelineEventRepository;
 import java.time.Duration;
@@ -17,6 +18,7 @@ public class DataRetentionService {
 
   private final TimelineEventRepository timelineEventRepository;
   private final NewsItemRepository newsItemRepository;
+  private final ChatSessionRepository chatSessionRepository;
 
   @Value("${livecontext.retention.timeline-days:7}")
   private int timelineRetentionDays;
@@ -24,10 +26,19 @@ public class DataRetentionService {
   @Value("${livecontext.retention.news-days:30}")
   private int newsRetentionDays;
 
+  @Value("${livecontext.retention.session-days:7}")
+  private int sessionRetentionDays;
+
+  @Value("${livecontext.sessions.persistence-enabled:false}")
+  private boolean sessionPersistenceEnabled;
+
   public DataRetentionService(
-      TimelineEventRepository timelineEventRepository, NewsItemRepository newsItemRepository) {
+      TimelineEventRepository timelineEventRepository,
+      NewsItemRepository newsItemRepository,
+      ChatSessionRepository chatSessionRepository) {
     this.timelineEventRepository = timelineEventRepository;
     this.newsItemRepository = newsItemRepository;
+    this.chatSessionRepository = chatSessionRepository;
   }
 
   @Scheduled(cron = "${livecontext.retention.cleanup-cron:0 0 2 * * *}")
@@ -36,6 +47,9 @@ public class DataRetentionService {
 
     cleanupTimelineEvents();
     cleanupNewsItems();
+    if (sessionPersistenceEnabled) {
+      cleanupChatSessions();
+    }
   }
 
   private void cleanupTimelineEvents() {
@@ -71,4 +85,21 @@ public class DataRetentionService {
                     "[data_retention_news_error] Failed to cleanup news items | error={}",
                     error.getMessage()));
   }
+
+  private void cleanupChatSessions() {
+    Instant cutoff = Instant.now().minus(Duration.ofDays(sessionRetentionDays));
+
+    chatSessionRepository
+        .deleteByUpdatedAtBefore(cutoff)
+        .subscribe(
+            count ->
+                logger.info(
+                    "[data_retention_sessions] Deleted idle chat sessions | count={} cutoffDays={}",
+                    count,
+                    sessionRetentionDays),
+            error ->
+                logger.error(
+                    "[data_retention_sessions_error] Failed to cleanup chat sessions | error={}",
+                    error.getMessage()));
+  }
 }
@@ -0,0 +1,34 @@
+package com.ai.livecontext.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/** Counts changes per ingested data type so cached answers can tell whether their data moved. */
+@Component
+public class DataVersionTracker {
+
+  private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+  public void markChanged(String dataType) {
+    if (dataType != null) {
+      versions.computeIfAbsent(dataType, key -> new AtomicLong()).incrementAndGet();
+    }
+  }
+
+  public long getVersion(String dataType) {
+    AtomicLong version = versions.get(dataType);
+    return version != null ? version.get() : 0L;
+  }
+
+  public Map<String, Long> snapshot(Collection<String> dataTypes) {
+    Map<String, Long> snapshot = new TreeMap<>();
+    for (String dataType : dataTypes) {
+      snapshot.put(dataType, getVersion(dataType));
+    }
+    return snapshot;
+  }
+}
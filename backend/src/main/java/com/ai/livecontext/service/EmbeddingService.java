@@ -0,0 +1,94 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.NewsIndexConfig;
+import com.ai.livecontext.util.HnswIndex;
+import com.ai.livecontext.util.JsonStreamDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Turns text into unit length embedding vectors with Ollama's /api/embed. In Ollama mock mode a
+ * hashed bag of words stands in so the news index works without a model.
+ */
+@Service
+public class EmbeddingService {
+
+  private final NewsIndexConfig config;
+  private final OllamaNodePool ollamaNodePool;
+  private final ObjectMapper objectMapper;
+  private final WebClient webClient;
+
+  @Value("${livecontext.ollama.mock-mode:false}")
+  private boolean mockMode;
+
+  @Value("${livecontext.ollama.max-response-bytes:1048576}")
+  private int maxResponseBytes;
+
+  public EmbeddingService(
+      NewsIndexConfig config, OllamaNodePool ollamaNodePool, ObjectMapper objectMapper) {
+    this.config = config;
+    this.ollamaNodePool = ollamaNodePool;
+    this.objectMapper = objectMapper;
+    this.webClient = WebClient.builder().build();
+  }
+
+  /** Identifies the vector space; vectors from different models must not be compared. */
+  public String getModelId() {
+    return mockMode ? "mock-hash-" + config.getMockDimensions() : config.getEmbeddingModel();
+  }
+
+  public Mono<float[]> embed(String text) {
+    if (mockMode) {
+      return Mono.fromSupplier(() -> hashEmbedding(text));
+    }
+    ObjectNode body = objectMapper.createObjectNode();
+    body.put("model", config.getEmbeddingModel());
+    body.put("input", text);
+    return ollamaNodePool
+        .executeUntracked(
+            baseUrl ->
+                webClient
+                    .post()
+                    .uri(baseUrl + "/api/embed")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(body.toString())
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .as(
+                        response ->
+                            JsonStreamDecoder.decodeOne(response, objectMapper, maxResponseBytes))
+                    .timeout(Duration.ofMillis(config.getEmbeddingTimeoutMs())))
+        .map(this::toVector);
+  }
+
+  private float[] toVector(JsonNode response) {
+    JsonNode embedding = response.path("embeddings").path(0);
+    if (!embedding.isArray() || embedding.isEmpty()) {
+      throw new IllegalStateException("Ollama returned no embedding");
+    }
+    float[] vector = new float[embedding.size()];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = (float) embedding.get(i).asDouble();
+    }
+    return HnswIndex.normalize(vector);
+  }
+
+  private float[] hashEmbedding(String text) {
+    float[] vector = new float[config.getMockDimensions()];
+    for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+      if (!token.isEmpty()) {
+        vector[Math.floorMod(token.hashCode(), vector.length)] += 1;
+      }
+    }
+    return HnswIndex.normalize(vector);
+  }
+}
@@ -24,6 +24,7 @@ public class IngestionService {
   private final McpClientService mcpClientService;
   private final TimelineService timelineService;
   private final NewsItemRepository newsItemRepository;
+  private final NewsVectorIndex newsVectorIndex;
   private final ObjectMapper objectMapper;
 
   @Value("${livecontext.ingestion.news.enabled:true}")
@@ -45,10 +46,12 @@ public class IngestionService {
       McpClientService mcpClientService,
       TimelineService timelineService,
       NewsItemRepository newsItemRepository,
+      NewsVectorIndex newsVectorIndex,
       ObjectMapper objectMapper) {
     this.mcpClientService = mcpClientService;
     this.timelineService = timelineService;
     this.newsItemRepository = newsItemRepository;
+    this.newsVectorIndex = newsVectorIndex;
     this.objectMapper = objectMapper;
   }
 
@@ -92,7 +95,8 @@ public class IngestionService {
                           if (!exists) {
                             return newsItemRepository
                                 .save(newsItem)
-                                .then(createNewsTimelineEvent(newsItem));
+                                .then(createNewsTimelineEvent(newsItem))
+                                .then(newsVectorIndex.index(newsItem));
                           }
                           return Mono.empty();
                         }))
@@ -120,7 +124,7 @@ public class IngestionService {
               ObjectNode params = objectMapper.createObjectNode();
               params.put("symbol", symbol);
               params.put("interval", "daily");
-              return mcpClientService.callTool("market", "get_quote", params);
+              return mcpClientService.refreshTool("market", "get_quote", params);
             })
         .flatMap(this::createMarketTimelineEvent)
         .subscribe(
@@ -145,7 +149,7 @@ public class IngestionService {
     params.put("longitude", -74.0060);
 
     mcpClientService
-        .callTool("weather", "get_forecast", params)
+        .refreshTool("weather", "get_forecast", params)
         .flatMap(this::createWeatherTimelineEvent)
         .subscribe(
             success -> {},
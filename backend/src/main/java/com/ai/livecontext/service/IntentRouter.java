@@ -0,0 +1,369 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.RouterConfig;
+import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.tool.ToolRegistry;
+import com.ai.livecontext.util.CorrelationIdHolder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Recognises questions that need exactly one quote, news or weather lookup and answers them
+ * without letting the LLM pick the tool. Keyword rules classify the intent, then the symbol,
+ * search query or place is extracted; anything ambiguous or compound is left to the full
+ * tool-calling loop.
+ */
+@Service
+public class IntentRouter {
+
+  private static final Logger logger = LoggerFactory.getLogger(IntentRouter.class);
+  private static final int EVIDENCE_SUMMARY_CHARS = 100;
+  private static final int NEWS_RESULTS = 3;
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[\\s,;:!?()\"]+");
+  private static final Pattern TICKER = Pattern.compile("\\$?([A-Z]{1,5})(\\.[A-Z]{2})?");
+  private static final Pattern DOLLAR_TICKER =
+      Pattern.compile("\\$([A-Za-z]{1,5})(\\.[A-Za-z]{2})?");
+
+  private static final Map<Intent, Set<String>> KEYWORDS =
+      new EnumMap<>(
+          Map.of(
+              Intent.QUOTE,
+              Set.of(
+                  "price", "prices", "quote", "quotes", "stock", "stocks", "share", "shares",
+                  "trading", "ticker"),
+              Intent.NEWS,
+              Set.of("news", "headline", "headlines", "article", "articles", "stories"),
+              Intent.WEATHER,
+              Set.of(
+                  "weather", "temperature", "forecast", "rain", "raining", "snow", "sunny",
+                  "humidity")));
+
+  /** Words that signal a comparison, an opinion or a time range the tools can't answer alone. */
+  private static final Set<String> COMPOUND_WORDS =
+      Set.of(
+          "and", "or", "vs", "versus", "compare", "compared", "between", "why", "should",
+          "predict", "recommend", "buy", "sell", "history", "historical", "weekly", "monthly",
+          "yearly", "trend", "chart");
+
+  private static final Set<String> NEWS_FILLER =
+      Set.of(
+          "news", "headline", "headlines", "article", "articles", "stories", "latest", "recent",
+          "today", "todays", "current", "top", "any", "some", "what", "whats", "is", "are", "the",
+          "a", "an", "on", "about", "for", "of", "in", "around", "me", "show", "give", "get",
+          "find", "tell", "there", "please");
+
+  /** Upper-case words that look like tickers but almost never are in a question. */
+  private static final Set<String> NOT_TICKERS =
+      Set.of("I", "A", "AI", "US", "USA", "CEO", "ETF", "USD", "EPS", "IPO", "IS");
+
+  private final RouterConfig config;
+  private final ToolRegistry toolRegistry;
+  private final LocalRetrievalService localRetrievalService;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  public IntentRouter(
+      RouterConfig config,
+      ToolRegistry toolRegistry,
+      LocalRetrievalService localRetrievalService,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.config = config;
+    this.toolRegistry = toolRegistry;
+    this.localRetrievalService = localRetrievalService;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Fetches the data for a routable question. Empty when the question is not a single lookup or
+   * the lookup failed, in which case the caller runs the tool-calling loop as usual.
+   */
+  public Mono<RoutedCall> route(String question) {
+    if (!config.isEnabled()) {
+      return Mono.empty();
+    }
+    Optional<Route> classified = classify(question);
+    if (classified.isEmpty()) {
+      return Mono.empty();
+    }
+    Route route = classified.get();
+    String correlationId = CorrelationIdHolder.get();
+    Mono<JsonNode> lookup =
+        localRetrievalService
+            .resolve(route.toolName(), route.arguments())
+            .switchIfEmpty(
+                Mono.defer(() -> toolRegistry.execute(route.toolName(), route.arguments())));
+    // Questions of one batch asking for the same lookup share a single fetch
+    String key = SharedToolResults.key(route.toolName(), route.arguments());
+    return SharedToolResults.share(key, lookup)
+        .map(result -> toRoutedCall(route, result))
+        .doOnNext(
+            call -> {
+              String mode = call.answer() != null ? "template" : "llm";
+              logger.info(
+                  "[intent_routed] Answering without the tool-calling loop | intent={} tool={} mode={} correlationId={}",
+                  route.intent(),
+                  route.toolName(),
+                  mode,
+                  correlationId);
+              routedCounter(route.intent(), mode).increment();
+            })
+        .onErrorResume(
+            error -> {
+              logger.warn(
+                  "[intent_route_error] Routed lookup failed, falling back to the LLM | intent={} error={} correlationId={}",
+                  route.intent(),
+                  error.getMessage(),
+                  correlationId);
+              return Mono.empty();
+            });
+  }
+
+  /** Classifies the question; empty unless exactly one intent and its argument are found. */
+  public Optional<Route> classify(String question) {
+    if (question == null || question.isBlank()) {
+      return Optional.empty();
+    }
+    List<String> tokens = new ArrayList<>();
+    for (String token : TOKEN_SEPARATOR.split(question.trim())) {
+      // Sentence-ending periods, but not the exchange suffix of a ticker such as AAPL.US
+      String cleaned = token.replaceAll("\\.+$", "");
+      if (!cleaned.isEmpty()) {
+        tokens.add(cleaned);
+      }
+    }
+    if (tokens.isEmpty() || tokens.size() > config.getMaxWords()) {
+      return Optional.empty();
+    }
+    List<String> words = new ArrayList<>(tokens.size());
+    for (String token : tokens) {
+      words.add(token.toLowerCase(Locale.ROOT).replaceAll("['’]s$", "").replace("'", ""));
+    }
+    if (words.stream().anyMatch(COMPOUND_WORDS::contains)) {
+      return Optional.empty();
+    }
+
+    Intent intent = null;
+    for (Map.Entry<Intent, Set<String>> entry : KEYWORDS.entrySet()) {
+      if (words.stream().anyMatch(entry.getValue()::contains)) {
+        if (intent != null) {
+          return Optional.empty();
+        }
+        intent = entry.getKey();
+      }
+    }
+    if (intent == null) {
+      return Optional.empty();
+    }
+
+    return switch (intent) {
+      case QUOTE -> symbol(tokens, words).map(this::quoteRoute);
+      case NEWS -> newsQuery(words).map(this::newsRoute);
+      case WEATHER -> location(words).map(this::weatherRoute);
+    };
+  }
+
+  private Optional<String> symbol(List<String> tokens, List<String> words) {
+    Set<String> symbols = new LinkedHashSet<>();
+    for (int i = 0; i < tokens.size(); i++) {
+      String alias = config.getSymbolAliases().get(words.get(i));
+      if (alias != null) {
+        symbols.add(alias);
+        continue;
+      }
+      Matcher dollar = DOLLAR_TICKER.matcher(tokens.get(i));
+      Matcher ticker = TICKER.matcher(tokens.get(i));
+      Matcher match = dollar.matches() ? dollar : ticker.matches() ? ticker : null;
+      if (match != null && (dollar.matches() || !NOT_TICKERS.contains(match.group(1)))) {
+        String suffix = match.group(2) != null ? match.group(2) : ".US";
+        symbols.add((match.group(1) + suffix).toUpperCase(Locale.ROOT));
+      }
+    }
+    return symbols.size() == 1 ? Optional.of(symbols.iterator().next()) : Optional.empty();
+  }
+
+  private Optional<String> newsQuery(List<String> words) {
+    List<String> terms = words.stream().filter(word -> !NEWS_FILLER.contains(word)).toList();
+    return terms.isEmpty() ? Optional.empty() : Optional.of(String.join(" ", terms));
+  }
+
+  private Optional<String> location(List<String> words) {
+    String padded = " " + String.join(" ", words) + " ";
+    List<String> found =
+        config.getLocations().keySet().stream()
+            .filter(name -> padded.contains(" " + name.toLowerCase(Locale.ROOT) + " "))
+            .toList();
+    return found.size() == 1 ? Optional.of(found.get(0)) : Optional.empty();
+  }
+
+  private Route quoteRoute(String symbol) {
+    ObjectNode arguments = objectMapper.createObjectNode();
+    arguments.put("symbol", symbol);
+    arguments.put("interval", "daily");
+    return new Route(Intent.QUOTE, "get_quote", arguments, symbol);
+  }
+
+  private Route newsRoute(String query) {
+    ObjectNode arguments = objectMapper.createObjectNode();
+    arguments.put("query", query);
+    return new Route(Intent.NEWS, "search_news", arguments, query);
+  }
+
+  private Route weatherRoute(String name) {
+    RouterConfig.Location location = config.getLocations().get(name);
+    ObjectNode arguments = objectMapper.createObjectNode();
+    arguments.put("latitude", location.getLatitude());
+    arguments.put("longitude", location.getLongitude());
+    return new Route(Intent.WEATHER, "get_weather", arguments, name);
+  }
+
+  private RoutedCall toRoutedCall(Route route, JsonNode result) {
+    String content = result.toString();
+    ChatResponse.Evidence evidence =
+        ChatResponse.Evidence.builder()
+            .type(route.toolName())
+            .source(toolRegistry.getSource(route.toolName()))
+            .timestamp(Instant.now().toString())
+            .summary(
+                "Tool result (routed): "
+                    + (content.length() > EVIDENCE_SUMMARY_CHARS
+                        ? content.substring(0, EVIDENCE_SUMMARY_CHARS) + "..."
+                        : content))
+            .build();
+    // Without a template answer the caller has Ollama phrase the result instead
+    String answer = config.isPhraseWithLlm() ? null : render(route, result).orElse(null);
+    return new RoutedCall(route, result, evidence, answer);
+  }
+
+  private Optional<String> render(Route route, JsonNode result) {
+    return switch (route.intent()) {
+      case QUOTE -> renderQuote(route, result);
+      case NEWS -> renderNews(route, result);
+      case WEATHER -> renderWeather(route, result);
+    };
+  }
+
+  private static Optional<String> renderQuote(Route route, JsonNode result) {
+    JsonNode price = result.path("price");
+    if (!price.isNumber()) {
+      return Optional.empty();
+    }
+    StringBuilder answer =
+        new StringBuilder(result.path("symbol").asText(route.subject()))
+            .append(" is trading at ")
+            .append(String.format(Locale.ROOT, "%.2f", price.asDouble()));
+    if (result.path("change").isNumber() && result.path("changePct").isNumber()) {
+      answer.append(
+          String.format(
+              Locale.ROOT,
+              " (%+.2f, %+.2f%%)",
+              result.path("change").asDouble(),
+              result.path("changePct").asDouble()));
+    }
+    if (result.hasNonNull("timestamp")) {
+      answer.append(" as of ").append(result.path("timestamp").asText());
+    }
+    return Optional.of(answer.append('.').toString());
+  }
+
+  private static Optional<String> renderNews(Route route, JsonNode result) {
+    JsonNode results = result.path("results");
+    if (!results.isArray()) {
+      return Optional.empty();
+    }
+    if (results.isEmpty()) {
+      return Optional.of("No recent news found about " + route.subject() + ".");
+    }
+    StringBuilder answer = new StringBuilder("Latest news about ").append(route.subject());
+    answer.append(':');
+    for (int i = 0; i < Math.min(NEWS_RESULTS, results.size()); i++) {
+      JsonNode item = results.get(i);
+      answer.append("\n- ").append(item.path("title").asText("Untitled"));
+      if (item.hasNonNull("source")) {
+        answer.append(" (").append(item.path("source").asText()).append(')');
+      }
+    }
+    return Optional.of(answer.toString());
+  }
+
+  private static Optional<String> renderWeather(Route route, JsonNode result) {
+    JsonNode now = result.path("hourly").path(0);
+    if (!now.path("temperature").isNumber()) {
+      return Optional.empty();
+    }
+    StringBuilder answer =
+        new StringBuilder("Weather in ")
+            .append(capitalize(route.subject()))
+            .append(": ")
+            .append(String.format(Locale.ROOT, "%.1f°C", now.path("temperature").asDouble()));
+    if (now.path("precipitation").isNumber()) {
+      answer.append(
+          String.format(
+              Locale.ROOT,
+              " with %.1f mm of precipitation",
+              now.path("precipitation").asDouble()));
+    }
+    if (now.hasNonNull("time")) {
+      answer.append(" at ").append(now.path("time").asText());
+    }
+    return Optional.of(answer.append('.').toString());
+  }
+
+  private static String capitalize(String name) {
+    StringBuilder result = new StringBuilder(name.length());
+    for (String part : name.split(" ")) {
+      if (!result.isEmpty()) {
+        result.append(' ');
+      }
+      result.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+    }
+    return result.toString();
+  }
+
+  private Counter routedCounter(Intent intent, String mode) {
+    return Counter.builder("livecontext.chat.routed")
+        .description("Questions answered by the intent router instead of the tool-calling loop")
+        .tag("intent", intent.name().toLowerCase(Locale.ROOT))
+        .tag("mode", mode)
+        .register(meterRegistry);
+  }
+
+  public enum Intent {
+    QUOTE,
+    NEWS,
+    WEATHER
+  }
+
+  /**
+   * @param subject symbol, search query or place the question is about
+   */
+  public record Route(Intent intent, String toolName, ObjectNode arguments, String subject) {}
+
+  /**
+   * A routed lookup and its result.
+   *
+   * @param answer answer rendered from the result, or null when Ollama should phrase it
+   */
+  public record RoutedCall(
+      Route route, JsonNode result, ChatResponse.Evidence evidence, String answer) {}
+}
@@ -0,0 +1,118 @@
+package com.ai.livecontext.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+
+/**
+ * Micrometer meters of the agentic loop: end-to-end latency, per-iteration latency, time to first
+ * streamed token, Ollama generation statistics and how many turns and tool calls an answer took.
+ * Timers publish percentile histograms so Prometheus can aggregate quantiles across instances.
+ */
+class LlmMetrics {
+
+  static final String MODE_CHAT = "chat";
+  static final String MODE_STREAM = "stream";
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  private final MeterRegistry meterRegistry;
+
+  LlmMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** Records the whole request, with an outcome of success, error or cancelled. */
+  void recordRequest(String model, String mode, String outcome, Duration duration) {
+    Timer.builder("livecontext.llm.request.duration")
+        .description("Time from the question to the final answer, tool calls included")
+        .tags("model", model, "mode", mode, "outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(duration);
+  }
+
+  /** Records one Ollama turn together with the tool calls it requested. */
+  void recordIteration(String model, String mode, Duration duration) {
+    Timer.builder("livecontext.llm.iteration.duration")
+        .description("Time of one agentic iteration: an Ollama turn plus its tool calls")
+        .tags("model", model, "mode", mode)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(duration);
+  }
+
+  void recordTimeToFirstToken(String model, Duration duration) {
+    Timer.builder("livecontext.llm.time_to_first_token")
+        .description("Time from the question to the first streamed answer token")
+        .tag("model", model)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(duration);
+  }
+
+  /** Records the iterations and tool calls a completed answer needed. */
+  void recordCompletion(String model, int iterations, int toolCalls) {
+    DistributionSummary.builder("livecontext.llm.iterations")
+        .description("Ollama turns needed to answer a question")
+        .tag("model", model)
+        .register(meterRegistry)
+        .record(iterations);
+    DistributionSummary.builder("livecontext.llm.tool_fanout")
+        .description("Tool calls requested while answering a question")
+        .tag("model", model)
+        .register(meterRegistry)
+        .record(toolCalls);
+  }
+
+  /**
+   * Records the generation statistics Ollama reports on a final response: {@code eval_count},
+   * {@code eval_duration}, {@code prompt_eval_count} and {@code prompt_eval_duration}, durations in
+   * nanoseconds. Prompt metrics are tagged with the turn, since follow-up turns should mostly hit
+   * Ollama's prompt cache. Responses without statistics, such as stream chunks, are ignored.
+   */
+  void recordOllamaStats(String model, boolean firstTurn, JsonNode response) {
+    long evalCount = response.path("eval_count").asLong();
+    long evalNanos = response.path("eval_duration").asLong();
+    if (evalCount > 0 && evalNanos > 0) {
+      DistributionSummary.builder("livecontext.llm.ollama.eval_tokens")
+          .description("Tokens generated per Ollama turn")
+          .baseUnit("tokens")
+          .tag("model", model)
+          .register(meterRegistry)
+          .record(evalCount);
+      Timer.builder("livecontext.llm.ollama.eval_duration")
+          .description("Time Ollama spent generating tokens per turn")
+          .tag("model", model)
+          .publishPercentileHistogram()
+          .register(meterRegistry)
+          .record(Duration.ofNanos(evalNanos));
+      DistributionSummary.builder("livecontext.llm.ollama.tokens_per_second")
+          .description("Generation throughput per Ollama turn")
+          .baseUnit("tokens")
+          .tag("model", model)
+          .register(meterRegistry)
+          .record(evalCount * NANOS_PER_SECOND / evalNanos);
+    }
+
+    long promptCount = response.path("prompt_eval_count").asLong();
+    long promptNanos = response.path("prompt_eval_duration").asLong();
+    if (promptNanos > 0) {
+      String turn = firstTurn ? "first" : "follow_up";
+      DistributionSummary.builder("livecontext.llm.ollama.prompt_tokens")
+          .description("Prompt tokens Ollama evaluated per turn, excluding its prompt cache")
+          .baseUnit("tokens")
+          .tags("model", model, "turn", turn)
+          .register(meterRegistry)
+          .record(promptCount);
+      Timer.builder("livecontext.llm.ollama.prompt_eval_duration")
+          .description("Time Ollama spent evaluating the prompt per turn")
+          .tags("model", model, "turn", turn)
+          .publishPercentileHistogram()
+          .register(meterRegistry)
+          .record(Duration.ofNanos(promptNanos));
+    }
+  }
+}
@@ -1,17 +1,38 @@
 package com.ai.livecontext.service;
 
+import com.ai.livecontext.config.OllamaConfig;
+import com.ai.livecontext.config.ToolExecutionConfig;
 import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.domain.ChatStreamEvent;
+import com.ai.livecontext.tool.ToolHandler;
+import com.ai.livecontext.tool.ToolRegistry;
 import com.ai.livecontext.util.CorrelationIdHolder;
+import com.ai.livecontext.util.JsonStreamDecoder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -23,13 +44,20 @@ public class LlmService {
 
   private static final Logger logger = LoggerFactory.getLogger(LlmService.class);
   private static final int MAX_TOOL_ITERATIONS = 5;
+  private static final int REQUEST_BUFFER_SIZE = 4096;
+  private static final int EVIDENCE_SUMMARY_CHARS = 100;
 
   private final WebClient webClient;
   private final ObjectMapper objectMapper;
-  private final McpClientService mcpClientService;
-
-  @Value("${livecontext.ollama.base-url}")
-  private String ollamaBaseUrl;
+  private final ToolRegistry toolRegistry;
+  private final OllamaNodePool ollamaNodePool;
+  private final OllamaConfig ollamaConfig;
+  private final LocalRetrievalService localRetrievalService;
+  private final ToolExecutionConfig toolExecutionConfig;
+  private final MeterRegistry meterRegistry;
+  private final LlmMetrics metrics;
+  private final ToolResultProjector toolResultProjector;
+  private final Map<String, ModelSettings> modelSettings = new ConcurrentHashMap<>();
 
   @Value("${livecontext.ollama.model}")
   private String ollamaModel;
@@ -37,14 +65,39 @@ public class LlmService {
   @Value("${livecontext.ollama.mock-mode:false}")
   private boolean mockMode;
 
-  public LlmService(McpClientService mcpClientService, ObjectMapper objectMapper) {
-    this.mcpClientService = mcpClientService;
+  /** Largest single Ollama response, or streamed chunk, decoded before failing the call. */
+  @Value("${livecontext.ollama.max-response-bytes:1048576}")
+  private int maxResponseBytes;
+
+  public LlmService(
+      ObjectMapper objectMapper,
+      ToolRegistry toolRegistry,
+      OllamaNodePool ollamaNodePool,
+      OllamaConfig ollamaConfig,
+      LocalRetrievalService localRetrievalService,
+      ToolExecutionConfig toolExecutionConfig,
+      MeterRegistry meterRegistry) {
     this.objectMapper = objectMapper;
+    this.toolRegistry = toolRegistry;
+    this.ollamaNodePool = ollamaNodePool;
+    this.ollamaConfig = ollamaConfig;
+    this.localRetrievalService = localRetrievalService;
+    this.toolExecutionConfig = toolExecutionConfig;
+    this.meterRegistry = meterRegistry;
+    this.metrics = new LlmMetrics(meterRegistry);
+    this.toolResultProjector = new ToolResultProjector(toolExecutionConfig, meterRegistry);
     this.webClient = WebClient.builder().build();
   }
 
   public Mono<ChatResponse> chat(String question) {
-    long startTime = System.currentTimeMillis();
+    return chat(question, null);
+  }
+
+  /**
+   * Answers the question as the next turn of the conversation, seeding the loop with its history
+   * and recording the turn on success. A null conversation answers a one-off question.
+   */
+  public Mono<ChatResponse> chat(String question, Conversation conversation) {
     String correlationId = CorrelationIdHolder.get();
 
     logger.info(
@@ -58,146 +111,400 @@ public class LlmService {
       return generateMockResponse(question);
     }
 
-    // Initialize messages array with user message
-    ArrayNode messages = objectMapper.createArrayNode();
-    ObjectNode userMessage = objectMapper.createObjectNode();
-    userMessage.put("role", "user");
-    userMessage.put("content", question);
-    messages.add(userMessage);
-
-    // Create evidence collector
-    List<ChatResponse.Evidence> evidence = new ArrayList<>();
-
-    // Start the agentic loop
-    return executeAgenticLoop(messages, evidence, 0, startTime, correlationId);
+    return Mono.deferContextual(
+        context ->
+            runLoop(
+                newLoopState(
+                    question, correlationId, conversation, SharedToolResults.in(context))));
   }
 
-  private Mono<ChatResponse> executeAgenticLoop(
-      ArrayNode messages,
-      List<ChatResponse.Evidence> evidence,
-      int iteration,
-      long startTime,
-      String correlationId) {
-
-    if (iteration >= MAX_TOOL_ITERATIONS) {
-      logger.warn(
-          "[llm_max_iterations] Reached maximum tool iterations | maxIterations={} correlationId={}",
-          MAX_TOOL_ITERATIONS,
-          correlationId);
-      return extractFinalResponse(messages, evidence, startTime, correlationId);
-    }
-
-    // Build request with tools
-    ObjectNode requestBody = objectMapper.createObjectNode();
-    requestBody.put("model", ollamaModel);
-    requestBody.set("messages", messages);
-    requestBody.put("stream", false);
-    requestBody.set("tools", buildToolDefinitions());
-
-    String jsonBody;
-    try {
-      jsonBody = objectMapper.writeValueAsString(requestBody);
-    } catch (Exception e) {
-      return generateMockResponse("Error serializing request");
-    }
+  /**
+   * Answers with a tool result the {@link IntentRouter} already fetched. The call and its result
+   * are seeded into the conversation, so Ollama normally only needs one turn to phrase the answer.
+   */
+  public Mono<ChatResponse> chatWithToolResult(String question, IntentRouter.RoutedCall call) {
+    String correlationId = CorrelationIdHolder.get();
 
-    logger.debug(
-        "[llm_chat_request] Sending chat request to LLM | url={} model={} iteration={} messageCount={} correlationId={}",
-        ollamaBaseUrl + "/api/chat",
+    logger.info(
+        "[llm_request_start] Starting LLM chat request with routed tool result | model={} tool={} mockMode={} correlationId={}",
         ollamaModel,
-        iteration,
-        messages.size(),
+        call.route().toolName(),
+        mockMode,
         correlationId);
 
-    return webClient
-        .post()
-        .uri(ollamaBaseUrl + "/api/chat")
-        .contentType(MediaType.APPLICATION_JSON)
-        .bodyValue(jsonBody)
-        .retrieve()
-        .bodyToMono(String.class)
-        .flatMap(
-            responseBody -> {
-              try {
-                logger.debug(
-                    "[llm_chat_response] Received chat response from LLM | responseLength={} correlationId={}",
-                    responseBody.length(),
-                    correlationId);
-
-                JsonNode response = objectMapper.readTree(responseBody);
-                JsonNode message = response.path("message");
-
-                // Add assistant message to conversation
-                messages.add(message);
-
-                // Check for tool calls
-                JsonNode toolCalls = message.path("tool_calls");
-                if (toolCalls.isArray() && toolCalls.size() > 0) {
-                  logger.info(
-                      "[llm_tool_calls_detected] LLM requested tool calls | toolCount={} iteration={} correlationId={}",
-                      toolCalls.size(),
-                      iteration,
-                      correlationId);
-
-                  // Execute all tool calls and collect results
-                  return executeToolCalls(toolCalls, evidence, correlationId)
-                      .collectList()
-                      .flatMap(
-                          toolResults -> {
-                            // Add tool results to messages
-                            for (ObjectNode toolResult : toolResults) {
-                              messages.add(toolResult);
-                            }
-                            // Continue the loop
-                            return executeAgenticLoop(
-                                messages, evidence, iteration + 1, startTime, correlationId);
-                          });
-                } else {
-                  // No tool calls - extract final answer
-                  String answer = message.path("content").asText("No response from LLM");
-                  long duration = System.currentTimeMillis() - startTime;
-
-                  logger.info(
-                      "[llm_request_success] LLM request completed | model={} responseLength={} duration_ms={} iterations={} evidenceCount={} correlationId={}",
-                      ollamaModel,
-                      answer.length(),
-                      duration,
-                      iteration + 1,
-                      evidence.size(),
-                      correlationId);
-
-                  return Mono.just(
-                      ChatResponse.builder()
-                          .answer(answer)
-                          .evidence(evidence)
-                          .correlationId(correlationId)
-                          .build());
-                }
-              } catch (Exception e) {
-                logger.error(
-                    "[llm_parse_error] Failed to parse LLM response | error={} correlationId={}",
-                    e.getMessage(),
-                    correlationId);
-                return Mono.error(e);
-              }
-            })
+    if (mockMode) {
+      return generateMockResponse(question);
+    }
+
+    return Mono.deferContextual(
+        context -> {
+          AgenticLoopState state =
+              newLoopState(question, correlationId, null, SharedToolResults.in(context));
+          ObjectNode assistantMessage = objectMapper.createObjectNode();
+          assistantMessage.put("role", "assistant");
+          assistantMessage.put("content", "");
+          ObjectNode function =
+              assistantMessage.putArray("tool_calls").addObject().putObject("function");
+          function.put("name", call.route().toolName());
+          function.set("arguments", call.route().arguments());
+          ObjectNode toolMessage = objectMapper.createObjectNode();
+          toolMessage.put("role", "tool");
+          toolMessage.put(
+              "content", toolResultProjector.project(call.route().toolName(), call.result()));
+          state.seedToolCall(assistantMessage, toolMessage, call.evidence());
+          return runLoop(state);
+        });
+  }
+
+  private Mono<ChatResponse> runLoop(AgenticLoopState state) {
+    // Each pass advances the state machine by one Ollama turn; cancelling the
+    // subscription cancels whichever Ollama or MCP call is currently outstanding
+    return Mono.defer(() -> executeIteration(state))
+        .repeat(() -> !state.isFinished())
+        .then(Mono.fromSupplier(() -> completeLoop(state, LlmMetrics.MODE_CHAT)))
+        .doOnCancel(() -> onCancelled(state, LlmMetrics.MODE_CHAT))
         .onErrorResume(
             error -> {
-              long duration = System.currentTimeMillis() - startTime;
               logger.error(
                   "[llm_request_error] LLM request failed | error={} duration_ms={} correlationId={}",
                   error.getMessage(),
-                  duration,
-                  correlationId);
+                  state.elapsedMillis(),
+                  state.getCorrelationId());
+              metrics.recordRequest(ollamaModel, LlmMetrics.MODE_CHAT, "error", state.elapsed());
               return generateMockResponse(
                   "Error: " + error.getMessage()); // This converts Error to Success
             });
   }
 
-  private Flux<ObjectNode> executeToolCalls(
-      JsonNode toolCalls, List<ChatResponse.Evidence> evidence, String correlationId) {
+  public Flux<ChatStreamEvent> chatStream(String question) {
+    return chatStream(question, null);
+  }
+
+  public Flux<ChatStreamEvent> chatStream(String question, Conversation conversation) {
+    String correlationId = CorrelationIdHolder.get();
+
+    logger.info(
+        "[llm_stream_start] Starting streaming LLM chat request | model={} questionLength={} mockMode={} correlationId={}",
+        ollamaModel,
+        question.length(),
+        mockMode,
+        correlationId);
+
+    if (mockMode) {
+      return generateMockResponse(question).flatMapMany(this::toStreamEvents);
+    }
+
+    return Flux.defer(
+        () -> {
+          AgenticLoopState state = newLoopState(question, correlationId, conversation, null);
+
+          return Flux.defer(() -> executeStreamingIteration(state))
+              .repeat(() -> !state.isFinished())
+              .concatWith(
+                  Mono.fromSupplier(
+                      () -> ChatStreamEvent.done(completeLoop(state, LlmMetrics.MODE_STREAM))))
+              .doOnCancel(() -> onCancelled(state, LlmMetrics.MODE_STREAM))
+              .onErrorResume(
+                  error -> {
+                    logger.error(
+                        "[llm_stream_error] Streaming LLM request failed | error={} duration_ms={} correlationId={}",
+                        error.getMessage(),
+                        state.elapsedMillis(),
+                        correlationId);
+                    metrics.recordRequest(
+                        ollamaModel, LlmMetrics.MODE_STREAM, "error", state.elapsed());
+                    return Flux.just(ChatStreamEvent.error(error.getMessage(), correlationId));
+                  });
+        });
+  }
+
+  private AgenticLoopState newLoopState(
+      String question,
+      String correlationId,
+      Conversation conversation,
+      Map<String, Mono<JsonNode>> sharedToolResults) {
+    ArrayNode history =
+        conversation != null ? conversation.history() : objectMapper.createArrayNode();
+    return AgenticLoopState.start(
+        history,
+        ollamaConfig.getSystemPrompt(),
+        question,
+        correlationId,
+        conversation,
+        sharedToolResults);
+  }
+
+  private Mono<Void> executeIteration(AgenticLoopState state) {
+    if (stopAtIterationLimit(state)) {
+      return Mono.empty();
+    }
+
+    long iterationStart = System.nanoTime();
+    byte[] requestBody = buildRequestBody(state, false);
+    return ollamaNodePool
+        .execute(
+            baseUrl ->
+                webClient
+                    .post()
+                    .uri(baseUrl + "/api/chat")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .as(body -> JsonStreamDecoder.decodeOne(body, objectMapper, maxResponseBytes)))
+        .doOnError(
+            JsonProcessingException.class,
+            e ->
+                logger.error(
+                    "[llm_parse_error] Failed to parse LLM response | error={} correlationId={}",
+                    e.getMessage(),
+                    state.getCorrelationId()))
+        .flatMap(
+            response -> {
+              logger.debug(
+                  "[llm_chat_response] Received chat response from LLM | correlationId={}",
+                  state.getCorrelationId());
+              recordTurnStats(state, response);
+
+              JsonNode message = response.path("message");
+              state.addAssistantMessage(message);
+              return handleToolCalls(state, message).then();
+            })
+        .doOnSuccess(
+            ignored ->
+                metrics.recordIteration(
+                    ollamaModel,
+                    LlmMetrics.MODE_CHAT,
+                    Duration.ofNanos(System.nanoTime() - iterationStart)));
+  }
+
+  private Flux<ChatStreamEvent> executeStreamingIteration(AgenticLoopState state) {
+    if (stopAtIterationLimit(state)) {
+      return Flux.empty();
+    }
+
+    long iterationStart = System.nanoTime();
+    StreamedTurn turn = new StreamedTurn();
+
+    // Ollama answers with one JSON object per line; forward content deltas as they arrive
+    byte[] requestBody = buildRequestBody(state, true);
+    Flux<ChatStreamEvent> tokens =
+        ollamaNodePool
+            .executeStream(
+                baseUrl ->
+                    webClient
+                        .post()
+                        .uri(baseUrl + "/api/chat")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class)
+                        .as(body -> JsonStreamDecoder.decode(body, objectMapper, maxResponseBytes)))
+            .concatMap(
+                chunk -> {
+                  if (chunk.path("done").asBoolean()) {
+                    recordTurnStats(state, chunk);
+                  }
+                  String delta = turn.append(chunk.path("message"));
+                  if (delta.isEmpty()) {
+                    return Flux.empty();
+                  }
+                  if (state.markFirstToken()) {
+                    metrics.recordTimeToFirstToken(ollamaModel, state.elapsed());
+                  }
+                  return Flux.just(ChatStreamEvent.token(delta, state.getCorrelationId()));
+                });
+
+    return tokens.concatWith(
+        Flux.defer(
+            () -> {
+              ObjectNode message = turn.toMessage();
+              state.addAssistantMessage(message);
+              return handleToolCalls(state, message)
+                  .map(item -> ChatStreamEvent.evidence(item, state.getCorrelationId()));
+            }))
+        .doOnComplete(
+            () ->
+                metrics.recordIteration(
+                    ollamaModel,
+                    LlmMetrics.MODE_STREAM,
+                    Duration.ofNanos(System.nanoTime() - iterationStart)));
+  }
+
+  /**
+   * Runs the tool calls of the latest assistant turn and returns the evidence they produced, or
+   * marks the loop finished when the model answered without requesting tools.
+   */
+  private Flux<ChatResponse.Evidence> handleToolCalls(AgenticLoopState state, JsonNode message) {
+    JsonNode toolCalls = message.path("tool_calls");
+    if (!toolCalls.isArray() || toolCalls.isEmpty()) {
+      state.finish(message.path("content").asText("No response from LLM"));
+      return Flux.empty();
+    }
+
+    logger.info(
+        "[llm_tool_calls_detected] LLM requested tool calls | toolCount={} iteration={} correlationId={}",
+        toolCalls.size(),
+        state.getIteration(),
+        state.getCorrelationId());
+    state.recordToolCalls(toolCalls.size());
+
+    // Results arrive in tool_calls order and are applied to the state on one thread
+    return executeToolCalls(toolCalls, state)
+        .collectList()
+        .flatMapMany(
+            results -> {
+              List<ObjectNode> toolMessages = new ArrayList<>(results.size());
+              List<ChatResponse.Evidence> evidence = new ArrayList<>(results.size());
+              for (ToolCallResult result : results) {
+                toolMessages.add(result.message());
+                if (result.evidence() != null) {
+                  evidence.add(result.evidence());
+                }
+              }
+              state.addToolResults(toolMessages);
+              state.addEvidence(evidence);
+              return Flux.fromIterable(evidence);
+            });
+  }
+
+  private boolean stopAtIterationLimit(AgenticLoopState state) {
+    if (state.getIteration() < MAX_TOOL_ITERATIONS) {
+      return false;
+    }
+    logger.warn(
+        "[llm_max_iterations] Reached maximum tool iterations | maxIterations={} correlationId={}",
+        MAX_TOOL_ITERATIONS,
+        state.getCorrelationId());
+    state.finish();
+    return true;
+  }
+
+  private byte[] buildRequestBody(AgenticLoopState state, boolean stream) {
+    logger.debug(
+        "[llm_chat_request] Sending chat request to LLM | model={} iteration={} messageCount={} stream={} correlationId={}",
+        ollamaModel,
+        state.getIteration(),
+        state.getMessages().size(),
+        stream,
+        state.getCorrelationId());
+
+    // Tools and earlier messages are already encoded, so only the envelope is written per turn.
+    // Reusing the encoded bytes keeps the prompt prefix identical between turns, letting Ollama
+    // evaluate only the messages appended since its last response.
+    ModelSettings settings = modelSettings.computeIfAbsent(ollamaModel, this::resolveSettings);
+    ByteArrayOutputStream out = new ByteArrayOutputStream(REQUEST_BUFFER_SIZE);
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeStringField("model", ollamaModel);
+      generator.writeFieldName("keep_alive");
+      generator.writeRawValue(settings.keepAlive());
+      generator.writeFieldName("options");
+      generator.writeRawValue(settings.options());
+      generator.writeBooleanField("stream", stream);
+      generator.writeFieldName("tools");
+      generator.writeRawValue(toolRegistry.getEncodedDefinitions());
+      generator.writeArrayFieldStart("messages");
+      for (SerializableString message : state.getEncodedMessages()) {
+        generator.writeRawValue(message);
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Encodes keep_alive and options for the model once. They must not vary between requests:
+   * Ollama reloads the model whenever num_ctx changes, dropping its prompt cache.
+   */
+  private ModelSettings resolveSettings(String model) {
+    OllamaConfig.Model overrides =
+        ollamaConfig.getModels().getOrDefault(model, new OllamaConfig.Model());
+    String keepAlive =
+        overrides.getKeepAlive() != null ? overrides.getKeepAlive() : ollamaConfig.getKeepAlive();
+    int numCtx = overrides.getNumCtx() != null ? overrides.getNumCtx() : ollamaConfig.getNumCtx();
+    ObjectNode options = objectMapper.createObjectNode();
+    options.put("num_ctx", numCtx);
+    if (overrides.getNumPredict() != null) {
+      options.put("num_predict", overrides.getNumPredict());
+    }
+    if (overrides.getTemperature() != null) {
+      options.put("temperature", overrides.getTemperature());
+    }
+    // Ollama takes a bare number of seconds or a duration string such as "30m"
+    String encodedKeepAlive =
+        keepAlive.matches("-?\\d+")
+            ? keepAlive
+            : objectMapper.getNodeFactory().textNode(keepAlive).toString();
+    return new ModelSettings(
+        new SerializedString(encodedKeepAlive), new SerializedString(options.toString()));
+  }
+
+  /** Records what the turn cost Ollama; prompt_eval_count drops on turns that hit its cache. */
+  private void recordTurnStats(AgenticLoopState state, JsonNode response) {
+    boolean firstTurn = state.getTurnCount() == 0;
+    metrics.recordOllamaStats(ollamaModel, firstTurn, response);
+    logger.debug(
+        "[llm_turn_stats] Ollama turn evaluated | turn={} promptEvalCount={} promptEvalMs={} evalCount={} evalMs={} correlationId={}",
+        state.getTurnCount() + 1,
+        response.path("prompt_eval_count").asLong(),
+        response.path("prompt_eval_duration").asLong() / 1_000_000,
+        response.path("eval_count").asLong(),
+        response.path("eval_duration").asLong() / 1_000_000,
+        state.getCorrelationId());
+  }
+
+  private ChatResponse completeLoop(AgenticLoopState state, String mode) {
+    ChatResponse response = state.toResponse();
+    if (state.getConversation() != null) {
+      state.getConversation().appendTurn(state.currentTurn(), response.getEvidence());
+      response.setSessionId(state.getConversation().getId());
+    }
+
+    logger.info(
+        "[llm_request_success] LLM request completed | model={} responseLength={} duration_ms={} iterations={} evidenceCount={} deduplicatedToolCalls={} correlationId={}",
+        ollamaModel,
+        response.getAnswer().length(),
+        state.elapsedMillis(),
+        state.getTurnCount(),
+        response.getEvidence().size(),
+        state.getDeduplicatedToolCalls(),
+        state.getCorrelationId());
+    metrics.recordRequest(ollamaModel, mode, "success", state.elapsed());
+    metrics.recordCompletion(ollamaModel, state.getTurnCount(), state.getToolCallCount());
+
+    return response;
+  }
+
+  private void onCancelled(AgenticLoopState state, String mode) {
+    metrics.recordRequest(ollamaModel, mode, "cancelled", state.elapsed());
+    logger.info(
+        "[llm_request_cancelled] Client went away, cancelling in-flight LLM and tool calls | iteration={} duration_ms={} correlationId={}",
+        state.getIteration(),
+        state.elapsedMillis(),
+        state.getCorrelationId());
+  }
 
-    List<Mono<ObjectNode>> toolExecutions = new ArrayList<>();
+  private Flux<ChatStreamEvent> toStreamEvents(ChatResponse response) {
+    String correlationId = response.getCorrelationId();
+    return Flux.just(ChatStreamEvent.token(response.getAnswer(), correlationId))
+        .concatWith(
+            Flux.fromIterable(response.getEvidence())
+                .map(item -> ChatStreamEvent.evidence(item, correlationId)))
+        .concatWith(Flux.just(ChatStreamEvent.done(response)));
+  }
+
+  /**
+   * Runs the tool calls of one assistant turn in parallel, at most {@code maxConcurrency} at a
+   * time, and emits their results in the order the LLM requested them.
+   */
+  private Flux<ToolCallResult> executeToolCalls(JsonNode toolCalls, AgenticLoopState state) {
+    String correlationId = state.getCorrelationId();
+    List<Mono<ToolCallResult>> toolExecutions = new ArrayList<>();
 
     for (JsonNode toolCall : toolCalls) {
       JsonNode function = toolCall.path("function");
@@ -210,32 +517,52 @@ public class LlmService {
           arguments.toString(),
           correlationId);
 
-      Mono<ObjectNode> toolExecution =
-          executeToolByName(toolName, arguments, correlationId)
+      Mono<ToolCallResult> toolExecution =
+          executeTool(toolName, arguments, state)
+              .doOnNext(execution -> toolCallCounter(toolName, execution.outcome()).increment())
               .map(
-                  result -> {
-                    // Create tool response message
+                  execution -> {
+                    // Serialized once for both the tool message and the evidence summary
+                    String content = toolResultProjector.project(toolName, execution.result());
                     ObjectNode toolMessage = objectMapper.createObjectNode();
                     toolMessage.put("role", "tool");
-                    toolMessage.put("content", result.toString());
+                    toolMessage.put("content", content);
 
-                    // Add evidence
-                    evidence.add(
+                    ChatResponse.Evidence evidence =
+                        ChatResponse.Evidence.builder()
+                            .type(toolName)
+                            .source(toolRegistry.getSource(toolName))
+                            .timestamp(Instant.now().toString())
+                            .summary(execution.outcome().summaryPrefix + summarize(content))
+                            .build();
+                    return new ToolCallResult(toolMessage, evidence);
+                  })
+              .onErrorResume(
+                  McpUnavailableException.class,
+                  e -> {
+                    toolCallCounter(toolName, ToolOutcome.UNAVAILABLE).increment();
+                    logger.warn(
+                        "[llm_tool_unavailable] Tool server unavailable, answering without it | tool={} server={} correlationId={}",
+                        toolName,
+                        e.getServer(),
+                        correlationId);
+                    String content = ToolOutcome.UNAVAILABLE.summaryPrefix + e.getMessage();
+                    ObjectNode unavailableMessage = objectMapper.createObjectNode();
+                    unavailableMessage.put("role", "tool");
+                    unavailableMessage.put("content", content);
+                    ChatResponse.Evidence evidence =
                         ChatResponse.Evidence.builder()
                             .type(toolName)
-                            .source(mapToolToServer(toolName))
+                            .source(toolRegistry.getSource(toolName))
                             .timestamp(Instant.now().toString())
-                            .summary(
-                                "Tool result: "
-                                    + (result.toString().length() > 100
-                                        ? result.toString().substring(0, 100) + "..."
-                                        : result.toString()))
-                            .build());
-
-                    return toolMessage;
+                            .summary(content)
+                            .degraded(true)
+                            .build();
+                    return Mono.just(new ToolCallResult(unavailableMessage, evidence));
                   })
               .onErrorResume(
                   e -> {
+                    toolCallCounter(toolName, ToolOutcome.FAILED).increment();
                     logger.error(
                         "[llm_tool_execution_error] Tool execution failed | tool={} error={} correlationId={}",
                         toolName,
@@ -244,169 +571,124 @@ public class LlmService {
 
                     ObjectNode errorMessage = objectMapper.createObjectNode();
                     errorMessage.put("role", "tool");
-                    errorMessage.put("content", "Error executing tool: " + e.getMessage());
-                    return Mono.just(errorMessage);
+                    errorMessage.put("content", ToolOutcome.FAILED.summaryPrefix + e.getMessage());
+                    return Mono.just(new ToolCallResult(errorMessage, null));
                   });
 
       toolExecutions.add(toolExecution);
     }
 
-    return Flux.merge(toolExecutions);
+    return Flux.mergeSequential(toolExecutions, toolExecutionConfig.getMaxConcurrency(), 1);
   }
 
-  private Mono<JsonNode> executeToolByName(
-      String toolName, JsonNode arguments, String correlationId) {
-    ObjectNode params = objectMapper.createObjectNode();
+  private static String summarize(String content) {
+    return content.length() > EVIDENCE_SUMMARY_CHARS
+        ? content.substring(0, EVIDENCE_SUMMARY_CHARS) + "..."
+        : content;
+  }
 
-    switch (toolName) {
-      case "get_quote":
-        params.put("symbol", arguments.path("symbol").asText("AAPL.US"));
-        params.put("interval", arguments.path("interval").asText("daily"));
-        return mcpClientService.callTool("market", "get_quote", params);
+  /**
+   * Resolves a tool call for cacheable tools from, in order, an identical call earlier in this
+   * request or its batch (including one still in flight in the same tool_calls array), a recent
+   * result from the same session, fresh data in the local timeline/news store, and finally the
+   * tool itself.
+   */
+  private Mono<ToolExecution> executeTool(
+      String toolName, JsonNode arguments, AgenticLoopState state) {
+    ToolHandler handler = toolRegistry.getHandler(toolName);
+    if (handler == null) {
+      return toolRegistry
+          .execute(toolName, arguments)
+          .map(result -> new ToolExecution(result, ToolOutcome.CALLED));
+    }
+    Duration timeout = toolTimeout(handler);
+    if (!handler.isCacheable()) {
+      return toolRegistry
+          .execute(toolName, arguments, timeout)
+          .map(result -> new ToolExecution(result, ToolOutcome.CALLED));
+    }
 
-      case "search_news":
-        params.put("query", arguments.path("query").asText(""));
-        params.put("limit", arguments.path("limit").asInt(5));
-        return mcpClientService.callTool("news", "search", params);
+    String key = SharedToolResults.key(toolName, arguments);
+    AtomicReference<Mono<ToolExecution>> executed = new AtomicReference<>();
+    Mono<JsonNode> memoized =
+        state.memoizeToolResult(
+            key,
+            ignored -> {
+              Mono<ToolExecution> execution =
+                  resolveCacheable(toolName, arguments, timeout, key, state);
+              executed.set(execution);
+              return execution.map(ToolExecution::result);
+            });
+    if (executed.get() != null) {
+      return executed.get();
+    }
 
-      case "get_weather":
-        params.put("latitude", arguments.path("latitude").asDouble(40.7128));
-        params.put("longitude", arguments.path("longitude").asDouble(-74.0060));
-        return mcpClientService.callTool("weather", "get_forecast", params);
+    state.recordDeduplicatedToolCall();
+    logger.info(
+        "[llm_tool_deduplicated] Reusing result of identical tool call in this request or batch | tool={} correlationId={}",
+        toolName,
+        state.getCorrelationId());
+    return memoized.map(result -> new ToolExecution(result, ToolOutcome.DEDUPLICATED));
+  }
 
-      default:
-        return Mono.error(new IllegalArgumentException("Unknown tool: " + toolName));
+  /** The first call for a key: answered from the session, the local store or the tool itself. */
+  private Mono<ToolExecution> resolveCacheable(
+      String toolName,
+      JsonNode arguments,
+      Duration timeout,
+      String key,
+      AgenticLoopState state) {
+    Conversation conversation = state.getConversation();
+    Optional<JsonNode> reused =
+        conversation != null ? conversation.reusableToolResult(key) : Optional.empty();
+    if (reused.isPresent()) {
+      logger.info(
+          "[llm_tool_reused] Reusing tool result from earlier in the session | tool={} sessionId={} correlationId={}",
+          toolName,
+          conversation.getId(),
+          state.getCorrelationId());
+      return Mono.just(new ToolExecution(reused.get(), ToolOutcome.SESSION));
     }
-  }
 
-  private String mapToolToServer(String toolName) {
-    return switch (toolName) {
-      case "get_quote" -> "Market MCP";
-      case "search_news" -> "News MCP";
-      case "get_weather" -> "Weather MCP";
-      default -> "Unknown";
-    };
+    return localRetrievalService
+        .resolve(toolName, arguments)
+        // A slow local store must not cost more than going to the tool directly
+        .timeout(timeout, Mono.empty())
+        .doOnNext(
+            result ->
+                logger.info(
+                    "[llm_tool_local] Answered tool call from local store | tool={} correlationId={}",
+                    toolName,
+                    state.getCorrelationId()))
+        .map(result -> new ToolExecution(result, ToolOutcome.LOCAL))
+        .switchIfEmpty(
+            Mono.defer(
+                () ->
+                    toolRegistry
+                        .execute(toolName, arguments, timeout)
+                        .map(result -> new ToolExecution(result, ToolOutcome.CALLED))))
+        .doOnNext(
+            value -> {
+              if (conversation != null) {
+                conversation.rememberToolResult(key, value.result());
+              }
+            })
+        // Failures are shared with duplicates already waiting but retried on a later turn
+        .doOnError(error -> state.forgetToolResult(key))
+        .cache();
   }
 
-  private ArrayNode buildToolDefinitions() {
-    ArrayNode tools = objectMapper.createArrayNode();
-
-    // get_quote tool
-    ObjectNode getQuoteTool = objectMapper.createObjectNode();
-    getQuoteTool.put("type", "function");
-    ObjectNode getQuoteFunction = objectMapper.createObjectNode();
-    getQuoteFunction.put("name", "get_quote");
-    getQuoteFunction.put(
-        "description",
-        "Get stock market quote and price data for a given stock symbol. Use this for any questions about stock prices, market data, or financial instruments.");
-    ObjectNode getQuoteParams = objectMapper.createObjectNode();
-    getQuoteParams.put("type", "object");
-    ObjectNode getQuoteProperties = objectMapper.createObjectNode();
-    ObjectNode symbolProp = objectMapper.createObjectNode();
-    symbolProp.put("type", "string");
-    symbolProp.put(
-        "description",
-        "Stock symbol with exchange suffix, e.g., AAPL.US for Apple, TSLA.US for Tesla, GOOGL.US for Google");
-    getQuoteProperties.set("symbol", symbolProp);
-    ObjectNode intervalProp = objectMapper.createObjectNode();
-    intervalProp.put("type", "string");
-    intervalProp.put("description", "Time interval: daily, weekly, or monthly");
-    getQuoteProperties.set("interval", intervalProp);
-    getQuoteParams.set("properties", getQuoteProperties);
-    ArrayNode getQuoteRequired = objectMapper.createArrayNode();
-    getQuoteRequired.add("symbol");
-    getQuoteParams.set("required", getQuoteRequired);
-    getQuoteFunction.set("parameters", getQuoteParams);
-    getQuoteTool.set("function", getQuoteFunction);
-    tools.add(getQuoteTool);
-
-    // search_news tool
-    ObjectNode searchNewsTool = objectMapper.createObjectNode();
-    searchNewsTool.put("type", "function");
-    ObjectNode searchNewsFunction = objectMapper.createObjectNode();
-    searchNewsFunction.put("name", "search_news");
-    searchNewsFunction.put(
-        "description",
-        "Search for recent news articles on a topic. Use this for questions about current events, news, or recent developments.");
-    ObjectNode searchNewsParams = objectMapper.createObjectNode();
-    searchNewsParams.put("type", "object");
-    ObjectNode searchNewsProperties = objectMapper.createObjectNode();
-    ObjectNode queryProp = objectMapper.createObjectNode();
-    queryProp.put("type", "string");
-    queryProp.put("description", "Search query for news articles");
-    searchNewsProperties.set("query", queryProp);
-    ObjectNode limitProp = objectMapper.createObjectNode();
-    limitProp.put("type", "integer");
-    limitProp.put("description", "Maximum number of results to return");
-    searchNewsProperties.set("limit", limitProp);
-    searchNewsParams.set("properties", searchNewsProperties);
-    ArrayNode searchNewsRequired = objectMapper.createArrayNode();
-    searchNewsRequired.add("query");
-    searchNewsParams.set("required", searchNewsRequired);
-    searchNewsFunction.set("parameters", searchNewsParams);
-    searchNewsTool.set("function", searchNewsFunction);
-    tools.add(searchNewsTool);
-
-    // get_weather tool
-    ObjectNode getWeatherTool = objectMapper.createObjectNode();
-    getWeatherTool.put("type", "function");
-    ObjectNode getWeatherFunction = objectMapper.createObjectNode();
-    getWeatherFunction.put("name", "get_weather");
-    getWeatherFunction.put(
-        "description",
-        "Get current weather and forecast for a location. Use this for questions about weather conditions.");
-    ObjectNode getWeatherParams = objectMapper.createObjectNode();
-    getWeatherParams.put("type", "object");
-    ObjectNode getWeatherProperties = objectMapper.createObjectNode();
-    ObjectNode latProp = objectMapper.createObjectNode();
-    latProp.put("type", "number");
-    latProp.put("description", "Latitude of the location");
-    getWeatherProperties.set("latitude", latProp);
-    ObjectNode lonProp = objectMapper.createObjectNode();
-    lonProp.put("type", "number");
-    lonProp.put("description", "Longitude of the location");
-    getWeatherProperties.set("longitude", lonProp);
-    getWeatherParams.set("properties", getWeatherProperties);
-    ArrayNode getWeatherRequired = objectMapper.createArrayNode();
-    getWeatherRequired.add("latitude");
-    getWeatherRequired.add("longitude");
-    getWeatherParams.set("required", getWeatherRequired);
-    getWeatherFunction.set("parameters", getWeatherParams);
-    getWeatherTool.set("function", getWeatherFunction);
-    tools.add(getWeatherTool);
-
-    return tools;
+  private Duration toolTimeout(ToolHandler handler) {
+    Integer timeoutMs = toolExecutionConfig.getTimeoutMs().get(handler.getName());
+    return timeoutMs != null ? Duration.ofMillis(timeoutMs) : handler.getTimeout();
   }
 
-  private Mono<ChatResponse> extractFinalResponse(
-      ArrayNode messages,
-      List<ChatResponse.Evidence> evidence,
-      long startTime,
-      String correlationId) {
-
-    // Find the last assistant message
-    String lastAnswer = "Unable to generate response";
-    for (int i = messages.size() - 1; i >= 0; i--) {
-      JsonNode msg = messages.get(i);
-      if ("assistant".equals(msg.path("role").asText())) {
-        lastAnswer = msg.path("content").asText(lastAnswer);
-        break;
-      }
-    }
-
-    long duration = System.currentTimeMillis() - startTime;
-    logger.info(
-        "[llm_request_success] LLM request completed (max iterations) | duration_ms={} evidenceCount={} correlationId={}",
-        duration,
-        evidence.size(),
-        correlationId);
-
-    return Mono.just(
-        ChatResponse.builder()
-            .answer(lastAnswer)
-            .evidence(evidence)
-            .correlationId(correlationId)
-            .build());
+  private Counter toolCallCounter(String toolName, ToolOutcome outcome) {
+    return Counter.builder("livecontext.llm.tool_calls")
+        .description("Tool calls requested by the LLM by how they were resolved")
+        .tag("tool", toolName)
+        .tag("outcome", outcome.name().toLowerCase())
+        .register(meterRegistry);
   }
 
   private Mono<ChatResponse> generateMockResponse(String question) {
@@ -431,6 +713,56 @@ public class LlmService {
             .answer(answer)
             .evidence(evidence)
             .correlationId(CorrelationIdHolder.get())
+            .fallback(true)
             .build());
   }
+
+  private enum ToolOutcome {
+    CALLED("Tool result: "),
+    DEDUPLICATED("Tool result (deduplicated): "),
+    SESSION("Tool result (reused from session): "),
+    LOCAL("Tool result (local store): "),
+    UNAVAILABLE("Tool unavailable, answer without this data: "),
+    FAILED("Error executing tool: ");
+
+    private final String summaryPrefix;
+
+    ToolOutcome(String summaryPrefix) {
+      this.summaryPrefix = summaryPrefix;
+    }
+  }
+
+  private record ToolExecution(JsonNode result, ToolOutcome outcome) {}
+
+  /** Pre-encoded keep_alive and options values for one model. */
+  private record ModelSettings(SerializableString keepAlive, SerializableString options) {}
+
+  /** Tool message for the next Ollama turn and its evidence entry, null when the call failed. */
+  private record ToolCallResult(ObjectNode message, ChatResponse.Evidence evidence) {}
+
+  /** Accumulates the NDJSON chunks of one streamed assistant turn. */
+  private class StreamedTurn {
+    private final StringBuilder content = new StringBuilder();
+    private final ArrayNode toolCalls = objectMapper.createArrayNode();
+
+    String append(JsonNode message) {
+      JsonNode calls = message.path("tool_calls");
+      if (calls.isArray()) {
+        calls.forEach(toolCalls::add);
+      }
+      String delta = message.path("content").asText("");
+      content.append(delta);
+      return delta;
+    }
+
+    ObjectNode toMessage() {
+      ObjectNode message = objectMapper.createObjectNode();
+      message.put("role", "assistant");
+      message.put("content", content.toString());
+      if (!toolCalls.isEmpty()) {
+        message.set("tool_calls", toolCalls);
+      }
+      return message;
+    }
+  }
 }
@@ -0,0 +1,167 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.LocalRetrievalConfig;
+import com.ai.livecontext.domain.NewsItem;
+import com.ai.livecontext.domain.TimelineEvent;
+import com.ai.livecontext.repository.NewsItemRepository;
+import com.ai.livecontext.repository.TimelineEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers tool calls from data {@link IngestionService} has already stored. A tool call resolves
+ * locally only when the stored data is within the configured freshness window; otherwise the
+ * result is empty and the caller goes to the MCP server.
+ */
+@Service
+public class LocalRetrievalService {
+
+  private static final Logger logger = LoggerFactory.getLogger(LocalRetrievalService.class);
+  private static final double COORDINATE_TOLERANCE = 0.01;
+
+  private final LocalRetrievalConfig config;
+  private final TimelineEventRepository timelineEventRepository;
+  private final NewsItemRepository newsItemRepository;
+  private final NewsVectorIndex newsVectorIndex;
+  private final ObjectMapper objectMapper;
+
+  public LocalRetrievalService(
+      LocalRetrievalConfig config,
+      TimelineEventRepository timelineEventRepository,
+      NewsItemRepository newsItemRepository,
+      NewsVectorIndex newsVectorIndex,
+      ObjectMapper objectMapper) {
+    this.config = config;
+    this.timelineEventRepository = timelineEventRepository;
+    this.newsItemRepository = newsItemRepository;
+    this.newsVectorIndex = newsVectorIndex;
+    this.objectMapper = objectMapper;
+  }
+
+  /** Returns the locally stored result for the tool call, or empty when MCP must be asked. */
+  public Mono<JsonNode> resolve(String toolName, JsonNode arguments) {
+    if (!config.isEnabled()) {
+      return Mono.empty();
+    }
+    Mono<JsonNode> result =
+        switch (toolName) {
+          case "get_quote" -> resolveQuote(arguments);
+          case "search_news" -> resolveNews(arguments);
+          case "get_weather" -> resolveWeather(arguments);
+          default -> Mono.empty();
+        };
+    return result.onErrorResume(
+        error -> {
+          logger.warn(
+              "[local_retrieval_error] Local lookup failed, falling back to MCP | tool={} error={}",
+              toolName,
+              error.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  private Mono<JsonNode> resolveQuote(JsonNode arguments) {
+    String symbol = arguments.path("symbol").asText("");
+    // Ingestion only stores daily quotes
+    if (symbol.isBlank() || !"daily".equals(arguments.path("interval").asText("daily"))) {
+      return Mono.empty();
+    }
+    return latestPayload(
+        "market",
+        config.getMarketMaxAgeSeconds(),
+        payload -> symbol.equalsIgnoreCase(payload.path("symbol").asText()));
+  }
+
+  private Mono<JsonNode> resolveWeather(JsonNode arguments) {
+    if (!arguments.path("latitude").isNumber() || !arguments.path("longitude").isNumber()) {
+      return Mono.empty();
+    }
+    double latitude = arguments.path("latitude").asDouble();
+    double longitude = arguments.path("longitude").asDouble();
+    return latestPayload(
+        "weather",
+        config.getWeatherMaxAgeSeconds(),
+        payload ->
+            Math.abs(payload.path("latitude").asDouble(Double.NaN) - latitude)
+                    <= COORDINATE_TOLERANCE
+                && Math.abs(payload.path("longitude").asDouble(Double.NaN) - longitude)
+                    <= COORDINATE_TOLERANCE);
+  }
+
+  private Mono<JsonNode> latestPayload(
+      String eventType, int maxAgeSeconds, Predicate<JsonNode> matches) {
+    Instant since = Instant.now().minus(Duration.ofSeconds(maxAgeSeconds));
+    return timelineEventRepository
+        .findRecentByType(eventType, since, config.getMaxEventsScanned())
+        .map(TimelineEvent::getPayload)
+        .mapNotNull(this::readPayload)
+        .filter(matches)
+        .next();
+  }
+
+  private Mono<JsonNode> resolveNews(JsonNode arguments) {
+    String query = arguments.path("query").asText("").trim();
+    if (query.isEmpty()) {
+      return Mono.empty();
+    }
+    int limit = arguments.path("limit").asInt(5);
+    Instant since = Instant.now().minus(Duration.ofSeconds(config.getNewsMaxAgeSeconds()));
+    if (newsVectorIndex.isReady()) {
+      return newsVectorIndex
+          .search(query, limit, since)
+          .filter(matches -> !matches.isEmpty())
+          .map(
+              matches ->
+                  toSearchResult(query, matches.stream().map(NewsVectorIndex.Match::item).toList()))
+          .switchIfEmpty(Mono.defer(() -> searchByKeyword(query, limit, since)));
+    }
+    return searchByKeyword(query, limit, since);
+  }
+
+  private Mono<JsonNode> searchByKeyword(String query, int limit, Instant since) {
+    return newsItemRepository
+        .searchByKeyword(query)
+        .filter(item -> item.getPublishedAt() != null && !item.getPublishedAt().isBefore(since))
+        .take(limit)
+        .collectList()
+        .filter(items -> !items.isEmpty())
+        .map(items -> toSearchResult(query, items));
+  }
+
+  /** Same shape as the news MCP search result so the LLM cannot tell the two apart. */
+  private JsonNode toSearchResult(String query, List<NewsItem> items) {
+    ObjectNode result = objectMapper.createObjectNode();
+    result.put("query", query);
+    ArrayNode results = result.putArray("results");
+    for (NewsItem item : items) {
+      ObjectNode entry = results.addObject();
+      entry.put("id", item.getId());
+      entry.put("title", item.getTitle());
+      entry.put("link", item.getLink());
+      entry.put("publishedAt", item.getPublishedAt().toString());
+      entry.put("source", item.getSource());
+      entry.put("summary", item.getSummary());
+    }
+    result.put("timestamp", Instant.now().toString());
+    return result;
+  }
+
+  private JsonNode readPayload(String payload) {
+    try {
+      return payload != null ? objectMapper.readTree(payload) : null;
+    } catch (JsonProcessingException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,266 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.McpConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * A circuit breaker and bulkhead per MCP server. The breaker opens when too many of the server's
+ * recent calls failed or were slow, rejects calls while open, and after {@code openMs} lets a few
+ * trial calls through to decide whether to close again. The bulkhead caps concurrent calls so a
+ * server that slowed down can't hold every request. Rejected calls fail at once with {@link
+ * McpUnavailableException}.
+ */
+@Component
+public class McpCircuitBreakers {
+
+  private static final Logger logger = LoggerFactory.getLogger(McpCircuitBreakers.class);
+
+  private final Map<String, Breaker> breakers = new LinkedHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  public McpCircuitBreakers(McpConfig config, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    add("market", config.getMarket());
+    add("news", config.getNews());
+    add("weather", config.getWeather());
+    add("system", config.getSystem());
+  }
+
+  /** Runs the call if the server's circuit and bulkhead allow it, recording how it went. */
+  public <T> Mono<T> protect(String server, Mono<T> call) {
+    Breaker breaker = breakers.get(server.toLowerCase());
+    if (breaker == null) {
+      return call;
+    }
+    return Mono.defer(
+        () -> {
+          Permit permit = breaker.tryAcquire();
+          String rejection = permit.rejection();
+          if (rejection != null) {
+            Counter.builder("livecontext.mcp.calls.rejected")
+                .description("MCP calls rejected without calling the server")
+                .tag("server", breaker.server)
+                .tag("reason", rejection)
+                .register(meterRegistry)
+                .increment();
+            logger.debug(
+                "[mcp_call_rejected] Rejected MCP call | server={} reason={}",
+                breaker.server,
+                rejection);
+            return Mono.error(
+                new McpUnavailableException(
+                    breaker.server,
+                    "MCP server " + breaker.server + " unavailable (" + rejection + ")"));
+          }
+          long started = System.nanoTime();
+          AtomicBoolean released = new AtomicBoolean();
+          return call.doOnSuccess(
+                  value -> {
+                    if (released.compareAndSet(false, true)) {
+                      breaker.release(permit, false, System.nanoTime() - started);
+                    }
+                  })
+              .doOnError(
+                  error -> {
+                    if (released.compareAndSet(false, true)) {
+                      breaker.release(
+                          permit, breaker.isFailure(error), System.nanoTime() - started);
+                    }
+                  })
+              .doOnCancel(
+                  () -> {
+                    if (released.compareAndSet(false, true)) {
+                      breaker.cancel(permit);
+                    }
+                  });
+        });
+  }
+
+  /** Current state of every server's circuit and bulkhead. */
+  public Map<String, Snapshot> snapshots() {
+    Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+    breakers.forEach((server, breaker) -> snapshots.put(server, breaker.snapshot()));
+    return snapshots;
+  }
+
+  private void add(String server, McpConfig.McpEndpoint endpoint) {
+    Breaker breaker = new Breaker(server, endpoint);
+    breakers.put(server, breaker);
+    Gauge.builder("livecontext.mcp.circuit.state", breaker, b -> b.snapshot().state().ordinal())
+        .description("MCP circuit state: 0 closed, 1 half-open, 2 open")
+        .tag("server", server)
+        .register(meterRegistry);
+    Gauge.builder("livecontext.mcp.calls.active", breaker, b -> b.snapshot().activeCalls())
+        .description("MCP calls currently running against the server")
+        .tag("server", server)
+        .register(meterRegistry);
+  }
+
+  public enum State {
+    CLOSED,
+    HALF_OPEN,
+    OPEN
+  }
+
+  public record Snapshot(
+      State state,
+      int failureRate,
+      int slowCallRate,
+      int bufferedCalls,
+      int activeCalls,
+      int maxConcurrentCalls) {}
+
+  /** A call's slot, tied to the circuit state it was granted in; {@code rejection} if none. */
+  private record Permit(long generation, String rejection) {}
+
+  private final class Breaker {
+    private final String server;
+    private final int maxConcurrentCalls;
+    private final McpConfig.CircuitBreaker settings;
+    private final long slowCallNanos;
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int buffered;
+    private int next;
+    private int failures;
+    private int slowCalls;
+    private int active;
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    Breaker(String server, McpConfig.McpEndpoint endpoint) {
+      this.server = server;
+      this.maxConcurrentCalls = endpoint.getMaxConcurrentCalls();
+      this.settings = endpoint.getCircuitBreaker();
+      this.slowCallNanos = Duration.ofMillis(settings.getSlowCallDurationMs()).toNanos();
+      int window = Math.max(1, settings.getWindowSize());
+      this.failed = new boolean[window];
+      this.slow = new boolean[window];
+    }
+
+    synchronized Permit tryAcquire() {
+      if (settings.isEnabled()) {
+        if (state == State.OPEN) {
+          if (System.nanoTime() - openedAt < Duration.ofMillis(settings.getOpenMs()).toNanos()) {
+            return new Permit(generation, "circuit_open");
+          }
+          transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN && trialsStarted >= settings.getHalfOpenCalls()) {
+          return new Permit(generation, "circuit_open");
+        }
+      }
+      if (active >= maxConcurrentCalls) {
+        return new Permit(generation, "bulkhead_full");
+      }
+      if (state == State.HALF_OPEN) {
+        trialsStarted++;
+      }
+      active++;
+      return new Permit(generation, null);
+    }
+
+    /** Records the call's outcome unless the circuit changed state while it ran. */
+    synchronized void release(Permit permit, boolean failure, long durationNanos) {
+      active--;
+      if (!settings.isEnabled() || permit.generation() != generation) {
+        return;
+      }
+      boolean slowCall = durationNanos >= slowCallNanos;
+      if (state == State.HALF_OPEN) {
+        if (failure || slowCall) {
+          transition(State.OPEN);
+        } else if (++trialsSucceeded >= settings.getHalfOpenCalls()) {
+          transition(State.CLOSED);
+        }
+        return;
+      }
+      if (state == State.CLOSED) {
+        record(failure, slowCall);
+        if (buffered >= Math.max(1, settings.getMinimumCalls())
+            && (failures * 100 >= settings.getFailureRateThreshold() * buffered
+                || slowCalls * 100 >= settings.getSlowCallRateThreshold() * buffered)) {
+          transition(State.OPEN);
+        }
+      }
+    }
+
+    synchronized void cancel(Permit permit) {
+      active--;
+      if (state == State.HALF_OPEN && permit.generation() == generation) {
+        trialsStarted--;
+      }
+    }
+
+    /** Every error counts against the server except responses with an ignored status. */
+    boolean isFailure(Throwable error) {
+      return !(error instanceof WebClientResponseException response
+          && settings.getIgnoredStatuses().contains(response.getStatusCode().value()));
+    }
+
+    synchronized Snapshot snapshot() {
+      return new Snapshot(
+          state,
+          buffered == 0 ? 0 : failures * 100 / buffered,
+          buffered == 0 ? 0 : slowCalls * 100 / buffered,
+          buffered,
+          active,
+          maxConcurrentCalls);
+    }
+
+    private void record(boolean failure, boolean slowCall) {
+      if (buffered == failed.length) {
+        failures -= failed[next] ? 1 : 0;
+        slowCalls -= slow[next] ? 1 : 0;
+      } else {
+        buffered++;
+      }
+      failed[next] = failure;
+      slow[next] = slowCall;
+      failures += failure ? 1 : 0;
+      slowCalls += slowCall ? 1 : 0;
+      next = (next + 1) % failed.length;
+    }
+
+    private void transition(State target) {
+      Snapshot before = snapshot();
+      state = target;
+      generation++;
+      trialsStarted = 0;
+      trialsSucceeded = 0;
+      if (target == State.OPEN) {
+        openedAt = System.nanoTime();
+        logger.warn(
+            "[mcp_circuit_opened] MCP circuit opened | server={} failureRate={} slowCallRate={} openMs={}",
+            server,
+            before.failureRate(),
+            before.slowCallRate(),
+            settings.getOpenMs());
+      } else if (target == State.CLOSED) {
+        buffered = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+        logger.info("[mcp_circuit_closed] MCP circuit closed | server={}", server);
+      } else {
+        logger.info(
+            "[mcp_circuit_half_open] MCP circuit letting trial calls through | server={}",
+            server);
+      }
+    }
+  }
+}
@@ -2,15 +2,20 @@ package com.ai.livecontext.service;
 
 import com.ai.livecontext.config.McpConfig;
 import com.ai.livecontext.util.CorrelationIdHolder;
+import com.ai.livecontext.util.JsonStreamDecoder;
+import com.ai.livecontext.util.SingleFlight;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -19,79 +24,121 @@ public class McpClientService {
   private static final Logger logger = LoggerFactory.getLogger(McpClientService.class);
 
   private final McpConfig mcpConfig;
-  private final WebClient webClient;
+  private final McpConnectionPools connectionPools;
+  private final McpCircuitBreakers circuitBreakers;
+  private final McpResponseCache responseCache;
   private final ObjectMapper objectMapper;
+  private final SingleFlight<String, JsonNode> inFlightCalls = new SingleFlight<>();
 
-  public McpClientService(McpConfig mcpConfig, ObjectMapper objectMapper) {
+  public McpClientService(
+      McpConfig mcpConfig,
+      McpConnectionPools connectionPools,
+      McpCircuitBreakers circuitBreakers,
+      McpResponseCache responseCache,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
     this.mcpConfig = mcpConfig;
+    this.connectionPools = connectionPools;
+    this.circuitBreakers = circuitBreakers;
+    this.responseCache = responseCache;
     this.objectMapper = objectMapper;
-    this.webClient = WebClient.builder().build();
+    FunctionCounter.builder(
+            "livecontext.mcp.coalesced", inFlightCalls, SingleFlight::getJoinedCount)
+        .description("MCP tool calls that joined an identical in-flight call")
+        .register(meterRegistry);
+    Gauge.builder("livecontext.mcp.in_flight", inFlightCalls, SingleFlight::getInFlightCount)
+        .description("Distinct MCP tool calls currently waiting on a server")
+        .register(meterRegistry);
   }
 
+  /** Calls the tool, answering from the response cache when the tool is cached. */
   public Mono<JsonNode> callTool(String server, String tool, JsonNode parameters) {
-    long startTime = System.currentTimeMillis();
+    return responseCache.get(server, tool, parameters, coalesced(server, tool, parameters));
+  }
+
+  /** Always calls the server, then caches the response for later {@link #callTool} calls. */
+  public Mono<JsonNode> refreshTool(String server, String tool, JsonNode parameters) {
+    return coalesced(server, tool, parameters)
+        .doOnNext(result -> responseCache.put(server, tool, parameters, result));
+  }
+
+  /**
+   * Identical calls made while one is in flight share its HTTP request and parsed response, which
+   * goes through the server's circuit breaker and bulkhead once.
+   */
+  private Mono<JsonNode> coalesced(String server, String tool, JsonNode parameters) {
+    Mono<JsonNode> call = circuitBreakers.protect(server, fetch(server, tool, parameters));
+    return inFlightCalls.execute(McpResponseCache.key(server, tool, parameters), () -> call);
+  }
+
+  /**
+   * The url and correlation id are read when the call is assembled; the body is built, logged and
+   * timed only when the call is subscribed, so cache hits and joined calls skip that work.
+   */
+  private Mono<JsonNode> fetch(String server, String tool, JsonNode parameters) {
     String url = getServerUrl(server);
     String correlationId = CorrelationIdHolder.get();
 
-    ObjectNode requestBody = objectMapper.createObjectNode();
-    requestBody.put("tool", tool);
-    requestBody.set("parameters", parameters);
-    if (correlationId != null) {
-      requestBody.put("correlationId", correlationId);
-    }
+    return Mono.defer(
+        () -> {
+          long startTime = System.currentTimeMillis();
+          ObjectNode requestBody = objectMapper.createObjectNode();
+          requestBody.put("tool", tool);
+          requestBody.set("parameters", parameters);
+          if (correlationId != null) {
+            requestBody.put("correlationId", correlationId);
+          }
 
-    String jsonBody;
-    try {
-      jsonBody = objectMapper.writeValueAsString(requestBody);
-    } catch (Exception e) {
-      return Mono.error(e);
-    }
+          String jsonBody;
+          try {
+            jsonBody = objectMapper.writeValueAsString(requestBody);
+          } catch (Exception e) {
+            return Mono.error(e);
+          }
 
-    logger.info(
-        "[mcp_tool_call_start] Calling MCP tool | server={} tool={} url={} body={} correlationId={}",
-        server,
-        tool,
-        url,
-        jsonBody,
-        correlationId);
+          logger.info(
+              "[mcp_tool_call_start] Calling MCP tool | server={} tool={} url={} body={} correlationId={}",
+              server,
+              tool,
+              url,
+              jsonBody,
+              correlationId);
 
-    return webClient
-        .post()
-        .uri(url + "/tools/" + tool)
-        .contentType(MediaType.APPLICATION_JSON)
-        .bodyValue(jsonBody)
-        .retrieve()
-        .bodyToMono(String.class)
-        .flatMap(
-            responseBody -> {
-              try {
-                return Mono.just(objectMapper.readTree(responseBody));
-              } catch (Exception e) {
-                return Mono.error(e);
-              }
-            })
-        .timeout(Duration.ofMillis(getServerTimeout(server)))
-        .doOnSuccess(
-            result -> {
-              long duration = System.currentTimeMillis() - startTime;
-              logger.info(
-                  "[mcp_tool_call_success] MCP tool call succeeded | server={} tool={} duration_ms={} correlationId={}",
-                  server,
-                  tool,
-                  duration,
-                  correlationId);
-            })
-        .doOnError(
-            error -> {
-              long duration = System.currentTimeMillis() - startTime;
-              logger.error(
-                  "[mcp_tool_call_error] MCP tool call failed | server={} tool={} error={} duration_ms={} correlationId={}",
-                  server,
-                  tool,
-                  error.getMessage(),
-                  duration,
-                  correlationId);
-            });
+          return connectionPools
+              .client(server)
+              .post()
+              .uri(url + "/tools/" + tool)
+              .contentType(MediaType.APPLICATION_JSON)
+              .bodyValue(jsonBody)
+              .retrieve()
+              .bodyToFlux(DataBuffer.class)
+              .as(
+                  body ->
+                      JsonStreamDecoder.decodeOne(
+                          body, objectMapper, mcpConfig.getMaxResponseBytes()))
+              .timeout(Duration.ofMillis(getServerTimeout(server)))
+              .doOnSuccess(
+                  result -> {
+                    long duration = System.currentTimeMillis() - startTime;
+                    logger.info(
+                        "[mcp_tool_call_success] MCP tool call succeeded | server={} tool={} duration_ms={} correlationId={}",
+                        server,
+                        tool,
+                        duration,
+                        correlationId);
+                  })
+              .doOnError(
+                  error -> {
+                    long duration = System.currentTimeMillis() - startTime;
+                    logger.error(
+                        "[mcp_tool_call_error] MCP tool call failed | server={} tool={} error={} duration_ms={} correlationId={}",
+                        server,
+                        tool,
+                        error.getMessage(),
+                        duration,
+                        correlationId);
+                  });
+        });
   }
 
   private String getServerUrl(String server) {
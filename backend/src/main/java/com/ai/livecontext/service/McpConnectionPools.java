@@ -0,0 +1,155 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.McpConfig;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * One connection pool and WebClient per MCP server, sized and timed out from the server's {@link
+ * McpConfig.McpEndpoint}, so a slow server can't take the connections of the others. Pool metrics
+ * are published by Reactor Netty as {@code reactor.netty.connection.provider.*}, tagged with the
+ * pool name {@code mcp-<server>}.
+ */
+@Component
+public class McpConnectionPools {
+
+  private static final Logger logger = LoggerFactory.getLogger(McpConnectionPools.class);
+
+  private final Map<String, Pool> pools = new LinkedHashMap<>();
+  private final List<Disposable> keepAlives = new CopyOnWriteArrayList<>();
+
+  public McpConnectionPools(McpConfig config) {
+    add("market", config.getMarket());
+    add("news", config.getNews());
+    add("weather", config.getWeather());
+    add("system", config.getSystem());
+  }
+
+  public WebClient client(String server) {
+    Pool pool = pools.get(server.toLowerCase());
+    if (pool == null) {
+      throw new IllegalArgumentException("Unknown MCP server: " + server);
+    }
+    return pool.client();
+  }
+
+  /**
+   * Opens each server's prewarm connections with concurrent health checks, then repeats them every
+   * half {@code maxIdleTimeMs} so idle eviction doesn't close the connections before traffic comes.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void prewarm() {
+    pools.forEach(
+        (server, pool) -> {
+          McpConfig.McpEndpoint endpoint = pool.endpoint();
+          int connections = endpoint.getPrewarmConnections();
+          if (endpoint.getUrl() == null || connections <= 0) {
+            return;
+          }
+          long period = endpoint.getMaxIdleTimeMs() / 2;
+          Flux<Long> rounds =
+              period > 0
+                  ? Flux.interval(Duration.ZERO, Duration.ofMillis(period)).onBackpressureDrop()
+                  : Flux.just(0L);
+          keepAlives.add(
+              rounds
+                  .concatMap(
+                      round ->
+                          healthChecks(pool, connections)
+                              .doOnSuccess(
+                                  ignored -> {
+                                    if (round == 0) {
+                                      logger.info(
+                                          "[mcp_prewarm_complete] Prewarmed MCP connections | server={} connections={}",
+                                          server,
+                                          connections);
+                                    }
+                                  })
+                              .onErrorResume(
+                                  error -> {
+                                    if (round == 0) {
+                                      logger.warn(
+                                          "[mcp_prewarm_error] Failed to prewarm MCP connections | server={} error={}",
+                                          server,
+                                          error.getMessage());
+                                    } else {
+                                      logger.debug(
+                                          "[mcp_keepalive_error] Failed to keep MCP connections alive | server={} error={}",
+                                          server,
+                                          error.getMessage());
+                                    }
+                                    return Mono.empty();
+                                  }))
+                  .subscribe());
+        });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    keepAlives.forEach(Disposable::dispose);
+    pools.values().forEach(pool -> pool.provider().dispose());
+  }
+
+  /** Any response will do; the point is the open connections left in the pool. */
+  private static Mono<Void> healthChecks(Pool pool, int connections) {
+    McpConfig.McpEndpoint endpoint = pool.endpoint();
+    return Flux.range(0, connections)
+        .flatMap(
+            i ->
+                pool.client()
+                    .get()
+                    .uri(endpoint.getUrl() + "/health")
+                    .exchangeToMono(ClientResponse::releaseBody)
+                    .timeout(Duration.ofMillis(endpoint.getTimeout())),
+            connections)
+        .then();
+  }
+
+  private void add(String server, McpConfig.McpEndpoint endpoint) {
+    ConnectionProvider provider =
+        ConnectionProvider.builder("mcp-" + server)
+            .maxConnections(endpoint.getMaxConnections())
+            .pendingAcquireMaxCount(endpoint.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(Duration.ofMillis(endpoint.getPendingAcquireTimeoutMs()))
+            .maxIdleTime(Duration.ofMillis(endpoint.getMaxIdleTimeMs()))
+            .maxLifeTime(Duration.ofMillis(endpoint.getMaxLifeTimeMs()))
+            .evictInBackground(Duration.ofMillis(endpoint.getEvictInBackgroundMs()))
+            .metrics(true)
+            .build();
+    HttpClient httpClient =
+        HttpClient.create(provider)
+            .protocol(
+                endpoint.isH2c()
+                    ? new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11}
+                    : new HttpProtocol[] {HttpProtocol.HTTP11});
+    WebClient client =
+        WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    pools.put(server, new Pool(endpoint, provider, client));
+    logger.info(
+        "[mcp_pool_ready] MCP connection pool configured | server={} maxConnections={} h2c={}",
+        server,
+        endpoint.getMaxConnections(),
+        endpoint.isH2c());
+  }
+
+  private record Pool(
+      McpConfig.McpEndpoint endpoint, ConnectionProvider provider, WebClient client) {}
+}
@@ -0,0 +1,166 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.CacheConfig;
+import com.ai.livecontext.config.McpCacheConfig;
+import com.ai.livecontext.util.CanonicalJson;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches MCP tool responses by server, tool and canonicalized parameters, so chat tool calls and
+ * ingestion share them. A response is fresh for its tool's TTL; for {@code maxStaleSeconds} after
+ * that it is still returned while a single background call refreshes it. Error responses are
+ * remembered for a few seconds so a failing server isn't called again by every waiting request,
+ * and when a call fails, e.g. because the server's circuit is open, any older response still held
+ * is returned instead.
+ */
+@Component
+public class McpResponseCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(McpResponseCache.class);
+
+  private final McpCacheConfig config;
+  private final MeterRegistry meterRegistry;
+  private final Cache<Object, Object> cache;
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  public McpResponseCache(
+      McpCacheConfig config, CacheManager cacheManager, MeterRegistry meterRegistry) {
+    this.config = config;
+    this.meterRegistry = meterRegistry;
+    // Size, hard expiry and stats come from CacheConfig; Boot publishes the stats as cache.*
+    this.cache =
+        ((CaffeineCache) cacheManager.getCache(CacheConfig.MARKET_QUOTES)).getNativeCache();
+  }
+
+  /** Returns the cached response for the call, or subscribes to {@code call} and caches it. */
+  public Mono<JsonNode> get(String server, String tool, JsonNode parameters, Mono<JsonNode> call) {
+    Duration ttl = ttlFor(server, tool);
+    if (ttl.isZero()) {
+      return call;
+    }
+    String key = key(server, tool, parameters);
+    return Mono.defer(
+        () -> {
+          Instant now = Instant.now();
+          Object entry = cache.getIfPresent(key);
+          if (entry instanceof CachedResponse cached) {
+            if (cached.error() != null && now.isBefore(cached.freshUntil())) {
+              count(server, tool, "negative");
+              return Mono.error(cached.error());
+            }
+            if (cached.error() == null && now.isBefore(cached.freshUntil())) {
+              count(server, tool, "hit");
+              return Mono.just(cached.value());
+            }
+            if (cached.error() == null && now.isBefore(cached.staleUntil())) {
+              count(server, tool, "stale");
+              refresh(key, server, tool, call, ttl);
+              return Mono.just(cached.value());
+            }
+          }
+          count(server, tool, "miss");
+          JsonNode fallback = entry instanceof CachedResponse cached ? cached.value() : null;
+          return call.doOnNext(value -> store(key, value, ttl))
+              .onErrorResume(
+                  error -> {
+                    if (fallback == null) {
+                      storeFailure(key, error);
+                      return Mono.error(error);
+                    }
+                    count(server, tool, "stale_if_error");
+                    logger.info(
+                        "[mcp_cache_stale_if_error] Serving expired response after failed call | server={} tool={} error={}",
+                        server,
+                        tool,
+                        error.getMessage());
+                    return Mono.just(fallback);
+                  });
+        });
+  }
+
+  /** Stores a response fetched outside {@link #get}, e.g. by scheduled ingestion. */
+  public void put(String server, String tool, JsonNode parameters, JsonNode value) {
+    Duration ttl = ttlFor(server, tool);
+    if (!ttl.isZero()) {
+      store(key(server, tool, parameters), value, ttl);
+    }
+  }
+
+  private void refresh(String key, String server, String tool, Mono<JsonNode> call, Duration ttl) {
+    if (!refreshing.add(key)) {
+      return;
+    }
+    call.doFinally(signal -> refreshing.remove(key))
+        .subscribe(
+            value -> store(key, value, ttl),
+            error ->
+                logger.warn(
+                    "[mcp_cache_refresh_error] Background refresh failed, keeping stale response | server={} tool={} error={}",
+                    server,
+                    tool,
+                    error.getMessage()));
+  }
+
+  private void store(String key, JsonNode value, Duration ttl) {
+    Instant freshUntil = Instant.now().plus(ttl);
+    cache.put(
+        key,
+        new CachedResponse(
+            value, null, freshUntil, freshUntil.plusSeconds(config.getMaxStaleSeconds())));
+  }
+
+  /**
+   * Only answers the server actually gave are remembered. Rejections by the circuit breaker or
+   * bulkhead and timeouts say nothing about the call itself and clear up on their own, and a cached
+   * rejection would also keep a half-open circuit from getting its trial calls.
+   */
+  private void storeFailure(String key, Throwable error) {
+    if (config.getFailureTtlSeconds() <= 0 || !(error instanceof WebClientResponseException)) {
+      return;
+    }
+    Instant until = Instant.now().plusSeconds(config.getFailureTtlSeconds());
+    cache.put(key, new CachedResponse(null, error, until, until));
+  }
+
+  private Duration ttlFor(String server, String tool) {
+    if (!config.isEnabled()) {
+      return Duration.ZERO;
+    }
+    Integer seconds = config.getToolTtlSeconds().get(tool);
+    if (seconds == null) {
+      seconds = config.getTtlSeconds().get(server.toLowerCase());
+    }
+    return seconds == null || seconds <= 0 ? Duration.ZERO : Duration.ofSeconds(seconds);
+  }
+
+  private void count(String server, String tool, String result) {
+    Counter.builder("livecontext.mcp.cache.lookups")
+        .description("MCP response cache lookups by outcome")
+        .tag("server", server)
+        .tag("tool", tool)
+        .tag("result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  static String key(String server, String tool, JsonNode parameters) {
+    return server.toLowerCase() + "/" + tool + ":" + CanonicalJson.canonicalize(parameters);
+  }
+
+  private record CachedResponse(
+      JsonNode value, Throwable error, Instant freshUntil, Instant staleUntil) {}
+}
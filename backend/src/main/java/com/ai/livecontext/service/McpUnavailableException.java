@@ -0,0 +1,16 @@
+package com.ai.livecontext.service;
+
+/** Thrown without calling an MCP server whose circuit is open or whose bulkhead is full. */
+public class McpUnavailableException extends RuntimeException {
+
+  private final String server;
+
+  public McpUnavailableException(String server, String message) {
+    super(message);
+    this.server = server;
+  }
+
+  public String getServer() {
+    return server;
+  }
+}
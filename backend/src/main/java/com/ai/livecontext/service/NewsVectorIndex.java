@@ -0,0 +1,401 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.NewsIndexConfig;
+import com.ai.livecontext.domain.NewsItem;
+import com.ai.livecontext.repository.NewsItemRepository;
+import com.ai.livecontext.util.HnswIndex;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory semantic index over ingested news. Articles are embedded as they are ingested and
+ * added to an HNSW graph; the vectors are snapshotted to disk so a restart only embeds articles
+ * stored since the last snapshot. HNSW can't delete, so once enough articles have aged out the
+ * graph is rebuilt from the live ones.
+ */
+@Service
+public class NewsVectorIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(NewsVectorIndex.class);
+  private static final int SNAPSHOT_MAGIC = 0x4e575658;
+  private static final int SNAPSHOT_VERSION = 1;
+
+  private final NewsIndexConfig config;
+  private final EmbeddingService embeddingService;
+  private final NewsItemRepository newsItemRepository;
+  private final Set<String> indexedIds = ConcurrentHashMap.newKeySet();
+
+  private volatile Graph graph;
+  private volatile boolean dirty;
+
+  public NewsVectorIndex(
+      NewsIndexConfig config,
+      EmbeddingService embeddingService,
+      NewsItemRepository newsItemRepository) {
+    this.config = config;
+    this.embeddingService = embeddingService;
+    this.newsItemRepository = newsItemRepository;
+  }
+
+  public boolean isReady() {
+    return config.isEnabled() && size() > 0;
+  }
+
+  public int size() {
+    Graph current = graph;
+    return current != null ? current.index().size() : 0;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    if (!config.isEnabled()) {
+      return;
+    }
+    loadSnapshot();
+    Instant cutoff = cutoff();
+    newsItemRepository
+        .findAllByOrderByPublishedAtDesc()
+        .take(config.getBackfillLimit())
+        .filter(item -> !indexedIds.contains(item.getId()) && !isExpired(item, cutoff))
+        .concatMap(this::index)
+        .subscribe(
+            ignored -> {},
+            error ->
+                logger.error(
+                    "[news_index_backfill_error] Failed to backfill news index | error={}",
+                    error.getMessage()),
+            () ->
+                logger.info(
+                    "[news_index_ready] News index ready | items={} model={}",
+                    size(),
+                    embeddingService.getModelId()));
+  }
+
+  /** Embeds and adds the article; failures are logged and leave it out of the index. */
+  public Mono<Void> index(NewsItem item) {
+    if (!config.isEnabled()
+        || indexedIds.contains(item.getId())
+        || isExpired(item, cutoff())) {
+      return Mono.empty();
+    }
+    return embeddingService
+        .embed(text(item))
+        .doOnNext(vector -> add(item, vector))
+        .then()
+        .onErrorResume(
+            error -> {
+              logger.warn(
+                  "[news_index_embed_error] Failed to embed news item | id={} error={}",
+                  item.getId(),
+                  error.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  /** Articles most similar to the query, best first, above the configured minimum score. */
+  public Mono<List<Match>> search(String query, int limit) {
+    return search(query, limit, Instant.MIN);
+  }
+
+  /** Like {@link #search(String, int)}, limited to articles published at or after {@code since}. */
+  public Mono<List<Match>> search(String query, int limit, Instant since) {
+    if (!isReady()) {
+      return Mono.just(List.of());
+    }
+    return embeddingService
+        .embed(query)
+        .map(
+            vector -> {
+              Instant cutoff = since.isAfter(cutoff()) ? since : cutoff();
+              // Candidate IDs are ordinals in this graph, so it is read once even if rebuilt
+              Graph current = graph;
+              List<Match> matches = new ArrayList<>();
+              for (HnswIndex.Candidate candidate :
+                  current.index().search(vector, config.getEfSearch(), config.getEfSearch())) {
+                NewsItem item = item(current, candidate.id());
+                if (candidate.score() >= config.getMinScore() && !isExpired(item, cutoff)) {
+                  matches.add(new Match(item, candidate.score()));
+                  if (matches.size() == limit) {
+                    break;
+                  }
+                }
+              }
+              return matches;
+            });
+  }
+
+  @Scheduled(fixedDelayString = "${livecontext.news-index.snapshot-interval-ms:60000}")
+  public void snapshot() {
+    if (!config.isEnabled()) {
+      return;
+    }
+    compact();
+    if (!dirty) {
+      return;
+    }
+    // Cleared first so articles added while writing mark the index dirty again
+    dirty = false;
+    try {
+      int written = writeSnapshot(Path.of(config.getSnapshotPath()));
+      logger.info(
+          "[news_index_snapshot] Wrote news index snapshot | items={} path={}",
+          written,
+          config.getSnapshotPath());
+    } catch (IOException e) {
+      dirty = true;
+      logger.error(
+          "[news_index_snapshot_error] Failed to write news index snapshot | path={} error={}",
+          config.getSnapshotPath(),
+          e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    snapshot();
+  }
+
+  synchronized void add(NewsItem item, float[] vector) {
+    if (!indexedIds.add(item.getId())) {
+      return;
+    }
+    if (graph == null) {
+      graph = newGraph(vector.length);
+    }
+    if (vector.length != graph.index().getDimensions()) {
+      indexedIds.remove(item.getId());
+      throw new IllegalStateException(
+          "Embedding has "
+              + vector.length
+              + " dimensions, index has "
+              + graph.index().getDimensions());
+    }
+    graph.add(item, vector);
+    dirty = true;
+  }
+
+  /**
+   * Rebuilds the graph from live articles once {@code compactExpiredPercent} of it has aged out.
+   * The new graph is built beside the old one, which keeps serving searches and taking articles;
+   * articles added meanwhile are copied over before the swap.
+   */
+  void compact() {
+    Graph current = graph;
+    if (current == null) {
+      return;
+    }
+    Instant cutoff = cutoff();
+    List<NewsItem> liveItems = new ArrayList<>();
+    List<float[]> vectors = new ArrayList<>();
+    List<String> expiredIds = new ArrayList<>();
+    int scanned;
+    synchronized (this) {
+      scanned = current.items().size();
+      for (int id = 0; id < scanned; id++) {
+        NewsItem item = current.items().get(id);
+        if (isExpired(item, cutoff)) {
+          expiredIds.add(item.getId());
+        } else {
+          liveItems.add(item);
+          vectors.add(current.index().vector(id));
+        }
+      }
+    }
+    if (expiredIds.isEmpty()
+        || expiredIds.size() * 100 < config.getCompactExpiredPercent() * scanned) {
+      return;
+    }
+
+    Graph rebuilt = newGraph(current.index().getDimensions());
+    for (int i = 0; i < liveItems.size(); i++) {
+      rebuilt.add(liveItems.get(i), vectors.get(i));
+    }
+    synchronized (this) {
+      if (graph != current) {
+        return;
+      }
+      for (int id = scanned; id < current.items().size(); id++) {
+        rebuilt.add(current.items().get(id), current.index().vector(id));
+      }
+      expiredIds.forEach(indexedIds::remove);
+      graph = rebuilt;
+      dirty = true;
+    }
+    logger.info(
+        "[news_index_compacted] Rebuilt news index without expired articles | removed={} items={}",
+        expiredIds.size(),
+        rebuilt.index().size());
+  }
+
+  private synchronized NewsItem item(Graph current, int id) {
+    return current.items().get(id);
+  }
+
+  private Graph newGraph(int dimensions) {
+    return new Graph(
+        new HnswIndex(dimensions, config.getMaxConnections(), config.getEfConstruction(), 42L),
+        new ArrayList<>());
+  }
+
+  private int writeSnapshot(Path path) throws IOException {
+    List<NewsItem> liveItems = new ArrayList<>();
+    List<float[]> vectors = new ArrayList<>();
+    Instant cutoff = cutoff();
+    synchronized (this) {
+      Graph current = graph;
+      int count = current != null ? current.items().size() : 0;
+      for (int id = 0; id < count; id++) {
+        if (!isExpired(current.items().get(id), cutoff)) {
+          liveItems.add(current.items().get(id));
+          vectors.add(current.index().vector(id));
+        }
+      }
+    }
+
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.writeInt(SNAPSHOT_VERSION);
+      writeString(out, embeddingService.getModelId());
+      out.writeInt(liveItems.size());
+      for (int i = 0; i < liveItems.size(); i++) {
+        NewsItem item = liveItems.get(i);
+        writeString(out, item.getId());
+        writeString(out, item.getTitle());
+        writeString(out, item.getLink());
+        out.writeLong(item.getPublishedAt().toEpochMilli());
+        writeString(out, item.getSource());
+        writeString(out, item.getSummary());
+        float[] vector = vectors.get(i);
+        out.writeInt(vector.length);
+        for (float value : vector) {
+          out.writeFloat(value);
+        }
+      }
+    }
+    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return liveItems.size();
+  }
+
+  private void loadSnapshot() {
+    Path path = Path.of(config.getSnapshotPath());
+    if (!Files.exists(path)) {
+      return;
+    }
+    Instant cutoff = cutoff();
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+        logger.warn("[news_index_snapshot_skipped] Unknown snapshot format | path={}", path);
+        return;
+      }
+      String modelId = readString(in);
+      if (!embeddingService.getModelId().equals(modelId)) {
+        logger.warn(
+            "[news_index_snapshot_skipped] Snapshot was built with another model | path={} model={}",
+            path,
+            modelId);
+        return;
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        NewsItem item =
+            NewsItem.builder()
+                .id(readString(in))
+                .title(readString(in))
+                .link(readString(in))
+                .publishedAt(Instant.ofEpochMilli(in.readLong()))
+                .source(readString(in))
+                .summary(readString(in))
+                .build();
+        float[] vector = new float[in.readInt()];
+        for (int d = 0; d < vector.length; d++) {
+          vector[d] = in.readFloat();
+        }
+        if (!isExpired(item, cutoff)) {
+          add(item, vector);
+        }
+      }
+      dirty = false;
+      logger.info(
+          "[news_index_snapshot_loaded] Loaded news index snapshot | items={} path={}",
+          size(),
+          path);
+    } catch (IOException | RuntimeException e) {
+      logger.warn(
+          "[news_index_snapshot_error] Failed to load news index snapshot | path={} error={}",
+          path,
+          e.getMessage());
+    }
+  }
+
+  private Instant cutoff() {
+    return Instant.now().minus(Duration.ofDays(config.getMaxAgeDays()));
+  }
+
+  private static boolean isExpired(NewsItem item, Instant cutoff) {
+    return item.getPublishedAt() == null || item.getPublishedAt().isBefore(cutoff);
+  }
+
+  private static String text(NewsItem item) {
+    String summary = item.getSummary();
+    if (summary == null || summary.isBlank()) {
+      return item.getTitle();
+    }
+    return item.getTitle() + "\n" + summary;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+  }
+
+  public record Match(NewsItem item, float score) {}
+
+  /** The HNSW graph and the articles at each of its ordinals; mutated only under the index lock. */
+  private record Graph(HnswIndex index, List<NewsItem> items) {
+    void add(NewsItem item, float[] vector) {
+      // The item is registered before the vector so a concurrent search never sees an unknown ID
+      items.add(item);
+      index.add(vector);
+    }
+  }
+}
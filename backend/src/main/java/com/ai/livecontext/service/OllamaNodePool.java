@@ -0,0 +1,284 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.OllamaConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routes Ollama calls across the configured nodes. Each call goes to the node with the lowest
+ * weighted load, where load is the node's in-flight count times its smoothed latency. When hedging
+ * is enabled, a non-streaming call still outstanding after the pool's latency percentile is
+ * duplicated to the next best node and whichever answers first wins. Streams are ranked by their
+ * time to first chunk.
+ */
+@Component
+public class OllamaNodePool {
+
+  private static final Logger logger = LoggerFactory.getLogger(OllamaNodePool.class);
+  private static final double EWMA_ALPHA = 0.3;
+  private static final long ERROR_PENALTY_MILLIS = 5_000;
+  private static final int LATENCY_WINDOW = 128;
+  private static final int MIN_HEDGE_SAMPLES = 20;
+
+  private final List<Node> nodes;
+  private final OllamaConfig.Hedge hedge;
+  private final long[] recentLatencies = new long[LATENCY_WINDOW];
+  private final Counter hedgedRequests;
+  private int recentCount;
+  private int recentIndex;
+
+  public OllamaNodePool(OllamaConfig config, MeterRegistry meterRegistry) {
+    this.nodes = new ArrayList<>();
+    if (config.getNodes().isEmpty()) {
+      nodes.add(new Node(config.getBaseUrl(), 1));
+    } else {
+      for (OllamaConfig.Node node : config.getNodes()) {
+        nodes.add(new Node(node.getUrl(), node.getWeight()));
+      }
+    }
+    this.hedge = config.getHedge();
+    this.hedgedRequests =
+        Counter.builder("livecontext.ollama.hedged")
+            .description("Ollama requests duplicated to a second node")
+            .register(meterRegistry);
+
+    for (Node node : nodes) {
+      Gauge.builder("livecontext.ollama.node.in_flight", node.inFlight, AtomicInteger::get)
+          .tag("node", node.url)
+          .register(meterRegistry);
+      Gauge.builder("livecontext.ollama.node.latency_ewma", node, Node::getEwmaMillis)
+          .tag("node", node.url)
+          .baseUnit("milliseconds")
+          .register(meterRegistry);
+    }
+
+    logger.info(
+        "[ollama_pool_ready] Ollama node pool configured | nodes={} hedging={}",
+        nodes.stream().map(node -> node.url + "*" + node.weight).toList(),
+        hedge.isEnabled());
+  }
+
+  /**
+   * Runs a single-response call against the least-loaded node, hedging to a second node when
+   * enabled. The call receives the node's base URL and must be safe to issue twice.
+   */
+  public <T> Mono<T> execute(Function<String, Mono<T>> call) {
+    return Mono.defer(
+        () -> {
+          Node primary = select(null);
+          if (!hedge.isEnabled() || nodes.size() < 2) {
+            return track(primary, call.apply(primary.url), null);
+          }
+
+          Duration delay = hedgeDelay();
+          HedgeRace race = new HedgeRace(delay.toMillis());
+          Mono<T> primaryCall = track(primary, call.apply(primary.url), race);
+          Mono<T> hedgedCall =
+              Mono.delay(delay)
+                  .flatMap(
+                      tick -> {
+                        Node secondary = select(primary);
+                        hedgedRequests.increment();
+                        logger.debug(
+                            "[ollama_hedge] Primary node slow, hedging request | primary={} secondary={} delay_ms={}",
+                            primary.url,
+                            secondary.url,
+                            delay.toMillis());
+                        return track(secondary, call.apply(secondary.url), race);
+                      });
+          return Mono.firstWithValue(primaryCall, hedgedCall);
+        });
+  }
+
+  /**
+   * Runs a short side call, such as an embedding, against the least-loaded node. It counts toward
+   * the node's in-flight load but is never hedged and records no latency, since its timings would
+   * make nodes look fast and pull the chat hedge delay down to its floor.
+   */
+  public <T> Mono<T> executeUntracked(Function<String, Mono<T>> call) {
+    return Mono.defer(
+        () -> {
+          Node node = select(null);
+          node.inFlight.incrementAndGet();
+          return call.apply(node.url).doFinally(signal -> node.inFlight.decrementAndGet());
+        });
+  }
+
+  /** Runs a streaming call against the least-loaded node. Streams are never hedged. */
+  public <T> Flux<T> executeStream(Function<String, Flux<T>> call) {
+    return Flux.defer(
+        () -> {
+          Node node = select(null);
+          return track(node, call.apply(node.url));
+        });
+  }
+
+  List<String> getNodeUrls() {
+    return nodes.stream().map(node -> node.url).toList();
+  }
+
+  int getInFlight(String url) {
+    return findNode(url).inFlight.get();
+  }
+
+  double getEwmaMillis(String url) {
+    return findNode(url).getEwmaMillis();
+  }
+
+  Duration hedgeDelay() {
+    long minDelay = hedge.getMinDelayMs();
+    long[] samples;
+    synchronized (recentLatencies) {
+      if (recentCount < MIN_HEDGE_SAMPLES) {
+        return Duration.ofMillis(minDelay);
+      }
+      samples = Arrays.copyOf(recentLatencies, recentCount);
+    }
+    Arrays.sort(samples);
+    int index = (int) Math.ceil(hedge.getPercentile() * samples.length) - 1;
+    long percentile = samples[Math.max(0, Math.min(index, samples.length - 1))];
+    return Duration.ofMillis(Math.max(minDelay, percentile));
+  }
+
+  private Node select(Node exclude) {
+    Node best = null;
+    double bestScore = Double.MAX_VALUE;
+    for (Node node : nodes) {
+      if (node == exclude) {
+        continue;
+      }
+      double score = node.score();
+      if (score < bestScore) {
+        best = node;
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Counts the call against the node and records its latency. A call that loses a hedge race is
+   * cancelled before it answers, so it records its elapsed time floored at the hedge delay;
+   * otherwise a slow primary would never look slow and keep being picked.
+   */
+  private <T> Mono<T> track(Node node, Mono<T> call, HedgeRace race) {
+    return Mono.defer(
+        () -> {
+          node.inFlight.incrementAndGet();
+          long start = System.nanoTime();
+          return call.doOnSuccess(
+                  value -> {
+                    if (race != null && value != null) {
+                      race.decided.set(true);
+                    }
+                    recordLatency(node, start, false, true);
+                  })
+              .doOnError(error -> recordLatency(node, start, true, true))
+              .doOnCancel(
+                  () -> {
+                    // Cancelled by the caller rather than by the other call winning: no signal
+                    if (race != null && race.decided.get()) {
+                      long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                      node.recordLatency(Math.max(millis, race.delayMillis));
+                    }
+                  })
+              .doFinally(signal -> node.inFlight.decrementAndGet());
+        });
+  }
+
+  /**
+   * Counts the stream against the node and records its time to first chunk. Whole stream durations
+   * are mostly token generation, so they would rank nodes by answer length, and they stay out of
+   * the window the (non-streaming) hedge delay is computed from.
+   */
+  private <T> Flux<T> track(Node node, Flux<T> call) {
+    return Flux.defer(
+        () -> {
+          node.inFlight.incrementAndGet();
+          long start = System.nanoTime();
+          AtomicBoolean firstChunk = new AtomicBoolean(true);
+          return call.doOnNext(
+                  value -> {
+                    if (firstChunk.compareAndSet(true, false)) {
+                      recordLatency(node, start, false, false);
+                    }
+                  })
+              .doOnComplete(
+                  () -> {
+                    if (firstChunk.compareAndSet(true, false)) {
+                      recordLatency(node, start, false, false);
+                    }
+                  })
+              .doOnError(error -> recordLatency(node, start, true, false))
+              .doFinally(signal -> node.inFlight.decrementAndGet());
+        });
+  }
+
+  private void recordLatency(Node node, long startNanos, boolean failed, boolean hedgeSample) {
+    long millis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    // A node that fails fast must not look like the fastest node
+    node.recordLatency(failed ? Math.max(millis, ERROR_PENALTY_MILLIS) : millis);
+    if (!failed && hedgeSample) {
+      synchronized (recentLatencies) {
+        recentLatencies[recentIndex] = millis;
+        recentIndex = (recentIndex + 1) % LATENCY_WINDOW;
+        recentCount = Math.min(recentCount + 1, LATENCY_WINDOW);
+      }
+    }
+  }
+
+  private Node findNode(String url) {
+    return nodes.stream()
+        .filter(node -> node.url.equals(url))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown Ollama node: " + url));
+  }
+
+  /** Shared by the two calls of one hedged request; set once either of them answers. */
+  private static final class HedgeRace {
+    private final long delayMillis;
+    private final AtomicBoolean decided = new AtomicBoolean();
+
+    HedgeRace(long delayMillis) {
+      this.delayMillis = delayMillis;
+    }
+  }
+
+  private static final class Node {
+    private final String url;
+    private final int weight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double ewmaMillis;
+
+    Node(String url, int weight) {
+      this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+      this.weight = Math.max(1, weight);
+    }
+
+    double getEwmaMillis() {
+      return ewmaMillis;
+    }
+
+    synchronized void recordLatency(long millis) {
+      ewmaMillis = ewmaMillis == 0 ? millis : EWMA_ALPHA * millis + (1 - EWMA_ALPHA) * ewmaMillis;
+    }
+
+    double score() {
+      // Nodes without samples yet count as 1ms so they are tried before slower known nodes
+      return (inFlight.get() + 1) * Math.max(ewmaMillis, 1) / weight;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.util.CanonicalJson;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Tool results shared by every chat answered under one subscriber context, such as the questions of
+ * a batch. The map travels in the Reactor context; loops started outside such a context keep their
+ * results to themselves.
+ */
+final class SharedToolResults {
+
+  private static final String CONTEXT_KEY = SharedToolResults.class.getName();
+
+  private SharedToolResults() {}
+
+  static Context newContext() {
+    return Context.of(CONTEXT_KEY, new ConcurrentHashMap<String, Mono<JsonNode>>());
+  }
+
+  /** The shared results in this context, or null when there are none. */
+  static Map<String, Mono<JsonNode>> in(ContextView context) {
+    return context.getOrDefault(CONTEXT_KEY, null);
+  }
+
+  static String key(String toolName, JsonNode arguments) {
+    return toolName + ":" + CanonicalJson.canonicalize(arguments);
+  }
+
+  /**
+   * Subscribes to {@code fetch} only if no call with the same key was made in this context yet,
+   * otherwise replays that call's result. Failed calls are forgotten so a later call can retry.
+   */
+  static Mono<JsonNode> share(String key, Mono<JsonNode> fetch) {
+    return Mono.deferContextual(
+        context -> {
+          Map<String, Mono<JsonNode>> results = in(context);
+          if (results == null) {
+            return fetch;
+          }
+          return results.computeIfAbsent(
+              key, ignored -> fetch.doOnError(error -> results.remove(key)).cache());
+        });
+  }
+}
@@ -12,15 +12,24 @@ import reactor.core.publisher.Sinks;
 public class TimelineService {
 
   private final TimelineEventRepository repository;
+  private final DataVersionTracker dataVersionTracker;
   private final Sinks.Many<TimelineEvent> sink;
 
-  public TimelineService(TimelineEventRepository repository) {
+  public TimelineService(
+      TimelineEventRepository repository, DataVersionTracker dataVersionTracker) {
     this.repository = repository;
+    this.dataVersionTracker = dataVersionTracker;
     this.sink = Sinks.many().multicast().onBackpressureBuffer();
   }
 
   public Mono<TimelineEvent> addEvent(TimelineEvent event) {
-    return repository.save(event).doOnSuccess(saved -> sink.tryEmitNext(saved));
+    return repository
+        .save(event)
+        .doOnNext(
+            saved -> {
+              dataVersionTracker.markChanged(saved.getEventType());
+              sink.tryEmitNext(saved);
+            });
   }
 
   public Flux<TimelineEvent> streamEvents() {
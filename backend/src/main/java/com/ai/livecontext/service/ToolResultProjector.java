@@ -0,0 +1,139 @@
+package com.ai.livecontext.service;
+
+import com.ai.livecontext.config.ToolExecutionConfig;
+import com.ai.livecontext.util.TokenEstimator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Turns a tool result into the content of its tool message, keeping only the fields and array
+ * elements the tool's {@link ToolExecutionConfig.ResultPolicy} allows and capping the length.
+ * Every later turn re-sends the message, so this bounds prompt size for the rest of the loop. The
+ * result itself is left untouched since it may be shared with other calls.
+ */
+class ToolResultProjector {
+
+  private static final Logger logger = LoggerFactory.getLogger(ToolResultProjector.class);
+  private static final String TRUNCATED = "...[truncated]";
+
+  private final ToolExecutionConfig config;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, FieldTree> fieldTrees = new ConcurrentHashMap<>();
+
+  ToolResultProjector(ToolExecutionConfig config, MeterRegistry meterRegistry) {
+    this.config = config;
+    this.meterRegistry = meterRegistry;
+  }
+
+  String project(String toolName, JsonNode result) {
+    String raw = result.toString();
+    ToolExecutionConfig.ResultPolicy policy = config.getResults().get(toolName);
+    String content = raw;
+    if (policy != null && (!policy.getFields().isEmpty() || policy.getMaxItems() != null)) {
+      FieldTree fields =
+          fieldTrees.computeIfAbsent(toolName, name -> FieldTree.of(policy.getFields()));
+      int maxItems = policy.getMaxItems() != null ? policy.getMaxItems() : Integer.MAX_VALUE;
+      content = shape(result, fields, maxItems).toString();
+    }
+
+    int maxChars =
+        policy != null && policy.getMaxChars() != null
+            ? policy.getMaxChars()
+            : config.getMaxResultChars();
+    if (maxChars > 0 && content.length() > maxChars) {
+      content = content.substring(0, maxChars) + TRUNCATED;
+    }
+
+    record(toolName, raw, content);
+    return content;
+  }
+
+  private void record(String toolName, String raw, String content) {
+    int tokens = TokenEstimator.estimate(content);
+    DistributionSummary.builder("livecontext.llm.tool_result.tokens")
+        .description("Estimated tokens of tool results added to the conversation")
+        .baseUnit("tokens")
+        .tag("tool", toolName)
+        .register(meterRegistry)
+        .record(tokens);
+    if (content.equals(raw)) {
+      return;
+    }
+    long saved =
+        raw.getBytes(StandardCharsets.UTF_8).length
+            - (long) content.getBytes(StandardCharsets.UTF_8).length;
+    Counter.builder("livecontext.llm.tool_result.bytes_saved")
+        .description("Bytes of tool results left out of the conversation by result policies")
+        .baseUnit("bytes")
+        .tag("tool", toolName)
+        .register(meterRegistry)
+        .increment(Math.max(0, saved));
+    logger.debug(
+        "[llm_tool_result_projected] Trimmed tool result | tool={} rawChars={} chars={} tokens={}",
+        toolName,
+        raw.length(),
+        content.length(),
+        tokens);
+  }
+
+  /** Copies the node with only the selected fields and at most {@code maxItems} per array. */
+  private static JsonNode shape(JsonNode node, FieldTree fields, int maxItems) {
+    if (node.isArray()) {
+      ArrayNode array = JsonNodeFactory.instance.arrayNode();
+      for (int i = 0; i < Math.min(node.size(), maxItems); i++) {
+        array.add(shape(node.get(i), fields, maxItems));
+      }
+      return array;
+    }
+    if (!node.isObject()) {
+      return node;
+    }
+    ObjectNode object = JsonNodeFactory.instance.objectNode();
+    if (fields.isLeaf()) {
+      node.fields()
+          .forEachRemaining(
+              field -> object.set(field.getKey(), shape(field.getValue(), fields, maxItems)));
+    } else {
+      fields.children.forEach(
+          (name, child) -> {
+            JsonNode value = node.get(name);
+            if (value != null) {
+              object.set(name, shape(value, child, maxItems));
+            }
+          });
+    }
+    return object;
+  }
+
+  /** Dotted field paths as a tree; a node without children keeps its whole subtree. */
+  private static final class FieldTree {
+    private final Map<String, FieldTree> children = new LinkedHashMap<>();
+
+    static FieldTree of(List<String> paths) {
+      FieldTree root = new FieldTree();
+      for (String path : paths) {
+        FieldTree node = root;
+        for (String name : path.split("\\.")) {
+          node = node.children.computeIfAbsent(name, ignored -> new FieldTree());
+        }
+      }
+      return root;
+    }
+
+    boolean isLeaf() {
+      return children.isEmpty();
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.ai.livecontext.tool;
+
+import com.ai.livecontext.service.McpClientService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GetQuoteToolHandler extends McpToolHandler {
+
+  public GetQuoteToolHandler(McpClientService mcpClientService, ObjectMapper objectMapper) {
+    super(mcpClientService, objectMapper);
+  }
+
+  @Override
+  public String getName() {
+    return "get_quote";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Get stock market quote and price data for a given stock symbol. Use this for any questions about stock prices, market data, or financial instruments.";
+  }
+
+  @Override
+  public ObjectNode getParameterSchema() {
+    ObjectNode properties = objectMapper.createObjectNode();
+    properties.set(
+        "symbol",
+        property(
+            "string",
+            "Stock symbol with exchange suffix, e.g., AAPL.US for Apple, TSLA.US for Tesla, GOOGL.US for Google"));
+    properties.set("interval", property("string", "Time interval: daily, weekly, or monthly"));
+    return objectSchema(properties, "symbol");
+  }
+
+  @Override
+  public String getServer() {
+    return "market";
+  }
+
+  @Override
+  public String getSource() {
+    return "Market MCP";
+  }
+
+  @Override
+  public Duration getTimeout() {
+    return Duration.ofSeconds(10);
+  }
+
+  @Override
+  public boolean isCacheable() {
+    return true;
+  }
+
+  @Override
+  protected String getRemoteTool() {
+    return "get_quote";
+  }
+
+  @Override
+  protected ObjectNode buildParameters(JsonNode arguments) {
+    ObjectNode params = objectMapper.createObjectNode();
+    params.put("symbol", arguments.path("symbol").asText("AAPL.US"));
+    params.put("interval", arguments.path("interval").asText("daily"));
+    return params;
+  }
+}
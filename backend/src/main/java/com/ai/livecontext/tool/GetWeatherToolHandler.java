@@ -0,0 +1,67 @@
+package com.ai.livecontext.tool;
+
+import com.ai.livecontext.service.McpClientService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GetWeatherToolHandler extends McpToolHandler {
+
+  public GetWeatherToolHandler(McpClientService mcpClientService, ObjectMapper objectMapper) {
+    super(mcpClientService, objectMapper);
+  }
+
+  @Override
+  public String getName() {
+    return "get_weather";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Get current weather and forecast for a location. Use this for questions about weather conditions.";
+  }
+
+  @Override
+  public ObjectNode getParameterSchema() {
+    ObjectNode properties = objectMapper.createObjectNode();
+    properties.set("latitude", property("number", "Latitude of the location"));
+    properties.set("longitude", property("number", "Longitude of the location"));
+    return objectSchema(properties, "latitude", "longitude");
+  }
+
+  @Override
+  public String getServer() {
+    return "weather";
+  }
+
+  @Override
+  public String getSource() {
+    return "Weather MCP";
+  }
+
+  @Override
+  public Duration getTimeout() {
+    return Duration.ofSeconds(10);
+  }
+
+  @Override
+  public boolean isCacheable() {
+    return true;
+  }
+
+  @Override
+  protected String getRemoteTool() {
+    return "get_forecast";
+  }
+
+  @Override
+  protected ObjectNode buildParameters(JsonNode arguments) {
+    ObjectNode params = objectMapper.createObjectNode();
+    params.put("latitude", arguments.path("latitude").asDouble(40.7128));
+    params.put("longitude", arguments.path("longitude").asDouble(-74.0060));
+    return params;
+  }
+}
@@ -0,0 +1,49 @@
+package com.ai.livecontext.tool;
+
+import com.ai.livecontext.service.McpClientService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import reactor.core.publisher.Mono;
+
+/** Base class for tools that are forwarded to a remote MCP server tool. */
+public abstract class McpToolHandler implements ToolHandler {
+
+  protected final McpClientService mcpClientService;
+  protected final ObjectMapper objectMapper;
+
+  protected McpToolHandler(McpClientService mcpClientService, ObjectMapper objectMapper) {
+    this.mcpClientService = mcpClientService;
+    this.objectMapper = objectMapper;
+  }
+
+  /** Name of the tool on the MCP server. */
+  protected abstract String getRemoteTool();
+
+  /** Maps the LLM supplied arguments to MCP tool parameters, filling in defaults. */
+  protected abstract ObjectNode buildParameters(JsonNode arguments);
+
+  @Override
+  public Mono<JsonNode> execute(JsonNode arguments) {
+    return mcpClientService.callTool(getServer(), getRemoteTool(), buildParameters(arguments));
+  }
+
+  protected ObjectNode objectSchema(ObjectNode properties, String... required) {
+    ObjectNode schema = objectMapper.createObjectNode();
+    schema.put("type", "object");
+    schema.set("properties", properties);
+    ArrayNode requiredNode = schema.putArray("required");
+    for (String name : required) {
+      requiredNode.add(name);
+    }
+    return schema;
+  }
+
+  protected ObjectNode property(String type, String description) {
+    ObjectNode property = objectMapper.createObjectNode();
+    property.put("type", type);
+    property.put("description", description);
+    return property;
+  }
+}
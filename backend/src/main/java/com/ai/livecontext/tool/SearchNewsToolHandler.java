@@ -0,0 +1,67 @@
+package com.ai.livecontext.tool;
+
+import com.ai.livecontext.service.McpClientService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SearchNewsToolHandler extends McpToolHandler {
+
+  public SearchNewsToolHandler(McpClientService mcpClientService, ObjectMapper objectMapper) {
+    super(mcpClientService, objectMapper);
+  }
+
+  @Override
+  public String getName() {
+    return "search_news";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Search for recent news articles on a topic. Use this for questions about current events, news, or recent developments.";
+  }
+
+  @Override
+  public ObjectNode getParameterSchema() {
+    ObjectNode properties = objectMapper.createObjectNode();
+    properties.set("query", property("string", "Search query for news articles"));
+    properties.set("limit", property("integer", "Maximum number of results to return"));
+    return objectSchema(properties, "query");
+  }
+
+  @Override
+  public String getServer() {
+    return "news";
+  }
+
+  @Override
+  public String getSource() {
+    return "News MCP";
+  }
+
+  @Override
+  public Duration getTimeout() {
+    return Duration.ofSeconds(15);
+  }
+
+  @Override
+  public boolean isCacheable() {
+    return true;
+  }
+
+  @Override
+  protected String getRemoteTool() {
+    return "search";
+  }
+
+  @Override
+  protected ObjectNode buildParameters(JsonNode arguments) {
+    ObjectNode params = objectMapper.createObjectNode();
+    params.put("query", arguments.path("query").asText(""));
+    params.put("limit", arguments.path("limit").asInt(5));
+    return params;
+  }
+}
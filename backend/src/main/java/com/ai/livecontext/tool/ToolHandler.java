@@ -0,0 +1,35 @@
+package com.ai.livecontext.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import reactor.core.publisher.Mono;
+
+/**
+ * A tool the LLM may call during the agentic loop. Implementations are discovered as Spring beans
+ * by {@link ToolRegistry}, so adding a tool means adding one bean.
+ */
+public interface ToolHandler {
+
+  /** Name the LLM uses to request the tool. */
+  String getName();
+
+  String getDescription();
+
+  /** JSON schema of the arguments, advertised to the LLM as the function parameters. */
+  ObjectNode getParameterSchema();
+
+  /** MCP server the tool is served by, or {@code null} for tools answered in-process. */
+  String getServer();
+
+  /** Human readable origin recorded on evidence entries. */
+  String getSource();
+
+  Duration getTimeout();
+
+  default boolean isCacheable() {
+    return false;
+  }
+
+  Mono<JsonNode> execute(JsonNode arguments);
+}
@@ -0,0 +1,95 @@
+package com.ai.livecontext.tool;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tool schema advertised to the LLM and dispatch table for tool calls. Handlers are collected from
+ * the application context; the definitions are built and encoded once at startup so the agentic
+ * loop can splice the same bytes into every Ollama request.
+ */
+@Component
+public class ToolRegistry {
+
+  private static final Logger logger = LoggerFactory.getLogger(ToolRegistry.class);
+
+  private final ObjectMapper objectMapper;
+  private final Map<String, ToolHandler> handlers;
+  private final SerializableString encodedDefinitions;
+
+  public ToolRegistry(ObjectMapper objectMapper, List<ToolHandler> toolHandlers) {
+    this.objectMapper = objectMapper;
+    this.handlers = new LinkedHashMap<>();
+    // Sorted so the advertised schema is identical across restarts regardless of bean order
+    toolHandlers.stream()
+        .sorted(Comparator.comparing(ToolHandler::getName))
+        .forEach(
+            handler -> {
+              if (handlers.putIfAbsent(handler.getName(), handler) != null) {
+                throw new IllegalStateException("Duplicate tool name: " + handler.getName());
+              }
+            });
+    this.encodedDefinitions = new SerializedString(buildToolDefinitions().toString());
+    // Encode eagerly so the first chat request doesn't pay for it
+    this.encodedDefinitions.asUnquotedUTF8();
+
+    logger.info(
+        "[tool_registry_ready] Registered LLM tools | tools={}", String.join(",", handlers.keySet()));
+  }
+
+  public SerializableString getEncodedDefinitions() {
+    return encodedDefinitions;
+  }
+
+  public ToolHandler getHandler(String toolName) {
+    return handlers.get(toolName);
+  }
+
+  public String getSource(String toolName) {
+    ToolHandler handler = handlers.get(toolName);
+    return handler != null ? handler.getSource() : "Unknown";
+  }
+
+  public Mono<JsonNode> execute(String toolName, JsonNode arguments) {
+    ToolHandler handler = handlers.get(toolName);
+    if (handler == null) {
+      return Mono.error(new IllegalArgumentException("Unknown tool: " + toolName));
+    }
+    return execute(toolName, arguments, handler.getTimeout());
+  }
+
+  /** Runs the tool with a caller supplied timeout instead of the handler default. */
+  public Mono<JsonNode> execute(String toolName, JsonNode arguments, Duration timeout) {
+    ToolHandler handler = handlers.get(toolName);
+    if (handler == null) {
+      return Mono.error(new IllegalArgumentException("Unknown tool: " + toolName));
+    }
+    return Mono.defer(() -> handler.execute(arguments)).timeout(timeout);
+  }
+
+  private ArrayNode buildToolDefinitions() {
+    ArrayNode tools = objectMapper.createArrayNode();
+    for (ToolHandler handler : handlers.values()) {
+      ObjectNode tool = tools.addObject();
+      tool.put("type", "function");
+      ObjectNode function = tool.putObject("function");
+      function.put("name", handler.getName());
+      function.put("description", handler.getDescription());
+      function.set("parameters", handler.getParameterSchema());
+    }
+    return tools;
+  }
+}
@@ -0,0 +1,42 @@
+package com.ai.livecontext.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CanonicalJson {
+
+  /**
+   * Serializes the node with object fields sorted at every level, so arguments that differ only in
+   * key order produce the same string. Missing or null nodes canonicalize to an empty object.
+   */
+  public static String canonicalize(JsonNode node) {
+    if (node == null || node.isMissingNode() || node.isNull()) {
+      return "{}";
+    }
+    return sorted(node).toString();
+  }
+
+  private static JsonNode sorted(JsonNode node) {
+    if (node.isObject()) {
+      List<String> names = new ArrayList<>();
+      node.fieldNames().forEachRemaining(names::add);
+      Collections.sort(names);
+      ObjectNode result = JsonNodeFactory.instance.objectNode();
+      for (String name : names) {
+        result.set(name, sorted(node.get(name)));
+      }
+      return result;
+    }
+    if (node.isArray()) {
+      ArrayNode result = JsonNodeFactory.instance.arrayNode();
+      node.forEach(element -> result.add(sorted(element)));
+      return result;
+    }
+    return node;
+  }
+}
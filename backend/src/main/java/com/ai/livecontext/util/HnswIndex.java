@@ -0,0 +1,253 @@
+package com.ai.livecontext.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical navigable small world graph for approximate nearest-neighbour search over unit
+ * length float vectors, ranked by inner product (cosine similarity). Vectors are identified by the
+ * dense ordinal {@link #add} returns. Inserts take a write lock, searches share a read lock.
+ */
+public class HnswIndex {
+
+  private final int dimensions;
+  private final int maxConnections;
+  private final int maxConnectionsLayer0;
+  private final int efConstruction;
+  private final double levelMultiplier;
+  private final Random random;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final List<Node> nodes = new ArrayList<>();
+
+  private int entryPoint = -1;
+  private int topLevel = -1;
+
+  public HnswIndex(int dimensions, int maxConnections, int efConstruction, long seed) {
+    this.dimensions = dimensions;
+    this.maxConnections = maxConnections;
+    this.maxConnectionsLayer0 = maxConnections * 2;
+    this.efConstruction = efConstruction;
+    this.levelMultiplier = 1 / Math.log(maxConnections);
+    this.random = new Random(seed);
+  }
+
+  public int getDimensions() {
+    return dimensions;
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return nodes.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Inserts the vector and returns its ordinal. */
+  public int add(float[] vector) {
+    if (vector.length != dimensions) {
+      throw new IllegalArgumentException(
+          "Expected " + dimensions + " dimensions but got " + vector.length);
+    }
+    lock.writeLock().lock();
+    try {
+      int id = nodes.size();
+      int level = (int) Math.floor(-Math.log(1 - random.nextDouble()) * levelMultiplier);
+      Node node = new Node(vector, level);
+      nodes.add(node);
+      if (entryPoint < 0) {
+        entryPoint = id;
+        topLevel = level;
+        return id;
+      }
+
+      int current = entryPoint;
+      for (int layer = topLevel; layer > level; layer--) {
+        current = greedyClosest(vector, current, layer);
+      }
+      for (int layer = Math.min(level, topLevel); layer >= 0; layer--) {
+        List<Candidate> candidates = searchLayer(vector, current, efConstruction, layer);
+        int limit = layer == 0 ? maxConnectionsLayer0 : maxConnections;
+        List<Candidate> selected =
+            candidates.subList(0, Math.min(maxConnections, candidates.size()));
+        for (Candidate neighbour : selected) {
+          node.link(layer, neighbour.id());
+          Node other = nodes.get(neighbour.id());
+          other.link(layer, id);
+          if (other.linkCount[layer] > limit) {
+            prune(other, layer, limit);
+          }
+        }
+        current = candidates.get(0).id();
+      }
+      if (level > topLevel) {
+        entryPoint = id;
+        topLevel = level;
+      }
+      return id;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns up to {@code k} approximate nearest neighbours, most similar first. A larger {@code
+   * ef} trades latency for recall.
+   */
+  public List<Candidate> search(float[] query, int k, int ef) {
+    lock.readLock().lock();
+    try {
+      if (entryPoint < 0) {
+        return List.of();
+      }
+      int current = entryPoint;
+      for (int layer = topLevel; layer > 0; layer--) {
+        current = greedyClosest(query, current, layer);
+      }
+      List<Candidate> candidates = searchLayer(query, current, Math.max(ef, k), 0);
+      return candidates.subList(0, Math.min(k, candidates.size()));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public float[] vector(int id) {
+    lock.readLock().lock();
+    try {
+      return nodes.get(id).vector;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private int greedyClosest(float[] query, int start, int layer) {
+    int current = start;
+    float best = similarity(query, nodes.get(current).vector);
+    boolean improved = true;
+    while (improved) {
+      improved = false;
+      Node node = nodes.get(current);
+      for (int i = 0; i < node.linkCount[layer]; i++) {
+        int neighbour = node.links[layer][i];
+        float score = similarity(query, nodes.get(neighbour).vector);
+        if (score > best) {
+          best = score;
+          current = neighbour;
+          improved = true;
+        }
+      }
+    }
+    return current;
+  }
+
+  /** Best-first search of one layer; the result is sorted most similar first. */
+  private List<Candidate> searchLayer(float[] query, int start, int ef, int layer) {
+    BitSet visited = new BitSet(nodes.size());
+    PriorityQueue<Candidate> frontier =
+        new PriorityQueue<>(Comparator.comparingDouble(Candidate::score).reversed());
+    PriorityQueue<Candidate> results =
+        new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+
+    Candidate first = new Candidate(start, similarity(query, nodes.get(start).vector));
+    visited.set(start);
+    frontier.add(first);
+    results.add(first);
+
+    while (!frontier.isEmpty()) {
+      Candidate closest = frontier.poll();
+      if (results.size() >= ef && closest.score() < results.peek().score()) {
+        break;
+      }
+      Node node = nodes.get(closest.id());
+      for (int i = 0; i < node.linkCount[layer]; i++) {
+        int neighbour = node.links[layer][i];
+        if (visited.get(neighbour)) {
+          continue;
+        }
+        visited.set(neighbour);
+        float score = similarity(query, nodes.get(neighbour).vector);
+        if (results.size() < ef || score > results.peek().score()) {
+          Candidate candidate = new Candidate(neighbour, score);
+          frontier.add(candidate);
+          results.add(candidate);
+          if (results.size() > ef) {
+            results.poll();
+          }
+        }
+      }
+    }
+
+    List<Candidate> sorted = new ArrayList<>(results);
+    sorted.sort(Comparator.comparingDouble(Candidate::score).reversed());
+    return sorted;
+  }
+
+  /** Keeps only the {@code limit} links most similar to the node. */
+  private void prune(Node node, int layer, int limit) {
+    Candidate[] links = new Candidate[node.linkCount[layer]];
+    for (int i = 0; i < links.length; i++) {
+      int neighbour = node.links[layer][i];
+      links[i] = new Candidate(neighbour, similarity(node.vector, nodes.get(neighbour).vector));
+    }
+    Arrays.sort(links, Comparator.comparingDouble(Candidate::score).reversed());
+    for (int i = 0; i < limit; i++) {
+      node.links[layer][i] = links[i].id();
+    }
+    node.linkCount[layer] = limit;
+  }
+
+  private static float similarity(float[] a, float[] b) {
+    float dot = 0;
+    for (int i = 0; i < a.length; i++) {
+      dot += a[i] * b[i];
+    }
+    return dot;
+  }
+
+  /** Scales the vector to unit length in place and returns it. */
+  public static float[] normalize(float[] vector) {
+    double norm = 0;
+    for (float value : vector) {
+      norm += value * value;
+    }
+    if (norm > 0) {
+      float scale = (float) (1 / Math.sqrt(norm));
+      for (int i = 0; i < vector.length; i++) {
+        vector[i] *= scale;
+      }
+    }
+    return vector;
+  }
+
+  public record Candidate(int id, float score) {}
+
+  private static final class Node {
+    private final float[] vector;
+    private final int[][] links;
+    private final int[] linkCount;
+
+    private Node(float[] vector, int level) {
+      this.vector = vector;
+      this.links = new int[level + 1][];
+      this.linkCount = new int[level + 1];
+      for (int layer = 0; layer <= level; layer++) {
+        links[layer] = new int[4];
+      }
+    }
+
+    private void link(int layer, int target) {
+      if (linkCount[layer] == links[layer].length) {
+        links[layer] = Arrays.copyOf(links[layer], links[layer].length * 2);
+      }
+      links[layer][linkCount[layer]++] = target;
+    }
+  }
+}
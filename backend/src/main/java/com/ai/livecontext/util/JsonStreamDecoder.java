@@ -0,0 +1,146 @@
+package com.ai.livecontext.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decodes JSON straight from response {@link DataBuffer}s with Jackson's non-blocking parser, so a
+ * body is never materialised as a String before becoming a tree. Handles a single document as well
+ * as newline delimited streams of documents.
+ */
+public final class JsonStreamDecoder {
+
+  private JsonStreamDecoder() {}
+
+  /** Decodes a body holding exactly one JSON document. */
+  public static Mono<JsonNode> decodeOne(
+      Flux<DataBuffer> body, ObjectMapper objectMapper, int maxBytes) {
+    return decode(body, objectMapper, maxBytes).single();
+  }
+
+  /**
+   * Decodes every top-level JSON value in the body as soon as its last byte arrives. A value
+   * spanning more than {@code maxBytes} fails with {@link DataBufferLimitException}.
+   */
+  public static Flux<JsonNode> decode(
+      Flux<DataBuffer> body, ObjectMapper objectMapper, int maxBytes) {
+    return Flux.defer(
+        () -> {
+          Tokenizer tokenizer = new Tokenizer(objectMapper, maxBytes);
+          return body.concatMap(tokenizer::feed)
+              .concatWith(Flux.defer(tokenizer::endOfInput))
+              .doFinally(signal -> tokenizer.close())
+              .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+  }
+
+  private static final class Tokenizer {
+    private final ObjectMapper objectMapper;
+    private final int maxBytes;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private TokenBuffer tokens;
+    private int depth;
+    private long fedBytes;
+    // Parser offset where the previous value ended
+    private long valueStart;
+
+    private Tokenizer(ObjectMapper objectMapper, int maxBytes) {
+      this.objectMapper = objectMapper;
+      this.maxBytes = maxBytes;
+      try {
+        this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+      } catch (IOException e) {
+        throw new IllegalStateException("Jackson has no non-blocking parser", e);
+      }
+      this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    private Flux<JsonNode> feed(DataBuffer buffer) {
+      List<JsonNode> values = new ArrayList<>();
+      try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+        while (chunks.hasNext()) {
+          ByteBuffer chunk = chunks.next();
+          fedBytes += chunk.remaining();
+          feeder.feedInput(chunk);
+          drain(values);
+          // Bytes of a value whose end hasn't arrived yet, buffered by the parser
+          if (fedBytes - valueStart > maxBytes) {
+            throw limitExceeded();
+          }
+        }
+      } catch (IOException | DataBufferLimitException e) {
+        // Values that completed before the failure are still delivered
+        return Flux.fromIterable(values).concatWith(Flux.error(e));
+      } finally {
+        DataBufferUtils.release(buffer);
+      }
+      return Flux.fromIterable(values);
+    }
+
+    private Flux<JsonNode> endOfInput() {
+      feeder.endOfInput();
+      List<JsonNode> values = new ArrayList<>();
+      try {
+        drain(values);
+      } catch (IOException | DataBufferLimitException e) {
+        return Flux.fromIterable(values).concatWith(Flux.error(e));
+      }
+      return Flux.fromIterable(values);
+    }
+
+    /**
+     * Parses what has been fed so far. A value is measured by the bytes the parser consumed since
+     * the previous value ended, so values sharing a buffer are each counted on their own.
+     */
+    private void drain(List<JsonNode> values) throws IOException {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+        if (tokens == null) {
+          tokens = new TokenBuffer(parser);
+        }
+        tokens.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+          depth++;
+        } else if (token.isStructEnd()) {
+          depth--;
+        }
+        if (depth == 0) {
+          long valueEnd = parser.currentLocation().getByteOffset();
+          if (valueEnd - valueStart > maxBytes) {
+            throw limitExceeded();
+          }
+          values.add(objectMapper.readTree(tokens.asParser(objectMapper)));
+          tokens = null;
+          valueStart = valueEnd;
+        }
+      }
+    }
+
+    private DataBufferLimitException limitExceeded() {
+      return new DataBufferLimitException(
+          "JSON value exceeds the limit of " + maxBytes + " bytes");
+    }
+
+    private void close() {
+      try {
+        parser.close();
+      } catch (IOException ignored) {
+        // Nothing left to release
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.ai.livecontext.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class QuestionNormalizer {
+
+  private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9$]+");
+  private static final Set<String> FILLER_WORDS =
+      Set.of("a", "an", "the", "is", "are", "please", "me", "us", "tell", "about", "of", "for");
+
+  /** Lower-cases the question and drops punctuation and filler words, keeping word order. */
+  public static String normalize(String question) {
+    return Arrays.stream(NON_WORD.split(question.toLowerCase(Locale.ROOT)))
+        .filter(word -> !word.isEmpty() && !FILLER_WORDS.contains(word))
+        .collect(Collectors.joining(" "));
+  }
+}
@@ -0,0 +1,63 @@
+package com.ai.livecontext.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Deduplicates concurrent identical calls: subscribers asking for a key that is already in flight
+ * attach to the running call instead of starting another one. The shared call is cancelled only
+ * once every attached subscriber has cancelled, and is forgotten as soon as it terminates.
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong joinedCount = new AtomicLong();
+
+  public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+    return Mono.defer(
+        () -> {
+          boolean[] started = {false};
+          Mono<V> flight =
+              inFlight.computeIfAbsent(
+                  key,
+                  k -> {
+                    started[0] = true;
+                    return share(k, call.get());
+                  });
+          if (!started[0]) {
+            joinedCount.incrementAndGet();
+          }
+          return flight;
+        });
+  }
+
+  /** Number of calls that attached to an existing flight instead of starting their own. */
+  public long getJoinedCount() {
+    return joinedCount.get();
+  }
+
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  private Mono<V> share(K key, Mono<V> source) {
+    AtomicReference<Mono<V>> self = new AtomicReference<>();
+    Runnable forget = () -> inFlight.remove(key, self.get());
+    // Forget the flight before its result reaches subscribers so later callers start fresh
+    Mono<V> shared =
+        source
+            .doOnNext(value -> forget.run())
+            .doOnTerminate(forget)
+            .doOnCancel(forget)
+            .flux()
+            .replay(1)
+            .refCount(1)
+            .singleOrEmpty();
+    self.set(shared);
+    return shared;
+  }
+}
@@ -0,0 +1,45 @@
+package com.ai.livecontext.util;
+
+public class TokenEstimator {
+
+  private static final int LETTERS_PER_TOKEN = 4;
+  private static final int DIGITS_PER_TOKEN = 3;
+
+  /**
+   * Rough token count for English text and JSON, good enough for budgeting prompt size. Words
+   * count a token per four letters, numbers one per three digits and every punctuation character
+   * one on its own, which is closer to BPE tokenizers on JSON than a flat characters-per-token
+   * ratio. Runs in a single pass without allocating.
+   */
+  public static int estimate(String text) {
+    if (text == null || text.isEmpty()) {
+      return 0;
+    }
+    int tokens = 0;
+    int length = text.length();
+    int i = 0;
+    while (i < length) {
+      char c = text.charAt(i);
+      if (Character.isLetter(c)) {
+        int start = i;
+        while (i < length && Character.isLetter(text.charAt(i))) {
+          i++;
+        }
+        tokens += (i - start + LETTERS_PER_TOKEN - 1) / LETTERS_PER_TOKEN;
+      } else if (Character.isDigit(c)) {
+        int start = i;
+        while (i < length && Character.isDigit(text.charAt(i))) {
+          i++;
+        }
+        tokens += (i - start + DIGITS_PER_TOKEN - 1) / DIGITS_PER_TOKEN;
+      } else {
+        // Whitespace is merged into the following word
+        if (!Character.isWhitespace(c)) {
+          tokens++;
+        }
+        i++;
+      }
+    }
+    return tokens;
+  }
+}
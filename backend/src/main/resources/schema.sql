@@ -9,6 +9,7 @@ CREATE TABLE IF NOT EXISTS timeline_events (
 
 CREATE INDEX IF NOT EXISTS idx_timeline_timestamp ON timeline_events(timestamp DESC);
 CREATE INDEX IF NOT EXISTS idx_timeline_type ON timeline_events(event_type);
+CREATE INDEX IF NOT EXISTS idx_timeline_type_timestamp ON timeline_events(event_type, timestamp DESC);
 
 CREATE TABLE IF NOT EXISTS news_items (
     id VARCHAR(255) PRIMARY KEY,
@@ -40,3 +41,13 @@ CREATE TABLE IF NOT EXISTS alert_events (
 );
 
 CREATE INDEX IF NOT EXISTS idx_alert_events_triggered ON alert_events(triggered_at DESC);
+
+CREATE TABLE IF NOT EXISTS chat_sessions (
+    id VARCHAR(64) PRIMARY KEY,
+    summary TEXT,
+    messages TEXT NOT NULL,
+    evidence TEXT,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_sessions_updated ON chat_sessions(updated_at DESC);
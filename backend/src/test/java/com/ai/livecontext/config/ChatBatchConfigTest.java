@@ -0,0 +1,16 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ChatBatchConfigTest {
+
+  @Test
+  void chatBatchConfig_shouldHaveDefaults() {
+    ChatBatchConfig config = new ChatBatchConfig();
+
+    assertEquals(8, config.getConcurrency());
+    assertEquals(500, config.getMaxQuestions());
+  }
+}
@@ -0,0 +1,27 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ChatCacheConfigTest {
+
+  @Test
+  void chatCacheConfig_shouldHaveDefaults() {
+    ChatCacheConfig config = new ChatCacheConfig();
+
+    assertTrue(config.isEnabled());
+    assertEquals(500, config.getMaxSize());
+    assertEquals(600, config.getDefaultFreshnessSeconds());
+    assertTrue(config.getFreshnessSeconds().isEmpty());
+  }
+
+  @Test
+  void chatCacheConfig_shouldAcceptFreshnessPerDataType() {
+    ChatCacheConfig config = new ChatCacheConfig();
+    config.setFreshnessSeconds(Map.of("market", 60));
+
+    assertEquals(60, config.getFreshnessSeconds().get("market"));
+  }
+}
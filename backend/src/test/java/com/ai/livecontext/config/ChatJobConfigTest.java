@@ -0,0 +1,22 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ChatJobConfigTest {
+
+  @Test
+  void chatJobConfig_shouldHaveDefaults() {
+    ChatJobConfig config = new ChatJobConfig();
+
+    assertEquals(4, config.getWorkers());
+    assertEquals(500, config.getMaxPendingJobs());
+    assertEquals(60, config.getResultTtlMinutes());
+    assertEquals(10000, config.getMaxJobs());
+    assertEquals(10, config.getAdmissionRetries());
+    assertEquals(5000, config.getAdmissionRetryDelayMs());
+    assertEquals(5000, config.getWebhookTimeoutMs());
+    assertTrue(config.getCallbackAllowedHosts().isEmpty());
+  }
+}
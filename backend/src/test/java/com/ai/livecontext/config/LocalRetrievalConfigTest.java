@@ -0,0 +1,18 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class LocalRetrievalConfigTest {
+
+  @Test
+  void localRetrievalConfig_shouldHaveDefaults() {
+    LocalRetrievalConfig config = new LocalRetrievalConfig();
+
+    assertTrue(config.isEnabled());
+    assertEquals(360, config.getMarketMaxAgeSeconds());
+    assertEquals(21600, config.getNewsMaxAgeSeconds());
+    assertEquals(1800, config.getWeatherMaxAgeSeconds());
+  }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
@@ -134,6 +135,36 @@ class LoggingFilterTest {
     StepVerifier.create(loggingFilter.filter(exchange, filterChain)).verifyComplete();
   }
 
+  @Test
+  void responseDecorator_ShouldPassThroughEventStreams() {
+    MockServerWebExchange exchange =
+        MockServerWebExchange.from(MockServerHttpRequest.post("/api/chat/stream").build());
+
+    when(filterChain.filter(any()))
+        .thenAnswer(
+            invocation -> {
+              ServerWebExchange decoratedExchange = invocation.getArgument(0);
+              decoratedExchange
+                  .getResponse()
+                  .getHeaders()
+                  .setContentType(MediaType.TEXT_EVENT_STREAM);
+              DataBuffer buffer =
+                  decoratedExchange
+                      .getResponse()
+                      .bufferFactory()
+                      .wrap("data:token\n\n".getBytes(StandardCharsets.UTF_8));
+              return decoratedExchange
+                  .getResponse()
+                  .writeAndFlushWith(Mono.just(Mono.just(buffer)));
+            });
+
+    StepVerifier.create(loggingFilter.filter(exchange, filterChain)).verifyComplete();
+
+    StepVerifier.create(exchange.getResponse().getBodyAsString())
+        .expectNext("data:token\n\n")
+        .verifyComplete();
+  }
+
   @Test
   void truncateBody_ShouldLimitLength() {
     StringBuilder longBody = new StringBuilder();
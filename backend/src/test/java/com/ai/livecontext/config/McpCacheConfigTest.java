@@ -0,0 +1,19 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class McpCacheConfigTest {
+
+  @Test
+  void mcpCacheConfig_shouldHaveDefaults() {
+    McpCacheConfig config = new McpCacheConfig();
+
+    assertTrue(config.isEnabled());
+    assertTrue(config.getTtlSeconds().isEmpty());
+    assertTrue(config.getToolTtlSeconds().isEmpty());
+    assertEquals(300, config.getMaxStaleSeconds());
+    assertEquals(5, config.getFailureTtlSeconds());
+  }
+}
@@ -16,6 +16,30 @@ class McpConfigTest {
     assertEquals(5000, endpoint.getTimeout());
   }
 
+  @Test
+  void mcpEndpoint_shouldHaveConnectionPoolDefaults() {
+    McpConfig.McpEndpoint endpoint = new McpConfig.McpEndpoint();
+
+    assertEquals(50, endpoint.getMaxConnections());
+    assertEquals(500, endpoint.getPendingAcquireMaxCount());
+    assertEquals(4000, endpoint.getMaxIdleTimeMs());
+    assertFalse(endpoint.isH2c());
+    assertEquals(2, endpoint.getPrewarmConnections());
+  }
+
+  @Test
+  void mcpEndpoint_shouldHaveCircuitBreakerDefaults() {
+    McpConfig.McpEndpoint endpoint = new McpConfig.McpEndpoint();
+
+    assertEquals(20, endpoint.getMaxConcurrentCalls());
+    assertTrue(endpoint.getCircuitBreaker().isEnabled());
+    assertEquals(50, endpoint.getCircuitBreaker().getFailureRateThreshold());
+    assertEquals(10, endpoint.getCircuitBreaker().getMinimumCalls());
+    assertEquals(30000, endpoint.getCircuitBreaker().getOpenMs());
+    assertEquals(3, endpoint.getCircuitBreaker().getHalfOpenCalls());
+    assertTrue(endpoint.getCircuitBreaker().getIgnoredStatuses().isEmpty());
+  }
+
   @Test
   void mcpConfig_shouldContainAllServers() {
     McpConfig mcpConfig = new McpConfig();
@@ -0,0 +1,19 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class NewsIndexConfigTest {
+
+  @Test
+  void newsIndexConfig_shouldHaveDefaults() {
+    NewsIndexConfig config = new NewsIndexConfig();
+
+    assertFalse(config.isEnabled());
+    assertEquals("nomic-embed-text", config.getEmbeddingModel());
+    assertEquals(16, config.getMaxConnections());
+    assertEquals(0.5, config.getMinScore());
+    assertEquals(20, config.getCompactExpiredPercent());
+  }
+}
@@ -0,0 +1,19 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class RouterConfigTest {
+
+  @Test
+  void routerConfig_shouldHaveDefaults() {
+    RouterConfig config = new RouterConfig();
+
+    assertTrue(config.isEnabled());
+    assertFalse(config.isPhraseWithLlm());
+    assertEquals(12, config.getMaxWords());
+    assertEquals("TSLA.US", config.getSymbolAliases().get("tesla"));
+    assertEquals(40.7128, config.getLocations().get("new york").getLatitude());
+  }
+}
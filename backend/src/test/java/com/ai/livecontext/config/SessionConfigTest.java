@@ -0,0 +1,18 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SessionConfigTest {
+
+  @Test
+  void sessionConfig_shouldHaveDefaults() {
+    SessionConfig config = new SessionConfig();
+
+    assertEquals(1000, config.getMaxSessions());
+    assertEquals(3000, config.getMaxHistoryTokens());
+    assertEquals(2, config.getKeepRecentTurns());
+    assertFalse(config.isPersistenceEnabled());
+  }
+}
@@ -0,0 +1,18 @@
+package com.ai.livecontext.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ToolExecutionConfigTest {
+
+  @Test
+  void toolExecutionConfig_shouldHaveDefaults() {
+    ToolExecutionConfig config = new ToolExecutionConfig();
+
+    assertEquals(4, config.getMaxConcurrency());
+    assertTrue(config.getTimeoutMs().isEmpty());
+    assertEquals(8000, config.getMaxResultChars());
+    assertTrue(config.getResults().isEmpty());
+  }
+}
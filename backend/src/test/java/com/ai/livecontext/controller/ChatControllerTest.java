@@ -1,16 +1,34 @@
 package com.ai.livecontext.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.ai.livecontext.config.ChatBatchConfig;
+import com.ai.livecontext.config.ChatJobConfig;
+import com.ai.livecontext.domain.ChatBatchRequest;
+import com.ai.livecontext.domain.ChatBatchResult;
+import com.ai.livecontext.domain.ChatJob;
+import com.ai.livecontext.domain.ChatJobRequest;
 import com.ai.livecontext.domain.ChatRequest;
 import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.domain.ChatStreamEvent;
+import com.ai.livecontext.service.AdmissionRejectedException;
+import com.ai.livecontext.service.ChatJobService;
 import com.ai.livecontext.service.ChatService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -18,12 +36,18 @@ import reactor.test.StepVerifier;
 class ChatControllerTest {
 
   @Mock private ChatService chatService;
+  @Mock private ChatJobService chatJobService;
 
+  private ChatBatchConfig batchConfig;
+  private ChatJobConfig jobConfig;
   private ChatController chatController;
 
   @BeforeEach
   void setUp() {
-    chatController = new ChatController(chatService);
+    batchConfig = new ChatBatchConfig();
+    jobConfig = new ChatJobConfig();
+    jobConfig.getCallbackAllowedHosts().add("hooks.example.com");
+    chatController = new ChatController(chatService, chatJobService, batchConfig, jobConfig);
   }
 
   @Test
@@ -65,4 +89,168 @@ class ChatControllerTest {
     // Verify the request was processed
     verify(chatService).processChat(any(ChatRequest.class));
   }
+
+  @Test
+  void chat_shouldRejectSessionIdThatDoesNotFitTheSessionKey() {
+    ChatRequest request = ChatRequest.builder().question("Test").sessionId("s".repeat(65)).build();
+
+    StepVerifier.create(chatController.chat(request))
+        .expectError(ResponseStatusException.class)
+        .verify();
+
+    verifyNoInteractions(chatService);
+  }
+
+  @Test
+  void chatStream_shouldRejectSessionIdWithUnexpectedCharacters() {
+    ChatRequest request = ChatRequest.builder().question("Test").sessionId("../etc").build();
+
+    StepVerifier.create(chatController.chatStream(request))
+        .expectError(ResponseStatusException.class)
+        .verify();
+
+    verifyNoInteractions(chatService);
+  }
+
+  @Test
+  void chatStream_shouldWrapEventsAsServerSentEvents() {
+    ChatRequest request = ChatRequest.builder().question("Stream").build();
+
+    when(chatService.processChatStream(any(ChatRequest.class)))
+        .thenReturn(
+            Flux.just(
+                ChatStreamEvent.token("Hello", "id-1"),
+                ChatStreamEvent.done(
+                    ChatResponse.builder().answer("Hello").correlationId("id-1").build())));
+
+    StepVerifier.create(chatController.chatStream(request))
+        .expectNextMatches(
+            sse -> sse.event().equals("token") && sse.data().getContent().equals("Hello"))
+        .expectNextMatches(sse -> sse.event().equals("done"))
+        .verifyComplete();
+
+    verify(chatService).processChatStream(any(ChatRequest.class));
+  }
+
+  @Test
+  void handleAdmissionRejected_shouldReturnTooManyRequestsWithRetryAfter() {
+    ResponseEntity<Map<String, String>> response =
+        chatController.handleAdmissionRejected(
+            new AdmissionRejectedException("LLM request queue is full", Duration.ofSeconds(5)));
+
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+    assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    assertEquals("LLM request queue is full", response.getBody().get("error"));
+  }
+
+  @Test
+  void chatBatch_shouldDelegateWithCorrelationId() {
+    ChatBatchRequest request = ChatBatchRequest.builder().questions(List.of("Q1", "Q2")).build();
+    when(chatService.processBatch(request))
+        .thenReturn(Flux.just(ChatBatchResult.failed(1, "Q2", "boom")));
+
+    StepVerifier.create(chatController.chatBatch(request))
+        .expectNextMatches(result -> result.getIndex() == 1)
+        .verifyComplete();
+
+    assertEquals(36, request.getCorrelationId().length());
+  }
+
+  @Test
+  void chatBatch_shouldRejectEmptyOrOversizedBatches() {
+    batchConfig.setMaxQuestions(1);
+
+    StepVerifier.create(chatController.chatBatch(new ChatBatchRequest()))
+        .expectError(ResponseStatusException.class)
+        .verify();
+    StepVerifier.create(
+            chatController.chatBatch(
+                ChatBatchRequest.builder().questions(List.of("Q1", "Q2")).build()))
+        .expectError(ResponseStatusException.class)
+        .verify();
+    verifyNoInteractions(chatService);
+  }
+
+  @Test
+  void submitJob_shouldAcceptWithLocation() {
+    ChatJob job = ChatJob.builder().id("job-1").status(ChatJob.Status.QUEUED).build();
+    when(chatJobService.submit(any(ChatJobRequest.class))).thenReturn(Mono.just(job));
+
+    StepVerifier.create(chatController.submitJob(ChatJobRequest.builder().question("Q").build()))
+        .expectNextMatches(
+            response ->
+                response.getStatusCode() == HttpStatus.ACCEPTED
+                    && response.getHeaders().getLocation().toString().equals("/api/chat/jobs/job-1")
+                    && response.getBody() == job)
+        .verifyComplete();
+  }
+
+  @Test
+  void submitJob_shouldAcceptCallbackOnAllowedHost() {
+    ChatJob job = ChatJob.builder().id("job-1").status(ChatJob.Status.QUEUED).build();
+    when(chatJobService.submit(any(ChatJobRequest.class))).thenReturn(Mono.just(job));
+    ChatJobRequest request =
+        ChatJobRequest.builder()
+            .question("Q")
+            .callbackUrl("https://HOOKS.example.com/jobs/done")
+            .build();
+
+    StepVerifier.create(chatController.submitJob(request))
+        .expectNextMatches(response -> response.getStatusCode() == HttpStatus.ACCEPTED)
+        .verifyComplete();
+  }
+
+  @Test
+  void submitJob_shouldRejectCallbackToInternalOrUnlistedTargets() {
+    for (String callbackUrl :
+        List.of(
+            "http://169.254.169.254/latest/meta-data/",
+            "http://localhost:8080/actuator/shutdown",
+            "file:///etc/passwd",
+            "gopher://hooks.example.com/",
+            "https://user@hooks.example.com/",
+            "https://hooks.example.com.attacker.net/",
+            "not a url")) {
+      ChatJobRequest request =
+          ChatJobRequest.builder().question("Q").callbackUrl(callbackUrl).build();
+
+      StepVerifier.create(chatController.submitJob(request))
+          .expectError(ResponseStatusException.class)
+          .verify();
+    }
+
+    verifyNoInteractions(chatJobService);
+  }
+
+  @Test
+  void getJob_shouldReturnNotFoundForUnknownJob() {
+    when(chatJobService.find("missing")).thenReturn(Mono.empty());
+
+    StepVerifier.create(chatController.getJob("missing"))
+        .expectNextMatches(response -> response.getStatusCode() == HttpStatus.NOT_FOUND)
+        .verifyComplete();
+  }
+
+  @Test
+  void jobEvents_shouldNameEventsByStatus() {
+    when(chatJobService.updates("job-1"))
+        .thenReturn(
+            Flux.just(
+                ChatJob.builder().id("job-1").status(ChatJob.Status.RUNNING).build(),
+                ChatJob.builder().id("job-1").status(ChatJob.Status.SUCCEEDED).build()));
+
+    StepVerifier.create(chatController.jobEvents("job-1"))
+        .expectNextMatches(sse -> sse.event().equals("running"))
+        .expectNextMatches(sse -> sse.event().equals("succeeded"))
+        .verifyComplete();
+  }
+
+  @Test
+  void jobEvents_shouldFailForUnknownJob() {
+    when(chatJobService.updates("missing")).thenReturn(Flux.empty());
+
+    StepVerifier.create(chatController.jobEvents("missing"))
+        .expectError(ResponseStatusException.class)
+        .verify();
+  }
 }
@@ -0,0 +1,26 @@
+package com.ai.livecontext.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.config.McpConfig;
+import com.ai.livecontext.service.McpCircuitBreakers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class McpCircuitsEndpointTest {
+
+  @Test
+  void circuits_shouldReportEveryServer() {
+    McpConfig config = new McpConfig();
+    config.getNews().setMaxConcurrentCalls(5);
+    McpCircuitsEndpoint endpoint =
+        new McpCircuitsEndpoint(new McpCircuitBreakers(config, new SimpleMeterRegistry()));
+
+    Map<String, McpCircuitBreakers.Snapshot> circuits = endpoint.circuits();
+
+    assertThat(circuits).containsOnlyKeys("market", "news", "weather", "system");
+    assertThat(circuits.get("news").state()).isEqualTo(McpCircuitBreakers.State.CLOSED);
+    assertThat(circuits.get("news").maxConcurrentCalls()).isEqualTo(5);
+  }
+}
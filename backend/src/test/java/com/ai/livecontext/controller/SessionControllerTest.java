@@ -0,0 +1,79 @@
+package com.ai.livecontext.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.ai.livecontext.service.Conversation;
+import com.ai.livecontext.service.ConversationStore;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class SessionControllerTest {
+
+  @Mock private ConversationStore conversationStore;
+
+  private SessionController sessionController;
+
+  @BeforeEach
+  void setUp() {
+    sessionController = new SessionController(conversationStore);
+  }
+
+  @Test
+  void createSession_shouldReturnNewSessionId() {
+    when(conversationStore.create()).thenReturn(new Conversation("abc", Duration.ofMinutes(5)));
+
+    StepVerifier.create(sessionController.createSession())
+        .expectNextMatches(body -> body.get("sessionId").equals("abc"))
+        .verifyComplete();
+  }
+
+  @Test
+  void getSession_shouldReturnHistory() {
+    when(conversationStore.find("abc"))
+        .thenReturn(Mono.just(new Conversation("abc", Duration.ofMinutes(5))));
+
+    StepVerifier.create(sessionController.getSession("abc"))
+        .assertNext(
+            response -> {
+              assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+              assertThat(response.getBody()).containsKeys("sessionId", "messages", "evidence");
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void getSession_shouldRejectOverlongSessionId() {
+    StepVerifier.create(sessionController.getSession("s".repeat(65)))
+        .expectNextMatches(response -> response.getStatusCode() == HttpStatus.BAD_REQUEST)
+        .verifyComplete();
+
+    verifyNoInteractions(conversationStore);
+  }
+
+  @Test
+  void getSession_shouldReturnNotFoundForUnknownSession() {
+    when(conversationStore.find("missing")).thenReturn(Mono.empty());
+
+    StepVerifier.create(sessionController.getSession("missing"))
+        .expectNextMatches(response -> response.getStatusCode() == HttpStatus.NOT_FOUND)
+        .verifyComplete();
+  }
+
+  @Test
+  void deleteSession_shouldDelegateToStore() {
+    when(conversationStore.delete("abc")).thenReturn(Mono.empty());
+
+    StepVerifier.create(sessionController.deleteSession("abc")).verifyComplete();
+
+    verify(conversationStore).delete("abc");
+  }
+}
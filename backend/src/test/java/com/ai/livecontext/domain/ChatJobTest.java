@@ -0,0 +1,40 @@
+package com.ai.livecontext.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class ChatJobTest {
+
+  @Test
+  void isFinished_shouldBeTrueForTerminalStatuses() {
+    assertFalse(ChatJob.builder().status(ChatJob.Status.QUEUED).build().isFinished());
+    assertFalse(ChatJob.builder().status(ChatJob.Status.RUNNING).build().isFinished());
+    assertTrue(ChatJob.builder().status(ChatJob.Status.SUCCEEDED).build().isFinished());
+    assertTrue(ChatJob.builder().status(ChatJob.Status.FAILED).build().isFinished());
+  }
+
+  @Test
+  void serialization_shouldOmitCallbackUrlAndEmptyFields() throws Exception {
+    ChatJob job =
+        ChatJob.builder()
+            .id("job-1")
+            .status(ChatJob.Status.QUEUED)
+            .question("Q")
+            .callbackUrl("http://reports.internal/hook")
+            .build();
+
+    String json = new ObjectMapper().writeValueAsString(job);
+
+    assertEquals("{\"id\":\"job-1\",\"status\":\"QUEUED\",\"question\":\"Q\"}", json);
+  }
+
+  @Test
+  void jobRequest_shouldDefaultToBatchPriority() {
+    assertEquals(ChatPriority.BATCH, new ChatJobRequest().effectivePriority());
+    assertEquals(
+        ChatPriority.INTERACTIVE,
+        ChatJobRequest.builder().priority(ChatPriority.INTERACTIVE).build().effectivePriority());
+  }
+}
@@ -0,0 +1,48 @@
+package com.ai.livecontext.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ChatStreamEventTest {
+
+  @Test
+  void token_shouldCarryContent() {
+    ChatStreamEvent event = ChatStreamEvent.token("Hello", "id-1");
+
+    assertEquals(ChatStreamEvent.TOKEN, event.getType());
+    assertEquals("Hello", event.getContent());
+    assertEquals("id-1", event.getCorrelationId());
+    assertNull(event.getEvidence());
+  }
+
+  @Test
+  void evidence_shouldCarryEvidence() {
+    ChatResponse.Evidence evidence =
+        ChatResponse.Evidence.builder().type("get_quote").source("Market MCP").build();
+
+    ChatStreamEvent event = ChatStreamEvent.evidence(evidence, "id-2");
+
+    assertEquals(ChatStreamEvent.EVIDENCE, event.getType());
+    assertEquals("get_quote", event.getEvidence().getType());
+  }
+
+  @Test
+  void done_shouldCarryFinalAnswer() {
+    ChatResponse response = ChatResponse.builder().answer("Final").correlationId("id-3").build();
+
+    ChatStreamEvent event = ChatStreamEvent.done(response);
+
+    assertEquals(ChatStreamEvent.DONE, event.getType());
+    assertEquals("Final", event.getContent());
+    assertEquals("id-3", event.getCorrelationId());
+  }
+
+  @Test
+  void error_shouldCarryMessage() {
+    ChatStreamEvent event = ChatStreamEvent.error("boom", "id-4");
+
+    assertEquals(ChatStreamEvent.ERROR, event.getType());
+    assertEquals("boom", event.getContent());
+  }
+}
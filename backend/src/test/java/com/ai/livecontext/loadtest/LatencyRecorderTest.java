@@ -0,0 +1,32 @@
+package com.ai.livecontext.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class LatencyRecorderTest {
+
+  @Test
+  void percentile_shouldUseNearestRank() {
+    LatencyRecorder recorder = new LatencyRecorder();
+    for (int i = 100; i >= 1; i--) {
+      recorder.record(Duration.ofMillis(i));
+    }
+
+    assertThat(recorder.count()).isEqualTo(100);
+    assertThat(recorder.percentile(50)).isEqualTo(Duration.ofMillis(50));
+    assertThat(recorder.percentile(99)).isEqualTo(Duration.ofMillis(99));
+    assertThat(recorder.percentile(0)).isEqualTo(Duration.ofMillis(1));
+    assertThat(recorder.max()).isEqualTo(Duration.ofMillis(100));
+    assertThat(recorder.summary()).isEqualTo("p50=50ms p90=90ms p99=99ms max=100ms");
+  }
+
+  @Test
+  void percentile_shouldBeZeroWithoutSamples() {
+    LatencyRecorder recorder = new LatencyRecorder();
+
+    assertThat(recorder.percentile(99)).isEqualTo(Duration.ZERO);
+    assertThat(recorder.max()).isEqualTo(Duration.ZERO);
+  }
+}
@@ -0,0 +1,83 @@
+package com.ai.livecontext.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+class StubMcpServerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private StubMcpServer server;
+  private WebClient webClient;
+
+  @BeforeEach
+  void setUp() {
+    server = new StubMcpServer(Duration.ofMillis(5), Duration.ofMillis(10)).start(0);
+    webClient = WebClient.create("http://localhost:" + server.port());
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  @Test
+  void callTool_shouldAnswerQuotesLikeMarketServer() throws IOException {
+    JsonNode quote =
+        call("get_quote", "{\"tool\":\"get_quote\",\"parameters\":{\"symbol\":\"TSLA.US\"}}");
+
+    assertThat(quote.path("symbol").asText()).isEqualTo("TSLA.US");
+    assertThat(quote.path("price").asDouble()).isPositive();
+    assertThat(quote.has("changePct")).isTrue();
+  }
+
+  @Test
+  void callTool_shouldAnswerNewsAndWeather() throws IOException {
+    JsonNode news = call("search", "{\"tool\":\"search\",\"parameters\":{\"query\":\"tesla\"}}");
+    JsonNode forecast =
+        call(
+            "get_forecast",
+            "{\"tool\":\"get_forecast\",\"parameters\":{\"latitude\":1.5,\"longitude\":2.5}}");
+
+    assertThat(news.path("results")).hasSize(5);
+    assertThat(news.path("query").asText()).isEqualTo("tesla");
+    assertThat(forecast.path("hourly")).hasSize(24);
+    assertThat(forecast.path("latitude").asDouble()).isEqualTo(1.5);
+  }
+
+  @Test
+  void callTool_shouldRejectUnknownTools() {
+    assertThrows(WebClientResponseException.NotFound.class, () -> call("unknown", "{}"));
+  }
+
+  @Test
+  void delay_shouldBeDeterministicAndBounded() {
+    String body = "{\"parameters\":{\"symbol\":\"AAPL.US\"}}";
+
+    assertThat(server.delay(body)).isEqualTo(server.delay(body));
+    assertThat(server.delay(body)).isBetween(Duration.ofMillis(5), Duration.ofMillis(15));
+  }
+
+  private JsonNode call(String tool, String body) throws IOException {
+    String response =
+        webClient
+            .post()
+            .uri("/tools/" + tool)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .retrieve()
+            .bodyToMono(String.class)
+            .block(Duration.ofSeconds(5));
+    return objectMapper.readTree(response);
+  }
+}
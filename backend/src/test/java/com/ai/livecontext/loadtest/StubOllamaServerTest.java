@@ -0,0 +1,143 @@
+package com.ai.livecontext.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class StubOllamaServerTest {
+
+  private static final String USER = "{\"role\":\"user\",\"content\":\"AAPL and news?\"}";
+  private static final String ASSISTANT = "{\"role\":\"assistant\",\"content\":\"\"}";
+  private static final String TOOL = "{\"role\":\"tool\",\"content\":\"{}\"}";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private StubOllamaServer server;
+  private WebClient webClient;
+
+  @BeforeEach
+  void setUp() {
+    server =
+        new StubOllamaServer(
+                new StubOllamaServer.Settings(
+                    Duration.ofMillis(20),
+                    1000,
+                    5,
+                    StubOllamaServer.Settings.parseScript("get_quote,search_news|get_weather")))
+            .start(0);
+    webClient = WebClient.create("http://localhost:" + server.port());
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  @Test
+  void parseScript_shouldSplitTurnsAndCalls() {
+    assertThat(StubOllamaServer.Settings.parseScript("get_quote, search_news|get_weather"))
+        .containsExactly(List.of("get_quote", "search_news"), List.of("get_weather"));
+    assertThat(StubOllamaServer.Settings.parseScript("")).isEmpty();
+  }
+
+  @Test
+  void chat_shouldFollowToolScriptPerTurn() throws IOException {
+    JsonNode first = chat(false, USER);
+    JsonNode calls = first.path("message").path("tool_calls");
+    assertThat(calls).hasSize(2);
+    assertThat(calls.get(0).path("function").path("name").asText()).isEqualTo("get_quote");
+    assertThat(calls.get(0).path("function").path("arguments").path("symbol").asText())
+        .isEqualTo("AAPL.US");
+    assertThat(calls.get(1).path("function").path("name").asText()).isEqualTo("search_news");
+
+    JsonNode second = chat(false, USER, ASSISTANT, TOOL, TOOL);
+    JsonNode secondCall = second.path("message").path("tool_calls").get(0);
+    assertThat(secondCall.path("function").path("name").asText()).isEqualTo("get_weather");
+
+    JsonNode answer = chat(false, USER, ASSISTANT, TOOL, TOOL, ASSISTANT, TOOL);
+    assertThat(answer.path("message").has("tool_calls")).isFalse();
+    assertThat(answer.path("message").path("content").asText())
+        .isEqualTo("markets opened higher as investors");
+    assertThat(answer.path("done").asBoolean()).isTrue();
+    assertThat(answer.path("eval_count").asInt()).isEqualTo(5);
+    assertThat(answer.path("eval_duration").asLong()).isEqualTo(5_000_000L);
+    assertThat(answer.path("prompt_eval_count").asInt()).isPositive();
+  }
+
+  @Test
+  void chat_shouldRestartScriptForEachUserMessage() throws IOException {
+    JsonNode followUp = chat(false, USER, ASSISTANT, TOOL, ASSISTANT, TOOL, ASSISTANT, USER);
+
+    assertThat(followUp.path("message").path("tool_calls")).hasSize(2);
+  }
+
+  @Test
+  void chat_shouldStreamTokensAsNdjson() throws IOException {
+    List<String> lines =
+        webClient
+            .post()
+            .uri("/api/chat")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request(true, USER, ASSISTANT, TOOL, ASSISTANT, TOOL))
+            .retrieve()
+            .bodyToMono(String.class)
+            .map(body -> List.of(body.split("\n")))
+            .block(Duration.ofSeconds(5));
+
+    assertThat(lines).hasSize(6);
+    StringBuilder content = new StringBuilder();
+    for (String line : lines.subList(0, 5)) {
+      JsonNode chunk = objectMapper.readTree(line);
+      assertThat(chunk.path("done").asBoolean()).isFalse();
+      content.append(chunk.path("message").path("content").asText());
+    }
+    assertThat(content.toString()).isEqualTo("markets opened higher as investors");
+    JsonNode last = objectMapper.readTree(lines.get(5));
+    assertThat(last.path("done").asBoolean()).isTrue();
+    assertThat(last.path("eval_count").asInt()).isEqualTo(5);
+  }
+
+  @Test
+  void embed_shouldReturnSameVectorForSameInput() throws IOException {
+    String body = "{\"model\":\"nomic-embed-text\",\"input\":\"Tesla earnings\"}";
+
+    JsonNode first = post("/api/embed", body);
+    JsonNode second = post("/api/embed", body);
+
+    assertThat(first.path("embeddings").get(0)).hasSize(64);
+    assertThat(first).isEqualTo(second);
+  }
+
+  private JsonNode chat(boolean stream, String... messages) throws IOException {
+    return post("/api/chat", request(stream, messages));
+  }
+
+  private String request(boolean stream, String... messages) {
+    return "{\"model\":\"qwen2.5:7b\",\"stream\":"
+        + stream
+        + ",\"messages\":["
+        + String.join(",", messages)
+        + "]}";
+  }
+
+  private JsonNode post(String path, String body) throws IOException {
+    String response =
+        webClient
+            .post()
+            .uri(path)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .retrieve()
+            .bodyToMono(String.class)
+            .block(Duration.ofSeconds(5));
+    return objectMapper.readTree(response);
+  }
+}
@@ -0,0 +1,216 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.config.AdmissionConfig;
+import com.ai.livecontext.config.OllamaConfig;
+import com.ai.livecontext.domain.ChatPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class AdmissionLimiterTest {
+
+  private AdmissionConfig config;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    config = new AdmissionConfig();
+    config.setMaxConcurrencyPerNode(1);
+    config.setMaxQueueSize(2);
+    config.setBatchQueueLimit(1);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void admit_shouldRunImmediatelyWhenSlotFree() {
+    AdmissionLimiter limiter = createLimiter();
+
+    StepVerifier.create(limiter.admit(ChatPriority.INTERACTIVE, () -> Mono.just("answer")))
+        .expectNext("answer")
+        .verifyComplete();
+
+    assertThat(limiter.getActive()).isZero();
+    assertThat(queueTimeCount("interactive")).isEqualTo(1);
+  }
+
+  @Test
+  void admit_shouldQueueUntilSlotReleased() {
+    AdmissionLimiter limiter = createLimiter();
+    Sinks.One<String> first = Sinks.one();
+    List<String> results = new CopyOnWriteArrayList<>();
+
+    limiter.admit(ChatPriority.INTERACTIVE, first::asMono).subscribe(results::add);
+    limiter.admit(ChatPriority.INTERACTIVE, () -> Mono.just("second")).subscribe(results::add);
+
+    assertThat(limiter.getActive()).isOne();
+    assertThat(limiter.getQueued()).isOne();
+    assertThat(results).isEmpty();
+
+    first.tryEmitValue("first");
+
+    assertThat(results).containsExactly("first", "second");
+    assertThat(limiter.getActive()).isZero();
+    assertThat(limiter.getQueued()).isZero();
+  }
+
+  @Test
+  void admit_shouldServeInteractiveBeforeBatch() {
+    config.setBatchQueueLimit(2);
+    AdmissionLimiter limiter = createLimiter();
+    Sinks.One<String> first = Sinks.one();
+    List<String> results = new CopyOnWriteArrayList<>();
+
+    limiter.admit(ChatPriority.INTERACTIVE, first::asMono).subscribe(results::add);
+    limiter.admit(ChatPriority.BATCH, () -> Mono.just("batch")).subscribe(results::add);
+    limiter.admit(ChatPriority.INTERACTIVE, () -> Mono.just("interactive")).subscribe(results::add);
+
+    first.tryEmitValue("first");
+
+    assertThat(results).containsExactly("first", "interactive", "batch");
+  }
+
+  @Test
+  void admit_shouldRejectWhenQueueFull() {
+    AdmissionLimiter limiter = createLimiter();
+    Sinks.One<String> pending = Sinks.one();
+
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+
+    StepVerifier.create(limiter.admit(ChatPriority.INTERACTIVE, () -> Mono.just("late")))
+        .expectErrorSatisfies(
+            error -> {
+              assertThat(error).isInstanceOf(AdmissionRejectedException.class);
+              assertThat(((AdmissionRejectedException) error).getRetryAfter())
+                  .isEqualTo(Duration.ofSeconds(5));
+            })
+        .verify();
+    assertThat(rejectedCount("interactive", "queue_full")).isEqualTo(1);
+  }
+
+  @Test
+  void admit_shouldRejectBatchBeforeInteractive() {
+    AdmissionLimiter limiter = createLimiter();
+    Sinks.One<String> pending = Sinks.one();
+
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+
+    StepVerifier.create(limiter.admit(ChatPriority.BATCH, () -> Mono.just("batch")))
+        .expectError(AdmissionRejectedException.class)
+        .verify();
+    assertThat(limiter.getQueued()).isOne();
+  }
+
+  @Test
+  void admit_shouldRejectAfterMaxQueueWait() {
+    config.setMaxQueueWaitMs(50);
+    AdmissionLimiter limiter = createLimiter();
+    Sinks.One<String> pending = Sinks.one();
+
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+
+    StepVerifier.create(limiter.admit(ChatPriority.INTERACTIVE, () -> Mono.just("late")))
+        .expectError(AdmissionRejectedException.class)
+        .verify(Duration.ofSeconds(1));
+    assertThat(limiter.getQueued()).isZero();
+    assertThat(rejectedCount("interactive", "queue_timeout")).isEqualTo(1);
+  }
+
+  @Test
+  void admit_shouldReleaseQueuedTicketOnCancel() {
+    AdmissionLimiter limiter = createLimiter();
+    Sinks.One<String> pending = Sinks.one();
+
+    Disposable running = limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+    Disposable queued = limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+
+    queued.dispose();
+    assertThat(limiter.getQueued()).isZero();
+
+    running.dispose();
+    assertThat(limiter.getActive()).isZero();
+  }
+
+  @Test
+  void admit_shouldScaleConcurrencyWithNodeCount() {
+    OllamaConfig ollamaConfig = new OllamaConfig();
+    for (String url : List.of("http://a", "http://b")) {
+      OllamaConfig.Node node = new OllamaConfig.Node();
+      node.setUrl(url);
+      ollamaConfig.getNodes().add(node);
+    }
+    AdmissionLimiter limiter =
+        new AdmissionLimiter(
+            config, new OllamaNodePool(ollamaConfig, meterRegistry), meterRegistry);
+    Sinks.One<String> pending = Sinks.one();
+
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+
+    assertThat(limiter.getActive()).isEqualTo(2);
+    assertThat(limiter.getQueued()).isZero();
+  }
+
+  @Test
+  void admitMany_shouldHoldSlotUntilStreamCompletes() {
+    AdmissionLimiter limiter = createLimiter();
+
+    StepVerifier.create(limiter.admitMany(ChatPriority.INTERACTIVE, () -> Flux.just(1, 2)), 0)
+        .then(() -> assertThat(limiter.getActive()).isOne())
+        .thenRequest(2)
+        .expectNext(1, 2)
+        .verifyComplete();
+
+    assertThat(limiter.getActive()).isZero();
+  }
+
+  @Test
+  void admit_shouldBypassQueueWhenDisabled() {
+    config.setEnabled(false);
+    AdmissionLimiter limiter = createLimiter();
+    Sinks.One<String> pending = Sinks.one();
+
+    limiter.admit(ChatPriority.INTERACTIVE, pending::asMono).subscribe();
+
+    StepVerifier.create(limiter.admit(ChatPriority.INTERACTIVE, () -> Mono.just("free")))
+        .expectNext("free")
+        .verifyComplete();
+    assertThat(limiter.getActive()).isZero();
+  }
+
+  private AdmissionLimiter createLimiter() {
+    OllamaConfig ollamaConfig = new OllamaConfig();
+    ollamaConfig.setBaseUrl("http://localhost:11434");
+    return new AdmissionLimiter(
+        config, new OllamaNodePool(ollamaConfig, meterRegistry), meterRegistry);
+  }
+
+  private long queueTimeCount(String priority) {
+    return meterRegistry
+        .get("livecontext.chat.admission.queue_time")
+        .tag("priority", priority)
+        .timer()
+        .count();
+  }
+
+  private double rejectedCount(String priority, String reason) {
+    return meterRegistry
+        .get("livecontext.chat.admission.rejected")
+        .tag("priority", priority)
+        .tag("reason", reason)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,163 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.domain.ChatResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class AgenticLoopStateTest {
+
+  private ObjectMapper objectMapper;
+  private AgenticLoopState state;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    state =
+        AgenticLoopState.start(objectMapper.createArrayNode(), "", "Hi", "corr-1", null, null);
+  }
+
+  @Test
+  void addToolResults_shouldAdvanceIteration() {
+    ObjectNode assistant = objectMapper.createObjectNode().put("role", "assistant");
+    ObjectNode tool = objectMapper.createObjectNode().put("role", "tool");
+
+    state.addAssistantMessage(assistant);
+    state.addToolResults(List.of(tool));
+
+    assertThat(state.getIteration()).isEqualTo(1);
+    assertThat(state.getTurnCount()).isEqualTo(1);
+    assertThat(state.getMessages()).hasSize(3);
+    assertThat(state.isFinished()).isFalse();
+  }
+
+  @Test
+  void markFirstToken_shouldOnlyReturnTrueOnce() {
+    assertThat(state.markFirstToken()).isTrue();
+    assertThat(state.markFirstToken()).isFalse();
+  }
+
+  @Test
+  void recordToolCalls_shouldAccumulateAcrossIterations() {
+    state.recordToolCalls(2);
+    state.recordToolCalls(3);
+
+    assertThat(state.getToolCallCount()).isEqualTo(5);
+  }
+
+  @Test
+  void seedToolCall_shouldAddMessagesAndEvidenceWithoutCountingATurn() {
+    ObjectNode assistant = objectMapper.createObjectNode().put("role", "assistant");
+    ObjectNode tool = objectMapper.createObjectNode().put("role", "tool");
+    ChatResponse.Evidence evidence = ChatResponse.Evidence.builder().type("get_quote").build();
+
+    state.seedToolCall(assistant, tool, evidence);
+
+    assertThat(state.getMessages()).hasSize(3);
+    assertThat(state.getEncodedMessages()).hasSize(3);
+    assertThat(state.getEvidence()).containsExactly(evidence);
+    assertThat(state.getTurnCount()).isZero();
+    assertThat(state.getToolCallCount()).isEqualTo(1);
+  }
+
+  @Test
+  void addEvidence_shouldKeepOrder() {
+    ChatResponse.Evidence first = ChatResponse.Evidence.builder().type("get_quote").build();
+    ChatResponse.Evidence second = ChatResponse.Evidence.builder().type("search_news").build();
+
+    state.addEvidence(List.of(first));
+    state.addEvidence(List.of(second));
+
+    assertThat(state.getEvidence()).containsExactly(first, second);
+  }
+
+  @Test
+  void getEncodedMessages_shouldTrackEveryMessage() {
+    state.addAssistantMessage(objectMapper.createObjectNode().put("role", "assistant"));
+
+    assertThat(state.getEncodedMessages()).hasSize(2);
+    assertThat(state.getEncodedMessages().get(0).getValue())
+        .isEqualTo("{\"role\":\"user\",\"content\":\"Hi\"}");
+  }
+
+  @Test
+  void start_shouldPutSystemPromptFirstAndQuestionLast() {
+    ArrayNode history = objectMapper.createArrayNode();
+    history.add(objectMapper.createObjectNode().put("role", "system").put("content", "Summary"));
+
+    AgenticLoopState seeded =
+        AgenticLoopState.start(history, "Be brief", "Now", "corr-2", null, null);
+
+    assertThat(seeded.getMessages().findValuesAsText("content"))
+        .containsExactly("Be brief", "Summary", "Now");
+    assertThat(seeded.currentTurn()).hasSize(1);
+  }
+
+  @Test
+  void toResponse_shouldUseExplicitAnswerWhenFinished() {
+    state.finish("Final answer");
+
+    assertThat(state.isFinished()).isTrue();
+    assertThat(state.toResponse().getAnswer()).isEqualTo("Final answer");
+    assertThat(state.toResponse().getCorrelationId()).isEqualTo("corr-1");
+  }
+
+  @Test
+  void toResponse_shouldFallBackToLastAssistantMessage() {
+    state.addAssistantMessage(
+        objectMapper.createObjectNode().put("role", "assistant").put("content", "First"));
+    state.addAssistantMessage(
+        objectMapper.createObjectNode().put("role", "assistant").put("content", "Second"));
+    state.finish();
+
+    assertThat(state.toResponse().getAnswer()).isEqualTo("Second");
+  }
+
+  @Test
+  void lastAssistantAnswer_shouldDefaultWhenNoAssistantMessage() {
+    assertThat(state.lastAssistantAnswer()).isEqualTo("Unable to generate response");
+  }
+
+  @Test
+  void currentTurn_shouldExcludeSessionHistory() {
+    ArrayNode history = objectMapper.createArrayNode();
+    history.add(objectMapper.createObjectNode().put("role", "user").put("content", "Earlier"));
+    history.add(objectMapper.createObjectNode().put("role", "assistant").put("content", "Old"));
+    AgenticLoopState seeded =
+        AgenticLoopState.start(
+            history, "", "Now", "corr-3", new Conversation("s", Duration.ofMinutes(1)), null);
+
+    seeded.addAssistantMessage(objectMapper.createObjectNode().put("role", "assistant"));
+
+    assertThat(seeded.currentTurn()).hasSize(2);
+    assertThat(seeded.currentTurn().get(0).path("content").asText()).isEqualTo("Now");
+  }
+
+  @Test
+  void memoizeToolResult_shouldUseSharedResultsWhenGiven() {
+    Map<String, Mono<JsonNode>> shared = new ConcurrentHashMap<>();
+    AgenticLoopState first =
+        AgenticLoopState.start(objectMapper.createArrayNode(), "", "Hi", "corr-1", null, shared);
+    AgenticLoopState second =
+        AgenticLoopState.start(objectMapper.createArrayNode(), "", "Hi", "corr-2", null, shared);
+    Mono<JsonNode> result = Mono.just(objectMapper.createObjectNode());
+
+    Mono<JsonNode> other = Mono.just(objectMapper.createObjectNode());
+
+    assertThat(first.memoizeToolResult("get_quote:{}", key -> result)).isSameAs(result);
+    assertThat(second.memoizeToolResult("get_quote:{}", key -> other)).isSameAs(result);
+    assertThat(state.memoizeToolResult("get_quote:{}", key -> other)).isSameAs(other);
+    second.forgetToolResult("get_quote:{}");
+    assertThat(shared).isEmpty();
+  }
+}
@@ -0,0 +1,258 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.ai.livecontext.config.ChatJobConfig;
+import com.ai.livecontext.domain.ChatJob;
+import com.ai.livecontext.domain.ChatJobRequest;
+import com.ai.livecontext.domain.ChatPriority;
+import com.ai.livecontext.domain.ChatRequest;
+import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.util.CorrelationIdHolder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ChatJobServiceTest {
+
+  @Mock private ChatService chatService;
+
+  private ChatJobConfig config;
+  private ObjectMapper objectMapper;
+  private SimpleMeterRegistry meterRegistry;
+  private ChatJobService chatJobService;
+
+  @BeforeEach
+  void setUp() {
+    config = new ChatJobConfig();
+    config.setAdmissionRetryDelayMs(10);
+    objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    meterRegistry = new SimpleMeterRegistry();
+    chatJobService = new ChatJobService(config, chatService, objectMapper, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    chatJobService.shutdown();
+  }
+
+  @Test
+  void submit_shouldRunJobAndKeepResult() {
+    when(chatService.processChat(any()))
+        .thenReturn(Mono.just(ChatResponse.builder().answer("42").build()));
+
+    ChatJob submitted =
+        chatJobService.submit(ChatJobRequest.builder().question("Q").build()).block();
+
+    assertThat(submitted.getStatus()).isEqualTo(ChatJob.Status.QUEUED);
+    ChatJob finished = awaitFinished(submitted.getId());
+    assertThat(finished.getStatus()).isEqualTo(ChatJob.Status.SUCCEEDED);
+    assertThat(finished.getResult().getAnswer()).isEqualTo("42");
+    assertThat(finished.getStartedAt()).isNotNull();
+    assertThat(finished.getCompletedAt()).isNotNull();
+
+    ArgumentCaptor<ChatRequest> request = ArgumentCaptor.forClass(ChatRequest.class);
+    verify(chatService).processChat(request.capture());
+    assertThat(request.getValue().getPriority()).isEqualTo(ChatPriority.BATCH);
+    assertThat(request.getValue().getCorrelationId()).isEqualTo(submitted.getId());
+    assertThat(
+            meterRegistry
+                .get("livecontext.chat.jobs.completed")
+                .tag("status", "succeeded")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void updates_shouldStreamStatusChangesUntilFinished() {
+    Sinks.One<ChatResponse> answer = Sinks.one();
+    when(chatService.processChat(any())).thenReturn(answer.asMono());
+
+    ChatJob submitted =
+        chatJobService.submit(ChatJobRequest.builder().question("Q").build()).block();
+
+    StepVerifier.create(chatJobService.updates(submitted.getId()))
+        .expectNextMatches(job -> job.getStatus() == ChatJob.Status.RUNNING)
+        .then(() -> answer.tryEmitValue(ChatResponse.builder().answer("done").build()))
+        .expectNextMatches(job -> job.getStatus() == ChatJob.Status.SUCCEEDED)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void find_shouldKeepUnfinishedJobsBeyondSizeBoundAndTtl() {
+    config.setMaxJobs(1);
+    config.setResultTtlMinutes(0);
+    chatJobService.shutdown();
+    chatJobService = new ChatJobService(config, chatService, objectMapper, meterRegistry);
+    when(chatService.processChat(any())).thenReturn(Mono.never());
+
+    List<ChatJob> submitted = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      submitted.add(
+          chatJobService.submit(ChatJobRequest.builder().question("Q" + i).build()).block());
+    }
+
+    for (ChatJob job : submitted) {
+      StepVerifier.create(chatJobService.find(job.getId()))
+          .expectNextMatches(found -> !found.isFinished())
+          .verifyComplete();
+    }
+  }
+
+  @Test
+  void run_shouldAnswerUnderJobCorrelationId() {
+    List<String> correlationIds = new CopyOnWriteArrayList<>();
+    when(chatService.processChat(any()))
+        .thenAnswer(
+            invocation -> {
+              correlationIds.add(CorrelationIdHolder.get());
+              return Mono.just(ChatResponse.builder().answer("42").build());
+            });
+
+    ChatJob submitted =
+        chatJobService.submit(ChatJobRequest.builder().question("Q").build()).block();
+    awaitFinished(submitted.getId());
+
+    assertThat(correlationIds).containsExactly(submitted.getId());
+  }
+
+  @Test
+  void updates_shouldBeEmptyForUnknownJob() {
+    StepVerifier.create(chatJobService.updates("missing")).verifyComplete();
+    StepVerifier.create(chatJobService.find("missing")).verifyComplete();
+  }
+
+  @Test
+  void run_shouldRetryWhenAdmissionRejects() {
+    AtomicInteger attempts = new AtomicInteger();
+    when(chatService.processChat(any()))
+        .thenReturn(
+            Mono.defer(
+                () ->
+                    attempts.incrementAndGet() < 3
+                        ? Mono.error(
+                            new AdmissionRejectedException("busy", Duration.ofSeconds(1)))
+                        : Mono.just(ChatResponse.builder().answer("ok").build())));
+
+    ChatJob submitted =
+        chatJobService.submit(ChatJobRequest.builder().question("Q").build()).block();
+
+    assertThat(awaitFinished(submitted.getId()).getStatus()).isEqualTo(ChatJob.Status.SUCCEEDED);
+    assertThat(attempts.get()).isEqualTo(3);
+  }
+
+  @Test
+  void run_shouldRecordFailure() {
+    when(chatService.processChat(any())).thenReturn(Mono.error(new RuntimeException("boom")));
+
+    ChatJob submitted =
+        chatJobService.submit(ChatJobRequest.builder().question("Q").build()).block();
+
+    ChatJob finished = awaitFinished(submitted.getId());
+    assertThat(finished.getStatus()).isEqualTo(ChatJob.Status.FAILED);
+    assertThat(finished.getError()).isEqualTo("boom");
+  }
+
+  @Test
+  void run_shouldLimitConcurrentJobsToWorkers() {
+    config.setWorkers(2);
+    chatJobService.shutdown();
+    chatJobService = new ChatJobService(config, chatService, objectMapper, meterRegistry);
+    Sinks.One<ChatResponse> release = Sinks.one();
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+    when(chatService.processChat(any()))
+        .thenReturn(
+            Mono.defer(
+                    () -> {
+                      maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                      return release.asMono();
+                    })
+                .doFinally(signal -> active.decrementAndGet()));
+
+    for (int i = 0; i < 5; i++) {
+      chatJobService.submit(ChatJobRequest.builder().question("Q" + i).build()).block();
+    }
+
+    assertThat(maxActive.get()).isEqualTo(2);
+    assertThat(meterRegistry.get("livecontext.chat.jobs.pending").gauge().value()).isEqualTo(3);
+    release.tryEmitValue(ChatResponse.builder().answer("ok").build());
+  }
+
+  @Test
+  void submit_shouldRejectWhenQueueIsFull() {
+    config.setWorkers(1);
+    config.setMaxPendingJobs(1);
+    chatJobService.shutdown();
+    chatJobService = new ChatJobService(config, chatService, objectMapper, meterRegistry);
+    when(chatService.processChat(any())).thenReturn(Mono.never());
+
+    chatJobService.submit(ChatJobRequest.builder().question("running").build()).block();
+    chatJobService.submit(ChatJobRequest.builder().question("queued").build()).block();
+
+    assertThrows(
+        AdmissionRejectedException.class,
+        () -> chatJobService.submit(ChatJobRequest.builder().question("extra").build()).block());
+  }
+
+  @Test
+  void run_shouldPostFinishedJobToCallbackUrl() throws IOException, InterruptedException {
+    MockWebServer callback = new MockWebServer();
+    callback.enqueue(new MockResponse().setResponseCode(204));
+    callback.start();
+    try {
+      when(chatService.processChat(any()))
+          .thenReturn(Mono.just(ChatResponse.builder().answer("42").build()));
+
+      ChatJob submitted =
+          chatJobService
+              .submit(
+                  ChatJobRequest.builder()
+                      .question("Q")
+                      .callbackUrl(callback.url("/hook").toString())
+                      .build())
+              .block();
+
+      RecordedRequest request = callback.takeRequest(5, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      JsonNode body = objectMapper.readTree(request.getBody().readUtf8());
+      assertThat(body.path("id").asText()).isEqualTo(submitted.getId());
+      assertThat(body.path("status").asText()).isEqualTo("SUCCEEDED");
+      assertThat(body.path("result").path("answer").asText()).isEqualTo("42");
+      assertThat(body.has("callbackUrl")).isFalse();
+    } finally {
+      callback.shutdown();
+    }
+  }
+
+  private ChatJob awaitFinished(String jobId) {
+    return chatJobService.updates(jobId).last().block(Duration.ofSeconds(5));
+  }
+}
@@ -0,0 +1,115 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.ai.livecontext.config.ChatCacheConfig;
+import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.tool.GetQuoteToolHandler;
+import com.ai.livecontext.tool.SearchNewsToolHandler;
+import com.ai.livecontext.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChatResponseCacheTest {
+
+  private ChatCacheConfig config;
+  private DataVersionTracker dataVersionTracker;
+  private SimpleMeterRegistry meterRegistry;
+  private ChatResponseCache cache;
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    McpClientService mcpClientService = mock(McpClientService.class);
+    ToolRegistry toolRegistry =
+        new ToolRegistry(
+            objectMapper,
+            List.of(
+                new GetQuoteToolHandler(mcpClientService, objectMapper),
+                new SearchNewsToolHandler(mcpClientService, objectMapper)));
+
+    config = new ChatCacheConfig();
+    config.setFreshnessSeconds(Map.of("market", 60));
+    dataVersionTracker = new DataVersionTracker();
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new ChatResponseCache(config, toolRegistry, dataVersionTracker, meterRegistry);
+  }
+
+  @Test
+  void get_shouldServeFreshAnswerForEquivalentQuestion() {
+    cache.put("How is AAPL doing today?", quoteAnswer());
+
+    assertThat(cache.get("how is aapl doing today")).map(ChatResponse::getAnswer).hasValue("Up 2%");
+    assertThat(lookups("hit")).isEqualTo(1.0);
+  }
+
+  @Test
+  void get_shouldMissForUnknownQuestion() {
+    assertThat(cache.get("Anything new?")).isEmpty();
+    assertThat(lookups("miss")).isEqualTo(1.0);
+  }
+
+  @Test
+  void get_shouldReuseExpiredAnswerWhenDataUnchanged() {
+    config.setFreshnessSeconds(Map.of("market", 0));
+    cache.put("Price of AAPL", quoteAnswer());
+
+    assertThat(cache.get("Price of AAPL")).isPresent();
+    assertThat(lookups("revalidated")).isEqualTo(1.0);
+  }
+
+  @Test
+  void get_shouldDropExpiredAnswerWhenDataChanged() {
+    config.setFreshnessSeconds(Map.of("market", 0));
+    cache.put("Price of AAPL", quoteAnswer());
+    dataVersionTracker.markChanged("market");
+
+    assertThat(cache.get("Price of AAPL")).isEmpty();
+    assertThat(cache.get("Price of AAPL")).isEmpty();
+    assertThat(lookups("stale")).isEqualTo(1.0);
+    assertThat(lookups("miss")).isEqualTo(1.0);
+  }
+
+  @Test
+  void put_shouldSkipFallbackAnswers() {
+    cache.put("Price of AAPL", ChatResponse.builder().answer("Mock").fallback(true).build());
+
+    assertThat(cache.get("Price of AAPL")).isEmpty();
+  }
+
+  @Test
+  void put_shouldSkipAnswersWithDegradedEvidence() {
+    ChatResponse.Evidence unavailable =
+        ChatResponse.Evidence.builder().type("get_quote").degraded(true).build();
+    cache.put(
+        "Price of AAPL",
+        ChatResponse.builder().answer("No data").evidence(List.of(unavailable)).build());
+
+    assertThat(cache.get("Price of AAPL")).isEmpty();
+  }
+
+  @Test
+  void get_shouldBypassCacheWhenDisabled() {
+    cache.put("Price of AAPL", quoteAnswer());
+    config.setEnabled(false);
+
+    assertThat(cache.get("Price of AAPL")).isEmpty();
+  }
+
+  private ChatResponse quoteAnswer() {
+    return ChatResponse.builder()
+        .answer("Up 2%")
+        .evidence(List.of(ChatResponse.Evidence.builder().type("get_quote").build()))
+        .correlationId("first")
+        .build();
+  }
+
+  private double lookups(String result) {
+    return meterRegistry.counter("livecontext.chat.cache.lookups", "result", result).count();
+  }
+}
@@ -1,28 +1,103 @@
 package com.ai.livecontext.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.ai.livecontext.config.AdmissionConfig;
+import com.ai.livecontext.config.ChatBatchConfig;
+import com.ai.livecontext.config.OllamaConfig;
+import com.ai.livecontext.domain.ChatBatchRequest;
+import com.ai.livecontext.domain.ChatBatchResult;
 import com.ai.livecontext.domain.ChatRequest;
 import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.domain.ChatStreamEvent;
+import com.ai.livecontext.util.CorrelationIdHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
 class ChatServiceTest {
 
   @Mock private LlmService llmService;
+  @Mock private ChatResponseCache chatResponseCache;
+  @Mock private ConversationStore conversationStore;
+  @Mock private IntentRouter intentRouter;
 
+  private SimpleMeterRegistry meterRegistry;
   private ChatService chatService;
 
   @BeforeEach
   void setUp() {
-    chatService = new ChatService(llmService);
+    meterRegistry = new SimpleMeterRegistry();
+    OllamaConfig ollamaConfig = new OllamaConfig();
+    ollamaConfig.setBaseUrl("http://localhost:11434");
+    AdmissionLimiter admissionLimiter =
+        new AdmissionLimiter(
+            new AdmissionConfig(), new OllamaNodePool(ollamaConfig, meterRegistry), meterRegistry);
+    chatService =
+        new ChatService(
+            llmService,
+            chatResponseCache,
+            admissionLimiter,
+            conversationStore,
+            intentRouter,
+            new ChatBatchConfig(),
+            meterRegistry);
+    // Questions go through the LLM unless a test routes them
+    lenient().when(intentRouter.route(anyString())).thenReturn(Mono.empty());
+  }
+
+  @Test
+  void processChat_shouldAnswerRoutedQuestionWithoutLlm() {
+    ChatRequest request =
+        ChatRequest.builder().question("price of TSLA").correlationId("corr-1").build();
+    ChatResponse.Evidence evidence = ChatResponse.Evidence.builder().type("get_quote").build();
+    IntentRouter.RoutedCall call =
+        new IntentRouter.RoutedCall(null, null, evidence, "TSLA.US is trading at 250.00.");
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
+    when(intentRouter.route("price of TSLA")).thenReturn(Mono.just(call));
+
+    StepVerifier.create(chatService.processChat(request))
+        .expectNextMatches(
+            response ->
+                response.getAnswer().equals("TSLA.US is trading at 250.00.")
+                    && response.getEvidence().equals(List.of(evidence))
+                    && response.getCorrelationId().equals("corr-1"))
+        .verifyComplete();
+
+    verifyNoInteractions(llmService);
+    verify(chatResponseCache).put(eq("price of TSLA"), any());
+  }
+
+  @Test
+  void processChat_shouldHaveLlmPhraseRoutedResultWithoutTemplate() {
+    ChatRequest request = ChatRequest.builder().question("price of TSLA").build();
+    IntentRouter.RoutedCall call = new IntentRouter.RoutedCall(null, null, null, null);
+    ChatResponse phrased = ChatResponse.builder().answer("Tesla is at 250.").build();
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
+    when(intentRouter.route("price of TSLA")).thenReturn(Mono.just(call));
+    when(llmService.chatWithToolResult("price of TSLA", call)).thenReturn(Mono.just(phrased));
+
+    StepVerifier.create(chatService.processChat(request))
+        .expectNextMatches(response -> response.getAnswer().equals("Tesla is at 250."))
+        .verifyComplete();
+
+    verify(llmService, never()).chat(anyString());
   }
 
   @Test
@@ -31,6 +106,7 @@ class ChatServiceTest {
 
     ChatResponse expectedResponse = ChatResponse.builder().answer("The weather is sunny.").build();
 
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
     when(llmService.chat(anyString())).thenReturn(Mono.just(expectedResponse));
 
     StepVerifier.create(chatService.processChat(request))
@@ -38,6 +114,30 @@ class ChatServiceTest {
         .verifyComplete();
 
     verify(llmService).chat("What is the weather?");
+    verify(chatResponseCache).put("What is the weather?", expectedResponse);
+  }
+
+  @Test
+  void processChat_shouldServeCachedAnswerWithRequestCorrelationId() {
+    ChatRequest request =
+        ChatRequest.builder().question("How is AAPL doing?").correlationId("new-id").build();
+    ChatResponse cached =
+        ChatResponse.builder()
+            .answer("AAPL is up")
+            .evidence(List.of())
+            .correlationId("old-id")
+            .build();
+
+    when(chatResponseCache.get("How is AAPL doing?")).thenReturn(Optional.of(cached));
+
+    StepVerifier.create(chatService.processChat(request))
+        .expectNextMatches(
+            response ->
+                response.getAnswer().equals("AAPL is up")
+                    && response.getCorrelationId().equals("new-id"))
+        .verifyComplete();
+
+    verify(llmService, never()).chat(anyString());
   }
 
   @Test
@@ -45,10 +145,189 @@ class ChatServiceTest {
     ChatRequest request = ChatRequest.builder().question("Test question").build();
 
     RuntimeException error = new RuntimeException("LLM service error");
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
     when(llmService.chat(anyString())).thenReturn(Mono.error(error));
 
     StepVerifier.create(chatService.processChat(request))
         .expectErrorMatches(e -> e.getMessage().equals("LLM service error"))
         .verify();
   }
+
+  @Test
+  void processChat_shouldCoalesceIdenticalInFlightQuestions() {
+    Sinks.One<ChatResponse> answer = Sinks.one();
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
+    when(llmService.chat(anyString())).thenReturn(answer.asMono());
+
+    ChatRequest first =
+        ChatRequest.builder().question("How is AAPL doing?").correlationId("first").build();
+    ChatRequest second =
+        ChatRequest.builder().question("how is aapl doing").correlationId("second").build();
+
+    List<ChatResponse> responses = new CopyOnWriteArrayList<>();
+    chatService.processChat(first).subscribe(responses::add);
+    chatService.processChat(second).subscribe(responses::add);
+
+    // The joined request does not take a second admission slot
+    assertThat(meterRegistry.get("livecontext.chat.admission.active").gauge().value())
+        .isEqualTo(1.0);
+    answer.tryEmitValue(ChatResponse.builder().answer("AAPL is up").build());
+
+    assertThat(responses)
+        .extracting(ChatResponse::getCorrelationId)
+        .containsExactlyInAnyOrder("first", "second");
+    assertThat(responses).allMatch(response -> response.getAnswer().equals("AAPL is up"));
+    assertThat(meterRegistry.get("livecontext.chat.coalesced").functionCounter().count())
+        .isEqualTo(1.0);
+    verify(llmService, times(1)).chat(anyString());
+  }
+
+  @Test
+  void processChat_shouldStartNewCallOnceFlightCompleted() {
+    ChatRequest request = ChatRequest.builder().question("Weather?").build();
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
+    when(llmService.chat(anyString()))
+        .thenReturn(Mono.just(ChatResponse.builder().answer("Sunny").build()));
+
+    StepVerifier.create(chatService.processChat(request)).expectNextCount(1).verifyComplete();
+    StepVerifier.create(chatService.processChat(request)).expectNextCount(1).verifyComplete();
+
+    verify(llmService, times(2)).chat("Weather?");
+  }
+
+  @Test
+  void processChatStream_shouldDelegateToLlmService() {
+    ChatRequest request = ChatRequest.builder().question("Stream please").build();
+    ChatStreamEvent token = ChatStreamEvent.token("Hi", "id-1");
+
+    when(llmService.chatStream(anyString())).thenReturn(Flux.just(token));
+
+    StepVerifier.create(chatService.processChatStream(request)).expectNext(token).verifyComplete();
+
+    verify(llmService).chatStream("Stream please");
+  }
+
+  @Test
+  void processChat_shouldAnswerFollowUpInSessionWithoutCache() {
+    Conversation conversation = new Conversation("session-1", Duration.ofMinutes(5));
+    ChatRequest request =
+        ChatRequest.builder()
+            .question("And TSLA?")
+            .sessionId("session-1")
+            .correlationId("cid")
+            .build();
+    ChatResponse answer =
+        ChatResponse.builder().answer("TSLA is down").sessionId("session-1").build();
+
+    when(conversationStore.open("session-1")).thenReturn(Mono.just(conversation));
+    when(llmService.chat("And TSLA?", conversation)).thenReturn(Mono.just(answer));
+    when(conversationStore.save(conversation)).thenReturn(Mono.empty());
+
+    StepVerifier.create(chatService.processChat(request))
+        .expectNextMatches(
+            response ->
+                response.getSessionId().equals("session-1")
+                    && response.getCorrelationId().equals("cid"))
+        .verifyComplete();
+
+    verify(conversationStore).save(conversation);
+    verifyNoInteractions(chatResponseCache);
+  }
+
+  @Test
+  void processChatStream_shouldSaveSessionAfterStream() {
+    Conversation conversation = new Conversation("session-1", Duration.ofMinutes(5));
+    ChatRequest request =
+        ChatRequest.builder().question("And TSLA?").sessionId("session-1").build();
+    ChatStreamEvent token = ChatStreamEvent.token("Down", "id-1");
+
+    when(conversationStore.open("session-1")).thenReturn(Mono.just(conversation));
+    when(llmService.chatStream("And TSLA?", conversation)).thenReturn(Flux.just(token));
+    when(conversationStore.save(conversation)).thenReturn(Mono.empty());
+
+    StepVerifier.create(chatService.processChatStream(request)).expectNext(token).verifyComplete();
+
+    verify(conversationStore).save(conversation);
+  }
+
+  @Test
+  void processBatch_shouldEmitResultPerQuestionAndShareToolResults() {
+    List<Object> sharedMaps = new CopyOnWriteArrayList<>();
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
+    when(llmService.chat(anyString()))
+        .thenAnswer(
+            invocation ->
+                Mono.deferContextual(
+                    context -> {
+                      sharedMaps.add(SharedToolResults.in(context));
+                      return Mono.just(
+                          ChatResponse.builder().answer("A: " + invocation.getArgument(0)).build());
+                    }));
+    when(llmService.chat("broken")).thenReturn(Mono.error(new RuntimeException("Ollama down")));
+
+    ChatBatchRequest request =
+        ChatBatchRequest.builder()
+            .questions(List.of("price of AAPL", "broken", "news about TSLA"))
+            .correlationId("batch-1")
+            .build();
+
+    List<ChatBatchResult> results = chatService.processBatch(request).collectList().block();
+
+    assertThat(results).hasSize(3);
+    assertThat(results)
+        .anySatisfy(
+            result -> {
+              assertThat(result.getIndex()).isEqualTo(0);
+              assertThat(result.getResponse().getAnswer()).isEqualTo("A: price of AAPL");
+              assertThat(result.getResponse().getCorrelationId()).isEqualTo("batch-1-0");
+            })
+        .anySatisfy(
+            result -> {
+              assertThat(result.getIndex()).isEqualTo(1);
+              assertThat(result.getError()).isEqualTo("Ollama down");
+            });
+    assertThat(sharedMaps).hasSize(2).doesNotContainNull();
+    assertThat(sharedMaps.get(0)).isSameAs(sharedMaps.get(1));
+  }
+
+  @Test
+  void processBatch_shouldRunEachQuestionUnderItsOwnCorrelationId() {
+    List<String> routedUnder = new CopyOnWriteArrayList<>();
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
+    when(intentRouter.route(anyString()))
+        .thenAnswer(
+            invocation -> {
+              routedUnder.add(CorrelationIdHolder.get());
+              return Mono.empty();
+            });
+    when(llmService.chat(anyString())).thenReturn(Mono.just(ChatResponse.builder().build()));
+    ChatBatchRequest request =
+        ChatBatchRequest.builder().questions(List.of("Q1", "Q2")).correlationId("b").build();
+
+    chatService.processBatch(request).blockLast();
+
+    assertThat(routedUnder).containsExactlyInAnyOrder("b-0", "b-1");
+    assertThat(CorrelationIdHolder.get()).isNull();
+  }
+
+  @Test
+  void processBatch_shouldUseFreshToolResultsPerBatch() {
+    List<Object> sharedMaps = new CopyOnWriteArrayList<>();
+    when(chatResponseCache.get(anyString())).thenReturn(Optional.empty());
+    when(llmService.chat(anyString()))
+        .thenReturn(
+            Mono.deferContextual(
+                context -> {
+                  sharedMaps.add(SharedToolResults.in(context));
+                  return Mono.just(ChatResponse.builder().answer("A").build());
+                }));
+    ChatBatchRequest request =
+        ChatBatchRequest.builder().questions(List.of("Q")).correlationId("b").build();
+
+    chatService.processBatch(request).blockLast();
+    chatService.processBatch(request).blockLast();
+
+    assertThat(sharedMaps).hasSize(2);
+    assertThat(sharedMaps.get(0)).isNotSameAs(sharedMaps.get(1));
+  }
 }
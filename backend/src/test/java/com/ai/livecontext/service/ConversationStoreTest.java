@@ -0,0 +1,150 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ai.livecontext.config.SessionConfig;
+import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.domain.ChatSession;
+import com.ai.livecontext.repository.ChatSessionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ConversationStoreTest {
+
+  @Mock private ChatSessionRepository chatSessionRepository;
+
+  private ObjectMapper objectMapper;
+  private SessionConfig config;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    config = new SessionConfig();
+  }
+
+  @Test
+  void create_shouldRegisterNewSession() {
+    ConversationStore store = createStore();
+
+    Conversation conversation = store.create();
+
+    StepVerifier.create(store.find(conversation.getId()))
+        .expectNext(conversation)
+        .verifyComplete();
+  }
+
+  @Test
+  void open_shouldStartFreshSessionForUnknownId() {
+    ConversationStore store = createStore();
+
+    StepVerifier.create(store.open("unknown"))
+        .expectNextMatches(conversation -> conversation.getId().equals("unknown"))
+        .verifyComplete();
+    verifyNoInteractions(chatSessionRepository);
+  }
+
+  @Test
+  void find_shouldReturnEmptyForUnknownIdWithoutPersistence() {
+    StepVerifier.create(createStore().find("unknown")).verifyComplete();
+  }
+
+  @Test
+  void save_shouldCompactHistoryOverBudget() {
+    config.setMaxHistoryTokens(10);
+    config.setKeepRecentTurns(0);
+    ConversationStore store = createStore();
+    Conversation conversation = store.create();
+    ArrayNode turn = objectMapper.createArrayNode();
+    turn.addObject().put("role", "user").put("content", "A long question ".repeat(10));
+    conversation.appendTurn(turn, List.of());
+
+    StepVerifier.create(store.save(conversation)).verifyComplete();
+
+    assertThat(conversation.getMessages()).isEmpty();
+    assertThat(conversation.getSummary()).contains("A long question");
+  }
+
+  @Test
+  void save_shouldUpsertWhenPersistenceEnabled() {
+    config.setPersistenceEnabled(true);
+    ConversationStore store = createStore();
+    Conversation conversation = store.create();
+    when(chatSessionRepository.upsert(
+            eq(conversation.getId()), anyString(), anyString(), anyString(), any(Instant.class)))
+        .thenReturn(Mono.just(1));
+
+    StepVerifier.create(store.save(conversation)).verifyComplete();
+
+    verify(chatSessionRepository)
+        .upsert(eq(conversation.getId()), eq(""), eq("[]"), eq("[]"), any(Instant.class));
+  }
+
+  @Test
+  void save_shouldSwallowPersistenceErrors() {
+    config.setPersistenceEnabled(true);
+    ConversationStore store = createStore();
+    Conversation conversation = store.create();
+    when(chatSessionRepository.upsert(anyString(), any(), any(), any(), any()))
+        .thenReturn(Mono.error(new IllegalStateException("db down")));
+
+    StepVerifier.create(store.save(conversation)).verifyComplete();
+  }
+
+  @Test
+  void find_shouldRestorePersistedSession() {
+    config.setPersistenceEnabled(true);
+    ConversationStore store = createStore();
+    ChatSession saved =
+        ChatSession.builder()
+            .id("persisted")
+            .summary("\n- Q: Earlier A: Answer")
+            .messages("[{\"role\":\"user\",\"content\":\"Hi\"}]")
+            .evidence("[{\"type\":\"get_quote\",\"summary\":\"quote\"}]")
+            .updatedAt(Instant.now())
+            .build();
+    when(chatSessionRepository.findById("persisted")).thenReturn(Mono.just(saved));
+
+    StepVerifier.create(store.find("persisted"))
+        .expectNextMatches(
+            conversation ->
+                conversation.history().size() == 2
+                    && conversation.getEvidence().get(0).getType().equals("get_quote"))
+        .verifyComplete();
+
+    // Served from memory afterwards
+    StepVerifier.create(store.find("persisted")).expectNextCount(1).verifyComplete();
+    verify(chatSessionRepository, times(1)).findById("persisted");
+  }
+
+  @Test
+  void delete_shouldForgetSession() {
+    ConversationStore store = createStore();
+    Conversation conversation = store.create();
+    conversation.appendTurn(
+        objectMapper.createArrayNode(), List.of(ChatResponse.Evidence.builder().build()));
+
+    StepVerifier.create(store.delete(conversation.getId())).verifyComplete();
+
+    StepVerifier.create(store.find(conversation.getId())).verifyComplete();
+  }
+
+  private ConversationStore createStore() {
+    return new ConversationStore(
+        config, chatSessionRepository, objectMapper, new SimpleMeterRegistry());
+  }
+}
@@ -0,0 +1,117 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.domain.ChatResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConversationTest {
+
+  private ObjectMapper objectMapper;
+  private Conversation conversation;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    conversation = new Conversation("session-1", Duration.ofMinutes(5));
+  }
+
+  @Test
+  void appendTurn_shouldExtendHistoryAndEvidence() {
+    conversation.appendTurn(
+        turn("How is AAPL?", "x".repeat(10), "AAPL is up"),
+        List.of(ChatResponse.Evidence.builder().type("get_quote").build()));
+
+    ArrayNode history = conversation.history();
+    assertThat(history).hasSize(3);
+    assertThat(history.get(0).path("content").asText()).isEqualTo("How is AAPL?");
+    assertThat(conversation.getEvidence()).hasSize(1);
+  }
+
+  @Test
+  void history_shouldBeIndependentCopy() {
+    conversation.appendTurn(turn("Q", "r", "A"), List.of());
+
+    conversation.history().removeAll();
+
+    assertThat(conversation.history()).hasSize(3);
+  }
+
+  @Test
+  void compact_shouldDoNothingWithinBudget() {
+    conversation.appendTurn(turn("Q", "r", "A"), List.of());
+
+    assertThat(conversation.compact(1000, 1, 100, 10)).isFalse();
+    assertThat(conversation.history()).hasSize(3);
+  }
+
+  @Test
+  void compact_shouldTruncateOldToolResultsFirst() {
+    conversation.appendTurn(turn("First?", "x".repeat(2000), "First answer"), List.of());
+    conversation.appendTurn(turn("Second?", "small", "Second answer"), List.of());
+
+    assertThat(conversation.compact(200, 1, 100, 10)).isTrue();
+
+    ArrayNode history = conversation.history();
+    assertThat(history).hasSize(6);
+    assertThat(history.get(1).path("content").asText()).endsWith("...[truncated]").hasSize(114);
+    assertThat(conversation.getSummary()).isEmpty();
+  }
+
+  @Test
+  void compact_shouldSummarizeOldestTurnsWhenStillOverBudget() {
+    conversation.appendTurn(turn("First?", "x".repeat(400), "First answer"), List.of());
+    conversation.appendTurn(turn("Second?", "y".repeat(400), "Second answer"), List.of());
+    conversation.appendTurn(turn("Third?", "z".repeat(400), "Third answer"), List.of());
+
+    assertThat(conversation.compact(150, 1, 100, 10)).isTrue();
+
+    ArrayNode history = conversation.history();
+    assertThat(history.get(0).path("role").asText()).isEqualTo("system");
+    assertThat(history.get(0).path("content").asText())
+        .contains("Q: First? A: First answer")
+        .contains("Q: Second? A: Second answer");
+    assertThat(history).hasSize(4);
+    assertThat(history.get(1).path("content").asText()).isEqualTo("Third?");
+  }
+
+  @Test
+  void compact_shouldKeepMostRecentEvidence() {
+    conversation.appendTurn(
+        turn("Q", "r", "A"),
+        List.of(
+            ChatResponse.Evidence.builder().summary("old").build(),
+            ChatResponse.Evidence.builder().summary("new").build()));
+
+    conversation.compact(1000, 1, 100, 1);
+
+    assertThat(conversation.getEvidence())
+        .extracting(ChatResponse.Evidence::getSummary)
+        .containsExactly("new");
+  }
+
+  @Test
+  void reusableToolResult_shouldHonourMaxAge() {
+    Conversation expiring = new Conversation("session-2", Duration.ZERO.minusSeconds(1));
+    conversation.rememberToolResult("get_quote:{}", TextNode.valueOf("quote"));
+    expiring.rememberToolResult("get_quote:{}", TextNode.valueOf("quote"));
+
+    assertThat(conversation.reusableToolResult("get_quote:{}")).contains(TextNode.valueOf("quote"));
+    assertThat(conversation.reusableToolResult("get_news:{}")).isEmpty();
+    assertThat(expiring.reusableToolResult("get_quote:{}")).isEmpty();
+  }
+
+  private ArrayNode turn(String question, String toolResult, String answer) {
+    ArrayNode turn = objectMapper.createArrayNode();
+    turn.addObject().put("role", "user").put("content", question);
+    turn.addObject().put("role", "tool").put("content", toolResult);
+    turn.addObject().put("role", "assistant").put("content", answer);
+    return turn;
+  }
+}
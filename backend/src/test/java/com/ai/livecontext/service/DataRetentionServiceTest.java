@@ -3,6 +3,7 @@ package com.ai.livecontext.service;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.ai.livecontext.repository.ChatSessionRepository;
 import com.ai.livecontext.repository.NewsItemRepository;
 import com.ai.livecontext.repository.TimelineEventRepository;
 import java.time.Instant;
@@ -19,14 +20,18 @@ class DataRetentionServiceTest {
 
   @Mock private TimelineEventRepository timelineEventRepository;
   @Mock private NewsItemRepository newsItemRepository;
+  @Mock private ChatSessionRepository chatSessionRepository;
 
   private DataRetentionService dataRetentionService;
 
   @BeforeEach
   void setUp() {
-    dataRetentionService = new DataRetentionService(timelineEventRepository, newsItemRepository);
+    dataRetentionService =
+        new DataRetentionService(
+            timelineEventRepository, newsItemRepository, chatSessionRepository);
     ReflectionTestUtils.setField(dataRetentionService, "timelineRetentionDays", 7);
     ReflectionTestUtils.setField(dataRetentionService, "newsRetentionDays", 30);
+    ReflectionTestUtils.setField(dataRetentionService, "sessionRetentionDays", 7);
   }
 
   @Test
@@ -47,5 +52,20 @@ class DataRetentionServiceTest {
 
     verify(timelineEventRepository).deleteByTimestampBefore(any(Instant.class));
     verify(newsItemRepository).deleteByPublishedAtBefore(any(Instant.class));
+    verifyNoInteractions(chatSessionRepository);
+  }
+
+  @Test
+  void cleanupOldData_shouldDeleteIdleChatSessionsWhenPersisted() {
+    ReflectionTestUtils.setField(dataRetentionService, "sessionPersistenceEnabled", true);
+    when(timelineEventRepository.deleteByTimestampBefore(any(Instant.class)))
+        .thenReturn(Mono.just(0));
+    when(newsItemRepository.deleteByPublishedAtBefore(any(Instant.class))).thenReturn(Mono.just(0));
+    when(chatSessionRepository.deleteByUpdatedAtBefore(any(Instant.class)))
+        .thenReturn(Mono.just(3));
+
+    dataRetentionService.cleanupOldData();
+
+    verify(chatSessionRepository).deleteByUpdatedAtBefore(any(Instant.class));
   }
 }
@@ -0,0 +1,36 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DataVersionTrackerTest {
+
+  private final DataVersionTracker tracker = new DataVersionTracker();
+
+  @Test
+  void getVersion_shouldStartAtZero() {
+    assertThat(tracker.getVersion("market")).isZero();
+  }
+
+  @Test
+  void markChanged_shouldIncrementOnlyThatType() {
+    tracker.markChanged("market");
+    tracker.markChanged("market");
+    tracker.markChanged(null);
+
+    assertThat(tracker.getVersion("market")).isEqualTo(2L);
+    assertThat(tracker.getVersion("news")).isZero();
+  }
+
+  @Test
+  void snapshot_shouldCaptureRequestedTypes() {
+    tracker.markChanged("news");
+
+    assertThat(tracker.snapshot(List.of("news", "weather")))
+        .containsEntry("news", 1L)
+        .containsEntry("weather", 0L)
+        .hasSize(2);
+  }
+}
@@ -0,0 +1,86 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.config.NewsIndexConfig;
+import com.ai.livecontext.config.OllamaConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+
+class EmbeddingServiceTest {
+
+  private MockWebServer ollama;
+  private NewsIndexConfig config;
+  private EmbeddingService embeddingService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    ollama = new MockWebServer();
+    ollama.start();
+    config = new NewsIndexConfig();
+    OllamaConfig ollamaConfig = new OllamaConfig();
+    ollamaConfig.setBaseUrl(ollama.url("/").toString());
+    embeddingService =
+        new EmbeddingService(
+            config,
+            new OllamaNodePool(ollamaConfig, new SimpleMeterRegistry()),
+            new ObjectMapper());
+    ReflectionTestUtils.setField(embeddingService, "maxResponseBytes", 1048576);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    ollama.shutdown();
+  }
+
+  @Test
+  void embed_shouldCallOllamaAndNormalize() throws InterruptedException {
+    ollama.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("{\"model\":\"nomic-embed-text\",\"embeddings\":[[3.0,4.0]]}"));
+
+    StepVerifier.create(embeddingService.embed("Tesla earnings"))
+        .assertNext(vector -> assertThat(vector).containsExactly(0.6f, 0.8f))
+        .verifyComplete();
+
+    RecordedRequest request = ollama.takeRequest();
+    assertThat(request.getPath()).isEqualTo("/api/embed");
+    assertThat(request.getBody().readUtf8())
+        .contains("\"model\":\"nomic-embed-text\"")
+        .contains("\"input\":\"Tesla earnings\"");
+  }
+
+  @Test
+  void embed_shouldFailWhenOllamaReturnsNoEmbedding() {
+    ollama.enqueue(
+        new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("{\"embeddings\":[]}"));
+
+    StepVerifier.create(embeddingService.embed("Tesla"))
+        .expectError(IllegalStateException.class)
+        .verify();
+  }
+
+  @Test
+  void embed_shouldHashWordsInMockMode() {
+    ReflectionTestUtils.setField(embeddingService, "mockMode", true);
+
+    float[] first = embeddingService.embed("Tesla shares rally").block();
+    float[] second = embeddingService.embed("tesla SHARES rally!").block();
+
+    assertThat(first).hasSize(256).containsExactly(second);
+    assertThat(embeddingService.getModelId()).isEqualTo("mock-hash-256");
+    assertThat(ollama.getRequestCount()).isZero();
+  }
+}
@@ -26,6 +26,7 @@ class IngestionServiceTest {
   @Mock private McpClientService mcpClientService;
   @Mock private TimelineService timelineService;
   @Mock private NewsItemRepository newsItemRepository;
+  @Mock private NewsVectorIndex newsVectorIndex;
 
   private ObjectMapper objectMapper;
   private IngestionService ingestionService;
@@ -34,7 +35,8 @@ class IngestionServiceTest {
   void setUp() {
     objectMapper = new ObjectMapper();
     ingestionService =
-        new IngestionService(mcpClientService, timelineService, newsItemRepository, objectMapper);
+        new IngestionService(
+            mcpClientService, timelineService, newsItemRepository, newsVectorIndex, objectMapper);
 
     ReflectionTestUtils.setField(ingestionService, "newsIngestionEnabled", true);
     ReflectionTestUtils.setField(ingestionService, "marketIngestionEnabled", true);
@@ -66,6 +68,7 @@ class IngestionServiceTest {
         .thenReturn(Mono.just(mcpResponse));
     when(newsItemRepository.existsByLink("link1")).thenReturn(Mono.just(false));
     when(newsItemRepository.save(any())).thenReturn(Mono.just(mock(NewsItem.class)));
+    when(newsVectorIndex.index(any())).thenReturn(Mono.empty());
     when(timelineService.addEvent(any()))
         .thenAnswer(
             inv -> {
@@ -79,6 +82,7 @@ class IngestionServiceTest {
     // Assert
     assertTrue(latch.await(2, TimeUnit.SECONDS));
     verify(newsItemRepository, times(1)).save(any());
+    verify(newsVectorIndex, timeout(2000)).index(any());
   }
 
   @Test
@@ -87,7 +91,7 @@ class IngestionServiceTest {
     CountDownLatch latch = new CountDownLatch(1);
     ObjectNode weatherData = objectMapper.createObjectNode().put("forecast", "sunny");
 
-    when(mcpClientService.callTool(eq("weather"), anyString(), any()))
+    when(mcpClientService.refreshTool(eq("weather"), anyString(), any()))
         .thenReturn(Mono.just(weatherData));
     when(timelineService.addEvent(any()))
         .thenAnswer(
@@ -101,21 +105,21 @@ class IngestionServiceTest {
 
     // Assert
     assertTrue(latch.await(2, TimeUnit.SECONDS));
-    verify(mcpClientService).callTool(eq("weather"), eq("get_forecast"), any());
+    verify(mcpClientService).refreshTool(eq("weather"), eq("get_forecast"), any());
   }
 
   @Test
   void ingestMarket_shouldHandleErrorsGracefully() throws InterruptedException {
     // We use a latch in the error block if we could, but since we log,
     // we just verify the call was made.
-    when(mcpClientService.callTool(anyString(), anyString(), any()))
+    when(mcpClientService.refreshTool(anyString(), anyString(), any()))
         .thenReturn(Mono.error(new RuntimeException("Market API Down")));
 
     ingestionService.ingestMarket();
 
     // Brief wait for the async error block to execute for coverage
     Thread.sleep(100);
-    verify(mcpClientService).callTool(eq("market"), eq("get_quote"), any());
+    verify(mcpClientService).refreshTool(eq("market"), eq("get_quote"), any());
   }
 
   @Test
@@ -129,6 +133,7 @@ class IngestionServiceTest {
     ingestionService.ingestWeather();
 
     verify(mcpClientService, never()).callTool(anyString(), anyString(), any());
+    verify(mcpClientService, never()).refreshTool(anyString(), anyString(), any());
   }
 
   private void assertTrue(boolean condition) {
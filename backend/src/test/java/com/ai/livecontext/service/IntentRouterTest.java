@@ -0,0 +1,230 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ai.livecontext.config.RouterConfig;
+import com.ai.livecontext.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class IntentRouterTest {
+
+  @Mock private ToolRegistry toolRegistry;
+  @Mock private LocalRetrievalService localRetrievalService;
+
+  private ObjectMapper objectMapper;
+  private RouterConfig config;
+  private SimpleMeterRegistry meterRegistry;
+  private IntentRouter router;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    config = new RouterConfig();
+    config.getLocations().put("auckland", new RouterConfig.Location(-36.8509, 174.7645));
+    meterRegistry = new SimpleMeterRegistry();
+    router =
+        new IntentRouter(
+            config, toolRegistry, localRetrievalService, objectMapper, meterRegistry);
+    lenient().when(localRetrievalService.resolve(any(), any())).thenReturn(Mono.empty());
+    lenient().when(toolRegistry.getSource(any())).thenReturn("Market MCP");
+  }
+
+  @Test
+  void classify_shouldRouteTickerPriceQuestions() {
+    assertThat(router.classify("price of TSLA"))
+        .hasValueSatisfying(
+            route -> {
+              assertThat(route.intent()).isEqualTo(IntentRouter.Intent.QUOTE);
+              assertThat(route.toolName()).isEqualTo("get_quote");
+              assertThat(route.arguments().path("symbol").asText()).isEqualTo("TSLA.US");
+            });
+    assertThat(router.classify("What's the stock price of AAPL.US?"))
+        .hasValueSatisfying(
+            route -> assertThat(route.arguments().path("symbol").asText()).isEqualTo("AAPL.US"));
+    assertThat(router.classify("$nvda quote"))
+        .hasValueSatisfying(
+            route -> assertThat(route.arguments().path("symbol").asText()).isEqualTo("NVDA.US"));
+  }
+
+  @Test
+  void classify_shouldResolveCompanyNames() {
+    assertThat(router.classify("What is Tesla's share price?"))
+        .hasValueSatisfying(
+            route -> assertThat(route.arguments().path("symbol").asText()).isEqualTo("TSLA.US"));
+  }
+
+  @Test
+  void classify_shouldRouteNewsWithExtractedQuery() {
+    assertThat(router.classify("What's the latest news about Tesla?"))
+        .hasValueSatisfying(
+            route -> {
+              assertThat(route.intent()).isEqualTo(IntentRouter.Intent.NEWS);
+              assertThat(route.arguments().path("query").asText()).isEqualTo("tesla");
+            });
+  }
+
+  @Test
+  void classify_shouldRouteWeatherForKnownLocations() {
+    assertThat(router.classify("How is the weather in Auckland today?"))
+        .hasValueSatisfying(
+            route -> {
+              assertThat(route.intent()).isEqualTo(IntentRouter.Intent.WEATHER);
+              assertThat(route.arguments().path("latitude").asDouble()).isEqualTo(-36.8509);
+            });
+    assertThat(router.classify("weather in Paris")).isEmpty();
+  }
+
+  @Test
+  void classify_shouldLeaveCompoundOrAmbiguousQuestionsToTheLlm() {
+    assertThat(router.classify("Compare the price of AAPL and TSLA")).isEmpty();
+    assertThat(router.classify("price of AAPL and TSLA")).isEmpty();
+    assertThat(router.classify("Should I buy TSLA stock?")).isEmpty();
+    assertThat(router.classify("news about the TSLA stock price")).isEmpty();
+    assertThat(router.classify("What is the price?")).isEmpty();
+    assertThat(router.classify("latest news")).isEmpty();
+    assertThat(router.classify("Hello there")).isEmpty();
+    assertThat(
+            router.classify(
+                "Can you give me a detailed explanation of what drives the price of TSLA over time"))
+        .isEmpty();
+  }
+
+  @Test
+  void route_shouldRenderQuoteAnswerWithoutLlm() throws IOException {
+    JsonNode quote =
+        objectMapper.readTree(
+            "{\"symbol\":\"TSLA.US\",\"price\":250.5,\"change\":-2.5,\"changePct\":-0.99,\"timestamp\":\"2026-01-01T10:00:00Z\"}");
+    when(toolRegistry.execute(eq("get_quote"), any())).thenReturn(Mono.just(quote));
+
+    StepVerifier.create(router.route("price of TSLA"))
+        .expectNextMatches(
+            call ->
+                call.answer()
+                        .equals(
+                            "TSLA.US is trading at 250.50 (-2.50, -0.99%) as of 2026-01-01T10:00:00Z.")
+                    && call.evidence().getType().equals("get_quote"))
+        .verifyComplete();
+
+    assertThat(
+            meterRegistry
+                .get("livecontext.chat.routed")
+                .tag("intent", "quote")
+                .tag("mode", "template")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void route_shouldPreferLocallyStoredData() {
+    ObjectNode stored = objectMapper.createObjectNode().put("symbol", "AAPL.US").put("price", 150);
+    when(localRetrievalService.resolve(eq("get_quote"), any())).thenReturn(Mono.just(stored));
+
+    StepVerifier.create(router.route("AAPL price"))
+        .expectNextMatches(call -> call.answer().startsWith("AAPL.US is trading at 150.00"))
+        .verifyComplete();
+
+    verify(toolRegistry, never()).execute(any(), any());
+  }
+
+  @Test
+  void route_shouldRenderNewsHeadlines() throws IOException {
+    JsonNode news =
+        objectMapper.readTree(
+            "{\"query\":\"tesla\",\"results\":[{\"title\":\"Tesla beats estimates\",\"source\":\"WSJ\"},{\"title\":\"Tesla recall\"}]}");
+    when(toolRegistry.execute(eq("search_news"), any())).thenReturn(Mono.just(news));
+
+    StepVerifier.create(router.route("tesla news"))
+        .expectNextMatches(
+            call ->
+                call.answer()
+                    .equals(
+                        "Latest news about tesla:\n- Tesla beats estimates (WSJ)\n- Tesla recall"))
+        .verifyComplete();
+  }
+
+  @Test
+  void route_shouldRenderCurrentWeather() throws IOException {
+    JsonNode forecast =
+        objectMapper.readTree(
+            "{\"hourly\":[{\"time\":\"2026-01-01T10:00\",\"temperature\":21.34,\"precipitation\":0.2}]}");
+    when(toolRegistry.execute(eq("get_weather"), any())).thenReturn(Mono.just(forecast));
+
+    StepVerifier.create(router.route("weather in new york"))
+        .expectNextMatches(
+            call ->
+                call.answer()
+                    .equals(
+                        "Weather in New York: 21.3°C with 0.2 mm of precipitation at 2026-01-01T10:00."))
+        .verifyComplete();
+  }
+
+  @Test
+  void route_shouldLeavePhrasingToLlmWhenConfigured() {
+    config.setPhraseWithLlm(true);
+    when(toolRegistry.execute(eq("get_quote"), any()))
+        .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 1)));
+
+    StepVerifier.create(router.route("price of TSLA"))
+        .expectNextMatches(call -> call.answer() == null && call.result().path("price").asInt() == 1)
+        .verifyComplete();
+  }
+
+  @Test
+  void route_shouldLeavePhrasingToLlmWhenResultHasNoKnownShape() {
+    when(toolRegistry.execute(eq("get_quote"), any()))
+        .thenReturn(Mono.just(objectMapper.createObjectNode().put("error", "unknown")));
+
+    StepVerifier.create(router.route("price of TSLA"))
+        .expectNextMatches(call -> call.answer() == null)
+        .verifyComplete();
+  }
+
+  @Test
+  void route_shouldFallBackWhenLookupFails() {
+    when(toolRegistry.execute(eq("get_quote"), any()))
+        .thenReturn(Mono.error(new RuntimeException("MCP down")));
+
+    StepVerifier.create(router.route("price of TSLA")).verifyComplete();
+  }
+
+  @Test
+  void route_shouldShareLookupsWithinBatch() {
+    when(toolRegistry.execute(eq("get_quote"), any()))
+        .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 1)));
+
+    StepVerifier.create(
+            router
+                .route("price of TSLA")
+                .concatWith(router.route("TSLA price"))
+                .contextWrite(context -> context.putAll(SharedToolResults.newContext())))
+        .expectNextCount(2)
+        .verifyComplete();
+
+    verify(toolRegistry, times(1)).execute(eq("get_quote"), any());
+  }
+
+  @Test
+  void route_shouldDoNothingWhenDisabled() {
+    config.setEnabled(false);
+
+    StepVerifier.create(router.route("price of TSLA")).verifyComplete();
+
+    verifyNoInteractions(toolRegistry, localRetrievalService);
+  }
+}
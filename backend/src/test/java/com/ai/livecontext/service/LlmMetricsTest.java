@@ -0,0 +1,90 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LlmMetricsTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SimpleMeterRegistry meterRegistry;
+  private LlmMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new LlmMetrics(meterRegistry);
+  }
+
+  @Test
+  void recordOllamaStats_shouldRecordTokensDurationsAndThroughput() {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.put("eval_count", 50);
+    response.put("eval_duration", 2_000_000_000L);
+    response.put("prompt_eval_count", 400);
+    response.put("prompt_eval_duration", 250_000_000L);
+
+    metrics.recordOllamaStats("qwen2.5:7b", true, response);
+
+    assertThat(
+            meterRegistry
+                .get("livecontext.llm.ollama.eval_tokens")
+                .tag("model", "qwen2.5:7b")
+                .summary()
+                .totalAmount())
+        .isEqualTo(50.0);
+    assertThat(
+            meterRegistry
+                .get("livecontext.llm.ollama.eval_duration")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+        .isEqualTo(2000.0);
+    assertThat(meterRegistry.get("livecontext.llm.ollama.tokens_per_second").summary().max())
+        .isEqualTo(25.0);
+    assertThat(meterRegistry.get("livecontext.llm.ollama.prompt_tokens").summary().totalAmount())
+        .isEqualTo(400.0);
+    assertThat(
+            meterRegistry
+                .get("livecontext.llm.ollama.prompt_eval_duration")
+                .tag("turn", "first")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS))
+        .isEqualTo(250.0);
+  }
+
+  @Test
+  void recordOllamaStats_shouldIgnoreResponsesWithoutStats() {
+    metrics.recordOllamaStats(
+        "qwen2.5:7b", false, objectMapper.createObjectNode().put("done", false));
+
+    assertThat(meterRegistry.getMeters()).isEmpty();
+  }
+
+  @Test
+  void recordRequest_shouldTagModeAndOutcome() {
+    metrics.recordRequest("qwen2.5:7b", LlmMetrics.MODE_STREAM, "cancelled", Duration.ofSeconds(3));
+
+    assertThat(
+            meterRegistry
+                .get("livecontext.llm.request.duration")
+                .tag("mode", "stream")
+                .tag("outcome", "cancelled")
+                .timer()
+                .totalTime(TimeUnit.SECONDS))
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  void recordCompletion_shouldRecordIterationsAndFanOut() {
+    metrics.recordCompletion("qwen2.5:7b", 3, 4);
+
+    assertThat(meterRegistry.get("livecontext.llm.iterations").summary().max()).isEqualTo(3.0);
+    assertThat(meterRegistry.get("livecontext.llm.tool_fanout").summary().max()).isEqualTo(4.0);
+  }
+}
@@ -4,11 +4,30 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import com.ai.livecontext.config.OllamaConfig;
+import com.ai.livecontext.config.ToolExecutionConfig;
+import com.ai.livecontext.domain.ChatResponse;
+import com.ai.livecontext.domain.ChatStreamEvent;
+import com.ai.livecontext.tool.GetQuoteToolHandler;
+import com.ai.livecontext.tool.GetWeatherToolHandler;
+import com.ai.livecontext.tool.SearchNewsToolHandler;
+import com.ai.livecontext.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +35,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -23,19 +43,50 @@ import reactor.test.StepVerifier;
 class LlmServiceTest {
 
   @Mock private McpClientService mcpClientService;
+  @Mock private LocalRetrievalService localRetrievalService;
 
   private ObjectMapper objectMapper;
+  private ToolRegistry toolRegistry;
+  private SimpleMeterRegistry meterRegistry;
+  private ToolExecutionConfig toolExecutionConfig;
+  private OllamaConfig ollamaConfig;
   private LlmService llmService;
 
   @BeforeEach
   void setUp() {
     objectMapper = new ObjectMapper();
-    llmService = new LlmService(mcpClientService, objectMapper);
+    meterRegistry = new SimpleMeterRegistry();
+    toolExecutionConfig = new ToolExecutionConfig();
+    toolRegistry =
+        new ToolRegistry(
+            objectMapper,
+            List.of(
+                new GetQuoteToolHandler(mcpClientService, objectMapper),
+                new SearchNewsToolHandler(mcpClientService, objectMapper),
+                new GetWeatherToolHandler(mcpClientService, objectMapper)));
+    // Nothing is stored locally unless a test says otherwise
+    lenient().when(localRetrievalService.resolve(any(), any())).thenReturn(Mono.empty());
+    llmService = createLlmService("http://localhost:11434");
+    ReflectionTestUtils.setField(llmService, "mockMode", true);
+  }
+
+  private LlmService createLlmService(String ollamaBaseUrl) {
+    ollamaConfig = new OllamaConfig();
+    ollamaConfig.setBaseUrl(ollamaBaseUrl);
+    LlmService service =
+        new LlmService(
+            objectMapper,
+            toolRegistry,
+            new OllamaNodePool(ollamaConfig, meterRegistry),
+            ollamaConfig,
+            localRetrievalService,
+            toolExecutionConfig,
+            meterRegistry);
 
     // Set properties via reflection
-    ReflectionTestUtils.setField(llmService, "ollamaBaseUrl", "http://localhost:11434");
-    ReflectionTestUtils.setField(llmService, "ollamaModel", "qwen2.5:7b");
-    ReflectionTestUtils.setField(llmService, "mockMode", true);
+    ReflectionTestUtils.setField(service, "ollamaModel", "qwen2.5:7b");
+    ReflectionTestUtils.setField(service, "maxResponseBytes", 1048576);
+    return service;
   }
 
   @Test
@@ -121,6 +172,15 @@ class LlmServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  void chatStream_shouldEmitTokenEvidenceAndDoneInMockMode() {
+    StepVerifier.create(llmService.chatStream("What is AAPL doing?"))
+        .expectNextMatches(event -> event.getType().equals(ChatStreamEvent.TOKEN))
+        .expectNextMatches(event -> event.getType().equals(ChatStreamEvent.EVIDENCE))
+        .expectNextMatches(event -> event.getType().equals(ChatStreamEvent.DONE))
+        .verifyComplete();
+  }
+
   /** New tests to cover real LLM logic (mockMode = false) */
   @Nested
   class AgenticLoopTests {
@@ -132,7 +192,7 @@ class LlmServiceTest {
       mockWebServer.start();
 
       // Re-initialize service with local mock server URL
-      ReflectionTestUtils.setField(llmService, "ollamaBaseUrl", mockWebServer.url("/").toString());
+      llmService = createLlmService(mockWebServer.url("/").toString());
       ReflectionTestUtils.setField(llmService, "mockMode", false);
     }
 
@@ -142,7 +202,7 @@ class LlmServiceTest {
     }
 
     @Test
-    void chat_shouldHandleToolCallsAndThenFinalResponse() throws InterruptedException {
+    void chat_shouldHandleToolCallsAndThenFinalResponse() throws Exception {
       // 1. Mock LLM response with tool call
       String toolCallResponse =
           """
@@ -191,6 +251,96 @@ class LlmServiceTest {
           .verifyComplete();
 
       assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+
+      JsonNode firstRequest =
+          objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+      JsonNode secondRequest =
+          objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+      assertThat(firstRequest.path("tools")).hasSize(3);
+      assertThat(firstRequest.path("messages")).hasSize(1);
+      assertThat(secondRequest.path("tools")).isEqualTo(firstRequest.path("tools"));
+      assertThat(secondRequest.path("messages")).hasSize(3);
+      assertThat(secondRequest.path("messages").get(2).path("role").asText()).isEqualTo("tool");
+    }
+
+    @Test
+    void chat_shouldSendKeepAliveAndContextOptionsWithStablePrefix() throws Exception {
+      ollamaConfig.setSystemPrompt("Answer with live data.");
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}}"));
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 150.0)));
+
+      StepVerifier.create(llmService.chat("Price of AAPL?"))
+          .expectNextMatches(response -> response.getAnswer().equals("Done"))
+          .verifyComplete();
+
+      String firstBody = mockWebServer.takeRequest().getBody().readUtf8();
+      String secondBody = mockWebServer.takeRequest().getBody().readUtf8();
+      JsonNode firstRequest = objectMapper.readTree(firstBody);
+      assertThat(firstRequest.path("keep_alive").asText()).isEqualTo("30m");
+      assertThat(firstRequest.path("options").path("num_ctx").asInt()).isEqualTo(8192);
+      assertThat(firstRequest.path("messages").get(0).path("role").asText()).isEqualTo("system");
+      // The second turn only appends to the first turn's bytes
+      String firstPrefix = firstBody.substring(0, firstBody.length() - 2);
+      assertThat(secondBody).startsWith(firstPrefix);
+    }
+
+    @Test
+    void chat_shouldApplyPerModelOptions() throws Exception {
+      OllamaConfig.Model model = new OllamaConfig.Model();
+      model.setNumCtx(16384);
+      model.setKeepAlive("-1");
+      model.setTemperature(0.2);
+      ollamaConfig.getModels().put("qwen2.5:7b", model);
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}}"));
+
+      StepVerifier.create(llmService.chat("Hello"))
+          .expectNextMatches(response -> response.getAnswer().equals("Done"))
+          .verifyComplete();
+
+      JsonNode request = objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+      assertThat(request.path("keep_alive").isNumber()).isTrue();
+      assertThat(request.path("keep_alive").asInt()).isEqualTo(-1);
+      assertThat(request.path("options").path("num_ctx").asInt()).isEqualTo(16384);
+      assertThat(request.path("options").path("temperature").asDouble()).isEqualTo(0.2);
+    }
+
+    @Test
+    void chatWithToolResult_shouldPhraseSeededResultInOneTurn() throws Exception {
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody(
+                  "{\"message\": {\"role\": \"assistant\", \"content\": \"Tesla trades at 250\"}}"));
+      ObjectNode arguments = objectMapper.createObjectNode().put("symbol", "TSLA.US");
+      IntentRouter.Route route =
+          new IntentRouter.Route(IntentRouter.Intent.QUOTE, "get_quote", arguments, "TSLA.US");
+      ChatResponse.Evidence evidence = ChatResponse.Evidence.builder().type("get_quote").build();
+      IntentRouter.RoutedCall call =
+          new IntentRouter.RoutedCall(
+              route, objectMapper.createObjectNode().put("price", 250), evidence, null);
+
+      StepVerifier.create(llmService.chatWithToolResult("price of TSLA", call))
+          .expectNextMatches(
+              response ->
+                  response.getAnswer().equals("Tesla trades at 250")
+                      && response.getEvidence().equals(List.of(evidence)))
+          .verifyComplete();
+
+      assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+      JsonNode request = objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+      JsonNode messages = request.path("messages");
+      assertThat(messages).hasSize(3);
+      assertThat(messages.get(1).path("tool_calls").get(0).path("function").path("name").asText())
+          .isEqualTo("get_quote");
+      assertThat(messages.get(2).path("content").asText()).isEqualTo("{\"price\":250}");
+      verifyNoInteractions(mcpClientService);
     }
 
     @Test
@@ -268,6 +418,292 @@ class LlmServiceTest {
           .verifyComplete();
     }
 
+    @Test
+    void chat_shouldDeduplicateIdenticalToolCallsInSameTurn() {
+      String duplicateCalls =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\", \"interval\": \"daily\"}}}, {\"function\": {\"name\": \"get_quote\", \"arguments\": {\"interval\": \"daily\", \"symbol\": \"AAPL.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(duplicateCalls));
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"AAPL\"}}"));
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 150)));
+
+      StepVerifier.create(llmService.chat("AAPL twice"))
+          .expectNextMatches(
+              response ->
+                  response.getEvidence().size() == 2
+                      && response.getEvidence().stream()
+                          .anyMatch(item -> item.getSummary().contains("(deduplicated)")))
+          .verifyComplete();
+
+      verify(mcpClientService, times(1)).callTool(any(), any(), any());
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.tool_calls")
+                  .tag("tool", "get_quote")
+                  .tag("outcome", "deduplicated")
+                  .counter()
+                  .count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    void chat_shouldExecuteEachToolCallOnceAcrossConcurrentBatchLoops() {
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\", \"interval\": \"daily\"}}}]}}";
+      mockWebServer.setDispatcher(
+          new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+              boolean hasToolResult = request.getBody().readUtf8().contains("\"role\":\"tool\"");
+              return new MockResponse().setBody(hasToolResult ? finalAnswer("AAPL") : toolCall);
+            }
+          });
+      // Widens the window between looking up and memoizing a call, as a slow local store would
+      when(localRetrievalService.resolve(any(), any()))
+          .thenAnswer(
+              invocation -> {
+                Thread.sleep(20);
+                return Mono.empty();
+              });
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 150)));
+
+      StepVerifier.create(
+              Flux.range(0, 8)
+                  .flatMap(i -> llmService.chat("AAPL " + i), 8)
+                  .contextWrite(SharedToolResults.newContext()))
+          .expectNextCount(8)
+          .verifyComplete();
+
+      verify(mcpClientService, times(1)).callTool(any(), any(), any());
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.tool_calls")
+                  .tag("tool", "get_quote")
+                  .tag("outcome", "deduplicated")
+                  .counter()
+                  .count())
+          .isEqualTo(7.0);
+    }
+
+    @Test
+    void chat_shouldAnswerToolCallFromLocalStoreWithoutCallingMcp() {
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}}"));
+      when(localRetrievalService.resolve(eq("get_quote"), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 150)));
+
+      StepVerifier.create(llmService.chat("AAPL from the store"))
+          .expectNextMatches(
+              response ->
+                  response.getEvidence().size() == 1
+                      && response.getEvidence().get(0).getSummary().contains("(local store)"))
+          .verifyComplete();
+
+      verify(mcpClientService, never()).callTool(any(), any(), any());
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.tool_calls")
+                  .tag("tool", "get_quote")
+                  .tag("outcome", "local")
+                  .counter()
+                  .count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    void chat_shouldKeepEvidenceInToolCallOrderWhenResultsArriveOutOfOrder() {
+      String toolCalls =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"SLOW.US\"}}}, {\"function\": {\"name\": \"search_news\", \"arguments\": {\"query\": \"fast\"}}}, {\"function\": {\"name\": \"get_weather\", \"arguments\": {\"latitude\": 1, \"longitude\": 2}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCalls));
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}}"));
+      when(mcpClientService.callTool(eq("market"), any(), any()))
+          .thenReturn(
+              Mono.delay(Duration.ofMillis(200))
+                  .map(tick -> objectMapper.createObjectNode().put("price", 1)));
+      when(mcpClientService.callTool(eq("news"), any(), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("results", 2)));
+      when(mcpClientService.callTool(eq("weather"), any(), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("temp", 3)));
+
+      StepVerifier.create(llmService.chat("Three tools"))
+          .expectNextMatches(
+              response ->
+                  response.getEvidence().stream()
+                      .map(item -> item.getType())
+                      .toList()
+                      .equals(List.of("get_quote", "search_news", "get_weather")))
+          .verifyComplete();
+    }
+
+    @Test
+    void chat_shouldCapConcurrentToolCallsPerRequest() {
+      toolExecutionConfig.setMaxConcurrency(1);
+      String toolCalls =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"A.US\"}}}, {\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"B.US\"}}}, {\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"C.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCalls));
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}}"));
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger maxRunning = new AtomicInteger();
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenAnswer(
+              invocation ->
+                  Mono.delay(Duration.ofMillis(50))
+                      .doOnSubscribe(
+                          subscription ->
+                              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                      .doFinally(signal -> running.decrementAndGet())
+                      .map(tick -> objectMapper.createObjectNode().put("price", 1)));
+
+      StepVerifier.create(llmService.chat("Three quotes"))
+          .expectNextMatches(response -> response.getEvidence().size() == 3)
+          .verifyComplete();
+
+      assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void chat_shouldApplyConfiguredToolTimeout() {
+      toolExecutionConfig.setTimeoutMs(Map.of("get_quote", 50));
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}}"));
+      when(mcpClientService.callTool(any(), any(), any())).thenReturn(Mono.never());
+
+      StepVerifier.create(llmService.chat("Slow quote"))
+          .expectNextMatches(response -> response.getEvidence().isEmpty())
+          .verifyComplete();
+
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.tool_calls")
+                  .tag("tool", "get_quote")
+                  .tag("outcome", "failed")
+                  .counter()
+                  .count())
+          .isEqualTo(1.0);
+    }
+
+    @Test
+    void chat_shouldDeduplicateRepeatedToolCallsAcrossIterations() {
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}}"));
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 150)));
+
+      StepVerifier.create(llmService.chat("Repeat yourself"))
+          .expectNextMatches(response -> response.getEvidence().size() == 2)
+          .verifyComplete();
+
+      verify(mcpClientService, times(1)).callTool(any(), any(), any());
+    }
+
+    @Test
+    void chat_shouldSendProjectedToolResultToOllama() throws Exception {
+      ToolExecutionConfig.ResultPolicy policy = new ToolExecutionConfig.ResultPolicy();
+      policy.setFields(List.of("symbol", "price"));
+      toolExecutionConfig.getResults().put("get_quote", policy);
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody(
+                  "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}}"));
+      mockWebServer.enqueue(new MockResponse().setBody(finalAnswer("Done")));
+      ObjectNode quote = objectMapper.createObjectNode().put("symbol", "AAPL.US").put("price", 150);
+      quote.putObject("raw").put("open", 149).put("volume", 1000000);
+      when(mcpClientService.callTool(any(), any(), any())).thenReturn(Mono.just(quote));
+
+      StepVerifier.create(llmService.chat("AAPL?")).expectNextCount(1).verifyComplete();
+
+      mockWebServer.takeRequest();
+      JsonNode secondRequest =
+          objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+      assertThat(secondRequest.path("messages").get(2).path("content").asText())
+          .isEqualTo("{\"symbol\":\"AAPL.US\",\"price\":150}");
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.tool_result.bytes_saved")
+                  .tag("tool", "get_quote")
+                  .counter()
+                  .count())
+          .isEqualTo(quote.toString().length() - 32.0);
+    }
+
+    @Test
+    void chat_shouldRetryFailedToolCallOnLaterIteration() {
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody("{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}}"));
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenReturn(Mono.error(new RuntimeException("MCP Down")))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 150)));
+
+      StepVerifier.create(llmService.chat("Flaky"))
+          .expectNextMatches(response -> response.getEvidence().size() == 1)
+          .verifyComplete();
+
+      verify(mcpClientService, times(2)).callTool(any(), any(), any());
+    }
+
+    @Test
+    void chat_shouldAddDegradedEvidenceWhenToolServerUnavailable() throws Exception {
+      mockWebServer.enqueue(
+          new MockResponse()
+              .setBody(
+                  "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}}"));
+      mockWebServer.enqueue(new MockResponse().setBody(finalAnswer("No quote available")));
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenReturn(
+              Mono.error(
+                  new McpUnavailableException(
+                      "market", "MCP server market unavailable (circuit_open)")));
+
+      StepVerifier.create(llmService.chat("AAPL?"))
+          .assertNext(
+              response -> {
+                assertThat(response.getEvidence()).hasSize(1);
+                ChatResponse.Evidence evidence = response.getEvidence().get(0);
+                assertThat(evidence.isDegraded()).isTrue();
+                assertThat(evidence.getType()).isEqualTo("get_quote");
+                assertThat(evidence.getSummary()).contains("circuit_open");
+              })
+          .verifyComplete();
+
+      mockWebServer.takeRequest();
+      JsonNode secondRequest =
+          objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+      assertThat(secondRequest.path("messages").get(2).path("content").asText())
+          .startsWith("Tool unavailable");
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.tool_calls")
+                  .tag("outcome", "unavailable")
+                  .counter()
+                  .count())
+          .isEqualTo(1.0);
+    }
+
     @Test
     void chat_shouldHandleToolExecutionErrorGracefully() {
       String toolCall =
@@ -300,5 +736,210 @@ class LlmServiceTest {
                       && response.getAnswer().contains("Unrecognized token 'NOT_JSON'"))
           .verifyComplete();
     }
+
+    @Test
+    void chatStream_shouldForwardTokensAsTheyArrive() throws InterruptedException {
+      String chunks =
+          "{\"message\": {\"role\": \"assistant\", \"content\": \"The \"}, \"done\": false}\n"
+              + "{\"message\": {\"role\": \"assistant\", \"content\": \"answer\"}, \"done\": false}\n"
+              + "{\"message\": {\"role\": \"assistant\", \"content\": \"\"}, \"done\": true}\n";
+      mockWebServer.enqueue(
+          new MockResponse().setBody(chunks).addHeader("Content-Type", "application/x-ndjson"));
+
+      StepVerifier.create(llmService.chatStream("Stream test"))
+          .expectNextMatches(event -> event.getContent().equals("The "))
+          .expectNextMatches(event -> event.getContent().equals("answer"))
+          .expectNextMatches(
+              event ->
+                  event.getType().equals(ChatStreamEvent.DONE)
+                      && event.getContent().equals("The answer"))
+          .verifyComplete();
+
+      assertThat(mockWebServer.takeRequest().getBody().readUtf8()).contains("\"stream\":true");
+    }
+
+    @Test
+    void chatStream_shouldRunToolCallsMidStreamAndEmitEvidence() {
+      String toolCallChunks =
+          "{\"message\": {\"role\": \"assistant\", \"content\": \"\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}, \"done\": false}\n"
+              + "{\"message\": {\"role\": \"assistant\", \"content\": \"\"}, \"done\": true}\n";
+      String answerChunks =
+          "{\"message\": {\"role\": \"assistant\", \"content\": \"AAPL is 150\"}, \"done\": true}\n";
+      when(mcpClientService.callTool(eq("market"), eq("get_quote"), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 150.0)));
+
+      mockWebServer.enqueue(new MockResponse().setBody(toolCallChunks));
+      mockWebServer.enqueue(new MockResponse().setBody(answerChunks));
+
+      StepVerifier.create(llmService.chatStream("Price of AAPL?"))
+          .expectNextMatches(
+              event ->
+                  event.getType().equals(ChatStreamEvent.EVIDENCE)
+                      && event.getEvidence().getType().equals("get_quote"))
+          .expectNextMatches(event -> event.getContent().equals("AAPL is 150"))
+          .expectNextMatches(event -> event.getType().equals(ChatStreamEvent.DONE))
+          .verifyComplete();
+
+      assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void chat_shouldRecordLatencyIterationAndOllamaMetrics() {
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}, \"eval_count\": 20, \"eval_duration\": 1000000000, \"prompt_eval_count\": 300, \"prompt_eval_duration\": 500000000}";
+      String finalResponse =
+          "{\"message\": {\"role\": \"assistant\", \"content\": \"Done\"}, \"eval_count\": 40, \"eval_duration\": 1000000000, \"prompt_eval_count\": 20, \"prompt_eval_duration\": 100000000}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(new MockResponse().setBody(finalResponse));
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenReturn(Mono.just(objectMapper.createObjectNode().put("price", 150.0)));
+
+      StepVerifier.create(llmService.chat("Price of AAPL?"))
+          .expectNextMatches(response -> response.getAnswer().equals("Done"))
+          .verifyComplete();
+
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.request.duration")
+                  .tag("mode", "chat")
+                  .tag("outcome", "success")
+                  .timer()
+                  .count())
+          .isEqualTo(1);
+      assertThat(meterRegistry.get("livecontext.llm.iteration.duration").timer().count())
+          .isEqualTo(2);
+      assertThat(meterRegistry.get("livecontext.llm.iterations").summary().totalAmount())
+          .isEqualTo(2.0);
+      assertThat(meterRegistry.get("livecontext.llm.tool_fanout").summary().totalAmount())
+          .isEqualTo(1.0);
+      assertThat(meterRegistry.get("livecontext.llm.ollama.eval_tokens").summary().totalAmount())
+          .isEqualTo(60.0);
+      assertThat(meterRegistry.get("livecontext.llm.ollama.tokens_per_second").summary().max())
+          .isEqualTo(40.0);
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.ollama.prompt_tokens")
+                  .tag("turn", "first")
+                  .summary()
+                  .totalAmount())
+          .isEqualTo(300.0);
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.ollama.prompt_tokens")
+                  .tag("turn", "follow_up")
+                  .summary()
+                  .totalAmount())
+          .isEqualTo(20.0);
+    }
+
+    @Test
+    void chatStream_shouldRecordTimeToFirstTokenOnce() {
+      String chunks =
+          "{\"message\": {\"role\": \"assistant\", \"content\": \"The \"}, \"done\": false}\n"
+              + "{\"message\": {\"role\": \"assistant\", \"content\": \"answer\"}, \"done\": false}\n"
+              + "{\"message\": {\"role\": \"assistant\", \"content\": \"\"}, \"done\": true, \"eval_count\": 2, \"eval_duration\": 100000000}\n";
+      mockWebServer.enqueue(new MockResponse().setBody(chunks));
+
+      StepVerifier.create(llmService.chatStream("Stream test"))
+          .expectNextCount(3)
+          .verifyComplete();
+
+      assertThat(meterRegistry.get("livecontext.llm.time_to_first_token").timer().count())
+          .isEqualTo(1);
+      assertThat(meterRegistry.get("livecontext.llm.ollama.tokens_per_second").summary().max())
+          .isEqualTo(20.0);
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.request.duration")
+                  .tag("mode", "stream")
+                  .tag("outcome", "success")
+                  .timer()
+                  .count())
+          .isEqualTo(1);
+    }
+
+    @Test
+    void chatStream_shouldEmitErrorEventOnHttpFailure() {
+      mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+      StepVerifier.create(llmService.chatStream("Fail test"))
+          .expectNextMatches(event -> event.getType().equals(ChatStreamEvent.ERROR))
+          .verifyComplete();
+
+      assertThat(
+              meterRegistry
+                  .get("livecontext.llm.request.duration")
+                  .tag("outcome", "error")
+                  .timer()
+                  .count())
+          .isEqualTo(1);
+    }
+
+    @Test
+    void chat_shouldCancelInFlightToolCallsWhenSubscriberCancels() {
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+
+      CountDownLatch toolStarted = new CountDownLatch(1);
+      AtomicBoolean toolCancelled = new AtomicBoolean();
+      when(mcpClientService.callTool(any(), any(), any()))
+          .thenReturn(
+              Mono.<JsonNode>never()
+                  .doOnSubscribe(subscription -> toolStarted.countDown())
+                  .doOnCancel(() -> toolCancelled.set(true)));
+
+      StepVerifier.create(llmService.chat("Cancel me"))
+          .expectSubscription()
+          .then(
+              () -> {
+                try {
+                  toolStarted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              })
+          .thenCancel()
+          .verify();
+
+      assertThat(toolCancelled).isTrue();
+      assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void chat_shouldReuseSessionToolResultsForFollowUps() throws Exception {
+      String toolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"symbol\": \"AAPL.US\", \"interval\": \"daily\"}}}]}}";
+      String reorderedToolCall =
+          "{\"message\": {\"role\": \"assistant\", \"tool_calls\": [{\"function\": {\"name\": \"get_quote\", \"arguments\": {\"interval\": \"daily\", \"symbol\": \"AAPL.US\"}}}]}}";
+      mockWebServer.enqueue(new MockResponse().setBody(toolCall));
+      mockWebServer.enqueue(new MockResponse().setBody(finalAnswer("AAPL is 150")));
+      mockWebServer.enqueue(new MockResponse().setBody(reorderedToolCall));
+      mockWebServer.enqueue(new MockResponse().setBody(finalAnswer("Still 150")));
+
+      ObjectNode quote = objectMapper.createObjectNode().put("price", 150);
+      when(mcpClientService.callTool(any(), any(), any())).thenReturn(Mono.just(quote));
+
+      Conversation conversation = new Conversation("session-1", Duration.ofMinutes(5));
+      StepVerifier.create(llmService.chat("How is AAPL?", conversation))
+          .expectNextMatches(response -> response.getSessionId().equals("session-1"))
+          .verifyComplete();
+      StepVerifier.create(llmService.chat("And now?", conversation))
+          .expectNextMatches(response -> response.getAnswer().equals("Still 150"))
+          .verifyComplete();
+
+      verify(mcpClientService, times(1)).callTool(any(), any(), any());
+      assertThat(conversation.history()).hasSize(8);
+
+      mockWebServer.takeRequest();
+      mockWebServer.takeRequest();
+      JsonNode followUp = objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+      assertThat(followUp.path("messages").get(0).path("content").asText())
+          .isEqualTo("How is AAPL?");
+    }
+
+    private String finalAnswer(String content) {
+      return "{\"message\": {\"role\": \"assistant\", \"content\": \"" + content + "\"}}";
+    }
   }
 }
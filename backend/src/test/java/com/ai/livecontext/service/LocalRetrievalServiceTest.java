@@ -0,0 +1,216 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.ai.livecontext.config.LocalRetrievalConfig;
+import com.ai.livecontext.config.NewsIndexConfig;
+import com.ai.livecontext.domain.NewsItem;
+import com.ai.livecontext.domain.TimelineEvent;
+import com.ai.livecontext.repository.NewsItemRepository;
+import com.ai.livecontext.repository.TimelineEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class LocalRetrievalServiceTest {
+
+  @Mock private TimelineEventRepository timelineEventRepository;
+  @Mock private NewsItemRepository newsItemRepository;
+  @Mock private NewsVectorIndex newsVectorIndex;
+
+  private ObjectMapper objectMapper;
+  private LocalRetrievalConfig config;
+  private LocalRetrievalService service;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    config = new LocalRetrievalConfig();
+    service =
+        new LocalRetrievalService(
+            config, timelineEventRepository, newsItemRepository, newsVectorIndex, objectMapper);
+  }
+
+  @Test
+  void resolve_shouldReturnLatestStoredQuoteForSymbol() {
+    when(timelineEventRepository.findRecentByType(eq("market"), any(), anyInt()))
+        .thenReturn(
+            Flux.just(
+                event("market", "{\"symbol\":\"TSLA.US\",\"price\":250}"),
+                event("market", "{\"symbol\":\"AAPL.US\",\"price\":150}"),
+                event("market", "{\"symbol\":\"AAPL.US\",\"price\":149}")));
+
+    StepVerifier.create(service.resolve("get_quote", args().put("symbol", "aapl.us")))
+        .expectNextMatches(result -> result.path("price").asInt() == 150)
+        .verifyComplete();
+  }
+
+  @Test
+  void resolve_shouldFallBackWhenNoFreshQuoteIsStored() {
+    when(timelineEventRepository.findRecentByType(eq("market"), any(), anyInt()))
+        .thenReturn(Flux.just(event("market", "{\"symbol\":\"TSLA.US\",\"price\":250}")));
+
+    StepVerifier.create(service.resolve("get_quote", args().put("symbol", "AAPL.US")))
+        .verifyComplete();
+  }
+
+  @Test
+  void resolve_shouldNotAnswerNonDailyQuotesLocally() {
+    StepVerifier.create(
+            service.resolve(
+                "get_quote", args().put("symbol", "AAPL.US").put("interval", "weekly")))
+        .verifyComplete();
+
+    verifyNoInteractions(timelineEventRepository);
+  }
+
+  @Test
+  void resolve_shouldMatchStoredForecastByCoordinates() {
+    when(timelineEventRepository.findRecentByType(eq("weather"), any(), anyInt()))
+        .thenReturn(
+            Flux.just(event("weather", "{\"latitude\":40.7128,\"longitude\":-74.006,\"t\":1}")));
+
+    StepVerifier.create(
+            service.resolve(
+                "get_weather", args().put("latitude", 40.71).put("longitude", -74.0)))
+        .expectNextMatches(result -> result.path("t").asInt() == 1)
+        .verifyComplete();
+
+    StepVerifier.create(
+            service.resolve("get_weather", args().put("latitude", 51.5).put("longitude", -0.12)))
+        .verifyComplete();
+  }
+
+  @Test
+  void resolve_shouldShapeFreshNewsLikeMcpSearch() {
+    Instant now = Instant.now();
+    when(newsItemRepository.searchByKeyword("Tesla"))
+        .thenReturn(
+            Flux.just(
+                news("1", now.minus(Duration.ofHours(1))),
+                news("2", now.minus(Duration.ofDays(3)))));
+
+    StepVerifier.create(service.resolve("search_news", args().put("query", " Tesla ")))
+        .assertNext(
+            result -> {
+              assertThat(result.path("query").asText()).isEqualTo("Tesla");
+              assertThat(result.path("results")).hasSize(1);
+              assertThat(result.path("results").get(0).path("id").asText()).isEqualTo("1");
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void resolve_shouldPreferSemanticMatchesWhenIndexIsReady() {
+    NewsItem fresh = news("7", Instant.now().minus(Duration.ofHours(1)));
+    when(newsVectorIndex.isReady()).thenReturn(true);
+    when(newsVectorIndex.search(eq("electric cars"), eq(5), any(Instant.class)))
+        .thenReturn(Mono.just(List.of(new NewsVectorIndex.Match(fresh, 0.9f))));
+
+    StepVerifier.create(service.resolve("search_news", args().put("query", "electric cars")))
+        .expectNextMatches(result -> result.path("results").get(0).path("id").asText().equals("7"))
+        .verifyComplete();
+
+    verifyNoInteractions(newsItemRepository);
+  }
+
+  @Test
+  void resolve_shouldNotServeIndexedArticlesOutsideNewsFreshnessWindow() {
+    NewsIndexConfig indexConfig = new NewsIndexConfig();
+    indexConfig.setEnabled(true);
+    indexConfig.setMinScore(0.3);
+    EmbeddingService embeddingService =
+        new EmbeddingService(indexConfig, mock(OllamaNodePool.class), objectMapper);
+    ReflectionTestUtils.setField(embeddingService, "mockMode", true);
+    NewsVectorIndex index = new NewsVectorIndex(indexConfig, embeddingService, newsItemRepository);
+    // Well inside the index's own max age, but older than the local news window
+    index.index(news("1", Instant.now().minus(Duration.ofDays(2)))).block();
+    when(newsItemRepository.searchByKeyword("Tesla news")).thenReturn(Flux.empty());
+    service =
+        new LocalRetrievalService(
+            config, timelineEventRepository, newsItemRepository, index, objectMapper);
+
+    StepVerifier.create(service.resolve("search_news", args().put("query", "Tesla news")))
+        .verifyComplete();
+  }
+
+  @Test
+  void resolve_shouldFallBackToKeywordSearchWithoutSemanticMatches() {
+    when(newsVectorIndex.isReady()).thenReturn(true);
+    when(newsVectorIndex.search(eq("Tesla"), eq(5), any(Instant.class)))
+        .thenReturn(Mono.just(List.of()));
+    when(newsItemRepository.searchByKeyword("Tesla"))
+        .thenReturn(Flux.just(news("1", Instant.now().minus(Duration.ofHours(1)))));
+
+    StepVerifier.create(service.resolve("search_news", args().put("query", "Tesla")))
+        .expectNextMatches(result -> result.path("results").size() == 1)
+        .verifyComplete();
+  }
+
+  @Test
+  void resolve_shouldFallBackWhenOnlyStaleNewsMatches() {
+    when(newsItemRepository.searchByKeyword("Tesla"))
+        .thenReturn(Flux.just(news("1", Instant.now().minus(Duration.ofDays(3)))));
+
+    StepVerifier.create(service.resolve("search_news", args().put("query", "Tesla")))
+        .verifyComplete();
+  }
+
+  @Test
+  void resolve_shouldFallBackWhenRepositoryFails() {
+    when(newsItemRepository.searchByKeyword("Tesla"))
+        .thenReturn(Flux.error(new RuntimeException("DB down")));
+
+    StepVerifier.create(service.resolve("search_news", args().put("query", "Tesla")))
+        .verifyComplete();
+  }
+
+  @Test
+  void resolve_shouldDoNothingWhenDisabled() {
+    config.setEnabled(false);
+
+    StepVerifier.create(service.resolve("get_quote", args().put("symbol", "AAPL.US")))
+        .verifyComplete();
+
+    verifyNoInteractions(timelineEventRepository, newsItemRepository);
+  }
+
+  private ObjectNode args() {
+    return objectMapper.createObjectNode();
+  }
+
+  private TimelineEvent event(String type, String payload) {
+    return TimelineEvent.builder()
+        .eventType(type)
+        .timestamp(Instant.now())
+        .payload(payload)
+        .build();
+  }
+
+  private NewsItem news(String id, Instant publishedAt) {
+    return NewsItem.builder()
+        .id(id)
+        .title("Tesla news " + id)
+        .link("https://example.com/" + id)
+        .publishedAt(publishedAt)
+        .source("Example")
+        .summary("Summary " + id)
+        .build();
+  }
+}
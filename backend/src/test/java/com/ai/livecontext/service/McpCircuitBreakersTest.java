@@ -0,0 +1,228 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.config.McpConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class McpCircuitBreakersTest {
+
+  private final AtomicInteger calls = new AtomicInteger();
+  private SimpleMeterRegistry meterRegistry;
+  private McpConfig config;
+  private McpConfig.CircuitBreaker settings;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    config = new McpConfig();
+    settings = config.getMarket().getCircuitBreaker();
+    settings.setWindowSize(4);
+    settings.setMinimumCalls(4);
+    settings.setFailureRateThreshold(50);
+    settings.setOpenMs(100);
+    settings.setHalfOpenCalls(2);
+  }
+
+  @Test
+  void protect_shouldOpenCircuitOnceFailureRateReached() {
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+
+    succeed(breakers, 2);
+    fail(breakers, 2);
+
+    StepVerifier.create(breakers.protect("market", counted(Mono.just("ok"))))
+        .expectError(McpUnavailableException.class)
+        .verify();
+    assertThat(calls).hasValue(4);
+    assertThat(breakers.snapshots().get("market").state())
+        .isEqualTo(McpCircuitBreakers.State.OPEN);
+    assertThat(breakers.snapshots().get("news").state())
+        .isEqualTo(McpCircuitBreakers.State.CLOSED);
+    assertThat(rejected("circuit_open")).isEqualTo(1.0);
+  }
+
+  @Test
+  void protect_shouldNotOpenCircuitBeforeMinimumCalls() {
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+
+    fail(breakers, 3);
+
+    assertThat(breakers.snapshots().get("market").state())
+        .isEqualTo(McpCircuitBreakers.State.CLOSED);
+    assertThat(breakers.snapshots().get("market").failureRate()).isEqualTo(100);
+  }
+
+  @Test
+  void protect_shouldOpenCircuitOnRunOfBadRequests() {
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+
+    for (int i = 0; i < 4; i++) {
+      breakers
+          .protect("market", Mono.error(status(HttpStatus.BAD_REQUEST)))
+          .onErrorComplete()
+          .block();
+    }
+
+    assertThat(breakers.snapshots().get("market").state())
+        .isEqualTo(McpCircuitBreakers.State.OPEN);
+  }
+
+  @Test
+  void protect_shouldNotCountIgnoredStatusesAsFailures() {
+    settings.getIgnoredStatuses().add(404);
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+
+    for (int i = 0; i < 4; i++) {
+      breakers
+          .protect("market", Mono.error(status(HttpStatus.NOT_FOUND)))
+          .onErrorComplete()
+          .block();
+    }
+
+    assertThat(breakers.snapshots().get("market").state())
+        .isEqualTo(McpCircuitBreakers.State.CLOSED);
+  }
+
+  @Test
+  void protect_shouldOpenCircuitOnSlowCalls() {
+    settings.setSlowCallDurationMs(20);
+    settings.setSlowCallRateThreshold(50);
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+
+    for (int i = 0; i < 4; i++) {
+      breakers.protect("market", Mono.just("ok").delayElement(Duration.ofMillis(30))).block();
+    }
+
+    assertThat(breakers.snapshots().get("market").state())
+        .isEqualTo(McpCircuitBreakers.State.OPEN);
+  }
+
+  @Test
+  void protect_shouldCloseCircuitAfterSuccessfulTrialCalls() throws InterruptedException {
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+    fail(breakers, 4);
+    Thread.sleep(150);
+
+    succeed(breakers, 1);
+    assertThat(breakers.snapshots().get("market").state())
+        .isEqualTo(McpCircuitBreakers.State.HALF_OPEN);
+    succeed(breakers, 1);
+
+    assertThat(breakers.snapshots().get("market").state())
+        .isEqualTo(McpCircuitBreakers.State.CLOSED);
+    assertThat(breakers.snapshots().get("market").bufferedCalls()).isZero();
+  }
+
+  @Test
+  void protect_shouldReopenCircuitWhenTrialCallFails() throws InterruptedException {
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+    fail(breakers, 4);
+    Thread.sleep(150);
+
+    fail(breakers, 1);
+
+    assertThat(breakers.snapshots().get("market").state())
+        .isEqualTo(McpCircuitBreakers.State.OPEN);
+  }
+
+  @Test
+  void protect_shouldLimitTrialCallsWhileHalfOpen() throws InterruptedException {
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+    fail(breakers, 4);
+    Thread.sleep(150);
+
+    Disposable first = breakers.protect("market", Mono.never()).subscribe();
+    Disposable second = breakers.protect("market", Mono.never()).subscribe();
+
+    StepVerifier.create(breakers.protect("market", Mono.just("ok")))
+        .expectError(McpUnavailableException.class)
+        .verify();
+    first.dispose();
+    second.dispose();
+  }
+
+  @Test
+  void protect_shouldRejectCallsBeyondBulkheadAndReleaseOnCancel() {
+    config.getMarket().setMaxConcurrentCalls(2);
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+
+    Disposable first = breakers.protect("market", Mono.never()).subscribe();
+    Disposable second = breakers.protect("market", Mono.never()).subscribe();
+
+    assertThat(breakers.snapshots().get("market").activeCalls()).isEqualTo(2);
+    StepVerifier.create(breakers.protect("market", Mono.just("ok")))
+        .expectErrorMatches(
+            error ->
+                error instanceof McpUnavailableException unavailable
+                    && unavailable.getServer().equals("market")
+                    && error.getMessage().contains("bulkhead_full"))
+        .verify();
+    assertThat(rejected("bulkhead_full")).isEqualTo(1.0);
+
+    first.dispose();
+    second.dispose();
+    assertThat(breakers.snapshots().get("market").activeCalls()).isZero();
+    StepVerifier.create(breakers.protect("market", Mono.just("ok")))
+        .expectNext("ok")
+        .verifyComplete();
+  }
+
+  @Test
+  void protect_shouldOnlyApplyBulkheadWhenCircuitBreakerDisabled() {
+    settings.setEnabled(false);
+    McpCircuitBreakers breakers = new McpCircuitBreakers(config, meterRegistry);
+
+    fail(breakers, 8);
+
+    StepVerifier.create(breakers.protect("market", Mono.just("ok")))
+        .expectNext("ok")
+        .verifyComplete();
+  }
+
+  private void succeed(McpCircuitBreakers breakers, int times) {
+    for (int i = 0; i < times; i++) {
+      breakers.protect("market", counted(Mono.just("ok"))).block();
+    }
+  }
+
+  private void fail(McpCircuitBreakers breakers, int times) {
+    for (int i = 0; i < times; i++) {
+      breakers
+          .protect("market", counted(Mono.error(new IllegalStateException("MCP down"))))
+          .onErrorComplete()
+          .block();
+    }
+  }
+
+  private static WebClientResponseException status(HttpStatus status) {
+    return WebClientResponseException.create(
+        status, status.getReasonPhrase(), new HttpHeaders(), new byte[0], null);
+  }
+
+  private <T> Mono<T> counted(Mono<T> call) {
+    return Mono.defer(
+        () -> {
+          calls.incrementAndGet();
+          return call;
+        });
+  }
+
+  private double rejected(String reason) {
+    return meterRegistry
+        .get("livecontext.mcp.calls.rejected")
+        .tag("reason", reason)
+        .counter()
+        .count();
+  }
+}
@@ -4,20 +4,37 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
 
+import com.ai.livecontext.config.CacheConfig;
+import com.ai.livecontext.config.McpCacheConfig;
 import com.ai.livecontext.config.McpConfig;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.function.Tuple2;
 
 @ExtendWith(MockitoExtension.class)
 class McpClientServiceTest {
@@ -25,6 +42,8 @@ class McpClientServiceTest {
   private MockWebServer mockWebServer;
   private McpClientService mcpClientService;
   private ObjectMapper objectMapper;
+  private McpCacheConfig cacheConfig;
+  private SimpleMeterRegistry meterRegistry;
 
   @Mock private McpConfig mcpConfig;
   @Mock private McpConfig.McpEndpoint marketEndpoint;
@@ -33,15 +52,31 @@ class McpClientServiceTest {
   void setUp() throws IOException {
     mockWebServer = new MockWebServer();
     mockWebServer.start();
-    objectMapper = new ObjectMapper();
+    objectMapper = spy(new ObjectMapper());
 
     String serverUrl = mockWebServer.url("/").toString().replaceAll("/$", "");
 
     lenient().when(mcpConfig.getMarket()).thenReturn(marketEndpoint);
     lenient().when(marketEndpoint.getUrl()).thenReturn(serverUrl);
     lenient().when(marketEndpoint.getTimeout()).thenReturn(5000);
-
-    mcpClientService = new McpClientService(mcpConfig, objectMapper);
+    lenient().when(mcpConfig.getMaxResponseBytes()).thenReturn(1024);
+
+    cacheConfig = new McpCacheConfig();
+    meterRegistry = new SimpleMeterRegistry();
+    McpResponseCache responseCache =
+        new McpResponseCache(
+            cacheConfig, new CaffeineCacheManager(CacheConfig.MARKET_QUOTES), meterRegistry);
+    McpConfig resilienceConfig = new McpConfig();
+    resilienceConfig.getMarket().getCircuitBreaker().setMinimumCalls(2);
+    resilienceConfig.getMarket().getCircuitBreaker().setWindowSize(2);
+    mcpClientService =
+        new McpClientService(
+            mcpConfig,
+            new McpConnectionPools(resilienceConfig),
+            new McpCircuitBreakers(resilienceConfig, meterRegistry),
+            responseCache,
+            objectMapper,
+            meterRegistry);
   }
 
   @AfterEach
@@ -119,6 +154,19 @@ class McpClientServiceTest {
         .verify();
   }
 
+  @Test
+  void callTool_shouldRejectResponsesOverMaxSize() {
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setBody("{\"data\":\"" + "x".repeat(2048) + "\"}")
+            .addHeader("Content-Type", "application/json"));
+
+    StepVerifier.create(
+            mcpClientService.callTool("market", "test", objectMapper.createObjectNode()))
+        .expectError(org.springframework.core.io.buffer.DataBufferLimitException.class)
+        .verify();
+  }
+
   @Test
   void callTool_shouldSwitchCorrectServerUrls() {
     // Mock other endpoints
@@ -158,4 +206,158 @@ class McpClientServiceTest {
     org.junit.jupiter.api.Assertions.assertThrows(
         IllegalArgumentException.class, () -> mcpClientService.callTool("unknown", "test", params));
   }
+
+  @Test
+  void callTool_shouldAnswerRepeatedCallsToCachedToolFromCache() {
+    cacheConfig.getTtlSeconds().put("market", 60);
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":150}"));
+    ObjectNode params = objectMapper.createObjectNode().put("symbol", "AAPL").put("interval", "d");
+    ObjectNode reordered =
+        objectMapper.createObjectNode().put("interval", "d").put("symbol", "AAPL");
+
+    StepVerifier.create(mcpClientService.callTool("market", "get_quote", params))
+        .expectNextMatches(json -> json.path("price").asInt() == 150)
+        .verifyComplete();
+    StepVerifier.create(mcpClientService.callTool("market", "get_quote", reordered))
+        .expectNextMatches(json -> json.path("price").asInt() == 150)
+        .verifyComplete();
+
+    assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  void callTool_shouldNotBuildOrLogRequestOnCacheHit() throws Exception {
+    cacheConfig.getTtlSeconds().put("market", 60);
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":150}"));
+    ObjectNode params = objectMapper.createObjectNode().put("symbol", "AAPL");
+    String loggerName = McpClientService.class.getName();
+    List<String> started = new CopyOnWriteArrayList<>();
+    AbstractAppender appender =
+        new AbstractAppender("mcp-calls", null, null, true, Property.EMPTY_ARRAY) {
+          @Override
+          public void append(LogEvent event) {
+            String message = event.getMessage().getFormattedMessage();
+            if (message.startsWith("[mcp_tool_call_start]")) {
+              started.add(message);
+            }
+          }
+        };
+    appender.start();
+    Configurator.setLevel(loggerName, Level.INFO);
+    LoggerContext context = (LoggerContext) LogManager.getContext(false);
+    LoggerConfig loggerConfig = context.getConfiguration().getLoggerConfig(loggerName);
+    loggerConfig.addAppender(appender, Level.INFO, null);
+    context.updateLoggers();
+
+    try {
+      mcpClientService.callTool("market", "get_quote", params).block();
+      StepVerifier.create(mcpClientService.callTool("market", "get_quote", params))
+          .expectNextMatches(json -> json.path("price").asInt() == 150)
+          .verifyComplete();
+    } finally {
+      loggerConfig.removeAppender(appender.getName());
+      context.updateLoggers();
+    }
+
+    verify(objectMapper, times(1)).writeValueAsString(any());
+    assertThat(started).hasSize(1);
+    assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  void refreshTool_shouldAlwaysCallServerAndFillCache() {
+    cacheConfig.getTtlSeconds().put("market", 60);
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":150}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{\"price\":151}"));
+    ObjectNode params = objectMapper.createObjectNode().put("symbol", "AAPL");
+
+    StepVerifier.create(mcpClientService.refreshTool("market", "get_quote", params))
+        .expectNextCount(1)
+        .verifyComplete();
+    StepVerifier.create(mcpClientService.refreshTool("market", "get_quote", params))
+        .expectNextCount(1)
+        .verifyComplete();
+    StepVerifier.create(mcpClientService.callTool("market", "get_quote", params))
+        .expectNextMatches(json -> json.path("price").asInt() == 151)
+        .verifyComplete();
+
+    assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  void callTool_shouldShareOneRequestBetweenConcurrentIdenticalCalls() {
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setBody("{\"price\":150}")
+            .setBodyDelay(200, java.util.concurrent.TimeUnit.MILLISECONDS));
+    ObjectNode params = objectMapper.createObjectNode().put("symbol", "AAPL").put("interval", "d");
+    ObjectNode reordered =
+        objectMapper.createObjectNode().put("interval", "d").put("symbol", "AAPL");
+
+    Tuple2<JsonNode, JsonNode> results =
+        Mono.zip(
+                mcpClientService.callTool("market", "get_quote", params),
+                mcpClientService.refreshTool("market", "get_quote", reordered))
+            .block();
+
+    assertThat(results.getT1()).isSameAs(results.getT2());
+    assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    assertThat(meterRegistry.get("livecontext.mcp.coalesced").functionCounter().count())
+        .isEqualTo(1.0);
+    assertThat(meterRegistry.get("livecontext.mcp.in_flight").gauge().value()).isZero();
+  }
+
+  @Test
+  void callTool_shouldNotShareRequestsForDifferentParameters() {
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setBody("{}")
+            .setBodyDelay(100, java.util.concurrent.TimeUnit.MILLISECONDS));
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setBody("{}")
+            .setBodyDelay(100, java.util.concurrent.TimeUnit.MILLISECONDS));
+
+    Mono.zip(
+            mcpClientService.callTool(
+                "market", "get_quote", objectMapper.createObjectNode().put("symbol", "AAPL")),
+            mcpClientService.callTool(
+                "market", "get_quote", objectMapper.createObjectNode().put("symbol", "TSLA")))
+        .block();
+
+    assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  void callTool_shouldStartNewRequestOnceEarlierCallCompleted() {
+    mockWebServer.enqueue(new MockResponse().setBody("{}"));
+    mockWebServer.enqueue(new MockResponse().setBody("{}"));
+    ObjectNode params = objectMapper.createObjectNode().put("symbol", "AAPL");
+
+    mcpClientService.callTool("market", "get_quote", params).block();
+    mcpClientService.callTool("market", "get_quote", params).block();
+
+    assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  void callTool_shouldFailFastOnceServerCircuitOpened() {
+    mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+    mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+    for (String symbol : new String[] {"AAPL", "TSLA"}) {
+      StepVerifier.create(
+              mcpClientService.callTool(
+                  "market", "get_quote", objectMapper.createObjectNode().put("symbol", symbol)))
+          .expectError()
+          .verify();
+    }
+    StepVerifier.create(
+            mcpClientService.callTool(
+                "market", "get_quote", objectMapper.createObjectNode().put("symbol", "MSFT")))
+        .expectError(McpUnavailableException.class)
+        .verify();
+
+    assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+  }
 }
@@ -0,0 +1,140 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ai.livecontext.config.McpConfig;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class McpConnectionPoolsTest {
+
+  private MockWebServer mockWebServer;
+  private McpConfig config;
+  private McpConnectionPools pools;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+    config = new McpConfig();
+    config.getMarket().setUrl(mockWebServer.url("/").toString().replaceAll("/$", ""));
+    config.getMarket().setPrewarmConnections(3);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (pools != null) {
+      pools.shutdown();
+    }
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  void client_shouldUseSeparateClientPerServer() {
+    pools = new McpConnectionPools(config);
+
+    assertThat(pools.client("market")).isNotSameAs(pools.client("news"));
+    assertThat(pools.client("MARKET")).isSameAs(pools.client("market"));
+  }
+
+  @Test
+  void client_shouldRejectUnknownServer() {
+    pools = new McpConnectionPools(config);
+
+    assertThatThrownBy(() -> pools.client("unknown"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void client_shouldCallServer() throws InterruptedException {
+    pools = new McpConnectionPools(config);
+    mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+    StepVerifier.create(
+            pools
+                .client("market")
+                .post()
+                .uri(config.getMarket().getUrl() + "/tools/get_quote")
+                .bodyValue("{}")
+                .retrieve()
+                .bodyToMono(String.class))
+        .expectNext("{}")
+        .verifyComplete();
+
+    assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/tools/get_quote");
+  }
+
+  @Test
+  void prewarm_shouldOpenConfiguredConnectionsToServersWithUrl() throws InterruptedException {
+    pools = new McpConnectionPools(config);
+    for (int i = 0; i < 3; i++) {
+      mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+    }
+
+    pools.prewarm();
+
+    for (int i = 0; i < 3; i++) {
+      RecordedRequest request = mockWebServer.takeRequest(2, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      assertThat(request.getPath()).isEqualTo("/health");
+    }
+    assertThat(mockWebServer.takeRequest(200, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  @Test
+  void prewarm_shouldKeepConnectionsOpenPastIdleTime() throws InterruptedException {
+    config.getMarket().setPrewarmConnections(1);
+    config.getMarket().setMaxIdleTimeMs(400);
+    CountDownLatch healthChecks = new CountDownLatch(5);
+    mockWebServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            if ("/health".equals(request.getPath())) {
+              healthChecks.countDown();
+            }
+            return new MockResponse().setBody("{}");
+          }
+        });
+    pools = new McpConnectionPools(config);
+
+    pools.prewarm();
+    // Health checks run every 200ms, so the fifth comes well after the 400ms idle time
+    assertThat(healthChecks.await(5, TimeUnit.SECONDS)).isTrue();
+    Thread.sleep(50);
+    pools
+        .client("market")
+        .post()
+        .uri(config.getMarket().getUrl() + "/tools/get_quote")
+        .bodyValue("{}")
+        .retrieve()
+        .bodyToMono(String.class)
+        .block();
+
+    RecordedRequest call = mockWebServer.takeRequest();
+    while (!"/tools/get_quote".equals(call.getPath())) {
+      call = mockWebServer.takeRequest();
+    }
+    assertThat(call.getSequenceNumber()).isPositive();
+  }
+
+  @Test
+  void prewarm_shouldSkipDisabledServers() throws InterruptedException {
+    config.getMarket().setPrewarmConnections(0);
+    pools = new McpConnectionPools(config);
+
+    pools.prewarm();
+
+    assertThat(mockWebServer.takeRequest(200, TimeUnit.MILLISECONDS)).isNull();
+  }
+}
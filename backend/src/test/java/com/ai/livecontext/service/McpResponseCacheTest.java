@@ -0,0 +1,216 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.config.CacheConfig;
+import com.ai.livecontext.config.McpCacheConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class McpResponseCacheTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicInteger calls = new AtomicInteger();
+  private SimpleMeterRegistry meterRegistry;
+  private McpCacheConfig config;
+  private McpResponseCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    config = new McpCacheConfig();
+    config.getTtlSeconds().put("market", 60);
+    cache =
+        new McpResponseCache(
+            config, new CaffeineCacheManager(CacheConfig.MARKET_QUOTES), meterRegistry);
+  }
+
+  @Test
+  void get_shouldCallOnceAndServeFreshResponseFromCache() {
+    ObjectNode params = objectMapper.createObjectNode().put("symbol", "AAPL.US");
+
+    StepVerifier.create(cache.get("market", "get_quote", params, quote()))
+        .expectNextMatches(json -> json.path("call").asInt() == 1)
+        .verifyComplete();
+    StepVerifier.create(cache.get("market", "get_quote", params.deepCopy(), quote()))
+        .expectNextMatches(json -> json.path("call").asInt() == 1)
+        .verifyComplete();
+
+    assertThat(calls).hasValue(1);
+    assertThat(lookups("hit")).isEqualTo(1);
+    assertThat(lookups("miss")).isEqualTo(1);
+  }
+
+  @Test
+  void get_shouldKeepDifferentParametersApart() {
+    cache.get("market", "get_quote", params("AAPL.US"), quote()).block();
+    cache.get("market", "get_quote", params("TSLA.US"), quote()).block();
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void get_shouldNotCacheServersWithoutTtl() {
+    cache.get("news", "search", params("tesla"), quote()).block();
+    cache.get("news", "search", params("tesla"), quote()).block();
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void get_shouldLetToolTtlOverrideServerTtl() {
+    config.getToolTtlSeconds().put("get_quote", 0);
+
+    cache.get("market", "get_quote", params("AAPL.US"), quote()).block();
+    cache.get("market", "get_quote", params("AAPL.US"), quote()).block();
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void get_shouldServeStaleResponseWhileRefreshingInBackground() throws InterruptedException {
+    config.getTtlSeconds().put("market", 1);
+    cache.get("market", "get_quote", params("AAPL.US"), quote()).block();
+    Thread.sleep(1100);
+
+    StepVerifier.create(cache.get("market", "get_quote", params("AAPL.US"), quote()))
+        .expectNextMatches(json -> json.path("call").asInt() == 1)
+        .verifyComplete();
+    StepVerifier.create(cache.get("market", "get_quote", params("AAPL.US"), quote()))
+        .expectNextMatches(json -> json.path("call").asInt() == 2)
+        .verifyComplete();
+
+    assertThat(calls).hasValue(2);
+    assertThat(lookups("stale")).isEqualTo(1);
+  }
+
+  @Test
+  void get_shouldFetchAgainOncePastMaxStale() throws InterruptedException {
+    config.getTtlSeconds().put("market", 1);
+    config.setMaxStaleSeconds(0);
+    cache.get("market", "get_quote", params("AAPL.US"), quote()).block();
+    Thread.sleep(1100);
+
+    StepVerifier.create(cache.get("market", "get_quote", params("AAPL.US"), quote()))
+        .expectNextMatches(json -> json.path("call").asInt() == 2)
+        .verifyComplete();
+  }
+
+  @Test
+  void get_shouldServeExpiredResponseWhenCallFails() throws InterruptedException {
+    config.getTtlSeconds().put("market", 1);
+    config.setMaxStaleSeconds(0);
+    cache.get("market", "get_quote", params("AAPL.US"), quote()).block();
+    Thread.sleep(1100);
+    Mono<JsonNode> unavailable =
+        Mono.error(new McpUnavailableException("market", "MCP server market unavailable"));
+
+    StepVerifier.create(cache.get("market", "get_quote", params("AAPL.US"), unavailable))
+        .expectNextMatches(json -> json.path("call").asInt() == 1)
+        .verifyComplete();
+
+    assertThat(lookups("stale_if_error")).isEqualTo(1);
+  }
+
+  @Test
+  void get_shouldRememberFailuresBriefly() {
+    Mono<JsonNode> failing = failing(badRequest());
+
+    StepVerifier.create(cache.get("market", "get_quote", params("AAPL.US"), failing))
+        .expectError(WebClientResponseException.class)
+        .verify();
+    StepVerifier.create(cache.get("market", "get_quote", params("AAPL.US"), failing))
+        .expectError(WebClientResponseException.class)
+        .verify();
+
+    assertThat(calls).hasValue(1);
+    assertThat(lookups("negative")).isEqualTo(1);
+  }
+
+  @Test
+  void get_shouldNotRememberRejectedCalls() {
+    Mono<JsonNode> rejected =
+        failing(new McpUnavailableException("market", "MCP server market unavailable"));
+
+    cache.get("market", "get_quote", params("AAPL.US"), rejected).onErrorComplete().block();
+    StepVerifier.create(cache.get("market", "get_quote", params("AAPL.US"), quote()))
+        .expectNextMatches(json -> json.path("call").asInt() == 2)
+        .verifyComplete();
+
+    assertThat(lookups("miss")).isEqualTo(2);
+  }
+
+  @Test
+  void get_shouldNotRememberTimeouts() {
+    Mono<JsonNode> timedOut = failing(new TimeoutException("Did not observe any item"));
+
+    cache.get("market", "get_quote", params("AAPL.US"), timedOut).onErrorComplete().block();
+    StepVerifier.create(cache.get("market", "get_quote", params("AAPL.US"), quote()))
+        .expectNextMatches(json -> json.path("call").asInt() == 2)
+        .verifyComplete();
+
+    assertThat(lookups("miss")).isEqualTo(2);
+  }
+
+  @Test
+  void get_shouldNotRememberFailuresWhenDisabled() {
+    config.setFailureTtlSeconds(0);
+    Mono<JsonNode> failing = failing(badRequest());
+
+    cache.get("market", "get_quote", params("AAPL.US"), failing).onErrorComplete().block();
+    cache.get("market", "get_quote", params("AAPL.US"), failing).onErrorComplete().block();
+
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void put_shouldServeStoredResponse() {
+    cache.put("market", "get_quote", params("AAPL.US"), objectMapper.createObjectNode());
+
+    cache.get("market", "get_quote", params("AAPL.US"), quote()).block();
+
+    assertThat(calls).hasValue(0);
+  }
+
+  private Mono<JsonNode> quote() {
+    return Mono.fromCallable(
+        () -> objectMapper.createObjectNode().put("call", calls.incrementAndGet()));
+  }
+
+  private Mono<JsonNode> failing(Throwable error) {
+    return Mono.defer(
+        () -> {
+          calls.incrementAndGet();
+          return Mono.error(error);
+        });
+  }
+
+  private static WebClientResponseException badRequest() {
+    return WebClientResponseException.create(
+        HttpStatus.BAD_REQUEST, "Bad Request", new HttpHeaders(), new byte[0], null);
+  }
+
+  private ObjectNode params(String value) {
+    return objectMapper.createObjectNode().put("symbol", value);
+  }
+
+  private double lookups(String result) {
+    return meterRegistry
+        .get("livecontext.mcp.cache.lookups")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,206 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.ai.livecontext.config.NewsIndexConfig;
+import com.ai.livecontext.domain.NewsItem;
+import com.ai.livecontext.repository.NewsItemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class NewsVectorIndexTest {
+
+  @Mock private NewsItemRepository newsItemRepository;
+  @Mock private OllamaNodePool ollamaNodePool;
+
+  @TempDir Path tempDir;
+
+  private NewsIndexConfig config;
+  private EmbeddingService embeddingService;
+  private NewsVectorIndex index;
+
+  @BeforeEach
+  void setUp() {
+    config = new NewsIndexConfig();
+    config.setEnabled(true);
+    config.setMinScore(0.3);
+    config.setSnapshotPath(tempDir.resolve("news-index.bin").toString());
+    embeddingService = new EmbeddingService(config, ollamaNodePool, new ObjectMapper());
+    ReflectionTestUtils.setField(embeddingService, "mockMode", true);
+    index = new NewsVectorIndex(config, embeddingService, newsItemRepository);
+  }
+
+  @Test
+  void search_shouldFindArticlesPhrasedDifferently() {
+    index.index(news("1", "Tesla shares jump after delivery numbers beat estimates")).block();
+    index.index(news("2", "Heavy rain expected across the north east this weekend")).block();
+
+    StepVerifier.create(index.search("why did tesla shares jump", 5))
+        .assertNext(
+            matches -> {
+              assertThat(matches).isNotEmpty();
+              assertThat(matches.get(0).item().getId()).isEqualTo("1");
+              assertThat(matches).noneMatch(match -> match.item().getId().equals("2"));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void index_shouldSkipArticlesAlreadyIndexed() {
+    NewsItem item = news("1", "Tesla shares jump");
+
+    index.index(item).block();
+    index.index(item).block();
+
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @Test
+  void search_shouldIgnoreArticlesOlderThanMaxAge() {
+    NewsItem old = news("1", "Tesla shares jump");
+    old.setPublishedAt(Instant.now().minus(Duration.ofDays(config.getMaxAgeDays() + 1)));
+    index.index(old).block();
+
+    StepVerifier.create(index.search("Tesla shares jump", 5))
+        .expectNext(List.of())
+        .verifyComplete();
+  }
+
+  @Test
+  void search_shouldOnlyReturnArticlesPublishedSinceGivenInstant() {
+    NewsItem older = news("1", "Tesla shares jump");
+    older.setPublishedAt(Instant.now().minus(Duration.ofDays(2)));
+    index.index(older).block();
+    index.index(news("2", "Tesla shares jump again")).block();
+
+    StepVerifier.create(
+            index.search("Tesla shares jump", 5, Instant.now().minus(Duration.ofHours(6))))
+        .assertNext(
+            matches ->
+                assertThat(matches).extracting(match -> match.item().getId()).containsExactly("2"))
+        .verifyComplete();
+  }
+
+  @Test
+  void snapshot_shouldRebuildIndexWithoutExpiredArticles() {
+    NewsItem older = news("1", "Heavy rain expected this weekend");
+    older.setPublishedAt(Instant.now().minus(Duration.ofDays(2)));
+    index.index(older).block();
+    index.index(news("2", "Tesla shares jump after delivery numbers")).block();
+    config.setMaxAgeDays(1);
+
+    index.snapshot();
+
+    assertThat(index.size()).isEqualTo(1);
+    StepVerifier.create(index.search("tesla shares", 5))
+        .assertNext(
+            matches ->
+                assertThat(matches).extracting(match -> match.item().getId()).containsExactly("2"))
+        .verifyComplete();
+  }
+
+  @Test
+  void compact_shouldKeepIndexWhileFewArticlesExpired() {
+    NewsItem older = news("1", "Heavy rain expected this weekend");
+    older.setPublishedAt(Instant.now().minus(Duration.ofDays(2)));
+    index.index(older).block();
+    for (int i = 2; i <= 6; i++) {
+      index.index(news(String.valueOf(i), "Tesla shares jump " + i)).block();
+    }
+    config.setMaxAgeDays(1);
+
+    index.compact();
+
+    assertThat(index.size()).isEqualTo(6);
+  }
+
+  @Test
+  void disabledIndex_shouldNeitherIndexNorSearch() {
+    config.setEnabled(false);
+
+    index.index(news("1", "Tesla shares jump")).block();
+
+    assertThat(index.isReady()).isFalse();
+    StepVerifier.create(index.search("Tesla", 5)).expectNext(List.of()).verifyComplete();
+  }
+
+  @Test
+  void snapshot_shouldRestoreIndexWithoutReembedding() {
+    when(newsItemRepository.findAllByOrderByPublishedAtDesc()).thenReturn(Flux.empty());
+    index.index(news("1", "Tesla shares jump after delivery numbers")).block();
+    index.index(news("2", "Heavy rain expected this weekend")).block();
+    index.snapshot();
+
+    EmbeddingService restoredEmbeddings = spy(embeddingService);
+    NewsVectorIndex restored = new NewsVectorIndex(config, restoredEmbeddings, newsItemRepository);
+    restored.initialize();
+
+    assertThat(restored.size()).isEqualTo(2);
+    verify(restoredEmbeddings, never()).embed(any());
+    StepVerifier.create(restored.search("tesla shares", 1))
+        .assertNext(matches -> assertThat(matches.get(0).item().getTitle()).startsWith("Tesla"))
+        .verifyComplete();
+  }
+
+  @Test
+  void snapshot_shouldBeIgnoredWhenBuiltWithAnotherModel() {
+    index.index(news("1", "Tesla shares jump")).block();
+    index.snapshot();
+    assertThat(Files.exists(Path.of(config.getSnapshotPath()))).isTrue();
+
+    config.setMockDimensions(128);
+    when(newsItemRepository.findAllByOrderByPublishedAtDesc()).thenReturn(Flux.empty());
+    NewsVectorIndex restored = new NewsVectorIndex(config, embeddingService, newsItemRepository);
+    restored.initialize();
+
+    assertThat(restored.size()).isZero();
+  }
+
+  @Test
+  void initialize_shouldBackfillStoredArticlesMissingFromIndex() {
+    when(newsItemRepository.findAllByOrderByPublishedAtDesc())
+        .thenReturn(Flux.just(news("1", "Tesla shares jump"), news("2", "Rain this weekend")));
+
+    index.initialize();
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.isReady()).isTrue();
+  }
+
+  @Test
+  void index_shouldSwallowEmbeddingFailures() {
+    EmbeddingService failing = mock(EmbeddingService.class);
+    when(failing.embed(any())).thenReturn(Mono.error(new RuntimeException("model not found")));
+    NewsVectorIndex failingIndex = new NewsVectorIndex(config, failing, newsItemRepository);
+
+    StepVerifier.create(failingIndex.index(news("1", "Tesla"))).verifyComplete();
+    assertThat(failingIndex.size()).isZero();
+  }
+
+  private NewsItem news(String id, String title) {
+    return NewsItem.builder()
+        .id(id)
+        .title(title)
+        .link("https://example.com/" + id)
+        .publishedAt(Instant.now().minus(Duration.ofHours(1)))
+        .source("Example")
+        .summary("")
+        .build();
+  }
+}
@@ -0,0 +1,252 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.config.OllamaConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class OllamaNodePoolTest {
+
+  private MockWebServer slowNode;
+  private MockWebServer fastNode;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    slowNode = new MockWebServer();
+    fastNode = new MockWebServer();
+    slowNode.start();
+    fastNode.start();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    slowNode.shutdown();
+    fastNode.shutdown();
+  }
+
+  @Test
+  void pool_shouldFallBackToBaseUrlWhenNoNodesConfigured() {
+    OllamaConfig config = new OllamaConfig();
+    config.setBaseUrl("http://localhost:11434/");
+
+    OllamaNodePool pool = new OllamaNodePool(config, meterRegistry);
+
+    assertThat(pool.getNodeUrls()).containsExactly("http://localhost:11434");
+  }
+
+  @Test
+  void execute_shouldRouteToLeastLoadedNode() {
+    OllamaNodePool pool = new OllamaNodePool(config(false, "http://a", "http://b"), meterRegistry);
+    Sinks.One<String> pending = Sinks.one();
+    List<String> routed = new ArrayList<>();
+
+    // The first call stays open, so the second must go to the idle node
+    pool.execute(url -> record(routed, url, pending.asMono())).subscribe();
+    StepVerifier.create(pool.execute(url -> record(routed, url, Mono.just("ok"))))
+        .expectNext("ok")
+        .verifyComplete();
+
+    assertThat(routed).containsExactly("http://a", "http://b");
+    assertThat(pool.getInFlight("http://a")).isEqualTo(1);
+    assertThat(pool.getInFlight("http://b")).isZero();
+
+    pending.tryEmitValue("done");
+    assertThat(pool.getInFlight("http://a")).isZero();
+  }
+
+  @Test
+  void execute_shouldPreferNodeWithLowerLatency() {
+    OllamaNodePool pool = new OllamaNodePool(config(false, "http://a", "http://b"), meterRegistry);
+
+    pool.execute(url -> Mono.delay(Duration.ofMillis(80)).thenReturn(url)).block();
+    pool.execute(url -> Mono.just(url)).block();
+
+    assertThat(pool.getEwmaMillis("http://a")).isGreaterThan(pool.getEwmaMillis("http://b"));
+    StepVerifier.create(pool.execute(Mono::just)).expectNext("http://b").verifyComplete();
+  }
+
+  @Test
+  void execute_shouldPenalizeFailingNode() {
+    OllamaNodePool pool = new OllamaNodePool(config(false, "http://a", "http://b"), meterRegistry);
+
+    StepVerifier.create(pool.execute(url -> Mono.error(new IllegalStateException("down"))))
+        .expectError(IllegalStateException.class)
+        .verify();
+
+    assertThat(pool.getEwmaMillis("http://a")).isGreaterThanOrEqualTo(5_000);
+    StepVerifier.create(pool.execute(Mono::just)).expectNext("http://b").verifyComplete();
+  }
+
+  @Test
+  void execute_shouldHedgeSlowRequestToSecondNode() throws Exception {
+    slowNode.enqueue(new MockResponse().setBody("slow").setBodyDelay(2, TimeUnit.SECONDS));
+    fastNode.enqueue(new MockResponse().setBody("fast"));
+    OllamaNodePool pool =
+        new OllamaNodePool(config(true, url(slowNode), url(fastNode)), meterRegistry);
+    WebClient webClient = WebClient.builder().build();
+
+    StepVerifier.create(
+            pool.execute(
+                baseUrl ->
+                    webClient
+                        .post()
+                        .uri(baseUrl + "/api/chat")
+                        .bodyValue("{}")
+                        .retrieve()
+                        .bodyToMono(String.class)))
+        .expectNext("fast")
+        .expectComplete()
+        .verify(Duration.ofSeconds(1));
+
+    assertThat(slowNode.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+    assertThat(fastNode.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+    assertThat(meterRegistry.get("livecontext.ollama.hedged").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void execute_shouldRecordLatencyOfCancelledHedgeLoser() {
+    OllamaNodePool pool = new OllamaNodePool(config(true, "http://a", "http://b"), meterRegistry);
+
+    StepVerifier.create(
+            pool.execute(
+                url ->
+                    url.equals("http://a")
+                        ? Mono.delay(Duration.ofSeconds(5)).thenReturn(url)
+                        : Mono.just(url)))
+        .expectNext("http://b")
+        .verifyComplete();
+
+    assertThat(pool.getInFlight("http://a")).isZero();
+    assertThat(pool.getEwmaMillis("http://a")).isGreaterThanOrEqualTo(100);
+    assertThat(pool.getEwmaMillis("http://a")).isGreaterThan(pool.getEwmaMillis("http://b"));
+  }
+
+  @Test
+  void execute_shouldNotRecordLatencyWhenCallerCancels() {
+    OllamaNodePool pool = new OllamaNodePool(config(true, "http://a", "http://b"), meterRegistry);
+
+    StepVerifier.create(pool.execute(url -> Mono.never())).thenCancel().verify();
+
+    assertThat(pool.getEwmaMillis("http://a")).isZero();
+    assertThat(pool.getInFlight("http://a")).isZero();
+  }
+
+  @Test
+  void execute_shouldNotHedgeWhenPrimaryAnswersInTime() {
+    OllamaNodePool pool = new OllamaNodePool(config(true, "http://a", "http://b"), meterRegistry);
+    List<String> routed = new ArrayList<>();
+
+    StepVerifier.create(pool.execute(url -> record(routed, url, Mono.just(url))))
+        .expectNext("http://a")
+        .verifyComplete();
+
+    assertThat(routed).containsExactly("http://a");
+    assertThat(meterRegistry.get("livecontext.ollama.hedged").counter().count()).isZero();
+  }
+
+  @Test
+  void hedgeDelay_shouldFollowLatencyPercentile() {
+    OllamaConfig config = config(true, "http://a", "http://b");
+    config.getHedge().setMinDelayMs(1);
+    OllamaNodePool pool = new OllamaNodePool(config, meterRegistry);
+
+    assertThat(pool.hedgeDelay()).isEqualTo(Duration.ofMillis(1));
+
+    config.getHedge().setEnabled(false);
+    for (int i = 0; i < 20; i++) {
+      long latency = i < 18 ? 0 : 60;
+      pool.execute(url -> Mono.delay(Duration.ofMillis(latency))).block();
+    }
+
+    assertThat(pool.hedgeDelay()).isGreaterThanOrEqualTo(Duration.ofMillis(60));
+  }
+
+  @Test
+  void executeUntracked_shouldNeitherHedgeNorRecordLatency() {
+    OllamaConfig config = config(true, "http://a", "http://b");
+    config.getHedge().setMinDelayMs(1);
+    OllamaNodePool pool = new OllamaNodePool(config, meterRegistry);
+    List<String> routed = new ArrayList<>();
+
+    for (int i = 0; i < 20; i++) {
+      StepVerifier.create(
+              pool.executeUntracked(
+                  url -> record(routed, url, Mono.delay(Duration.ofMillis(20)).thenReturn(url))))
+          .expectNext("http://a")
+          .verifyComplete();
+    }
+
+    assertThat(routed).hasSize(20).containsOnly("http://a");
+    assertThat(pool.getEwmaMillis("http://a")).isZero();
+    assertThat(pool.getInFlight("http://a")).isZero();
+    assertThat(pool.hedgeDelay()).isEqualTo(Duration.ofMillis(1));
+    assertThat(meterRegistry.get("livecontext.ollama.hedged").counter().count()).isZero();
+  }
+
+  @Test
+  void executeStream_shouldTrackInFlightUntilStreamCompletes() {
+    OllamaNodePool pool = new OllamaNodePool(config(false, "http://a"), meterRegistry);
+
+    StepVerifier.create(pool.executeStream(url -> Flux.just("a", "b")), 0)
+        .then(() -> assertThat(pool.getInFlight("http://a")).isOne())
+        .thenRequest(2)
+        .expectNext("a", "b")
+        .verifyComplete();
+
+    assertThat(pool.getInFlight("http://a")).isZero();
+  }
+
+  @Test
+  void executeStream_shouldRecordTimeToFirstChunkOutsideHedgeWindow() {
+    OllamaConfig config = config(false, "http://a");
+    config.getHedge().setMinDelayMs(1);
+    OllamaNodePool pool = new OllamaNodePool(config, meterRegistry);
+
+    for (int i = 0; i < 20; i++) {
+      pool.executeStream(
+              url -> Flux.just("a").concatWith(Mono.delay(Duration.ofMillis(30)).thenReturn("b")))
+          .blockLast();
+    }
+
+    assertThat(pool.getEwmaMillis("http://a")).isLessThan(30);
+    assertThat(pool.hedgeDelay()).isEqualTo(Duration.ofMillis(1));
+  }
+
+  private static OllamaConfig config(boolean hedging, String... urls) {
+    OllamaConfig config = new OllamaConfig();
+    for (String url : urls) {
+      OllamaConfig.Node node = new OllamaConfig.Node();
+      node.setUrl(url);
+      config.getNodes().add(node);
+    }
+    config.getHedge().setEnabled(hedging);
+    config.getHedge().setMinDelayMs(100);
+    return config;
+  }
+
+  private static String url(MockWebServer server) {
+    return server.url("/").toString();
+  }
+
+  private static <T> Mono<T> record(List<String> routed, String url, Mono<T> result) {
+    routed.add(url);
+    return result;
+  }
+}
@@ -0,0 +1,79 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class SharedToolResultsTest {
+
+  @Test
+  void key_shouldIgnoreArgumentOrder() {
+    ObjectNode first = JsonNodeFactory.instance.objectNode().put("a", 1).put("b", 2);
+    ObjectNode second = JsonNodeFactory.instance.objectNode().put("b", 2).put("a", 1);
+
+    assertThat(SharedToolResults.key("get_quote", first))
+        .isEqualTo(SharedToolResults.key("get_quote", second))
+        .isNotEqualTo(SharedToolResults.key("search_news", first));
+  }
+
+  @Test
+  void share_shouldFetchOncePerContext() {
+    AtomicInteger fetches = new AtomicInteger();
+    Mono<JsonNode> fetch =
+        Mono.fromSupplier(
+            () -> JsonNodeFactory.instance.numberNode(fetches.incrementAndGet()));
+
+    Flux<JsonNode> shared =
+        Flux.concat(
+                SharedToolResults.share("k", fetch), SharedToolResults.share("k", fetch))
+            .contextWrite(context -> context.putAll(SharedToolResults.newContext()));
+
+    StepVerifier.create(shared)
+        .expectNextMatches(node -> node.asInt() == 1)
+        .expectNextMatches(node -> node.asInt() == 1)
+        .verifyComplete();
+    assertThat(fetches.get()).isEqualTo(1);
+  }
+
+  @Test
+  void share_shouldFetchEveryTimeWithoutContext() {
+    AtomicInteger fetches = new AtomicInteger();
+    Mono<JsonNode> fetch =
+        Mono.fromSupplier(
+            () -> JsonNodeFactory.instance.numberNode(fetches.incrementAndGet()));
+
+    SharedToolResults.share("k", fetch).block();
+    SharedToolResults.share("k", fetch).block();
+
+    assertThat(fetches.get()).isEqualTo(2);
+  }
+
+  @Test
+  void share_shouldRetryAfterFailure() {
+    AtomicInteger attempts = new AtomicInteger();
+    Mono<JsonNode> fetch =
+        Mono.defer(
+            () ->
+                attempts.incrementAndGet() == 1
+                    ? Mono.error(new RuntimeException("MCP down"))
+                    : Mono.just(JsonNodeFactory.instance.textNode("ok")));
+
+    Flux<JsonNode> shared =
+        Flux.concat(
+                SharedToolResults.share("k", fetch).onErrorResume(e -> Mono.empty()),
+                SharedToolResults.share("k", fetch))
+            .contextWrite(context -> context.putAll(SharedToolResults.newContext()));
+
+    StepVerifier.create(shared)
+        .expectNextMatches(node -> node.asText().equals("ok"))
+        .verifyComplete();
+    assertThat(attempts.get()).isEqualTo(2);
+  }
+}
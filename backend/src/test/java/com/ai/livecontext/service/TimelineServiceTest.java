@@ -1,5 +1,6 @@
 package com.ai.livecontext.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -20,11 +21,14 @@ class TimelineServiceTest {
 
   @Mock private TimelineEventRepository repository;
 
+  private DataVersionTracker dataVersionTracker;
+
   private TimelineService timelineService;
 
   @BeforeEach
   void setUp() {
-    timelineService = new TimelineService(repository);
+    dataVersionTracker = new DataVersionTracker();
+    timelineService = new TimelineService(repository, dataVersionTracker);
   }
 
   @Test
@@ -51,6 +55,7 @@ class TimelineServiceTest {
         .verifyComplete();
 
     verify(repository).save(event);
+    assertThat(dataVersionTracker.getVersion("market")).isEqualTo(1L);
   }
 
   @Test
@@ -0,0 +1,123 @@
+package com.ai.livecontext.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ai.livecontext.config.ToolExecutionConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ToolResultProjectorTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SimpleMeterRegistry meterRegistry;
+  private ToolExecutionConfig config;
+  private ToolResultProjector projector;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    config = new ToolExecutionConfig();
+    projector = new ToolResultProjector(config, meterRegistry);
+  }
+
+  @Test
+  void project_shouldKeepOnlyConfiguredFields() throws Exception {
+    config.getResults().put("get_quote", policy(List.of("symbol", "price"), null, null));
+    JsonNode result =
+        objectMapper.readTree(
+            "{\"symbol\":\"AAPL.US\",\"price\":150,\"provider\":\"eodhd\",\"raw\":{\"open\":149}}");
+
+    assertThat(projector.project("get_quote", result))
+        .isEqualTo("{\"symbol\":\"AAPL.US\",\"price\":150}");
+  }
+
+  @Test
+  void project_shouldApplyDottedPathsToArrayElements() throws Exception {
+    config
+        .getResults()
+        .put("search_news", policy(List.of("query", "results.title"), 2, null));
+    JsonNode result =
+        objectMapper.readTree(
+            "{\"query\":\"tesla\",\"note\":\"x\",\"results\":["
+                + "{\"title\":\"a\",\"link\":\"l1\"},"
+                + "{\"title\":\"b\",\"link\":\"l2\"},"
+                + "{\"title\":\"c\",\"link\":\"l3\"}]}");
+
+    assertThat(projector.project("search_news", result))
+        .isEqualTo("{\"query\":\"tesla\",\"results\":[{\"title\":\"a\"},{\"title\":\"b\"}]}");
+  }
+
+  @Test
+  void project_shouldKeepWholeSubtreeOfLeafField() throws Exception {
+    config.getResults().put("get_weather", policy(List.of("hourly"), 1, null));
+    JsonNode result =
+        objectMapper.readTree(
+            "{\"latitude\":1,\"hourly\":[{\"time\":\"t1\",\"temperature\":20},{\"time\":\"t2\"}]}");
+
+    assertThat(projector.project("get_weather", result))
+        .isEqualTo("{\"hourly\":[{\"time\":\"t1\",\"temperature\":20}]}");
+  }
+
+  @Test
+  void project_shouldTruncateToMaxChars() throws Exception {
+    config.setMaxResultChars(10);
+    JsonNode result = objectMapper.readTree("{\"summary\":\"a long piece of text\"}");
+
+    assertThat(projector.project("search_news", result)).isEqualTo("{\"summary\"...[truncated]");
+  }
+
+  @Test
+  void project_shouldPreferPolicyMaxCharsOverDefault() throws Exception {
+    config.setMaxResultChars(5);
+    config.getResults().put("get_quote", policy(List.of(), null, 100));
+    JsonNode result = objectMapper.readTree("{\"price\":150}");
+
+    assertThat(projector.project("get_quote", result)).isEqualTo("{\"price\":150}");
+  }
+
+  @Test
+  void project_shouldLeaveResultUnchangedWithoutPolicy() throws Exception {
+    JsonNode result = objectMapper.readTree("{\"price\":150,\"raw\":{\"open\":149}}");
+
+    assertThat(projector.project("get_quote", result)).isEqualTo(result.toString());
+    assertThat(
+            meterRegistry
+                .get("livecontext.llm.tool_result.tokens")
+                .tag("tool", "get_quote")
+                .summary()
+                .count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.find("livecontext.llm.tool_result.bytes_saved").counter()).isNull();
+  }
+
+  @Test
+  void project_shouldCountBytesSavedAndNotMutateResult() throws Exception {
+    config.getResults().put("get_quote", policy(List.of("price"), null, null));
+    String raw = "{\"price\":150,\"raw\":{\"open\":149}}";
+    JsonNode result = objectMapper.readTree(raw);
+
+    String content = projector.project("get_quote", result);
+
+    assertThat(result.toString()).isEqualTo(raw);
+    assertThat(
+            meterRegistry
+                .get("livecontext.llm.tool_result.bytes_saved")
+                .tag("tool", "get_quote")
+                .counter()
+                .count())
+        .isEqualTo(raw.length() - content.length());
+  }
+
+  private static ToolExecutionConfig.ResultPolicy policy(
+      List<String> fields, Integer maxItems, Integer maxChars) {
+    ToolExecutionConfig.ResultPolicy policy = new ToolExecutionConfig.ResultPolicy();
+    policy.setFields(fields);
+    policy.setMaxItems(maxItems);
+    policy.setMaxChars(maxChars);
+    return policy;
+  }
+}
@@ -0,0 +1,56 @@
+package com.ai.livecontext.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.ai.livecontext.service.McpClientService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class GetQuoteToolHandlerTest {
+
+  @Mock private McpClientService mcpClientService;
+
+  private ObjectMapper objectMapper;
+  private GetQuoteToolHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    handler = new GetQuoteToolHandler(mcpClientService, objectMapper);
+  }
+
+  @Test
+  void metadata_shouldDescribeMarketTool() {
+    assertThat(handler.getName()).isEqualTo("get_quote");
+    assertThat(handler.getServer()).isEqualTo("market");
+    assertThat(handler.getSource()).isEqualTo("Market MCP");
+    assertThat(handler.isCacheable()).isTrue();
+    assertThat(handler.getParameterSchema().path("properties").has("symbol")).isTrue();
+  }
+
+  @Test
+  void execute_shouldApplyDefaultArguments() {
+    JsonNode result = objectMapper.createObjectNode().put("price", 150.0);
+    ArgumentCaptor<JsonNode> params = ArgumentCaptor.forClass(JsonNode.class);
+    when(mcpClientService.callTool(eq("market"), eq("get_quote"), params.capture()))
+        .thenReturn(Mono.just(result));
+
+    ObjectNode arguments = objectMapper.createObjectNode();
+    StepVerifier.create(handler.execute(arguments)).expectNext(result).verifyComplete();
+
+    assertThat(params.getValue().path("symbol").asText()).isEqualTo("AAPL.US");
+    assertThat(params.getValue().path("interval").asText()).isEqualTo("daily");
+  }
+}
@@ -0,0 +1,55 @@
+package com.ai.livecontext.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.ai.livecontext.service.McpClientService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class GetWeatherToolHandlerTest {
+
+  @Mock private McpClientService mcpClientService;
+
+  private ObjectMapper objectMapper;
+  private GetWeatherToolHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    handler = new GetWeatherToolHandler(mcpClientService, objectMapper);
+  }
+
+  @Test
+  void metadata_shouldDescribeWeatherTool() {
+    assertThat(handler.getName()).isEqualTo("get_weather");
+    assertThat(handler.getServer()).isEqualTo("weather");
+    assertThat(handler.getSource()).isEqualTo("Weather MCP");
+    assertThat(handler.getParameterSchema().path("required")).hasSize(2);
+  }
+
+  @Test
+  void execute_shouldCallRemoteForecastTool() {
+    JsonNode result = objectMapper.createObjectNode().put("temp", 22);
+    ArgumentCaptor<JsonNode> params = ArgumentCaptor.forClass(JsonNode.class);
+    when(mcpClientService.callTool(eq("weather"), eq("get_forecast"), params.capture()))
+        .thenReturn(Mono.just(result));
+
+    StepVerifier.create(handler.execute(objectMapper.createObjectNode().put("latitude", 13.08)))
+        .expectNext(result)
+        .verifyComplete();
+
+    assertThat(params.getValue().path("latitude").asDouble()).isEqualTo(13.08);
+    assertThat(params.getValue().path("longitude").asDouble()).isEqualTo(-74.0060);
+  }
+}
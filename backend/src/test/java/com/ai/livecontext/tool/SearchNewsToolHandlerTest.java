@@ -0,0 +1,54 @@
+package com.ai.livecontext.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.ai.livecontext.service.McpClientService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class SearchNewsToolHandlerTest {
+
+  @Mock private McpClientService mcpClientService;
+
+  private ObjectMapper objectMapper;
+  private SearchNewsToolHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    handler = new SearchNewsToolHandler(mcpClientService, objectMapper);
+  }
+
+  @Test
+  void metadata_shouldDescribeNewsTool() {
+    assertThat(handler.getName()).isEqualTo("search_news");
+    assertThat(handler.getServer()).isEqualTo("news");
+    assertThat(handler.getSource()).isEqualTo("News MCP");
+  }
+
+  @Test
+  void execute_shouldCallRemoteSearchTool() {
+    JsonNode result = objectMapper.createObjectNode().put("count", 1);
+    ArgumentCaptor<JsonNode> params = ArgumentCaptor.forClass(JsonNode.class);
+    when(mcpClientService.callTool(eq("news"), eq("search"), params.capture()))
+        .thenReturn(Mono.just(result));
+
+    StepVerifier.create(handler.execute(objectMapper.createObjectNode().put("query", "tech")))
+        .expectNext(result)
+        .verifyComplete();
+
+    assertThat(params.getValue().path("query").asText()).isEqualTo("tech");
+    assertThat(params.getValue().path("limit").asInt()).isEqualTo(5);
+  }
+}
@@ -0,0 +1,118 @@
+package com.ai.livecontext.tool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.ai.livecontext.service.McpClientService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ToolRegistryTest {
+
+  @Mock private McpClientService mcpClientService;
+
+  private ObjectMapper objectMapper;
+  private ToolRegistry toolRegistry;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+    toolRegistry =
+        new ToolRegistry(
+            objectMapper,
+            List.of(
+                new SearchNewsToolHandler(mcpClientService, objectMapper),
+                new GetWeatherToolHandler(mcpClientService, objectMapper),
+                new GetQuoteToolHandler(mcpClientService, objectMapper)));
+  }
+
+  @Test
+  void getEncodedDefinitions_shouldExposeAllToolsSortedByName() throws Exception {
+    JsonNode definitions = decodedDefinitions();
+
+    assertThat(definitions.findValuesAsText("name"))
+        .containsExactly("get_quote", "get_weather", "search_news");
+    assertThat(definitions.get(0).path("type").asText()).isEqualTo("function");
+    assertThat(definitions.get(0).path("function").path("parameters").path("required"))
+        .hasSize(1);
+  }
+
+  @Test
+  void getEncodedDefinitions_shouldDescribeEachHandler() throws Exception {
+    JsonNode function = decodedDefinitions().get(2).path("function");
+
+    assertThat(function.path("name").asText()).isEqualTo("search_news");
+    assertThat(function.path("parameters").path("properties").has("limit")).isTrue();
+  }
+
+  @Test
+  void execute_shouldDispatchToHandler() {
+    JsonNode result = objectMapper.createObjectNode().put("price", 150.0);
+    when(mcpClientService.callTool(eq("market"), eq("get_quote"), any()))
+        .thenReturn(Mono.just(result));
+
+    StepVerifier.create(
+            toolRegistry.execute(
+                "get_quote", objectMapper.createObjectNode().put("symbol", "AAPL.US")))
+        .expectNext(result)
+        .verifyComplete();
+  }
+
+  @Test
+  void execute_shouldApplyCallerTimeout() {
+    when(mcpClientService.callTool(eq("market"), eq("get_quote"), any()))
+        .thenReturn(Mono.never());
+
+    StepVerifier.create(
+            toolRegistry.execute(
+                "get_quote", objectMapper.createObjectNode(), Duration.ofMillis(50)))
+        .expectError(TimeoutException.class)
+        .verify(Duration.ofSeconds(2));
+  }
+
+  @Test
+  void execute_shouldRejectUnknownTool() {
+    StepVerifier.create(toolRegistry.execute("unknown_tool", objectMapper.createObjectNode()))
+        .expectErrorMatches(
+            e ->
+                e instanceof IllegalArgumentException
+                    && e.getMessage().equals("Unknown tool: unknown_tool"))
+        .verify();
+  }
+
+  @Test
+  void getSource_shouldFallBackForUnknownTool() {
+    assertThat(toolRegistry.getSource("search_news")).isEqualTo("News MCP");
+    assertThat(toolRegistry.getSource("unknown_tool")).isEqualTo("Unknown");
+  }
+
+  @Test
+  void constructor_shouldRejectDuplicateToolNames() {
+    List<ToolHandler> duplicates =
+        List.of(
+            new GetQuoteToolHandler(mcpClientService, objectMapper),
+            new GetQuoteToolHandler(mcpClientService, objectMapper));
+
+    assertThrows(IllegalStateException.class, () -> new ToolRegistry(objectMapper, duplicates));
+  }
+
+  private JsonNode decodedDefinitions() throws Exception {
+    byte[] encoded = toolRegistry.getEncodedDefinitions().asUnquotedUTF8();
+    return objectMapper.readTree(new String(encoded, StandardCharsets.UTF_8));
+  }
+}
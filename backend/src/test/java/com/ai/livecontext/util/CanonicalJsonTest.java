@@ -0,0 +1,34 @@
+package com.ai.livecontext.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.junit.jupiter.api.Test;
+
+class CanonicalJsonTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void canonicalize_shouldIgnoreKeyOrder() throws Exception {
+    String first =
+        CanonicalJson.canonicalize(objectMapper.readTree("{\"b\":1,\"a\":{\"y\":2,\"x\":3}}"));
+    String second =
+        CanonicalJson.canonicalize(objectMapper.readTree("{\"a\":{\"x\":3,\"y\":2},\"b\":1}"));
+
+    assertThat(first).isEqualTo(second).isEqualTo("{\"a\":{\"x\":3,\"y\":2},\"b\":1}");
+  }
+
+  @Test
+  void canonicalize_shouldKeepArrayOrder() throws Exception {
+    assertThat(CanonicalJson.canonicalize(objectMapper.readTree("[{\"b\":1,\"a\":2},3]")))
+        .isEqualTo("[{\"a\":2,\"b\":1},3]");
+  }
+
+  @Test
+  void canonicalize_shouldTreatMissingAsEmptyObject() {
+    assertThat(CanonicalJson.canonicalize(MissingNode.getInstance())).isEqualTo("{}");
+    assertThat(CanonicalJson.canonicalize(null)).isEqualTo("{}");
+  }
+}
@@ -0,0 +1,90 @@
+package com.ai.livecontext.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+
+  @Test
+  void search_shouldReturnEmptyForEmptyIndex() {
+    HnswIndex index = new HnswIndex(3, 4, 20, 1L);
+
+    assertThat(index.search(new float[] {1, 0, 0}, 5, 10)).isEmpty();
+  }
+
+  @Test
+  void search_shouldRankExactMatchFirst() {
+    HnswIndex index = new HnswIndex(3, 4, 20, 1L);
+    index.add(HnswIndex.normalize(new float[] {1, 0, 0}));
+    index.add(HnswIndex.normalize(new float[] {0, 1, 0}));
+    index.add(HnswIndex.normalize(new float[] {1, 1, 0}));
+
+    List<HnswIndex.Candidate> results = index.search(new float[] {0, 1, 0}, 2, 10);
+
+    assertThat(results).extracting(HnswIndex.Candidate::id).containsExactly(1, 2);
+    assertThat(results.get(0).score()).isEqualTo(1.0f);
+  }
+
+  @Test
+  void search_shouldFindMostTrueNearestNeighbours() {
+    Random random = new Random(7);
+    int dimensions = 32;
+    List<float[]> vectors =
+        IntStream.range(0, 2000).mapToObj(i -> randomUnitVector(random, dimensions)).toList();
+    HnswIndex index = new HnswIndex(dimensions, 16, 100, 1L);
+    vectors.forEach(index::add);
+
+    int hits = 0;
+    int queries = 50;
+    for (int q = 0; q < queries; q++) {
+      float[] query = randomUnitVector(random, dimensions);
+      int exact =
+          IntStream.range(0, vectors.size())
+              .boxed()
+              .max(Comparator.comparingDouble(i -> dot(query, vectors.get(i))))
+              .orElseThrow();
+      if (index.search(query, 1, 64).get(0).id() == exact) {
+        hits++;
+      }
+    }
+
+    assertThat(index.size()).isEqualTo(2000);
+    assertThat(hits).isGreaterThanOrEqualTo(queries * 9 / 10);
+  }
+
+  @Test
+  void add_shouldRejectWrongDimensions() {
+    HnswIndex index = new HnswIndex(3, 4, 20, 1L);
+
+    assertThatThrownBy(() -> index.add(new float[] {1, 0}))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void normalize_shouldScaleToUnitLengthAndKeepZeroVector() {
+    assertThat(HnswIndex.normalize(new float[] {3, 4})).containsExactly(0.6f, 0.8f);
+    assertThat(HnswIndex.normalize(new float[] {0, 0})).containsExactly(0f, 0f);
+  }
+
+  private static float[] randomUnitVector(Random random, int dimensions) {
+    float[] vector = new float[dimensions];
+    for (int i = 0; i < dimensions; i++) {
+      vector[i] = (float) random.nextGaussian();
+    }
+    return HnswIndex.normalize(vector);
+  }
+
+  private static double dot(float[] a, float[] b) {
+    double sum = 0;
+    for (int i = 0; i < a.length; i++) {
+      sum += a[i] * b[i];
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,107 @@
+package com.ai.livecontext.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class JsonStreamDecoderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void decodeOne_shouldParseDocumentSplitAcrossBuffers() {
+    Flux<DataBuffer> body =
+        buffers("{\"message\":{\"role\":\"assis", "tant\",\"content\":\"hé\"}}");
+
+    StepVerifier.create(JsonStreamDecoder.decodeOne(body, objectMapper, 1024))
+        .assertNext(
+            json -> {
+              assertThat(json.path("message").path("role").asText()).isEqualTo("assistant");
+              assertThat(json.path("message").path("content").asText()).isEqualTo("hé");
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void decode_shouldEmitEachNewlineDelimitedDocument() {
+    Flux<DataBuffer> body = buffers("{\"n\":1}\n{\"n\"", ":2}\n\n", "{\"n\":3}\n");
+
+    StepVerifier.create(JsonStreamDecoder.decode(body, objectMapper, 1024))
+        .expectNextMatches(json -> json.path("n").asInt() == 1)
+        .expectNextMatches(json -> json.path("n").asInt() == 2)
+        .expectNextMatches(json -> json.path("n").asInt() == 3)
+        .verifyComplete();
+  }
+
+  @Test
+  void decode_shouldApplyLimitPerDocument() {
+    String small = "{\"data\":\"" + "x".repeat(40) + "\"}\n";
+
+    StepVerifier.create(JsonStreamDecoder.decode(buffers(small, small, small), objectMapper, 64))
+        .expectNextCount(3)
+        .verifyComplete();
+
+    String large = "{\"data\":\"" + "x".repeat(200) + "\"}";
+    StepVerifier.create(JsonStreamDecoder.decodeOne(buffers(large), objectMapper, 64))
+        .expectError(DataBufferLimitException.class)
+        .verify();
+  }
+
+  @Test
+  void decode_shouldApplyLimitPerDocumentWithinOneBuffer() {
+    String small = "{\"data\":\"" + "x".repeat(40) + "\"}\n";
+    String large = "{\"data\":\"" + "x".repeat(200) + "\"}\n";
+
+    StepVerifier.create(JsonStreamDecoder.decode(buffers(small.repeat(10)), objectMapper, 64))
+        .expectNextCount(10)
+        .verifyComplete();
+    StepVerifier.create(JsonStreamDecoder.decode(buffers(small + large + small), objectMapper, 64))
+        .expectNextCount(1)
+        .expectError(DataBufferLimitException.class)
+        .verify();
+  }
+
+  @Test
+  void decode_shouldFailOnceUnfinishedDocumentExceedsLimit() {
+    String small = "{\"data\":\"" + "x".repeat(40) + "\"}\n";
+    String start = "{\"data\":\"" + "x".repeat(40);
+
+    StepVerifier.create(
+            JsonStreamDecoder.decode(buffers(small + start, "x".repeat(40)), objectMapper, 64))
+        .expectNextCount(1)
+        .expectError(DataBufferLimitException.class)
+        .verify();
+  }
+
+  @Test
+  void decodeOne_shouldFailOnMalformedJson() {
+    StepVerifier.create(JsonStreamDecoder.decodeOne(buffers("INVALID_JSON"), objectMapper, 1024))
+        .expectError(JsonParseException.class)
+        .verify();
+  }
+
+  @Test
+  void decodeOne_shouldFailOnTruncatedDocument() {
+    StepVerifier.create(JsonStreamDecoder.decodeOne(buffers("{\"a\":[1,2"), objectMapper, 1024))
+        .expectError(JsonEOFException.class)
+        .verify();
+  }
+
+  private static Flux<DataBuffer> buffers(String... chunks) {
+    return Flux.fromIterable(Arrays.asList(chunks))
+        .map(
+            chunk ->
+                DefaultDataBufferFactory.sharedInstance.wrap(
+                    chunk.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,26 @@
+package com.ai.livecontext.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class QuestionNormalizerTest {
+
+  @Test
+  void normalize_shouldIgnoreCasePunctuationAndFillerWords() {
+    assertThat(QuestionNormalizer.normalize("How is AAPL doing today?"))
+        .isEqualTo(QuestionNormalizer.normalize("  how is aapl doing today "))
+        .isEqualTo("how aapl doing today");
+  }
+
+  @Test
+  void normalize_shouldKeepWordOrder() {
+    assertThat(QuestionNormalizer.normalize("AAPL vs TSLA"))
+        .isNotEqualTo(QuestionNormalizer.normalize("TSLA vs AAPL"));
+  }
+
+  @Test
+  void normalize_shouldHandleEmptyQuestion() {
+    assertThat(QuestionNormalizer.normalize("?!")).isEmpty();
+  }
+}
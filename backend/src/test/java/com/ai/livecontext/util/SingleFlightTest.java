@@ -0,0 +1,81 @@
+package com.ai.livecontext.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class SingleFlightTest {
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+  @Test
+  void execute_shouldShareConcurrentCallsForSameKey() {
+    Sinks.One<String> result = Sinks.one();
+    AtomicInteger calls = new AtomicInteger();
+    List<String> received = new CopyOnWriteArrayList<>();
+
+    singleFlight
+        .execute("k", () -> result.asMono().doOnSubscribe(s -> calls.incrementAndGet()))
+        .subscribe(received::add);
+    singleFlight
+        .execute("k", () -> result.asMono().doOnSubscribe(s -> calls.incrementAndGet()))
+        .subscribe(received::add);
+
+    assertThat(singleFlight.getInFlightCount()).isEqualTo(1);
+    result.tryEmitValue("v");
+
+    assertThat(received).containsExactly("v", "v");
+    assertThat(calls).hasValue(1);
+    assertThat(singleFlight.getJoinedCount()).isEqualTo(1);
+    assertThat(singleFlight.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void execute_shouldNotShareAcrossKeys() {
+    StepVerifier.create(singleFlight.execute("a", () -> Mono.just("1")))
+        .expectNext("1")
+        .verifyComplete();
+    StepVerifier.create(singleFlight.execute("b", () -> Mono.just("2")))
+        .expectNext("2")
+        .verifyComplete();
+
+    assertThat(singleFlight.getJoinedCount()).isZero();
+  }
+
+  @Test
+  void execute_shouldPropagateErrorsToAllSubscribers() {
+    Sinks.One<String> result = Sinks.one();
+    List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    singleFlight.execute("k", result::asMono).subscribe(v -> {}, errors::add);
+    singleFlight.execute("k", result::asMono).subscribe(v -> {}, errors::add);
+    result.tryEmitError(new IllegalStateException("boom"));
+
+    assertThat(errors).hasSize(2);
+    assertThat(singleFlight.getInFlightCount()).isZero();
+  }
+
+  @Test
+  void execute_shouldCancelSharedCallOnlyWhenAllSubscribersCancel() {
+    AtomicBoolean cancelled = new AtomicBoolean();
+    Mono<String> never = Mono.<String>never().doOnCancel(() -> cancelled.set(true));
+
+    Disposable first = singleFlight.execute("k", () -> never).subscribe();
+    Disposable second = singleFlight.execute("k", () -> never).subscribe();
+
+    first.dispose();
+    assertThat(cancelled).isFalse();
+
+    second.dispose();
+    assertThat(cancelled).isTrue();
+    assertThat(singleFlight.getInFlightCount()).isZero();
+  }
+}
@@ -0,0 +1,31 @@
+package com.ai.livecontext.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenEstimatorTest {
+
+  @Test
+  void estimate_shouldRoundUpToWholeTokens() {
+    assertThat(TokenEstimator.estimate("abcd")).isEqualTo(1);
+    assertThat(TokenEstimator.estimate("abcde")).isEqualTo(2);
+  }
+
+  @Test
+  void estimate_shouldCountPunctuationAndDigitGroupsSeparately() {
+    // { " a " : 1234 } -> five punctuation tokens, one word, two digit groups
+    assertThat(TokenEstimator.estimate("{\"a\":1234}")).isEqualTo(8);
+  }
+
+  @Test
+  void estimate_shouldIgnoreWhitespace() {
+    assertThat(TokenEstimator.estimate("abcd abcd\n")).isEqualTo(2);
+  }
+
+  @Test
+  void estimate_shouldReturnZeroForEmptyText() {
+    assertThat(TokenEstimator.estimate("")).isZero();
+    assertThat(TokenEstimator.estimate(null)).isZero();
+  }
+}